@@ -0,0 +1,21 @@
+package com.pollen.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 活动抢票报名配置属性。
+ * 抢票模式下名额与候补队列在 Redis 中维护，报名状态变化先记入待落库集合，再批量写入 activity_registrations。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "activity.signup")
+public class ActivitySignUpProperties {
+
+    /** 每批落库的报名状态变化数；本节点累计达到该数量时立即触发一次落库 */
+    private int flushBatchSize = 200;
+
+    /** 定时落库间隔（毫秒） */
+    private long flushIntervalMs = 500;
+}
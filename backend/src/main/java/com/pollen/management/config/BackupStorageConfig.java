@@ -0,0 +1,38 @@
+package com.pollen.management.config;
+
+import com.pollen.management.service.BackupStorageTarget;
+import com.pollen.management.service.LocalDirectoryStorageTarget;
+import com.pollen.management.service.S3StorageTarget;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * 备份异地存储目标配置。
+ * <p>
+ * 按 backup.storage.type 注册一个 {@link BackupStorageTarget}；为 NONE（默认）时不注册，备份保持 PENDING。
+ */
+@Configuration
+public class BackupStorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "backup.storage", name = "type", havingValue = "LOCAL")
+    public BackupStorageTarget localDirectoryStorageTarget(BackupStorageProperties properties) {
+        return new LocalDirectoryStorageTarget(Paths.get(properties.getLocal().getDirectory()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "backup.storage", name = "type", havingValue = "S3")
+    public BackupStorageTarget s3StorageTarget(BackupStorageProperties properties) {
+        BackupStorageProperties.S3 s3 = properties.getS3();
+        if (!StringUtils.hasText(s3.getEndpoint()) || !StringUtils.hasText(s3.getBucket())) {
+            throw new IllegalStateException("backup.storage.s3.endpoint 与 backup.storage.s3.bucket 必须配置");
+        }
+        return new S3StorageTarget(s3.getEndpoint(), s3.getRegion(), s3.getBucket(), s3.getAccessKey(),
+                s3.getSecretKey(), Duration.ofSeconds(s3.getTimeoutSeconds()));
+    }
+}
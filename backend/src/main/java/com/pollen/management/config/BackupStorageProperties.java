@@ -0,0 +1,67 @@
+package com.pollen.management.config;
+
+import com.pollen.management.entity.enums.BackupStorageType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 备份异地同步配置属性。
+ * 备份文件按固定大小分块并行上传，失败后按记录的上传 ID 续传，每个分块与整个对象均做完整性校验。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "backup.storage")
+public class BackupStorageProperties {
+
+    /** 同步目标：NONE 不同步，LOCAL 本地（或挂载的网络）目录，S3 兼容对象存储 */
+    private BackupStorageType type = BackupStorageType.NONE;
+
+    /** 对象键前缀 */
+    private String prefix = "backups/";
+
+    /** 分块大小；S3 要求除最后一块外每块不小于 5MB */
+    private DataSize chunkSize = DataSize.ofMegabytes(8);
+
+    /** 并行上传分块的线程数 */
+    private int uploadThreads = 4;
+
+    /** 单个分块的最大尝试次数 */
+    private int maxAttempts = 3;
+
+    /** 分块重试的退避基数（毫秒），第 n 次重试等待 n 倍 */
+    private long retryBackoffMs = 1000;
+
+    /** 重新同步失败备份的间隔（毫秒） */
+    private long retryIntervalMs = 30 * 60 * 1000L;
+
+    private Local local = new Local();
+
+    private S3 s3 = new S3();
+
+    @Data
+    public static class Local {
+
+        /** 同步目标目录 */
+        private String directory = "./backups-remote";
+    }
+
+    @Data
+    public static class S3 {
+
+        /** 服务地址，如 https://s3.amazonaws.com 或 http://minio:9000（使用路径风格访问） */
+        private String endpoint;
+
+        private String region = "us-east-1";
+
+        private String bucket;
+
+        private String accessKey;
+
+        private String secretKey;
+
+        /** 单次请求超时（秒） */
+        private int timeoutSeconds = 60;
+    }
+}
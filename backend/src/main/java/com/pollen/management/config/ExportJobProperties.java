@@ -0,0 +1,30 @@
+package com.pollen.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 异步导出任务配置属性。
+ * 导出在独立的有界线程池中执行并写入临时文件，完成后在保留期内可重复下载。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "export-job")
+public class ExportJobProperties {
+
+    /** 导出工作线程数 */
+    private int threads = 2;
+
+    /** 合并导出（所有数据集一个工作簿）时并行读取各 Sheet 的线程数 */
+    private int sheetThreads = 4;
+
+    /** 等待队列容量，队列满时立即拒绝 */
+    private int queueCapacity = 16;
+
+    /** 结果文件保留时长（分钟），过期后删除 */
+    private long retentionMinutes = 30;
+
+    /** 结果文件目录 */
+    private String directory = System.getProperty("java.io.tmpdir") + "/pollen-exports";
+}
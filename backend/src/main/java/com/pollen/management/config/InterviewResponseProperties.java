@@ -0,0 +1,43 @@
+package com.pollen.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 面试 AI 回复提供者配置属性。
+ * 非规则提供者在独立有界线程池中限时调用，超时、失败或并发已满时回退为规则回复；
+ * 成功的回复按（场景, 归一化后的回答）缓存。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "interview.response")
+public class InterviewResponseProperties {
+
+    /** 使用的提供者名称：rules（规则，默认）、stub（模拟延迟的本地桩）或其他已注册的提供者 */
+    private String provider = "rules";
+
+    /** 默认调用超时（毫秒） */
+    private long timeoutMs = 3000;
+
+    /** 按提供者名称覆盖的调用超时（毫秒） */
+    private Map<String, Long> providerTimeoutMs = new HashMap<>();
+
+    /** 同时进行的提供者调用上限，超出时直接回退为规则回复 */
+    private int maxConcurrent = 32;
+
+    /** 回复缓存条数上限，0 表示不缓存 */
+    private int cacheSize = 10_000;
+
+    /** 回复缓存有效期（分钟） */
+    private long cacheTtlMinutes = 60;
+
+    /** 本地桩提供者的模拟延迟（毫秒） */
+    private long stubLatencyMs = 300;
+
+    /** 本地桩提供者延迟的随机抖动上限（毫秒） */
+    private long stubJitterMs = 200;
+}
@@ -0,0 +1,24 @@
+package com.pollen.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 面试评分配置属性。
+ * 调整评分关键词或推荐标签阈值后提升 version，再由管理员触发批量重新评分，使历史报告与新报告一致。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "interview.scoring")
+public class InterviewScoringProperties {
+
+    /** 当前评分规则版本，写入新生成与重新评分的报告 */
+    private String version = "1";
+
+    /** 重新评分时每页读取的报告数（按 id 键集分页），每页一个写事务 */
+    private int rescorePageSize = 500;
+
+    /** 重新评分的并行度，0 表示使用 CPU 核数 */
+    private int rescoreParallelism = 0;
+}
@@ -0,0 +1,33 @@
+package com.pollen.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 进行中面试的会话缓存与消息写缓冲配置属性。
+ * 对话消息先写入缓冲（Redis Stream 持久化，Redis 不可用时仅内存），按条数或时间批量落库。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "interview.session")
+public class InterviewSessionProperties {
+
+    /** 缓冲中待落库消息达到该条数时立即触发批量写入 */
+    private int flushBatchSize = 50;
+
+    /** 定时批量写入间隔（毫秒） */
+    private long flushIntervalMs = 1000;
+
+    /** 会话缓存中保留的最近对话条数 */
+    private int recentMessages = 20;
+
+    /** 会话空闲多久后移出缓存（分钟） */
+    private long idleTimeoutMinutes = 30;
+
+    /** 会话缓存最大数量，超出时移除最久未访问的会话 */
+    private int maxSessions = 10_000;
+
+    /** Redis Stream 中超过该时长仍未删除的条目视为其他节点遗留，由本节点补写（毫秒） */
+    private long orphanAgeMs = 60_000;
+}
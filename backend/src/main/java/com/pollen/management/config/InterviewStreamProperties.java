@@ -0,0 +1,33 @@
+package com.pollen.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 面试实时通道（SSE）配置属性。
+ * AI 回复按片段推送，每轮回答时限由服务端计时，超时后自动进入下一轮。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "interview.stream")
+public class InterviewStreamProperties {
+
+    /** 推送与计时共用的调度线程数；推送不阻塞线程，少量线程即可服务大量连接 */
+    private int schedulerThreads = 4;
+
+    /** 超时代答线程数；代答要写库并可能调用 AI 提供者，不占用调度线程 */
+    private int timeoutAnswerThreads = 4;
+
+    /** 每个推送片段包含的字符数 */
+    private int chunkSize = 4;
+
+    /** 相邻片段的推送间隔（毫秒） */
+    private long chunkIntervalMs = 40;
+
+    /** 连接最长保持时间（分钟），超时后客户端需重连 */
+    private long connectionTimeoutMinutes = 30;
+
+    /** 本轮超时未作答时代为记录的回答内容 */
+    private String timeoutAnswer = "（未在规定时间内作答）";
+}
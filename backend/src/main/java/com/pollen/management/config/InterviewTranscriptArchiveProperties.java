@@ -0,0 +1,27 @@
+package com.pollen.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 面试对话冷归档配置属性。
+ * 结束超过 min-age-days 天的面试，其对话由定时任务压缩为一行归档并删除逐条消息记录。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "interview.archive")
+public class InterviewTranscriptArchiveProperties {
+
+    /** 是否启用定时归档 */
+    private boolean enabled = true;
+
+    /** 定时归档的 cron 表达式 */
+    private String cron = "0 30 3 * * ?";
+
+    /** 面试结束多少天后归档 */
+    private int minAgeDays = 30;
+
+    /** 每次查询待归档面试的数量（按 id 键集分页），每场面试单独一个事务 */
+    private int batchSize = 200;
+}
@@ -0,0 +1,28 @@
+package com.pollen.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 密码哈希线程池配置属性。
+ * BCrypt 计算在独立的有界线程池中执行，避免登录高峰占满 Tomcat 请求线程的 CPU。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "password-hashing")
+public class PasswordHashingProperties {
+
+    /** 工作线程数，0 表示使用一半 CPU 核数（至少 1），给其他请求留出 CPU */
+    private int threads = 0;
+
+    /** 等待队列容量，队列满时立即拒绝 */
+    private int queueCapacity = 64;
+
+    /** 请求线程等待结果的最长时间（毫秒） */
+    private long timeoutMs = 5_000L;
+
+    public int resolveThreads() {
+        return threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+}
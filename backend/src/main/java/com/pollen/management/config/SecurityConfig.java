@@ -2,7 +2,9 @@ package com.pollen.management.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pollen.management.dto.ApiResponse;
+import com.pollen.management.security.BoundedPasswordEncoder;
 import com.pollen.management.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -14,7 +16,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
@@ -26,7 +27,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import java.util.List;
 
 /**
- * Spring Security 配置：BCrypt、JWT 过滤器、CORS、安全头、权限映射
+ * Spring Security 配置：BCrypt（有界线程池）、JWT 过滤器、CORS、安全头、权限映射
  */
 @Configuration
 @EnableWebSecurity
@@ -37,10 +38,14 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final com.pollen.management.security.RateLimitFilter rateLimitFilter;
     private final ObjectMapper objectMapper;
+    private final PasswordHashingProperties passwordHashingProperties;
 
+    /**
+     * BCrypt 在独立有界线程池中执行，过载时快速拒绝
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingProperties);
     }
 
     @Bean
@@ -63,6 +68,8 @@ public class SecurityConfig {
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 // 权限配置
                 .authorizeHttpRequests(auth -> auth
+                        // SSE 等异步响应的后续派发：原始请求已完成鉴权
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // 公开接口白名单
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/public/**").permitAll()
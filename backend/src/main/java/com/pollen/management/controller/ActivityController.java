@@ -2,6 +2,8 @@ package com.pollen.management.controller;
 
 import com.pollen.management.dto.ApiResponse;
 import com.pollen.management.dto.AwardPointsRequest;
+import com.pollen.management.dto.BulkCheckInRequest;
+import com.pollen.management.dto.BulkCheckInResult;
 import com.pollen.management.dto.CreateActivityRequest;
 import com.pollen.management.dto.CreateGroupRequest;
 import com.pollen.management.dto.FeedbackRequest;
@@ -12,6 +14,7 @@ import com.pollen.management.entity.ActivityGroup;
 import com.pollen.management.entity.ActivityMaterial;
 import com.pollen.management.entity.ActivityRegistration;
 import com.pollen.management.entity.ActivityStatistics;
+import com.pollen.management.service.ActivityCheckInService;
 import com.pollen.management.service.ActivityService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -31,6 +34,7 @@ import java.util.List;
 public class ActivityController {
 
     private final ActivityService activityService;
+    private final ActivityCheckInService activityCheckInService;
 
     /**
      * 创建活动（V3.1 增强：含封面图、类型、报名表单、审核方式）
@@ -65,6 +69,18 @@ public class ActivityController {
         return ApiResponse.success(registration);
     }
 
+    /**
+     * 取消报名
+     * 所有已认证用户可取消
+     */
+    @PostMapping("/{id}/cancel")
+    public ApiResponse<Void> cancelRegistration(
+            @PathVariable Long id,
+            @RequestParam Long userId) {
+        activityService.cancelRegistration(id, userId);
+        return ApiResponse.success(null);
+    }
+
     /**
      * 活动签到（支持可选的二维码 token）
      * 所有已认证用户可签到
@@ -78,6 +94,19 @@ public class ActivityController {
         return ApiResponse.success(registration);
     }
 
+    /**
+     * 批量扫码签到（签到设备离线缓存的扫码记录一次上传），逐条返回签到结果
+     * 仅 ADMIN、LEADER 可操作
+     */
+    @PostMapping("/{id}/check-in/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LEADER')")
+    public ApiResponse<BulkCheckInResult> bulkCheckIn(
+            @PathVariable Long id,
+            @Valid @RequestBody BulkCheckInRequest request) {
+        BulkCheckInResult result = activityCheckInService.bulkCheckIn(id, request);
+        return ApiResponse.success(result);
+    }
+
     /**
      * 归档活动
      * 仅 ADMIN、LEADER 可操作
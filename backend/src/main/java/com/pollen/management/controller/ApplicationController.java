@@ -9,8 +9,10 @@ import com.pollen.management.entity.Application;
 import com.pollen.management.entity.ApplicationTimeline;
 import com.pollen.management.entity.PublicLink;
 import com.pollen.management.entity.enums.ApplicationStatus;
+import com.pollen.management.entity.enums.ExportFormat;
 import com.pollen.management.service.ApplicationService;
 import com.pollen.management.service.PublicLinkService;
+import com.pollen.management.service.TextExportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
@@ -18,6 +20,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -32,6 +35,7 @@ public class ApplicationController {
 
     private final ApplicationService applicationService;
     private final PublicLinkService publicLinkService;
+    private final TextExportService textExportService;
 
     @PostMapping("/registration")
     public ApiResponse<Application> createFromRegistration(
@@ -88,16 +92,27 @@ public class ApplicationController {
         return ApiResponse.success(null);
     }
 
+    /**
+     * 导出报名数据（format: xlsx / csv / ndjson）；csv / ndjson 由 JDBC 游标边读边写
+     */
     @GetMapping("/export")
-    public ResponseEntity<byte[]> exportToExcel(
-            @RequestParam(required = false) ApplicationStatus status) {
-        byte[] excelData = applicationService.exportToExcel(status);
-        String filename = "applications_export.xlsx";
+    public ResponseEntity<StreamingResponseBody> exportToExcel(
+            @RequestParam(required = false) ApplicationStatus status,
+            @RequestParam(defaultValue = "xlsx") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        String filename = "applications_export" + exportFormat.getExtension();
+        StreamingResponseBody body;
+        if (exportFormat == ExportFormat.XLSX) {
+            byte[] excelData = applicationService.exportToExcel(status);
+            body = out -> out.write(excelData);
+        } else {
+            body = out -> textExportService.exportApplications(status, exportFormat, out);
+        }
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
-                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(excelData);
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
     }
 
     @GetMapping("/{id}/timeline")
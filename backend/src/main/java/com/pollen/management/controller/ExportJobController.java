@@ -0,0 +1,101 @@
+package com.pollen.management.controller;
+
+import com.pollen.management.dto.ApiResponse;
+import com.pollen.management.dto.CreateExportJobRequest;
+import com.pollen.management.dto.ExportJobInfo;
+import com.pollen.management.service.ExportJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 异步导出任务控制器
+ * 权限：ADMIN、LEADER 可访问
+ */
+@RestController
+@RequestMapping("/api/reports/export-jobs")
+@RequiredArgsConstructor
+public class ExportJobController {
+
+    static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    // Tomcat NIO 连接器的 sendfile 支持：由容器用 FileChannel.transferTo 直接写 socket
+    static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private final ExportJobService exportJobService;
+
+    /**
+     * 创建导出任务（相同参数的进行中任务会被复用）
+     * POST /api/reports/export-jobs
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'LEADER')")
+    public ApiResponse<ExportJobInfo> createJob(@Valid @RequestBody CreateExportJobRequest request) {
+        ExportJobInfo job = exportJobService.submit(request.getDataType(), request.getStartDate(), request.getEndDate());
+        return ApiResponse.success(job);
+    }
+
+    /**
+     * 查询任务状态与进度
+     * GET /api/reports/export-jobs/{jobId}
+     */
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LEADER')")
+    public ApiResponse<ExportJobInfo> getJob(@PathVariable String jobId) {
+        return ApiResponse.success(exportJobService.getJob(jobId));
+    }
+
+    /**
+     * 下载已完成任务的结果文件
+     * GET /api/reports/export-jobs/{jobId}/download
+     */
+    @GetMapping("/{jobId}/download")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LEADER')")
+    public void download(@PathVariable String jobId,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        Path file = exportJobService.getResultFile(jobId);
+        ExportJobInfo job = exportJobService.getJob(jobId);
+        long size = Files.size(file);
+
+        response.setContentType(XLSX_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getFileName() + "\"");
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.CONTENT_DISPOSITION);
+        response.setContentLengthLong(size);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, 0L);
+            request.setAttribute(SENDFILE_END_ATTR, size);
+            return;
+        }
+        transfer(file, size, Channels.newChannel(response.getOutputStream()));
+    }
+
+    /**
+     * 容器不支持 sendfile 时退化为 FileChannel.transferTo 写响应流
+     */
+    private void transfer(Path file, long size, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+}
@@ -4,16 +4,20 @@ import com.pollen.management.dto.*;
 import com.pollen.management.entity.Interview;
 import com.pollen.management.entity.InterviewMessage;
 import com.pollen.management.entity.InterviewReport;
+import com.pollen.management.service.InterviewRescoreService;
 import com.pollen.management.service.InterviewService;
+import com.pollen.management.service.InterviewStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
 /**
- * AI 面试控制器：启动面试、对话交互、结束面试、查看报告、人工复审
+ * AI 面试控制器：启动面试、对话交互（含 SSE 实时通道）、结束面试、查看报告、人工复审、批量重新评分
  * 访问控制（Requirements 17.6）：
  * - ADMIN/LEADER：完整读写访问
  * - VICE_LEADER：只读访问（仅 GET 端点）
@@ -25,6 +29,8 @@ import java.util.List;
 public class InterviewController {
 
     private final InterviewService interviewService;
+    private final InterviewStreamService interviewStreamService;
+    private final InterviewRescoreService interviewRescoreService;
 
     @PostMapping("/start")
     @PreAuthorize("hasAnyRole('ADMIN', 'LEADER')")
@@ -44,10 +50,29 @@ public class InterviewController {
         return ApiResponse.success(message);
     }
 
+    /**
+     * 建立面试实时通道（SSE）：AI 回复逐段推送，每轮回答时限由服务端计时
+     */
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'LEADER')")
+    public SseEmitter openStream(@PathVariable Long id) {
+        return interviewStreamService.connect(id);
+    }
+
+    @PostMapping("/{id}/stream/message")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LEADER')")
+    public ApiResponse<InterviewMessage> streamMessage(
+            @PathVariable Long id,
+            @Valid @RequestBody InterviewStreamAnswerRequest request) {
+        InterviewMessage message = interviewStreamService.submitAnswer(id, request.getMessage(), request.getTurn());
+        return ApiResponse.success(message);
+    }
+
     @PostMapping("/{id}/end")
     @PreAuthorize("hasAnyRole('ADMIN', 'LEADER')")
     public ApiResponse<InterviewReport> endInterview(@PathVariable Long id) {
         InterviewReport report = interviewService.endInterview(id);
+        interviewStreamService.close(id);
         return ApiResponse.success(report);
     }
 
@@ -72,6 +97,13 @@ public class InterviewController {
         return ApiResponse.success(report);
     }
 
+    @GetMapping("/{id}/score")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LEADER', 'VICE_LEADER')")
+    public ApiResponse<InterviewScoreCard> getCurrentScore(@PathVariable Long id) {
+        InterviewScoreCard score = interviewService.getCurrentScore(id);
+        return ApiResponse.success(score);
+    }
+
     @PostMapping("/{id}/review")
     @PreAuthorize("hasAnyRole('ADMIN', 'LEADER')")
     public ApiResponse<InterviewReport> manualReview(
@@ -88,5 +120,13 @@ public class InterviewController {
         InterviewArchiveRecord record = interviewService.getFullArchivedRecord(id);
         return ApiResponse.success(record);
     }
-}
 
+    /**
+     * 评分规则调整后按当前规则重新评分历史报告，返回差异汇总；dryRun=true 时只计算不写回
+     */
+    @PostMapping("/rescore")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ApiResponse<InterviewRescoreResult> rescore(@RequestParam(defaultValue = "false") boolean dryRun) {
+        return ApiResponse.success(interviewRescoreService.rescoreAll(dryRun));
+    }
+}
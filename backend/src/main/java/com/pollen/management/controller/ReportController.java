@@ -2,8 +2,11 @@ package com.pollen.management.controller;
 
 import com.pollen.management.dto.ApiResponse;
 import com.pollen.management.entity.WeeklyReport;
+import com.pollen.management.entity.enums.ExportFormat;
+import com.pollen.management.service.CombinedExportService;
 import com.pollen.management.service.ExportService;
 import com.pollen.management.service.ReportService;
+import com.pollen.management.service.TextExportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
@@ -11,6 +14,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -28,6 +32,8 @@ public class ReportController {
 
     private final ReportService reportService;
     private final ExportService exportService;
+    private final TextExportService textExportService;
+    private final CombinedExportService combinedExportService;
 
     /**
      * 获取周报列表
@@ -71,73 +77,97 @@ public class ReportController {
     }
 
     /**
-     * 导出成员列表 Excel
+     * 导出成员列表（format: xlsx / csv / ndjson）
      * GET /api/reports/export/members
      */
     @GetMapping("/export/members")
     @PreAuthorize("hasAnyRole('ADMIN', 'LEADER')")
-    public ResponseEntity<byte[]> exportMembers() {
-        byte[] data = exportService.exportMembers();
-        String fileName = exportService.generateFileName("members", null, null);
-        return buildExcelResponse(data, fileName);
+    public ResponseEntity<StreamingResponseBody> exportMembers(
+            @RequestParam(defaultValue = "xlsx") String format) {
+        return buildExportResponse("members", null, null, ExportFormat.fromParam(format), exportService::exportMembers);
     }
 
     /**
-     * 导出积分记录 Excel
+     * 导出积分记录（format: xlsx / csv / ndjson）
      * GET /api/reports/export/points
      */
     @GetMapping("/export/points")
     @PreAuthorize("hasAnyRole('ADMIN', 'LEADER')")
-    public ResponseEntity<byte[]> exportPoints() {
-        byte[] data = exportService.exportPoints();
-        String fileName = exportService.generateFileName("points", null, null);
-        return buildExcelResponse(data, fileName);
+    public ResponseEntity<StreamingResponseBody> exportPoints(
+            @RequestParam(defaultValue = "xlsx") String format) {
+        return buildExportResponse("points", null, null, ExportFormat.fromParam(format), exportService::exportPoints);
     }
 
     /**
-     * 导出薪资记录 Excel
+     * 导出薪资记录（format: xlsx / csv / ndjson）
      * GET /api/reports/export/salary
      */
     @GetMapping("/export/salary")
     @PreAuthorize("hasAnyRole('ADMIN', 'LEADER')")
-    public ResponseEntity<byte[]> exportSalary() {
-        byte[] data = exportService.exportSalary();
-        String fileName = exportService.generateFileName("salary", null, null);
-        return buildExcelResponse(data, fileName);
+    public ResponseEntity<StreamingResponseBody> exportSalary(
+            @RequestParam(defaultValue = "xlsx") String format) {
+        return buildExportResponse("salary", null, null, ExportFormat.fromParam(format), exportService::exportSalary);
     }
 
     /**
-     * 导出活动记录 Excel
+     * 导出活动记录（format: xlsx / csv / ndjson）
      * GET /api/reports/export/activities
      */
     @GetMapping("/export/activities")
     @PreAuthorize("hasAnyRole('ADMIN', 'LEADER')")
-    public ResponseEntity<byte[]> exportActivities() {
-        byte[] data = exportService.exportActivities();
-        String fileName = exportService.generateFileName("activities", null, null);
-        return buildExcelResponse(data, fileName);
+    public ResponseEntity<StreamingResponseBody> exportActivities(
+            @RequestParam(defaultValue = "xlsx") String format) {
+        return buildExportResponse("activities", null, null, ExportFormat.fromParam(format), exportService::exportActivities);
+    }
+
+    /**
+     * 合并导出：成员、积分、薪资、活动各一个 Sheet，写入同一个 Excel 文件
+     * GET /api/reports/export/all
+     */
+    @GetMapping("/export/all")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LEADER')")
+    public ResponseEntity<StreamingResponseBody> exportAll() {
+        String fileName = exportService.generateFileName("all", null, null);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .header(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.CONTENT_DISPOSITION)
+                .contentType(MediaType.parseMediaType(ExportFormat.XLSX.getContentType()))
+                .body(combinedExportService::exportAll);
     }
 
     /**
      * 自定义时间段筛选导出
-     * GET /api/reports/export/custom?dataType=members&startDate=2024-01-01&endDate=2024-01-31
+     * GET /api/reports/export/custom?dataType=members&startDate=2024-01-01&endDate=2024-01-31&format=csv
      */
     @GetMapping("/export/custom")
     @PreAuthorize("hasAnyRole('ADMIN', 'LEADER')")
-    public ResponseEntity<byte[]> exportCustom(
+    public ResponseEntity<StreamingResponseBody> exportCustom(
             @RequestParam String dataType,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        byte[] data = exportService.exportWithDateRange(dataType, startDate, endDate);
-        String fileName = exportService.generateFileName(dataType, startDate, endDate);
-        return buildExcelResponse(data, fileName);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "xlsx") String format) {
+        exportService.validateDataType(dataType);
+        return buildExportResponse(dataType, startDate, endDate, ExportFormat.fromParam(format),
+                out -> exportService.exportWithDateRange(dataType, startDate, endDate, out));
     }
 
-    private ResponseEntity<byte[]> buildExcelResponse(byte[] data, String fileName) {
+    /**
+     * 响应体在异步线程中边生成边写出，不在内存中拼装整个文件；
+     * xlsx 走实体分页 + SXSSF，csv / ndjson 走 JDBC 游标直接写文本
+     */
+    private ResponseEntity<StreamingResponseBody> buildExportResponse(String dataType, LocalDate startDate,
+                                                                      LocalDate endDate, ExportFormat format,
+                                                                      StreamingResponseBody excelBody) {
+        String fileName = exportService.generateFileName(dataType, startDate, endDate);
+        StreamingResponseBody body = excelBody;
+        if (format != ExportFormat.XLSX) {
+            fileName = fileName.substring(0, fileName.lastIndexOf('.')) + format.getExtension();
+            body = out -> textExportService.exportReport(dataType, startDate, endDate, format, out);
+        }
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
                 .header(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.CONTENT_DISPOSITION)
-                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(data);
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
     }
 }
@@ -0,0 +1,30 @@
+package com.pollen.management.controller;
+
+import com.pollen.management.dto.ApiResponse;
+import com.pollen.management.dto.PasswordHashingStats;
+import com.pollen.management.security.BoundedPasswordEncoder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 系统运行指标控制器
+ * 权限控制：仅 ADMIN 可访问（通过 SecurityConfig /api/admin/** 配置）
+ */
+@RestController
+@RequestMapping("/api/admin/metrics")
+@RequiredArgsConstructor
+public class SystemMetricsController {
+
+    private final BoundedPasswordEncoder passwordEncoder;
+
+    /**
+     * 获取密码哈希线程池指标（排队/执行耗时、拒绝数）
+     * GET /api/admin/metrics/password-hashing
+     */
+    @GetMapping("/password-hashing")
+    public ApiResponse<PasswordHashingStats> getPasswordHashingStats() {
+        return ApiResponse.success(passwordEncoder.getStats());
+    }
+}
@@ -4,6 +4,7 @@ import com.pollen.management.dto.ApiResponse;
 import com.pollen.management.entity.User;
 import com.pollen.management.entity.enums.Role;
 import com.pollen.management.repository.UserRepository;
+import com.pollen.management.service.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
@@ -22,6 +23,7 @@ public class UserManagementController {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationService tokenRevocationService;
 
     /** 获取所有用户列表 */
     @GetMapping
@@ -76,6 +78,10 @@ public class UserManagementController {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("用户不存在"));
 
+        Role oldRole = user.getRole();
+        boolean wasEnabled = Boolean.TRUE.equals(user.getEnabled());
+        boolean passwordChanged = false;
+
         if (body.containsKey("role")) {
             user.setRole(Role.valueOf(body.get("role")));
         }
@@ -84,9 +90,15 @@ public class UserManagementController {
         }
         if (body.containsKey("password") && !body.get("password").isEmpty()) {
             user.setPassword(passwordEncoder.encode(body.get("password")));
+            passwordChanged = true;
         }
 
         userRepository.save(user);
+
+        // 角色变更、禁用或重置密码后，已签发的 Token 立即失效
+        if (user.getRole() != oldRole || (wasEnabled && !user.getEnabled()) || passwordChanged) {
+            tokenRevocationService.revokeUserTokens(id);
+        }
         user.setPassword(null);
         return ApiResponse.success(user);
     }
@@ -98,6 +110,7 @@ public class UserManagementController {
             throw new RuntimeException("用户不存在");
         }
         userRepository.deleteById(id);
+        tokenRevocationService.revokeUserTokens(id);
         return ApiResponse.success(null);
     }
 }
@@ -0,0 +1,37 @@
+package com.pollen.management.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 备份恢复结果 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BackupRestoreResult {
+
+    /** 请求恢复的备份 ID */
+    private Long backupId;
+
+    /** 是否为演练（恢复到临时 schema，不影响业务表） */
+    private boolean dryRun;
+
+    /** 恢复目标 schema，null 表示业务表所在的默认 schema */
+    private String targetSchema;
+
+    /** 依次回放的备份链 ID，从全量备份开始 */
+    private List<Long> chainBackupIds;
+
+    /** 从备份文件读取并写入的总行数 */
+    private long rowsApplied;
+
+    /** 恢复完成后目标表中的行数，键为备份文件中的表键名 */
+    private Map<String, Long> tableRowCounts;
+
+    /** 耗时（毫秒） */
+    private long durationMs;
+}
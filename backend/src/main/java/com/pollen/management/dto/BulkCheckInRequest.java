@@ -0,0 +1,41 @@
+package com.pollen.management.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 批量扫码签到请求 DTO - 签到设备离线时缓存的扫码记录，联网后一次上传
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCheckInRequest {
+
+    /** 活动签到二维码 token（可选，与单人签到相同的校验） */
+    private String qrToken;
+
+    @NotEmpty(message = "扫码记录不能为空")
+    @Size(max = 1000, message = "单次最多上传 1000 条扫码记录")
+    @Valid
+    private List<Scan> scans;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Scan {
+
+        @NotNull(message = "用户ID不能为空")
+        private Long userId;
+
+        /** 扫码时间，作为签到时间；不填时取上传时间 */
+        private LocalDateTime scannedAt;
+    }
+}
@@ -0,0 +1,48 @@
+package com.pollen.management.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量扫码签到结果 DTO - 按上传顺序逐条返回签到结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCheckInResult {
+
+    /** 上传的扫码记录数 */
+    private int total;
+
+    /** 本次签到成功的人数 */
+    private int checkedIn;
+
+    /** 签到失败的记录数 */
+    private int failed;
+
+    @Builder.Default
+    private List<Entry> results = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Entry {
+
+        private Long userId;
+
+        private boolean success;
+
+        /** 失败原因的错误码，与单人签到接口一致（成功时为 200） */
+        private int code;
+
+        private String message;
+
+        /** 签到时间（仅成功时有值） */
+        private LocalDateTime checkedInAt;
+    }
+}
@@ -2,6 +2,7 @@ package com.pollen.management.dto;
 
 import com.pollen.management.entity.enums.ActivityType;
 import com.pollen.management.entity.enums.ApprovalMode;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
@@ -40,4 +41,12 @@ public class CreateActivityRequest {
     /** V3.1: 审核方式 (AUTO / MANUAL) */
     @Builder.Default
     private ApprovalMode approvalMode = ApprovalMode.AUTO;
+
+    /** 名额上限，不填表示不限 */
+    @Min(value = 1, message = "名额上限至少为 1")
+    private Integer capacity;
+
+    /** 抢票报名模式（需要设置名额上限），报名时立即占用名额，不经过人工审核 */
+    @Builder.Default
+    private Boolean flashSignUp = false;
 }
@@ -0,0 +1,23 @@
+package com.pollen.management.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 创建异步导出任务请求 DTO（起止日期都为空时导出全部数据）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateExportJobRequest {
+
+    @NotBlank(message = "数据类型不能为空")
+    private String dataType;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+}
@@ -0,0 +1,51 @@
+package com.pollen.management.dto;
+
+import com.pollen.management.entity.enums.ExportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 异步导出任务状态与进度
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExportJobInfo {
+
+    private String jobId;
+
+    private String dataType;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private ExportJobStatus status;
+
+    /** 已写入行数 */
+    private long rowsDone;
+
+    /** 预计总行数（任务开始执行时统计） */
+    private long rowsTotal;
+
+    /** 下载文件名 */
+    private String fileName;
+
+    /** 结果文件大小（字节），完成后有效 */
+    private long fileSize;
+
+    private String errorMessage;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime finishedAt;
+
+    /** 结果过期时间，完成后有效 */
+    private LocalDateTime expiresAt;
+}
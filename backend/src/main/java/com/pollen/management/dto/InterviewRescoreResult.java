@@ -0,0 +1,42 @@
+package com.pollen.management.dto;
+
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * 面试批量重新评分结果 DTO - 汇总新旧分数与推荐标签的差异
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InterviewRescoreResult {
+
+    /** 本次写入的评分规则版本 */
+    private String scoringVersion;
+
+    /** 是否为演练（只计算差异，不写回报告） */
+    private boolean dryRun;
+
+    /** 参与重新评分的报告数（评分版本已是当前版本的报告跳过） */
+    private long scanned;
+
+    /** 任一维度分数变化的报告数 */
+    private long scoreChanged;
+
+    /** 推荐标签变化的报告数 */
+    private long labelChanged;
+
+    /** 已人工复审、但推荐标签变化的报告数（复审结论不受影响，供人工核对） */
+    private long reviewedLabelChanged;
+
+    /** 计算失败的报告数（保留原分数，下次运行重试） */
+    private long failed;
+
+    /** 推荐标签变化明细，键为 "原标签 -> 新标签" */
+    private Map<String, Long> labelTransitions;
+
+    /** 耗时（毫秒） */
+    private long durationMs;
+}
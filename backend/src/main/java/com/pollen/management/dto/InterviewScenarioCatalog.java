@@ -0,0 +1,66 @@
+package com.pollen.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 面试场景目录 DTO - 对应 interview-scenarios.json 的根对象：
+ * 场景列表、按场景分类的回复规则以及三个评分维度的关键词组
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InterviewScenarioCatalog {
+
+    /** 未知分类或未命中任何规则时的通用回复 */
+    private String defaultResponse;
+
+    @Builder.Default
+    private ScoringKeywords scoring = new ScoringKeywords();
+
+    /** 分类名称 -> 回复规则 */
+    @Builder.Default
+    private Map<String, CategoryRules> categories = new LinkedHashMap<>();
+
+    @Builder.Default
+    private List<InterviewScenario> scenarios = new ArrayList<>();
+
+    /**
+     * 评分关键词：每个维度由若干关键词组组成，每条用户消息命中一组加 1 分
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScoringKeywords {
+        private List<List<String>> ruleFamiliarity = new ArrayList<>();
+        private List<List<String>> communication = new ArrayList<>();
+        private List<List<String>> pressure = new ArrayList<>();
+    }
+
+    /**
+     * 某一分类的回复规则：按顺序取第一条命中的规则，均未命中时使用 defaultResponse
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryRules {
+        private List<ResponseRule> rules = new ArrayList<>();
+        private String defaultResponse;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ResponseRule {
+        private List<String> keywords = new ArrayList<>();
+        private String response;
+    }
+}
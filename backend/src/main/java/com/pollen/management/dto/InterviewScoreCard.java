@@ -0,0 +1,31 @@
+package com.pollen.management.dto;
+
+import com.pollen.management.entity.enums.InterviewStatus;
+import lombok.*;
+
+/**
+ * 面试实时评分 DTO - 由面试上的累计计数器计算，进行中的面试也可查看
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InterviewScoreCard {
+
+    private Long interviewId;
+
+    private InterviewStatus status;
+
+    /** 已回答条数 */
+    private long userMessageCount;
+
+    private int ruleFamiliarity;
+
+    private int communicationScore;
+
+    private int pressureScore;
+
+    private int totalScore;
+
+    private String recommendationLabel;
+}
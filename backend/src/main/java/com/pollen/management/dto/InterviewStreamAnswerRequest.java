@@ -0,0 +1,17 @@
+package com.pollen.management.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InterviewStreamAnswerRequest {
+
+    @NotBlank(message = "消息内容不能为空")
+    private String message;
+
+    /** 回答所针对的轮次，可选；与当前轮次不一致时视为超时作答 */
+    private Long turn;
+}
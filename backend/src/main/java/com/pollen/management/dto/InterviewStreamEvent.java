@@ -0,0 +1,33 @@
+package com.pollen.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.pollen.management.entity.InterviewMessage;
+import lombok.*;
+
+/**
+ * 面试实时通道事件数据 DTO
+ * - connected：turn、deadline、timeLimitSeconds
+ * - token：turn、text（AI 回复的一个片段）
+ * - done：turn、message（完整 AI 消息）、deadline、timeLimitSeconds
+ * - timeout：turn（本轮已超时，服务端已代为作答）
+ * - closed：面试已结束
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InterviewStreamEvent {
+
+    /** 轮次序号，每条 AI 提问开启新的一轮 */
+    private Long turn;
+
+    private String text;
+
+    private InterviewMessage message;
+
+    /** 本轮回答截止时间（epoch 毫秒） */
+    private Long deadline;
+
+    private Integer timeLimitSeconds;
+}
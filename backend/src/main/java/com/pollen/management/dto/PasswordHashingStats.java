@@ -0,0 +1,49 @@
+package com.pollen.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 密码哈希线程池运行指标
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PasswordHashingStats {
+
+    /** 工作线程数 */
+    private int threads;
+
+    /** 队列容量 */
+    private int queueCapacity;
+
+    /** 当前排队任务数 */
+    private int queued;
+
+    /** 当前执行中任务数 */
+    private int active;
+
+    /** 已完成任务数 */
+    private long completed;
+
+    /** 因过载被拒绝的任务数 */
+    private long rejected;
+
+    /** 等待超时的任务数 */
+    private long timedOut;
+
+    /** 平均排队耗时（毫秒） */
+    private double avgQueueWaitMs;
+
+    /** 平均执行耗时（毫秒） */
+    private double avgExecutionMs;
+
+    /** 最大排队耗时（毫秒） */
+    private double maxQueueWaitMs;
+
+    /** 最大执行耗时（毫秒） */
+    private double maxExecutionMs;
+}
@@ -8,7 +8,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "activities")
+@Table(name = "activities",
+       indexes = @Index(name = "idx_activities_created_at", columnList = "created_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -45,7 +46,15 @@ public class Activity {
 
     private String location;
 
-    @Column(nullable = false)
+    /** 名额上限，null 表示不限；满员后的报名进入候补队列 */
+    private Integer capacity;
+
+    /** 抢票报名模式：名额在 Redis 中原子占用，报名记录异步批量落库 */
+    @Builder.Default
+    private Boolean flashSignUp = false;
+
+    /** 只通过 ActivityRepository 的原子更新修改，整行保存不会写回旧值 */
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Integer registrationCount = 0;
 
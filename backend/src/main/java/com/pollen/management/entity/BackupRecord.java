@@ -1,5 +1,6 @@
 package com.pollen.management.entity;
 
+import com.pollen.management.entity.enums.BackupMode;
 import com.pollen.management.entity.enums.BackupStatus;
 import com.pollen.management.entity.enums.BackupType;
 import com.pollen.management.entity.enums.CloudSyncStatus;
@@ -24,6 +25,27 @@ public class BackupRecord {
     @Column(name = "backup_type", nullable = false)
     private BackupType backupType;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "backup_mode", nullable = false, length = 20)
+    @Builder.Default
+    private BackupMode backupMode = BackupMode.FULL;
+
+    /** 备份链的根（全量备份）ID，全量备份自身为 null */
+    @Column(name = "base_backup_id")
+    private Long baseBackupId;
+
+    /** 本次备份水位起点所依据的上一个备份 ID，全量备份为 null */
+    @Column(name = "parent_backup_id")
+    private Long parentBackupId;
+
+    /** 变更水位起点（不含），全量备份为 null */
+    @Column(name = "watermark_from")
+    private LocalDateTime watermarkFrom;
+
+    /** 变更水位终点（含），即备份快照时刻 */
+    @Column(name = "watermark_to")
+    private LocalDateTime watermarkTo;
+
     @Column(name = "file_name", nullable = false)
     private String fileName;
 
@@ -41,11 +63,31 @@ public class BackupRecord {
     @Column(name = "error_message")
     private String errorMessage;
 
+    /** 备份文件（压缩后）的 SHA-256 十六进制摘要 */
+    @Column(name = "checksum", length = 64)
+    private String checksum;
+
+    /** 各表备份行数（JSON，键为备份文件中的表键名） */
+    @Column(name = "table_row_counts", length = 500)
+    private String tableRowCounts;
+
+    /** 各表写出耗时（JSON，毫秒，键为表键名） */
+    @Column(name = "table_timings", length = 500)
+    private String tableTimings;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "cloud_sync_status", nullable = false)
     @Builder.Default
     private CloudSyncStatus cloudSyncStatus = CloudSyncStatus.PENDING;
 
+    /** 异地存储中的对象键 */
+    @Column(name = "cloud_object_key")
+    private String cloudObjectKey;
+
+    /** 进行中的分块上传 ID，同步中断后据此续传，同步成功后清空 */
+    @Column(name = "cloud_upload_id", length = 1024)
+    private String cloudUploadId;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
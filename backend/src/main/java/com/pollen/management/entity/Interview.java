@@ -32,6 +32,29 @@ public class Interview {
 
     private String difficultyLevel;
 
+    // --- 评分累计计数器：每条用户消息处理时更新，结束面试时直接据此出分 ---
+    // 为 null 表示该面试早于计数器上线，评分时回退为扫描对话记录
+
+    /** 用户回答条数 */
+    @Builder.Default
+    private Integer userMessageCount = 0;
+
+    /** 长回答（超过 50 字）条数 */
+    @Builder.Default
+    private Integer longAnswerCount = 0;
+
+    /** 群规熟悉度维度关键词组命中数 */
+    @Builder.Default
+    private Integer ruleKeywordHits = 0;
+
+    /** 沟通能力维度关键词组命中数 */
+    @Builder.Default
+    private Integer communicationKeywordHits = 0;
+
+    /** 抗压能力维度关键词组命中数 */
+    @Builder.Default
+    private Integer pressureKeywordHits = 0;
+
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
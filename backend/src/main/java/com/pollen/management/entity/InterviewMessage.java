@@ -31,6 +31,10 @@ public class InterviewMessage {
     @Builder.Default
     private Integer timeLimitSeconds = 60;
 
+    /** 写缓冲分配的消息标识，崩溃恢复重放时据此去重 */
+    @Column(length = 36, unique = true)
+    private String clientMessageId;
+
     @PrePersist
     protected void onCreate() {
         if (timestamp == null) {
@@ -43,6 +43,12 @@ public class InterviewReport {
 
     private String recommendationLabel;
 
+    /** 产生当前分数的评分规则版本，批量重新评分后更新 */
+    @Column(length = 32)
+    private String scoringVersion;
+
+    private LocalDateTime rescoredAt;
+
     private Boolean manualApproved;
 
     private LocalDateTime reviewedAt;
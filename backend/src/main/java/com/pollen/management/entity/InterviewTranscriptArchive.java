@@ -0,0 +1,49 @@
+package com.pollen.management.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * 已结束面试的对话归档：整场对话压缩为一行，归档后 interview_messages 中的逐条记录被删除
+ */
+@Entity
+@Table(name = "interview_transcript_archives")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InterviewTranscriptArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long interviewId;
+
+    /** 编码格式，如 JSON_DEFLATE（消息 JSON 数组经 deflate 压缩） */
+    @Column(nullable = false, length = 32)
+    private String format;
+
+    @Column(nullable = false)
+    private Integer messageCount;
+
+    /** 压缩前字节数 */
+    @Column(nullable = false)
+    private Integer rawSize;
+
+    @Lob
+    @Column(nullable = false, length = 16 * 1024 * 1024)
+    private byte[] content;
+
+    @Column(updatable = false)
+    private LocalDateTime archivedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (archivedAt == null) {
+            archivedAt = LocalDateTime.now();
+        }
+    }
+}
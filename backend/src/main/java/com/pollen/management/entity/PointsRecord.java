@@ -6,7 +6,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "points_records")
+@Table(name = "points_records",
+       indexes = @Index(name = "idx_points_records_created_at", columnList = "created_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
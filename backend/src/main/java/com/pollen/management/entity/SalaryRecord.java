@@ -8,7 +8,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "salary_records")
+@Table(name = "salary_records",
+       indexes = {
+               @Index(name = "idx_salary_records_created_at", columnList = "created_at"),
+               @Index(name = "idx_salary_records_updated_at", columnList = "updated_at")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -7,7 +7,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "weekly_report")
+@Table(name = "weekly_report",
+       indexes = @Index(name = "idx_weekly_report_generated_at", columnList = "generated_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,10 @@
+package com.pollen.management.entity.enums;
+
+/**
+ * 备份方式：全量、增量（相对上一次成功备份）、差异（相对上一次全量备份）
+ */
+public enum BackupMode {
+    FULL,
+    INCREMENTAL,
+    DIFFERENTIAL
+}
@@ -0,0 +1,7 @@
+package com.pollen.management.entity.enums;
+
+public enum BackupStorageType {
+    NONE,
+    LOCAL,
+    S3
+}
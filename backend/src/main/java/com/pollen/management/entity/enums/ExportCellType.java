@@ -0,0 +1,13 @@
+package com.pollen.management.entity.enums;
+
+/**
+ * 导出列的单元格类型，决定各导出格式中的写法与空值处理
+ */
+public enum ExportCellType {
+    LONG,
+    DECIMAL,
+    STRING,
+    BOOLEAN,
+    DATE,
+    DATETIME
+}
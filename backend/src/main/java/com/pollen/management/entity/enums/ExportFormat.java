@@ -0,0 +1,43 @@
+package com.pollen.management.entity.enums;
+
+import com.pollen.management.util.BusinessException;
+
+/**
+ * 导出文件格式
+ */
+public enum ExportFormat {
+    XLSX(".xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    CSV(".csv", "text/csv;charset=UTF-8"),
+    NDJSON(".ndjson", "application/x-ndjson;charset=UTF-8");
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * 解析请求参数（不区分大小写），为空时默认 XLSX
+     */
+    public static ExportFormat fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return XLSX;
+        }
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value.trim())) {
+                return format;
+            }
+        }
+        throw new BusinessException(400, "不支持的导出格式: " + value);
+    }
+}
@@ -0,0 +1,8 @@
+package com.pollen.management.entity.enums;
+
+public enum ExportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -3,5 +3,7 @@ package com.pollen.management.entity.enums;
 public enum RegistrationStatus {
     PENDING,
     APPROVED,
-    REJECTED
+    REJECTED,
+    /** 名额已满，在候补队列中等待递补 */
+    WAITLISTED
 }
@@ -1,9 +1,14 @@
 package com.pollen.management.repository;
 
 import com.pollen.management.entity.ActivityRegistration;
+import com.pollen.management.entity.enums.RegistrationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +17,18 @@ public interface ActivityRegistrationRepository extends JpaRepository<ActivityRe
     boolean existsByActivityIdAndUserId(Long activityId, Long userId);
     Optional<ActivityRegistration> findByActivityIdAndUserId(Long activityId, Long userId);
     List<ActivityRegistration> findByActivityId(Long activityId);
+    List<ActivityRegistration> findByActivityIdAndUserIdIn(Long activityId, Collection<Long> userIds);
+    List<ActivityRegistration> findByActivityIdAndStatusOrderByIdAsc(Long activityId, RegistrationStatus status);
     long countByActivityId(Long activityId);
     long countByActivityIdAndCheckedInTrue(Long activityId);
+
+    /**
+     * 报名状态条件更新：仅当当前状态为 expected 时改为 target
+     *
+     * @return 更新的行数，状态已被他人修改时为 0
+     */
+    @Modifying
+    @Query("UPDATE ActivityRegistration r SET r.status = :target WHERE r.id = :id AND r.status = :expected")
+    int updateStatus(@Param("id") Long id, @Param("expected") RegistrationStatus expected,
+                     @Param("target") RegistrationStatus target);
 }
@@ -1,12 +1,50 @@
 package com.pollen.management.repository;
 
 import com.pollen.management.entity.Activity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
     long countByActivityTimeBetween(LocalDateTime start, LocalDateTime end);
+
+    long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    /** 按主键游标分页读取（导出用），pageable 只取 pageSize */
+    List<Activity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * 按 (createdAt, id) 游标分页读取时间段内的记录（导出用）。
+     * 首页传 after = 起始时间、afterId = 0，之后传上一页最后一行的 createdAt 与 id。
+     */
+    @Query("SELECT a FROM Activity a WHERE a.createdAt BETWEEN :after AND :end "
+            + "AND (a.createdAt > :after OR a.id > :afterId) ORDER BY a.createdAt ASC, a.id ASC")
+    List<Activity> findPageByCreatedAtBetween(@Param("after") LocalDateTime after, @Param("afterId") Long afterId,
+                                            @Param("end") LocalDateTime end, Pageable pageable);
+
+    /**
+     * 报名人数原子加一：单条 UPDATE 由数据库行锁保证并发报名不丢失计数，也不整行写回活动。
+     * 设置了名额上限时只在未满员时加一
+     *
+     * @return 更新的行数，活动不存在或已满员时为 0
+     */
+    @Modifying
+    @Query("UPDATE Activity a SET a.registrationCount = a.registrationCount + 1 "
+            + "WHERE a.id = :id AND (a.capacity IS NULL OR a.registrationCount < a.capacity)")
+    int incrementRegistrationCount(@Param("id") Long id);
+
+    /**
+     * 报名人数原子减一（取消报名且无人递补时）
+     */
+    @Modifying
+    @Query("UPDATE Activity a SET a.registrationCount = a.registrationCount - 1 "
+            + "WHERE a.id = :id AND a.registrationCount > 0")
+    int decrementRegistrationCount(@Param("id") Long id);
 }
@@ -1,11 +1,16 @@
 package com.pollen.management.repository;
 
 import com.pollen.management.entity.BackupRecord;
+import com.pollen.management.entity.enums.BackupMode;
+import com.pollen.management.entity.enums.BackupStatus;
+import com.pollen.management.entity.enums.CloudSyncStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BackupRecordRepository extends JpaRepository<BackupRecord, Long> {
@@ -13,4 +18,12 @@ public interface BackupRecordRepository extends JpaRepository<BackupRecord, Long
     List<BackupRecord> findAllByOrderByCreatedAtDesc();
 
     List<BackupRecord> findByCreatedAtBefore(LocalDateTime dateTime);
+
+    Optional<BackupRecord> findFirstByStatusOrderByIdDesc(BackupStatus status);
+
+    Optional<BackupRecord> findFirstByStatusAndBackupModeOrderByIdDesc(BackupStatus status, BackupMode backupMode);
+
+    List<BackupRecord> findByStatusAndCloudSyncStatusIn(BackupStatus status, Collection<CloudSyncStatus> syncStatuses);
+
+    boolean existsByBaseBackupIdAndCreatedAtGreaterThanEqual(Long baseBackupId, LocalDateTime dateTime);
 }
@@ -0,0 +1,16 @@
+package com.pollen.management.repository;
+
+import com.pollen.management.entity.InterviewTranscriptArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InterviewTranscriptArchiveRepository extends JpaRepository<InterviewTranscriptArchive, Long> {
+    Optional<InterviewTranscriptArchive> findByInterviewId(Long interviewId);
+
+    List<InterviewTranscriptArchive> findByInterviewIdIn(Collection<Long> interviewIds);
+}
@@ -1,6 +1,7 @@
 package com.pollen.management.repository;
 
 import com.pollen.management.entity.PointsRecord;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,4 +17,18 @@ public interface PointsRecordRepository extends JpaRepository<PointsRecord, Long
 
     @Query("SELECT COALESCE(SUM(p.amount), 0) FROM PointsRecord p WHERE p.amount > 0 AND p.createdAt BETWEEN :start AND :end")
     int sumPositiveAmountByCreatedAtBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    /** 按主键游标分页读取（导出用），pageable 只取 pageSize */
+    List<PointsRecord> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * 按 (createdAt, id) 游标分页读取时间段内的记录（导出用）。
+     * 首页传 after = 起始时间、afterId = 0，之后传上一页最后一行的 createdAt 与 id。
+     */
+    @Query("SELECT p FROM PointsRecord p WHERE p.createdAt BETWEEN :after AND :end "
+            + "AND (p.createdAt > :after OR p.id > :afterId) ORDER BY p.createdAt ASC, p.id ASC")
+    List<PointsRecord> findPageByCreatedAtBetween(@Param("after") LocalDateTime after, @Param("afterId") Long afterId,
+                                            @Param("end") LocalDateTime end, Pageable pageable);
 }
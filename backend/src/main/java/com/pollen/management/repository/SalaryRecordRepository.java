@@ -1,9 +1,13 @@
 package com.pollen.management.repository;
 
 import com.pollen.management.entity.SalaryRecord;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -12,4 +16,18 @@ public interface SalaryRecordRepository extends JpaRepository<SalaryRecord, Long
     List<SalaryRecord> findByArchivedFalse();
     List<SalaryRecord> findByUserIdAndArchivedTrueOrderByArchivedAtDesc(Long userId);
     List<SalaryRecord> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    /** 按主键游标分页读取（导出用），pageable 只取 pageSize */
+    List<SalaryRecord> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * 按 (createdAt, id) 游标分页读取时间段内的记录（导出用）。
+     * 首页传 after = 起始时间、afterId = 0，之后传上一页最后一行的 createdAt 与 id。
+     */
+    @Query("SELECT s FROM SalaryRecord s WHERE s.createdAt BETWEEN :after AND :end "
+            + "AND (s.createdAt > :after OR s.id > :afterId) ORDER BY s.createdAt ASC, s.id ASC")
+    List<SalaryRecord> findPageByCreatedAtBetween(@Param("after") LocalDateTime after, @Param("afterId") Long afterId,
+                                            @Param("end") LocalDateTime end, Pageable pageable);
 }
@@ -3,10 +3,14 @@ package com.pollen.management.repository;
 import com.pollen.management.entity.User;
 import com.pollen.management.entity.enums.OnlineStatus;
 import com.pollen.management.entity.enums.Role;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +24,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByOnlineStatus(OnlineStatus onlineStatus);
     List<User> findByOnlineStatusNotAndLastActiveAtBefore(OnlineStatus status, LocalDateTime threshold);
     List<User> findByCreatedAtAfter(LocalDateTime after);
+
+    long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    /** 批量校验用户是否存在，只返回存在的用户 ID */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /** 按主键游标分页读取（导出用），pageable 只取 pageSize */
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * 按 (createdAt, id) 游标分页读取时间段内的记录（导出用）。
+     * 首页传 after = 起始时间、afterId = 0，之后传上一页最后一行的 createdAt 与 id。
+     */
+    @Query("SELECT u FROM User u WHERE u.createdAt BETWEEN :after AND :end "
+            + "AND (u.createdAt > :after OR u.id > :afterId) ORDER BY u.createdAt ASC, u.id ASC")
+    List<User> findPageByCreatedAtBetween(@Param("after") LocalDateTime after, @Param("afterId") Long afterId,
+                                            @Param("end") LocalDateTime end, Pageable pageable);
 }
@@ -0,0 +1,147 @@
+package com.pollen.management.security;
+
+import com.pollen.management.config.PasswordHashingProperties;
+import com.pollen.management.dto.PasswordHashingStats;
+import com.pollen.management.util.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 在独立有界线程池中执行密码哈希与校验的 PasswordEncoder 装饰器。
+ * <ul>
+ *   <li>线程数默认为一半 CPU 核数，BCrypt 同时占用的 CPU 不会超过该值</li>
+ *   <li>队列有界，满时立即以 503（HTTP 503）拒绝，而不是让请求线程无限堆积</li>
+ *   <li>请求线程只阻塞等待结果（不占 CPU），其他接口的请求线程仍能得到调度</li>
+ * </ul>
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long timeoutMs;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder totalQueueWaitNanos = new LongAdder();
+    private final LongAdder totalExecutionNanos = new LongAdder();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+    private final AtomicLong maxExecutionNanos = new AtomicLong();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingProperties properties) {
+        this.delegate = delegate;
+        this.queueCapacity = Math.max(1, properties.getQueueCapacity());
+        this.timeoutMs = properties.getTimeoutMs();
+        int threads = properties.resolveThreads();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + threadIndex.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 当前运行指标快照
+     */
+    public PasswordHashingStats getStats() {
+        long done = completed.sum();
+        return PasswordHashingStats.builder()
+                .threads(executor.getMaximumPoolSize())
+                .queueCapacity(queueCapacity)
+                .queued(executor.getQueue().size())
+                .active(executor.getActiveCount())
+                .completed(done)
+                .rejected(rejected.sum())
+                .timedOut(timedOut.sum())
+                .avgQueueWaitMs(done == 0 ? 0 : toMillis(totalQueueWaitNanos.sum()) / done)
+                .avgExecutionMs(done == 0 ? 0 : toMillis(totalExecutionNanos.sum()) / done)
+                .maxQueueWaitMs(toMillis(maxQueueWaitNanos.get()))
+                .maxExecutionMs(toMillis(maxExecutionNanos.get()))
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T execute(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return task.get();
+                } finally {
+                    long finishedAt = System.nanoTime();
+                    record(startedAt - submittedAt, finishedAt - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("密码哈希线程池已满，拒绝请求（队列容量 {}）", queueCapacity);
+            throw new BusinessException(503, "系统繁忙，请稍后重试");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new BusinessException(503, "系统繁忙，请稍后重试");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusinessException(503, "系统繁忙，请稍后重试");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void record(long queueWaitNanos, long executionNanos) {
+        completed.increment();
+        totalQueueWaitNanos.add(queueWaitNanos);
+        totalExecutionNanos.add(executionNanos);
+        maxQueueWaitNanos.accumulateAndGet(queueWaitNanos, Math::max);
+        maxExecutionNanos.accumulateAndGet(executionNanos, Math::max);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
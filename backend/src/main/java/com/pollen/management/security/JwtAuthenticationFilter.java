@@ -1,5 +1,6 @@
 package com.pollen.management.security;
 
+import com.pollen.management.service.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,13 +17,14 @@ import java.io.IOException;
 import java.util.List;
 
 /**
- * JWT 认证过滤器：拦截请求、验证 Token、设置 SecurityContext
+ * JWT 认证过滤器：拦截请求、验证 Token、检查吊销、设置 SecurityContext
  */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -30,18 +32,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         String token = extractToken(request);
 
-        if (StringUtils.hasText(token) && jwtUtil.validateToken(token)) {
-            Long userId = jwtUtil.getUserIdFromToken(token);
-            String username = jwtUtil.getUsernameFromToken(token);
-            String role = jwtUtil.getRoleFromToken(token);
+        JwtClaims claims = StringUtils.hasText(token) ? jwtUtil.parseToken(token) : null;
 
+        if (claims != null && !tokenRevocationService.isRevoked(claims)) {
             List<SimpleGrantedAuthority> authorities = List.of(
-                    new SimpleGrantedAuthority("ROLE_" + role)
+                    new SimpleGrantedAuthority("ROLE_" + claims.getRole())
             );
 
             UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(username, null, authorities);
-            authentication.setDetails(userId);
+                    new UsernamePasswordAuthenticationToken(claims.getUsername(), null, authorities);
+            authentication.setDetails(claims.getUserId());
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
@@ -0,0 +1,27 @@
+package com.pollen.management.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 一次签名校验后得到的 Token 声明（不可变）
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class JwtClaims {
+    /** Token 唯一标识（jti），用于单个 Token 吊销 */
+    private final String tokenId;
+    private final Long userId;
+    private final String username;
+    private final String role;
+    /** 签发时间（毫秒时间戳） */
+    private final long issuedAt;
+    /** 过期时间（毫秒时间戳） */
+    private final long expiresAt;
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAt;
+    }
+}
@@ -2,26 +2,52 @@ package com.pollen.management.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JWT 工具类：生成、验证、解析 Token
+ * <p>
+ * 验证通过的 Token 以其 SHA-256 摘要为键缓存声明，直到 Token 的 exp 为止，
+ * 同一会话的后续请求无需再次解析和校验签名。
  */
 @Component
 public class JwtUtil {
 
+    static final int DEFAULT_CLAIMS_CACHE_SIZE = 10_000;
+    /** 毫秒精度的签发时间；标准 iat 只精确到秒，无法与吊销水位线比较先后 */
+    static final String ISSUED_AT_MILLIS_CLAIM = "iatMs";
+
     private final SecretKey secretKey;
     private final long expiration;
+    private final JwtParser parser;
+    private final int claimsCacheSize;
+
+    // Token 摘要 → 已验证的声明
+    private final ConcurrentHashMap<String, JwtClaims> claimsCache = new ConcurrentHashMap<>();
 
+    public JwtUtil(String secret, long expiration) {
+        this(secret, expiration, DEFAULT_CLAIMS_CACHE_SIZE);
+    }
+
+    @Autowired
     public JwtUtil(@Value("${jwt.secret}") String secret,
-                   @Value("${jwt.expiration}") long expiration) {
+                   @Value("${jwt.expiration}") long expiration,
+                   @Value("${jwt.claims-cache-size:10000}") int claimsCacheSize) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expiration = expiration;
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
+        this.claimsCacheSize = claimsCacheSize;
     }
 
     /**
@@ -32,57 +58,132 @@ public class JwtUtil {
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .claim("userId", userId)
                 .claim("role", role)
+                .claim(ISSUED_AT_MILLIS_CLAIM, now.getTime())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(secretKey)
                 .compact();
     }
 
+    /**
+     * 解析并验证 Token，返回声明；Token 无效或已过期时返回 null。
+     * 命中缓存时跳过签名校验。
+     */
+    public JwtClaims parseToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        String key = digest(token);
+
+        JwtClaims cached = claimsCache.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            claimsCache.remove(key, cached);
+            return null;
+        }
+
+        JwtClaims claims = verify(token);
+        if (claims != null && !claims.isExpired(now)) {
+            cacheClaims(key, claims, now);
+        }
+        return claims;
+    }
+
     /**
      * 验证 Token 是否有效
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return parseToken(token) != null;
     }
 
     /**
      * 从 Token 中获取用户ID
      */
     public Long getUserIdFromToken(String token) {
-        Claims claims = getClaims(token);
-        return claims.get("userId", Long.class);
+        return requireClaims(token).getUserId();
     }
 
     /**
      * 从 Token 中获取用户名
      */
     public String getUsernameFromToken(String token) {
-        return getClaims(token).getSubject();
+        return requireClaims(token).getUsername();
     }
 
     /**
      * 从 Token 中获取角色
      */
     public String getRoleFromToken(String token) {
-        return getClaims(token).get("role", String.class);
+        return requireClaims(token).getRole();
+    }
+
+    /**
+     * 当前缓存的声明数量（用于测试）
+     */
+    int getCachedClaimsCount() {
+        return claimsCache.size();
+    }
+
+    private JwtClaims requireClaims(String token) {
+        JwtClaims claims = parseToken(token);
+        if (claims == null) {
+            throw new JwtException("Invalid or expired token");
+        }
+        return claims;
+    }
+
+    private JwtClaims verify(String token) {
+        try {
+            Claims payload = parser.parseSignedClaims(token).getPayload();
+            // 没有 exp 的 Token 视为无效，既不接受也不缓存
+            Date expiresAt = payload.getExpiration();
+            if (expiresAt == null) {
+                return null;
+            }
+            Date issuedAt = payload.getIssuedAt();
+            Long issuedAtMillis = payload.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+            return JwtClaims.builder()
+                    .tokenId(payload.getId())
+                    .userId(payload.get("userId", Long.class))
+                    .username(payload.getSubject())
+                    .role(payload.get("role", String.class))
+                    .issuedAt(issuedAtMillis != null ? issuedAtMillis : issuedAt != null ? issuedAt.getTime() : 0L)
+                    .expiresAt(expiresAt.getTime())
+                    .build();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * 写入缓存；达到容量上限时先清理过期项，仍然已满则整体清空，保证内存有界。
+     */
+    private void cacheClaims(String key, JwtClaims claims, long now) {
+        if (claimsCacheSize <= 0) {
+            return;
+        }
+        if (claimsCache.size() >= claimsCacheSize) {
+            claimsCache.values().removeIf(c -> c.isExpired(now));
+            if (claimsCache.size() >= claimsCacheSize) {
+                claimsCache.clear();
+            }
+        }
+        claimsCache.put(key, claims);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -0,0 +1,16 @@
+package com.pollen.management.service;
+
+import com.pollen.management.dto.BulkCheckInRequest;
+import com.pollen.management.dto.BulkCheckInResult;
+
+/**
+ * 活动批量签到服务接口 - 一次处理签到设备上传的多条扫码记录
+ */
+public interface ActivityCheckInService {
+
+    /**
+     * 批量扫码签到：在一个事务内批量更新报名记录、批量发放签到奖励积分，逐条返回签到结果。
+     * 单条记录失败（未报名、候补中、已签到、重复扫码、用户不存在）不影响其他记录
+     */
+    BulkCheckInResult bulkCheckIn(Long activityId, BulkCheckInRequest request);
+}
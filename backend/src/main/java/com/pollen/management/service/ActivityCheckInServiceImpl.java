@@ -0,0 +1,153 @@
+package com.pollen.management.service;
+
+import com.pollen.management.dto.BulkCheckInRequest;
+import com.pollen.management.dto.BulkCheckInResult;
+import com.pollen.management.entity.Activity;
+import com.pollen.management.entity.ActivityRegistration;
+import com.pollen.management.entity.enums.PointsType;
+import com.pollen.management.entity.enums.RegistrationStatus;
+import com.pollen.management.repository.ActivityRegistrationRepository;
+import com.pollen.management.repository.ActivityRepository;
+import com.pollen.management.repository.UserRepository;
+import com.pollen.management.util.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 活动批量签到服务实现。
+ * <p>
+ * 与单人签到（{@link ActivityService#checkIn}）的校验和奖励一致，但活动与二维码只校验一次，
+ * 报名记录与用户按批次查询，签到用一次 JDBC 批量条件更新（只更新尚未签到的记录，
+ * 与并发的单人签到不会重复发放积分），签到积分用 {@link PointsService#addPointsBatch} 一次写入、缓存只失效一次。
+ */
+@Service
+@RequiredArgsConstructor
+public class ActivityCheckInServiceImpl implements ActivityCheckInService {
+
+    /** 与单人签到相同的签到奖励 */
+    static final int CHECKIN_POINTS = 5;
+    private static final int IN_CLAUSE_CHUNK = 500;
+
+    private static final String CHECK_IN_SQL = "UPDATE activity_registrations SET checked_in = ?, checked_in_at = ? "
+            + "WHERE id = ? AND checked_in = ?";
+
+    private final ActivityRepository activityRepository;
+    private final ActivityRegistrationRepository registrationRepository;
+    private final UserRepository userRepository;
+    private final ActivitySignUpService signUpService;
+    private final PointsService pointsService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public BulkCheckInResult bulkCheckIn(Long activityId, BulkCheckInRequest request) {
+        Activity activity = activityRepository.findById(activityId)
+                .orElseThrow(() -> new BusinessException(404, "活动不存在"));
+
+        String qrToken = request.getQrToken();
+        if (qrToken != null && !qrToken.isEmpty()) {
+            if (activity.getQrToken() == null || !activity.getQrToken().equals(qrToken)) {
+                throw new BusinessException(400, "二维码无效或已过期");
+            }
+        }
+
+        // 抢票模式的报名记录可能尚未落库
+        if (Boolean.TRUE.equals(activity.getFlashSignUp())) {
+            signUpService.flush();
+        }
+
+        List<BulkCheckInRequest.Scan> scans = request.getScans();
+        List<BulkCheckInResult.Entry> results = new ArrayList<>(scans.size());
+        // 同一用户多次扫码只处理第一条
+        Map<Long, BulkCheckInResult.Entry> firstScans = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (BulkCheckInRequest.Scan scan : scans) {
+            BulkCheckInResult.Entry entry = BulkCheckInResult.Entry.builder()
+                    .userId(scan.getUserId())
+                    .checkedInAt(scan.getScannedAt() != null ? scan.getScannedAt() : now)
+                    .build();
+            results.add(entry);
+            if (firstScans.putIfAbsent(scan.getUserId(), entry) != null) {
+                fail(entry, 400, "重复扫码");
+            }
+        }
+
+        List<Long> userIds = new ArrayList<>(firstScans.keySet());
+        Map<Long, ActivityRegistration> registrations = new HashMap<>();
+        Set<Long> existingUsers = new HashSet<>();
+        for (int from = 0; from < userIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = userIds.subList(from, Math.min(userIds.size(), from + IN_CLAUSE_CHUNK));
+            registrationRepository.findByActivityIdAndUserIdIn(activityId, chunk)
+                    .forEach(registration -> registrations.put(registration.getUserId(), registration));
+            existingUsers.addAll(userRepository.findExistingIds(chunk));
+        }
+
+        List<BulkCheckInResult.Entry> candidates = new ArrayList<>();
+        List<Object[]> args = new ArrayList<>();
+        for (Map.Entry<Long, BulkCheckInResult.Entry> first : firstScans.entrySet()) {
+            BulkCheckInResult.Entry entry = first.getValue();
+            ActivityRegistration registration = registrations.get(first.getKey());
+            if (registration == null) {
+                fail(entry, 403, "未报名该活动，无法签到");
+            } else if (registration.getStatus() == RegistrationStatus.WAITLISTED) {
+                fail(entry, 403, "候补中，无法签到");
+            } else if (registration.getCheckedIn()) {
+                fail(entry, 400, "已签到，请勿重复签到");
+            } else if (!existingUsers.contains(first.getKey())) {
+                fail(entry, 404, "用户不存在");
+            } else {
+                candidates.add(entry);
+                args.add(new Object[]{true, Timestamp.valueOf(entry.getCheckedInAt()), registration.getId(), false});
+            }
+        }
+
+        List<Long> checkedIn = new ArrayList<>(candidates.size());
+        if (!args.isEmpty()) {
+            int[] updated = jdbcTemplate.batchUpdate(CHECK_IN_SQL, args);
+            for (int i = 0; i < updated.length; i++) {
+                BulkCheckInResult.Entry entry = candidates.get(i);
+                if (updated[i] > 0 || updated[i] == Statement.SUCCESS_NO_INFO) {
+                    entry.setSuccess(true);
+                    entry.setCode(200);
+                    entry.setMessage("签到成功");
+                    checkedIn.add(entry.getUserId());
+                } else {
+                    // 上传期间已通过单人签到完成
+                    fail(entry, 400, "已签到，请勿重复签到");
+                }
+            }
+        }
+
+        // 发放签到奖励积分
+        if (!checkedIn.isEmpty()) {
+            pointsService.addPointsBatch(checkedIn, PointsType.CHECKIN, CHECKIN_POINTS, "活动签到奖励");
+        }
+
+        return BulkCheckInResult.builder()
+                .total(results.size())
+                .checkedIn(checkedIn.size())
+                .failed(results.size() - checkedIn.size())
+                .results(results)
+                .build();
+    }
+
+    private static void fail(BulkCheckInResult.Entry entry, int code, String message) {
+        entry.setSuccess(false);
+        entry.setCode(code);
+        entry.setMessage(message);
+        entry.setCheckedInAt(null);
+    }
+}
@@ -33,6 +33,11 @@ public interface ActivityService {
      */
     ActivityRegistration registerForActivity(Long activityId, Long userId);
 
+    /**
+     * 取消报名；占用名额的报名取消后由候补首位递补，已签到的不可取消
+     */
+    void cancelRegistration(Long activityId, Long userId);
+
     /**
      * 成员签到（无 QR token）
      */
@@ -47,6 +47,7 @@ public class ActivityServiceImpl implements ActivityService {
     private final ActivityMaterialRepository activityMaterialRepository;
     private final PointsService pointsService;
     private final ObjectMapper objectMapper;
+    private final ActivitySignUpService signUpService;
 
     @Override
     @Transactional
@@ -66,6 +67,14 @@ public class ActivityServiceImpl implements ActivityService {
     @Override
     @Transactional
     public Activity createActivity(CreateActivityRequest request) {
+        boolean flashSignUp = Boolean.TRUE.equals(request.getFlashSignUp());
+        if (flashSignUp && request.getCapacity() == null) {
+            throw new BusinessException(400, "抢票报名模式需要设置名额上限");
+        }
+        // 抢票报名的状态只由 Redis 脚本迁移，人工审批不会同步到 Redis 中的名额与状态
+        if (flashSignUp && request.getApprovalMode() == ApprovalMode.MANUAL) {
+            throw new BusinessException(400, "抢票报名模式不支持人工审核");
+        }
         Activity activity = Activity.builder()
                 .name(request.getName())
                 .description(request.getDescription())
@@ -76,6 +85,8 @@ public class ActivityServiceImpl implements ActivityService {
                 .activityType(request.getActivityType())
                 .customFormFields(request.getCustomFormFields())
                 .approvalMode(request.getApprovalMode() != null ? request.getApprovalMode() : ApprovalMode.AUTO)
+                .capacity(request.getCapacity())
+                .flashSignUp(flashSignUp)
                 .status(ActivityStatus.UPCOMING)
                 .registrationCount(0)
                 .build();
@@ -96,24 +107,67 @@ public class ActivityServiceImpl implements ActivityService {
             throw new BusinessException(409, "不可重复报名同一活动");
         }
 
+        // 抢票模式：名额在 Redis 中原子占用，报名记录由后台批量落库
+        if (Boolean.TRUE.equals(activity.getFlashSignUp())) {
+            return signUpService.signUp(activity, userId);
+        }
+
         RegistrationStatus initialStatus = activity.getApprovalMode() == ApprovalMode.MANUAL
                 ? RegistrationStatus.PENDING
                 : RegistrationStatus.APPROVED;
 
+        // 先占用名额：满员时进入候补
+        if (initialStatus == RegistrationStatus.APPROVED
+                && activityRepository.incrementRegistrationCount(activityId) == 0
+                && activity.getCapacity() != null) {
+            initialStatus = RegistrationStatus.WAITLISTED;
+        }
+
         ActivityRegistration registration = ActivityRegistration.builder()
                 .activityId(activityId)
                 .userId(userId)
                 .status(initialStatus)
                 .checkedIn(false)
                 .build();
-        registration = registrationRepository.save(registration);
+        return registrationRepository.save(registration);
+    }
 
-        if (initialStatus == RegistrationStatus.APPROVED) {
-            activity.setRegistrationCount(activity.getRegistrationCount() + 1);
-            activityRepository.save(activity);
+    @Override
+    @Transactional
+    public void cancelRegistration(Long activityId, Long userId) {
+        Activity activity = activityRepository.findById(activityId)
+                .orElseThrow(() -> new BusinessException(404, "活动不存在"));
+
+        if (Boolean.TRUE.equals(activity.getFlashSignUp())) {
+            signUpService.flush();
+            registrationRepository.findByActivityIdAndUserId(activityId, userId)
+                    .filter(ActivityRegistration::getCheckedIn)
+                    .ifPresent(r -> {
+                        throw new BusinessException(400, "已签到，无法取消报名");
+                    });
+            signUpService.cancel(activity, userId);
+            return;
         }
 
-        return registration;
+        ActivityRegistration registration = registrationRepository.findByActivityIdAndUserId(activityId, userId)
+                .orElseThrow(() -> new BusinessException(404, "未报名该活动"));
+        if (registration.getCheckedIn()) {
+            throw new BusinessException(400, "已签到，无法取消报名");
+        }
+        registrationRepository.delete(registration);
+
+        if (registration.getStatus() != RegistrationStatus.APPROVED) {
+            return;
+        }
+        // 释放的名额由候补首位递补（报名人数不变），没有候补时报名人数减一
+        for (ActivityRegistration waiting : registrationRepository
+                .findByActivityIdAndStatusOrderByIdAsc(activityId, RegistrationStatus.WAITLISTED)) {
+            if (registrationRepository.updateStatus(waiting.getId(), RegistrationStatus.WAITLISTED,
+                    RegistrationStatus.APPROVED) > 0) {
+                return;
+            }
+        }
+        activityRepository.decrementRegistrationCount(activityId);
     }
 
     @Override
@@ -134,9 +188,18 @@ public class ActivityServiceImpl implements ActivityService {
             }
         }
 
+        // 抢票模式的报名记录可能尚未落库
+        if (Boolean.TRUE.equals(activity.getFlashSignUp())) {
+            signUpService.flush();
+        }
+
         ActivityRegistration registration = registrationRepository.findByActivityIdAndUserId(activityId, userId)
                 .orElseThrow(() -> new BusinessException(403, "未报名该活动，无法签到"));
 
+        if (registration.getStatus() == RegistrationStatus.WAITLISTED) {
+            throw new BusinessException(403, "候补中，无法签到");
+        }
+
         if (registration.getCheckedIn()) {
             throw new BusinessException(400, "已签到，请勿重复签到");
         }
@@ -192,15 +255,25 @@ public class ActivityServiceImpl implements ActivityService {
             throw new BusinessException(400, "报名记录不属于该活动");
         }
 
+        if (Boolean.TRUE.equals(activity.getFlashSignUp())) {
+            throw new BusinessException(400, "抢票报名模式不支持人工审核");
+        }
+
         if (registration.getStatus() != RegistrationStatus.PENDING) {
             throw new BusinessException(400, "只能审批待审核的报名记录");
         }
 
+        // 条件更新：同一报名被并发审批时只有一次成功，报名人数只加一次
+        if (registrationRepository.updateStatus(registrationId, RegistrationStatus.PENDING,
+                RegistrationStatus.APPROVED) == 0) {
+            throw new BusinessException(400, "只能审批待审核的报名记录");
+        }
         registration.setStatus(RegistrationStatus.APPROVED);
-        registrationRepository.save(registration);
 
-        activity.setRegistrationCount(activity.getRegistrationCount() + 1);
-        activityRepository.save(activity);
+        if (activityRepository.incrementRegistrationCount(activityId) == 0 && activity.getCapacity() != null) {
+            // 满员：回滚本次审批
+            throw new BusinessException(400, "活动名额已满");
+        }
     }
 
     @Override
@@ -0,0 +1,33 @@
+package com.pollen.management.service;
+
+import com.pollen.management.entity.Activity;
+import com.pollen.management.entity.ActivityRegistration;
+
+/**
+ * 活动抢票报名服务接口 - 名额原子占用、候补队列与自动递补，报名记录异步批量落库
+ */
+public interface ActivitySignUpService {
+
+    /**
+     * 抢票报名：有剩余名额时直接占用（APPROVED），否则进入候补队列（WAITLISTED）
+     * 返回的报名记录尚未落库（id 为空），由后台批量写入；重复报名抛出 409
+     */
+    ActivityRegistration signUp(Activity activity, Long userId);
+
+    /**
+     * 取消抢票报名；占用名额的用户取消时，候补队列首位自动递补
+     *
+     * @return 递补的用户 ID，没有递补时为 null
+     */
+    Long cancel(Activity activity, Long userId);
+
+    /**
+     * 立即把待落库的报名状态变化写入数据库
+     */
+    void flush();
+
+    /**
+     * 本节点自上次落库以来的报名状态变化数
+     */
+    int pendingCount();
+}
@@ -0,0 +1,663 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.ActivitySignUpProperties;
+import com.pollen.management.entity.Activity;
+import com.pollen.management.entity.ActivityRegistration;
+import com.pollen.management.entity.enums.RegistrationStatus;
+import com.pollen.management.repository.ActivityRegistrationRepository;
+import com.pollen.management.util.BusinessException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 活动抢票报名服务实现。
+ * <ul>
+ *   <li>每个活动的剩余名额、报名状态（A 占用名额 / W 候补 / P 待审核）与候补队列保存在 Redis 中，
+ *       报名与取消各由一个 Lua 脚本原子完成，不读写数据库中的活动行。抢票活动不支持人工审核，
+ *       P 只来自数据库中已有的待审核记录，不会再迁移</li>
+ *   <li>首次访问活动时按数据库中已有的报名记录初始化（其他节点已初始化时不覆盖），
+ *       已报名用户因此同样被拒绝重复报名</li>
+ *   <li>脚本同时在待落库集合 {@value #DIRTY_KEY} 中为变化的（活动, 用户）递增版本号。落库时读取其当前状态，
+ *       在一个事务内批量插入 / 更新 / 删除报名记录，并按实际变化行数每个活动只更新一次报名人数；
+ *       提交后仅删除版本未再变化的条目。重复落库无副作用，任一节点都可以处理任一条目</li>
+ *   <li>Redis 不可用时退化为单节点内存模式，语义相同。定时重新探测，恢复后先把内存中的报名全部落库，
+ *       再清空内存名额，之后各活动按数据库记录重新初始化到 Redis</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class ActivitySignUpServiceImpl implements ActivitySignUpService {
+
+    static final String DIRTY_KEY = "activity:signup:dirty";
+    private static final String SEATED = "A";
+    private static final String WAITLISTED = "W";
+    private static final String PENDING = "P";
+    private static final int IN_CLAUSE_CHUNK = 500;
+    private static final int MAX_FLUSH_ROUNDS = 100;
+    private static final long REDIS_PROBE_INTERVAL_MS = 10_000;
+
+    /** KEYS: 剩余名额, 报名状态, 候补队列；ARGV: 剩余名额, 然后是按报名顺序的 用户 ID, 状态 对 */
+    static final RedisScript<Long> INIT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end\n"
+                    + "redis.call('SET', KEYS[1], ARGV[1])\n"
+                    + "for i = 2, #ARGV, 2 do\n"
+                    + "  redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 1])\n"
+                    + "  if ARGV[i + 1] == 'W' then redis.call('RPUSH', KEYS[3], ARGV[i]) end\n"
+                    + "end\n"
+                    + "return 1", Long.class);
+
+    /**
+     * KEYS: 剩余名额, 报名状态, 候补队列, 待落库；ARGV: 用户 ID, 待落库字段
+     * 返回 -1 重复报名，0 占用名额，正数为候补位次
+     */
+    static final RedisScript<Long> SIGN_UP_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[2], ARGV[1]) == 1 then return -1 end\n"
+                    + "local result = 0\n"
+                    + "if tonumber(redis.call('GET', KEYS[1]) or '0') > 0 then\n"
+                    + "  redis.call('DECR', KEYS[1])\n"
+                    + "  redis.call('HSET', KEYS[2], ARGV[1], 'A')\n"
+                    + "else\n"
+                    + "  redis.call('HSET', KEYS[2], ARGV[1], 'W')\n"
+                    + "  result = redis.call('RPUSH', KEYS[3], ARGV[1])\n"
+                    + "end\n"
+                    + "redis.call('HINCRBY', KEYS[4], ARGV[2], 1)\n"
+                    + "return result", Long.class);
+
+    /**
+     * KEYS: 剩余名额, 报名状态, 候补队列, 待落库；ARGV: 用户 ID, 待落库字段, 活动的待落库字段前缀
+     * 返回 -1 未报名，0 已取消且无人递补，正数为递补的用户 ID
+     */
+    static final RedisScript<Long> CANCEL_SCRIPT = new DefaultRedisScript<>(
+            "local state = redis.call('HGET', KEYS[2], ARGV[1])\n"
+                    + "if not state then return -1 end\n"
+                    + "redis.call('HDEL', KEYS[2], ARGV[1])\n"
+                    + "redis.call('HINCRBY', KEYS[4], ARGV[2], 1)\n"
+                    + "if state ~= 'A' then\n"
+                    + "  if state == 'W' then redis.call('LREM', KEYS[3], 1, ARGV[1]) end\n"
+                    + "  return 0\n"
+                    + "end\n"
+                    + "local promoted = redis.call('LPOP', KEYS[3])\n"
+                    + "if promoted then\n"
+                    + "  redis.call('HSET', KEYS[2], promoted, 'A')\n"
+                    + "  redis.call('HINCRBY', KEYS[4], ARGV[3] .. promoted, 1)\n"
+                    + "  return tonumber(promoted)\n"
+                    + "end\n"
+                    + "redis.call('INCR', KEYS[1])\n"
+                    + "return 0", Long.class);
+
+    /** KEYS: 待落库；ARGV: 字段, 版本 对。只删除版本未变化的字段 */
+    static final RedisScript<Long> ACK_SCRIPT = new DefaultRedisScript<>(
+            "local removed = 0\n"
+                    + "for i = 1, #ARGV, 2 do\n"
+                    + "  if redis.call('HGET', KEYS[1], ARGV[i]) == ARGV[i + 1] then\n"
+                    + "    redis.call('HDEL', KEYS[1], ARGV[i])\n"
+                    + "    removed = removed + 1\n"
+                    + "  end\n"
+                    + "end\n"
+                    + "return removed", Long.class);
+
+    private static final String INSERT_SQL = "INSERT INTO activity_registrations "
+            + "(activity_id, user_id, status, checked_in, registered_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE activity_registrations SET status = ? "
+            + "WHERE activity_id = ? AND user_id = ? AND status = ?";
+    private static final String DELETE_SQL = "DELETE FROM activity_registrations "
+            + "WHERE activity_id = ? AND user_id = ? AND status = ?";
+    private static final String COUNT_SQL = "UPDATE activities SET registration_count = registration_count + ? "
+            + "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ActivityRegistrationRepository registrationRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ActivitySignUpProperties properties;
+
+    /** 本节点已初始化名额的活动 */
+    private final Set<Long> initialized = ConcurrentHashMap.newKeySet();
+    /** 内存模式下的名额状态与待落库版本 */
+    private final Map<Long, LocalSeats> localSeats = new ConcurrentHashMap<>();
+    private final Map<String, Long> localDirty = new ConcurrentHashMap<>();
+    private final AtomicInteger changesSinceFlush = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    /** 报名 / 取消持读锁，切换回 Redis 模式时持写锁 */
+    private final ReentrantReadWriteLock modeLock = new ReentrantReadWriteLock();
+    private final ThreadPoolExecutor flushExecutor;
+
+    private volatile boolean redisAvailable;
+    private volatile long lastRedisProbe;
+
+    @Autowired
+    public ActivitySignUpServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                     ActivityRegistrationRepository registrationRepository,
+                                     ObjectProvider<StringRedisTemplate> redisTemplate,
+                                     ActivitySignUpProperties properties) {
+        this(jdbcTemplate, transactionManager, registrationRepository, redisTemplate.getIfAvailable(), properties);
+    }
+
+    ActivitySignUpServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              ActivityRegistrationRepository registrationRepository,
+                              StringRedisTemplate redisTemplate, ActivitySignUpProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        // 独立事务：签到、取消等调用方事务内 flush 时也先行提交
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.registrationRepository = registrationRepository;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        // 单线程、队列容量 1：已有一次待执行的落库时不再重复排队
+        this.flushExecutor = new ThreadPoolExecutor(
+                1, 1,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1),
+                r -> {
+                    Thread t = new Thread(r, "activity-signup-flush");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PostConstruct
+    void init() {
+        redisAvailable = checkRedisAvailable();
+        lastRedisProbe = System.currentTimeMillis();
+        if (!redisAvailable) {
+            log.info("Redis 不可用，抢票报名使用内存模式，之后定时重新探测");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("关闭前写入抢票报名记录失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public ActivityRegistration signUp(Activity activity, Long userId) {
+        long result;
+        modeLock.readLock().lock();
+        try {
+            ensureInitialized(activity);
+            result = redisAvailable
+                    ? runScript(SIGN_UP_SCRIPT, activity.getId(), String.valueOf(userId), dirtyField(activity.getId(), userId))
+                    : localSeats.get(activity.getId()).signUp(userId, this::markDirty);
+        } finally {
+            modeLock.readLock().unlock();
+        }
+        if (result < 0) {
+            throw new BusinessException(409, "不可重复报名同一活动");
+        }
+        changed();
+        return ActivityRegistration.builder()
+                .activityId(activity.getId())
+                .userId(userId)
+                .status(result == 0 ? RegistrationStatus.APPROVED : RegistrationStatus.WAITLISTED)
+                .checkedIn(false)
+                .build();
+    }
+
+    @Override
+    public Long cancel(Activity activity, Long userId) {
+        long result;
+        modeLock.readLock().lock();
+        try {
+            ensureInitialized(activity);
+            result = redisAvailable
+                    ? runScript(CANCEL_SCRIPT, activity.getId(), String.valueOf(userId),
+                            dirtyField(activity.getId(), userId), activity.getId() + ":")
+                    : localSeats.get(activity.getId()).cancel(userId, this::markDirty);
+        } finally {
+            modeLock.readLock().unlock();
+        }
+        if (result < 0) {
+            throw new BusinessException(404, "未报名该活动");
+        }
+        changed();
+        return result > 0 ? result : null;
+    }
+
+    @Override
+    public void flush() {
+        flushLock.lock();
+        try {
+            changesSinceFlush.set(0);
+            for (int round = 0; round < MAX_FLUSH_ROUNDS; round++) {
+                Map<String, String> batch = readDirty(properties.getFlushBatchSize());
+                if (batch.isEmpty()) {
+                    return;
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(batch.keySet()));
+                } catch (RuntimeException e) {
+                    throw new BusinessException(500, "抢票报名记录落库失败: " + e.getMessage());
+                }
+                acknowledge(batch);
+                if (batch.size() < properties.getFlushBatchSize()) {
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public int pendingCount() {
+        return changesSinceFlush.get();
+    }
+
+    @Scheduled(fixedDelayString = "${activity.signup.flush-interval-ms:500}")
+    public void scheduledFlush() {
+        long now = System.currentTimeMillis();
+        if (!redisAvailable && redisTemplate != null && now - lastRedisProbe >= REDIS_PROBE_INTERVAL_MS) {
+            lastRedisProbe = now;
+            if (checkRedisAvailable()) {
+                switchToRedis();
+            }
+        }
+        flushQuietly();
+    }
+
+    /**
+     * Redis 恢复后切回 Redis 模式：阻塞报名与取消，先把内存中的报名全部落库，
+     * 再清空内存名额，之后各活动按数据库记录重新初始化到 Redis。落库未完成时保持内存模式，下次探测重试
+     */
+    private void switchToRedis() {
+        modeLock.writeLock().lock();
+        try {
+            flush();
+            if (!localDirty.isEmpty()) {
+                log.warn("内存中仍有 {} 条抢票报名未落库，暂不切换回 Redis", localDirty.size());
+                return;
+            }
+            localSeats.clear();
+            initialized.clear();
+            redisAvailable = true;
+            log.info("Redis 已恢复，抢票报名切换回 Redis 模式");
+        } catch (Exception e) {
+            log.warn("抢票报名切换回 Redis 前落库失败，稍后重试: {}", e.getMessage());
+        } finally {
+            modeLock.writeLock().unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("抢票报名记录批量写入失败，稍后重试: {}", e.getMessage());
+        }
+    }
+
+    private void changed() {
+        if (changesSinceFlush.incrementAndGet() >= properties.getFlushBatchSize()) {
+            flushExecutor.execute(this::flushQuietly);
+        }
+    }
+
+    // --- 名额状态 ---
+
+    /**
+     * 按数据库中已有的报名记录初始化活动名额（已初始化时不覆盖）
+     */
+    private void ensureInitialized(Activity activity) {
+        Long activityId = activity.getId();
+        if (initialized.contains(activityId)) {
+            return;
+        }
+        List<ActivityRegistration> rows = new ArrayList<>(registrationRepository.findByActivityId(activityId));
+        rows.sort(Comparator.comparing(ActivityRegistration::getId));
+        long seated = rows.stream().filter(r -> r.getStatus() == RegistrationStatus.APPROVED).count();
+        long seats = activity.getCapacity() == null
+                ? Integer.MAX_VALUE : Math.max(0, activity.getCapacity() - seated);
+        if (redisAvailable) {
+            List<String> args = new ArrayList<>(rows.size() * 2 + 1);
+            args.add(String.valueOf(seats));
+            for (ActivityRegistration row : rows) {
+                args.add(String.valueOf(row.getUserId()));
+                args.add(toState(row.getStatus()));
+            }
+            try {
+                redisTemplate.execute(INIT_SCRIPT, keys(activityId), args.toArray());
+            } catch (Exception e) {
+                throw new BusinessException(503, "报名繁忙，请稍后再试");
+            }
+        } else {
+            localSeats.computeIfAbsent(activityId, id -> new LocalSeats(id, seats, rows));
+        }
+        initialized.add(activityId);
+    }
+
+    private long runScript(RedisScript<Long> script, Long activityId, Object... args) {
+        List<String> keys = new ArrayList<>(keys(activityId));
+        keys.add(DIRTY_KEY);
+        Long result;
+        try {
+            result = redisTemplate.execute(script, keys, args);
+        } catch (Exception e) {
+            log.warn("抢票报名脚本执行失败: {}", e.getMessage());
+            throw new BusinessException(503, "报名繁忙，请稍后再试");
+        }
+        if (result == null) {
+            throw new BusinessException(503, "报名繁忙，请稍后再试");
+        }
+        return result;
+    }
+
+    private static List<String> keys(Long activityId) {
+        // 同一活动的键使用相同的 hash tag，集群模式下落在同一槽位
+        String prefix = "activity:signup:{" + activityId + "}:";
+        return List.of(prefix + "seats", prefix + "users", prefix + "waitlist");
+    }
+
+    private static String dirtyField(Long activityId, Long userId) {
+        return activityId + ":" + userId;
+    }
+
+    private void markDirty(Long activityId, Long userId) {
+        localDirty.merge(dirtyField(activityId, userId), 1L, Long::sum);
+    }
+
+    private static String toState(RegistrationStatus status) {
+        return switch (status) {
+            case APPROVED -> SEATED;
+            case WAITLISTED -> WAITLISTED;
+            default -> PENDING;
+        };
+    }
+
+    private static RegistrationStatus toStatus(String state) {
+        return switch (state) {
+            case SEATED -> RegistrationStatus.APPROVED;
+            case WAITLISTED -> RegistrationStatus.WAITLISTED;
+            default -> RegistrationStatus.PENDING;
+        };
+    }
+
+    // --- 落库 ---
+
+    private Map<String, String> readDirty(int limit) {
+        Map<String, String> batch = new LinkedHashMap<>();
+        if (redisAvailable) {
+            try (Cursor<Map.Entry<Object, Object>> cursor = redisTemplate.opsForHash()
+                    .scan(DIRTY_KEY, ScanOptions.scanOptions().count(limit).build())) {
+                while (cursor.hasNext() && batch.size() < limit) {
+                    Map.Entry<Object, Object> entry = cursor.next();
+                    batch.put(entry.getKey().toString(), entry.getValue().toString());
+                }
+            }
+        } else {
+            for (Map.Entry<String, Long> entry : localDirty.entrySet()) {
+                if (batch.size() >= limit) {
+                    break;
+                }
+                batch.put(entry.getKey(), entry.getValue().toString());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * 按当前名额状态写入报名记录：数据库中没有的插入，状态不同的更新，已取消的删除。
+     * 更新与删除带原状态条件，报名人数只按实际变化的行数调整
+     */
+    private void persist(Set<String> fields) {
+        Map<Long, List<Long>> usersByActivity = new LinkedHashMap<>();
+        for (String field : fields) {
+            int sep = field.indexOf(':');
+            usersByActivity.computeIfAbsent(Long.valueOf(field.substring(0, sep)), k -> new ArrayList<>())
+                    .add(Long.valueOf(field.substring(sep + 1)));
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> countDeltas = new ArrayList<>();
+        for (Map.Entry<Long, List<Long>> entry : usersByActivity.entrySet()) {
+            Long activityId = entry.getKey();
+            List<Long> userIds = entry.getValue();
+            Map<Long, String> current = currentStates(activityId, userIds);
+            Map<Long, RegistrationStatus> existing = existingStatuses(activityId, userIds);
+
+            List<Object[]> inserts = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            List<Object[]> deletes = new ArrayList<>();
+            List<Integer> insertDeltas = new ArrayList<>();
+            List<Integer> updateDeltas = new ArrayList<>();
+            List<Integer> deleteDeltas = new ArrayList<>();
+            for (Long userId : userIds) {
+                String state = current.get(userId);
+                RegistrationStatus target = state == null ? null : toStatus(state);
+                RegistrationStatus before = existing.get(userId);
+                if (target == before) {
+                    continue;
+                }
+                int delta = seat(target) - seat(before);
+                if (before == null) {
+                    inserts.add(new Object[]{activityId, userId, target.name(), false, now});
+                    insertDeltas.add(delta);
+                } else if (target == null) {
+                    deletes.add(new Object[]{activityId, userId, before.name()});
+                    deleteDeltas.add(delta);
+                } else {
+                    updates.add(new Object[]{target.name(), activityId, userId, before.name()});
+                    updateDeltas.add(delta);
+                }
+            }
+            int delta = applied(jdbcTemplate.batchUpdate(INSERT_SQL, inserts), insertDeltas)
+                    + applied(jdbcTemplate.batchUpdate(UPDATE_SQL, updates), updateDeltas)
+                    + applied(jdbcTemplate.batchUpdate(DELETE_SQL, deletes), deleteDeltas);
+            if (delta != 0) {
+                countDeltas.add(new Object[]{delta, activityId});
+            }
+        }
+        if (!countDeltas.isEmpty()) {
+            jdbcTemplate.batchUpdate(COUNT_SQL, countDeltas);
+        }
+    }
+
+    private Map<Long, String> currentStates(Long activityId, List<Long> userIds) {
+        Map<Long, String> states = new HashMap<>();
+        if (redisAvailable) {
+            List<Object> values = redisTemplate.opsForHash().multiGet(keys(activityId).get(1),
+                    userIds.stream().<Object>map(String::valueOf).toList());
+            for (int i = 0; i < userIds.size(); i++) {
+                if (values.get(i) != null) {
+                    states.put(userIds.get(i), values.get(i).toString());
+                }
+            }
+        } else {
+            LocalSeats seats = localSeats.get(activityId);
+            if (seats != null) {
+                seats.snapshot(userIds, states);
+            }
+        }
+        return states;
+    }
+
+    private Map<Long, RegistrationStatus> existingStatuses(Long activityId, List<Long> userIds) {
+        Map<Long, RegistrationStatus> statuses = new HashMap<>();
+        for (int from = 0; from < userIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = userIds.subList(from, Math.min(userIds.size(), from + IN_CLAUSE_CHUNK));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(activityId);
+            args.addAll(chunk);
+            jdbcTemplate.query("SELECT user_id, status FROM activity_registrations WHERE activity_id = ? "
+                            + "AND user_id IN (" + placeholders + ")",
+                    rs -> {
+                        statuses.put(rs.getLong("user_id"), RegistrationStatus.valueOf(rs.getString("status")));
+                    }, args.toArray());
+        }
+        return statuses;
+    }
+
+    private static int seat(RegistrationStatus status) {
+        return status == RegistrationStatus.APPROVED ? 1 : 0;
+    }
+
+    /**
+     * 按批量语句的实际影响行数累计报名人数变化（驱动不返回行数时视为成功）
+     */
+    private static int applied(int[] results, List<Integer> deltas) {
+        int total = 0;
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] > 0 || results[i] == Statement.SUCCESS_NO_INFO) {
+                total += deltas.get(i);
+            }
+        }
+        return total;
+    }
+
+    private void acknowledge(Map<String, String> batch) {
+        if (redisAvailable) {
+            List<String> args = new ArrayList<>(batch.size() * 2);
+            batch.forEach((field, version) -> {
+                args.add(field);
+                args.add(version);
+            });
+            try {
+                redisTemplate.execute(ACK_SCRIPT, List.of(DIRTY_KEY), args.toArray());
+            } catch (Exception e) {
+                // 未删除的条目下次重复落库，无副作用
+                log.warn("删除已落库的抢票报名条目失败: {}", e.getMessage());
+            }
+        } else {
+            batch.forEach((field, version) -> localDirty.remove(field, Long.valueOf(version)));
+        }
+    }
+
+    /**
+     * 检查 Redis 是否可用
+     */
+    private boolean checkRedisAvailable() {
+        if (redisTemplate == null) {
+            return false;
+        }
+        try {
+            redisTemplate.getConnectionFactory().getConnection().ping();
+            log.info("Redis 可用，抢票报名名额保存在 Redis 中");
+            return true;
+        } catch (Exception e) {
+            // 内存模式下定时重新探测，失败不逐次刷日志
+            log.debug("Redis 探测失败: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 设置 Redis 可用状态（用于测试）
+     */
+    void setRedisAvailable(boolean available) {
+        this.redisAvailable = available;
+    }
+
+    /**
+     * 内存模式下单个活动的名额状态，与 Lua 脚本语义相同
+     */
+    static final class LocalSeats {
+
+        private final Long activityId;
+        private long seats;
+        private final Map<Long, String> states = new HashMap<>();
+        private final Deque<Long> waitlist = new ArrayDeque<>();
+
+        LocalSeats(Long activityId, long seats, List<ActivityRegistration> rows) {
+            this.activityId = activityId;
+            this.seats = seats;
+            for (ActivityRegistration row : rows) {
+                String state = toState(row.getStatus());
+                states.put(row.getUserId(), state);
+                if (WAITLISTED.equals(state)) {
+                    waitlist.addLast(row.getUserId());
+                }
+            }
+        }
+
+        synchronized long signUp(Long userId, DirtyMarker dirty) {
+            if (states.containsKey(userId)) {
+                return -1;
+            }
+            long result = 0;
+            if (seats > 0) {
+                seats--;
+                states.put(userId, SEATED);
+            } else {
+                states.put(userId, WAITLISTED);
+                waitlist.addLast(userId);
+                result = waitlist.size();
+            }
+            dirty.mark(activityId, userId);
+            return result;
+        }
+
+        synchronized long cancel(Long userId, DirtyMarker dirty) {
+            String state = states.remove(userId);
+            if (state == null) {
+                return -1;
+            }
+            dirty.mark(activityId, userId);
+            if (!SEATED.equals(state)) {
+                waitlist.remove(userId);
+                return 0;
+            }
+            Long promoted = waitlist.pollFirst();
+            if (promoted != null) {
+                states.put(promoted, SEATED);
+                dirty.mark(activityId, promoted);
+                return promoted;
+            }
+            seats++;
+            return 0;
+        }
+
+        synchronized void snapshot(List<Long> userIds, Map<Long, String> into) {
+            for (Long userId : userIds) {
+                String state = states.get(userId);
+                if (state != null) {
+                    into.put(userId, state);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface DirtyMarker {
+        void mark(Long activityId, Long userId);
+    }
+}
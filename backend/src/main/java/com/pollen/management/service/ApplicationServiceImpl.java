@@ -15,6 +15,8 @@ import com.pollen.management.entity.enums.Role;
 import com.pollen.management.repository.ApplicationRepository;
 import com.pollen.management.repository.UserRepository;
 import com.pollen.management.util.BusinessException;
+import com.pollen.management.util.ExportDataset;
+import com.pollen.management.util.StreamingExcelWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -24,8 +26,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
@@ -232,53 +232,14 @@ public class ApplicationServiceImpl implements ApplicationService {
             applications = applicationRepository.findAllByOrderByCreatedAtDesc();
         }
 
-        try (Workbook workbook = new XSSFWorkbook();
+        ExportDataset<Application> dataset = ExportDatasets.APPLICATIONS;
+        try (StreamingExcelWriter writer = new StreamingExcelWriter();
              ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-
-            Sheet sheet = workbook.createSheet("报名数据");
-
-            // Header style
-            CellStyle headerStyle = workbook.createCellStyle();
-            Font headerFont = workbook.createFont();
-            headerFont.setBold(true);
-            headerStyle.setFont(headerFont);
-
-            // Header row
-            String[] headers = {"ID", "用户ID", "状态", "入口类型", "花粉UID", "出生日期",
-                    "年龄", "教育阶段", "中高考标识", "考试类型", "考试日期",
-                    "每周可用天数", "每日可用时长", "筛选通过", "筛选拒绝原因",
-                    "需要重点审核", "创建时间"};
-            Row headerRow = sheet.createRow(0);
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-
-            // Data rows
-            for (int i = 0; i < applications.size(); i++) {
-                Application app = applications.get(i);
-                Row row = sheet.createRow(i + 1);
-                row.createCell(0).setCellValue(app.getId() != null ? app.getId() : 0);
-                row.createCell(1).setCellValue(app.getUserId() != null ? app.getUserId() : 0);
-                row.createCell(2).setCellValue(app.getStatus() != null ? app.getStatus().name() : "");
-                row.createCell(3).setCellValue(app.getEntryType() != null ? app.getEntryType().name() : "");
-                row.createCell(4).setCellValue(app.getPollenUid() != null ? app.getPollenUid() : "");
-                row.createCell(5).setCellValue(app.getBirthDate() != null ? app.getBirthDate().toString() : "");
-                row.createCell(6).setCellValue(app.getCalculatedAge() != null ? app.getCalculatedAge() : 0);
-                row.createCell(7).setCellValue(app.getEducationStage() != null ? app.getEducationStage().name() : "");
-                row.createCell(8).setCellValue(app.getExamFlag() != null && app.getExamFlag() ? "是" : "否");
-                row.createCell(9).setCellValue(app.getExamType() != null ? app.getExamType().name() : "");
-                row.createCell(10).setCellValue(app.getExamDate() != null ? app.getExamDate().toString() : "");
-                row.createCell(11).setCellValue(app.getWeeklyAvailableDays() != null ? app.getWeeklyAvailableDays() : 0);
-                row.createCell(12).setCellValue(app.getDailyAvailableHours() != null ? app.getDailyAvailableHours().doubleValue() : 0);
-                row.createCell(13).setCellValue(app.getScreeningPassed() != null && app.getScreeningPassed() ? "是" : "否");
-                row.createCell(14).setCellValue(app.getScreeningRejectReason() != null ? app.getScreeningRejectReason() : "");
-                row.createCell(15).setCellValue(app.getNeedsAttention() != null && app.getNeedsAttention() ? "是" : "否");
-                row.createCell(16).setCellValue(app.getCreatedAt() != null ? app.getCreatedAt().toString() : "");
+            StreamingExcelWriter.SheetWriter sheet = writer.createSheet(dataset.getSheetName(), dataset.getHeaders());
+            for (Application app : applications) {
+                dataset.writeRow(app, sheet.nextRow());
             }
-
-            workbook.write(out);
+            writer.writeTo(out);
             return out.toByteArray();
         } catch (IOException e) {
             throw new BusinessException(500, "Excel 导出失败: " + e.getMessage());
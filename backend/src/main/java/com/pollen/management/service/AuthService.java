@@ -10,4 +10,9 @@ public interface AuthService {
     ApiResponse<?> register(RegisterRequest request);
 
     ApiResponse<LoginResponse> login(LoginRequest request);
+
+    /**
+     * 登出：吊销当前 Token，Token 无效时视为已登出
+     */
+    ApiResponse<Void> logout(String token);
 }
@@ -11,6 +11,7 @@ import com.pollen.management.entity.enums.EntryType;
 import com.pollen.management.entity.enums.Role;
 import com.pollen.management.repository.ApplicationRepository;
 import com.pollen.management.repository.UserRepository;
+import com.pollen.management.security.JwtClaims;
 import com.pollen.management.security.JwtUtil;
 import com.pollen.management.util.BusinessException;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +27,7 @@ public class AuthServiceImpl implements AuthService {
     private final ApplicationRepository applicationRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     @Transactional
@@ -75,4 +77,13 @@ public class AuthServiceImpl implements AuthService {
         String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole().name());
         return ApiResponse.success(new LoginResponse(token));
     }
+
+    @Override
+    public ApiResponse<Void> logout(String token) {
+        JwtClaims claims = jwtUtil.parseToken(token);
+        if (claims != null) {
+            tokenRevocationService.revokeToken(claims.getTokenId(), claims.getExpiresAt());
+        }
+        return ApiResponse.success(null);
+    }
 }
@@ -0,0 +1,18 @@
+package com.pollen.management.service;
+
+import com.pollen.management.dto.BackupRestoreResult;
+
+/**
+ * 备份恢复服务接口
+ * 按备份链（全量 + 增量 / 差异）回放备份文件，支持恢复到临时 schema 的演练模式
+ */
+public interface BackupRestoreService {
+
+    /**
+     * 恢复指定备份：先校验链上每个文件的 SHA-256，再在一个事务内依次回放并核对行数，任一校验失败整体回滚
+     * @param backupId 备份记录 ID（全量或增量 / 差异备份）
+     * @param dryRun 为 true 时恢复到临时 schema 并在核对后删除，不影响业务表
+     * @return 恢复结果
+     */
+    BackupRestoreResult restore(Long backupId, boolean dryRun);
+}
@@ -0,0 +1,477 @@
+package com.pollen.management.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pollen.management.dto.BackupRestoreResult;
+import com.pollen.management.entity.BackupRecord;
+import com.pollen.management.entity.enums.BackupMode;
+import com.pollen.management.util.BackupTable;
+import com.pollen.management.util.BusinessException;
+import com.pollen.management.util.JdbcJsonRowReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 备份恢复服务：用 JsonParser 流式读取备份文件（ZIP 归档的各表分段，或旧版单文件），按表以大批次 JDBC 插入。
+ * <p>
+ * 全量备份先清空目标表再插入；增量 / 差异备份按 id 先删后插，再按归档中快照时刻仍存在的 id 区间
+ * 删除区间之外的行，回放两次备份之间的物理删除，重复回放结果不变。
+ * 回放后各表行数须与备份一致，否则整个恢复回滚：单个全量备份对照其读取的行数，备份链对照最后一个成员
+ * 快照时刻记录的总行数（不含 id 区间的早期增量归档无法回放删除，链间有行被删除时核对失败）。
+ * MySQL 上恢复期间关闭本会话的外键与唯一性检查；H2 的 ALTER TABLE 会隐式提交，自增起点在恢复事务提交后再重置。
+ */
+@Service
+@Slf4j
+public class BackupRestoreServiceImpl implements BackupRestoreService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final TypeReference<Map<String, Long>> ROW_COUNTS_TYPE = new TypeReference<>() {
+    };
+
+    private final BackupService backupService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate restoreTemplate;
+
+    @Value("${backup.restore.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${backup.restore.scratch-schema:backup_restore_scratch}")
+    private String scratchSchema;
+
+    public BackupRestoreServiceImpl(BackupService backupService, JdbcTemplate jdbcTemplate,
+                                    ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.backupService = backupService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.restoreTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public BackupRestoreResult restore(Long backupId, boolean dryRun) {
+        List<BackupRecord> chain = backupService.getRestoreChain(backupId);
+        for (BackupRecord member : chain) {
+            verifyChecksum(member);
+        }
+        String schema = dryRun ? scratchSchema : null;
+        if (schema != null && !IDENTIFIER.matcher(schema).matches()) {
+            throw new IllegalStateException("无效的演练 schema 名: " + schema);
+        }
+
+        long started = System.nanoTime();
+        long[] rowsApplied = new long[1];
+        Map<String, Long> tableRowCounts = restoreTemplate.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<Map<String, Long>>) con -> replayChain(con, chain, schema, rowsApplied)));
+        if (schema == null) {
+            jdbcTemplate.execute((ConnectionCallback<Void>) BackupRestoreServiceImpl::resetIdentities);
+        }
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+
+        log.info("备份恢复完成: backupId={}, dryRun={}, 回放 {} 个文件共 {} 行, 耗时 {} ms",
+                backupId, dryRun, chain.size(), rowsApplied[0], durationMs);
+        return BackupRestoreResult.builder()
+                .backupId(backupId)
+                .dryRun(dryRun)
+                .targetSchema(schema)
+                .chainBackupIds(chain.stream().map(BackupRecord::getId).toList())
+                .rowsApplied(rowsApplied[0])
+                .tableRowCounts(tableRowCounts)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    private void verifyChecksum(BackupRecord member) {
+        Path path = Paths.get(member.getFilePath());
+        if (!Files.exists(path)) {
+            throw new BusinessException(404, "备份文件不存在: " + member.getFileName());
+        }
+        String actual;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            actual = HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取备份文件失败: " + path, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        if (!actual.equals(member.getChecksum())) {
+            throw new BusinessException(400, "备份文件校验失败: " + member.getFileName());
+        }
+    }
+
+    private Map<String, Long> replayChain(Connection con, List<BackupRecord> chain, String schema,
+                                          long[] rowsApplied) throws SQLException {
+        String product = con.getMetaData().getDatabaseProductName();
+        boolean mysql = product != null && product.toLowerCase().contains("mysql");
+        try (Statement st = con.createStatement()) {
+            if (schema != null) {
+                createScratchSchema(st, schema, mysql);
+            }
+            try {
+                if (mysql) {
+                    st.execute("SET foreign_key_checks = 0");
+                    st.execute("SET unique_checks = 0");
+                }
+                Map<String, Long> lastParsed = null;
+                for (BackupRecord member : chain) {
+                    lastParsed = replayFile(con, member, schema);
+                    rowsApplied[0] += lastParsed.values().stream().mapToLong(Long::longValue).sum();
+                }
+
+                Map<String, Long> counts = new LinkedHashMap<>();
+                for (BackupTable table : BackupTables.ALL) {
+                    String qualified = qualify(schema, table.getTable());
+                    counts.put(table.getKey(), queryLong(st, "SELECT COUNT(*) FROM " + qualified));
+                }
+                Map<String, Long> expected = chain.size() == 1
+                        ? lastParsed : recordedTotals(chain.get(chain.size() - 1));
+                if (expected != null && !counts.equals(expected)) {
+                    throw new BusinessException(400, "恢复后行数与备份不一致: 期望 " + expected + "，实际 " + counts);
+                }
+                return counts;
+            } finally {
+                if (mysql) {
+                    st.execute("SET unique_checks = 1");
+                    st.execute("SET foreign_key_checks = 1");
+                }
+                if (schema != null) {
+                    dropScratchSchema(st, schema, mysql);
+                }
+            }
+        }
+    }
+
+    /**
+     * H2 上把各表自增起点设到当前最大 id 之后；MySQL 的 AUTO_INCREMENT 会自行跟进，无需处理
+     */
+    private static Void resetIdentities(Connection con) throws SQLException {
+        String product = con.getMetaData().getDatabaseProductName();
+        if (product != null && product.toLowerCase().contains("mysql")) {
+            return null;
+        }
+        try (Statement st = con.createStatement()) {
+            for (BackupTable table : BackupTables.ALL) {
+                long next = queryLong(st, "SELECT COALESCE(MAX(id), 0) + 1 FROM " + table.getTable());
+                st.execute("ALTER TABLE " + table.getTable() + " ALTER COLUMN id RESTART WITH " + next);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 备份快照时刻各表的总行数（归档元数据中的 tableTotals），旧版文件或未记录时返回 null
+     */
+    private Map<String, Long> recordedTotals(BackupRecord member) {
+        Path path = Paths.get(member.getFilePath());
+        if (!path.toString().endsWith(BackupServiceImpl.ARCHIVE_SUFFIX)) {
+            return null;
+        }
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            ZipEntry metadataEntry = zip.getEntry(BackupServiceImpl.METADATA_ENTRY);
+            if (metadataEntry == null) {
+                return null;
+            }
+            try (InputStream in = zip.getInputStream(metadataEntry)) {
+                JsonNode totals = objectMapper.readTree(in).get("tableTotals");
+                return totals != null ? objectMapper.convertValue(totals, ROW_COUNTS_TYPE) : null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取备份文件失败: " + path, e);
+        }
+    }
+
+    /**
+     * 回放一个备份文件，返回各表读取的行数；与文件内声明及备份记录中的行数核对
+     */
+    private Map<String, Long> replayFile(Connection con, BackupRecord member, String schema) throws SQLException {
+        boolean full = member.getBackupMode() == BackupMode.FULL;
+        Map<String, Long> parsed = new LinkedHashMap<>();
+        Path path = Paths.get(member.getFilePath());
+        try {
+            Map<String, Long> declared = path.toString().endsWith(BackupServiceImpl.ARCHIVE_SUFFIX)
+                    ? replayArchive(con, member, path, schema, full, parsed)
+                    : replayLegacyFile(con, member, path, schema, full, parsed);
+            Map<String, Long> recorded = member.getTableRowCounts() != null
+                    ? objectMapper.readValue(member.getTableRowCounts(), ROW_COUNTS_TYPE) : null;
+            verifyRowCounts(member, parsed, declared);
+            verifyRowCounts(member, parsed, recorded);
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取备份文件失败: " + path, e);
+        }
+        log.info("已回放备份 {}（{}）: {}", member.getFileName(), member.getBackupMode(), parsed);
+        return parsed;
+    }
+
+    /**
+     * ZIP 归档：按表注册顺序逐个读取分段，返回元数据中声明的行数
+     */
+    private Map<String, Long> replayArchive(Connection con, BackupRecord member, Path path, String schema,
+                                            boolean full, Map<String, Long> parsed)
+            throws IOException, SQLException {
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            ZipEntry metadataEntry = zip.getEntry(BackupServiceImpl.METADATA_ENTRY);
+            if (metadataEntry == null) {
+                throw new BusinessException(400, "备份文件格式错误: " + member.getFileName());
+            }
+            Map<String, Long> declared;
+            try (InputStream in = zip.getInputStream(metadataEntry)) {
+                JsonNode rowCounts = objectMapper.readTree(in).get("rowCounts");
+                declared = rowCounts != null ? objectMapper.convertValue(rowCounts, ROW_COUNTS_TYPE) : null;
+            }
+            for (BackupTable table : BackupTables.ALL) {
+                ZipEntry entry = zip.getEntry(table.getSegmentName());
+                if (entry == null) {
+                    throw new BusinessException(400, "备份文件缺少表 " + table.getKey() + ": " + member.getFileName());
+                }
+                try (InputStream in = new GZIPInputStream(
+                        new BufferedInputStream(zip.getInputStream(entry), BUFFER_SIZE), BUFFER_SIZE);
+                     JsonParser parser = objectMapper.getFactory().createParser(in)) {
+                    if (parser.nextToken() != JsonToken.START_ARRAY) {
+                        throw new BusinessException(400, "备份分段格式错误: " + table.getSegmentName());
+                    }
+                    parsed.put(table.getKey(), restoreTable(con, parser, qualify(schema, table.getTable()), full));
+                }
+                ZipEntry liveIdsEntry = full ? null : zip.getEntry(table.getLiveIdsSegmentName());
+                if (liveIdsEntry != null) {
+                    try (InputStream in = new GZIPInputStream(
+                            new BufferedInputStream(zip.getInputStream(liveIdsEntry), BUFFER_SIZE), BUFFER_SIZE);
+                         JsonParser parser = objectMapper.getFactory().createParser(in)) {
+                        if (parser.nextToken() != JsonToken.START_ARRAY) {
+                            throw new BusinessException(400, "备份分段格式错误: " + table.getLiveIdsSegmentName());
+                        }
+                        long deleted = deleteMissingRows(con, parser, qualify(schema, table.getTable()));
+                        if (deleted > 0) {
+                            log.info("备份 {} 回放表 {} 的物理删除 {} 行", member.getFileName(), table.getKey(), deleted);
+                        }
+                    }
+                }
+            }
+            return declared;
+        }
+    }
+
+    /**
+     * 旧版单文件备份：整个 JSON 对象一个 gzip 流，返回文件末尾声明的行数
+     */
+    private Map<String, Long> replayLegacyFile(Connection con, BackupRecord member, Path path, String schema,
+                                               boolean full, Map<String, Long> parsed)
+            throws IOException, SQLException {
+        Map<String, Long> declared = null;
+        try (InputStream in = new GZIPInputStream(
+                new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE), BUFFER_SIZE);
+             JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new BusinessException(400, "备份文件格式错误: " + member.getFileName());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                BackupTable table = BackupTables.findByKey(field);
+                if (table != null && value == JsonToken.START_ARRAY) {
+                    parsed.put(field, restoreTable(con, parser, qualify(schema, table.getTable()), full));
+                } else if ("rowCounts".equals(field) && value == JsonToken.START_OBJECT) {
+                    declared = parser.readValueAs(ROW_COUNTS_TYPE);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return declared;
+    }
+
+    private static void verifyRowCounts(BackupRecord member, Map<String, Long> parsed, Map<String, Long> expected) {
+        if (expected != null && !expected.equals(parsed)) {
+            throw new BusinessException(400, "备份行数校验失败: " + member.getFileName()
+                    + " 期望 " + expected + "，实际 " + parsed);
+        }
+    }
+
+    /**
+     * 读取当前数组中的全部行对象并分批写入目标表，返回行数
+     */
+    private long restoreTable(Connection con, JsonParser parser, String qualified, boolean full)
+            throws SQLException, IOException {
+        JdbcJsonRowReader reader;
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("SELECT * FROM " + qualified + " WHERE 1 = 0")) {
+            reader = new JdbcJsonRowReader(rs.getMetaData());
+        }
+        if (full) {
+            try (Statement st = con.createStatement()) {
+                st.executeUpdate("DELETE FROM " + qualified);
+            }
+        }
+
+        int idColumn = reader.indexOf("id");
+        Object[] values = new Object[reader.getColumnCount()];
+        boolean[] present = new boolean[reader.getColumnCount()];
+        int[] columns = null;
+        PreparedStatement insert = null;
+        PreparedStatement delete = null;
+        long rows = 0;
+        int pending = 0;
+        try {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                Arrays.fill(values, null);
+                Arrays.fill(present, false);
+                reader.readRow(parser, values, present);
+                if (insert == null) {
+                    // 同一张表的行由同一份列元数据写出，以首行出现的列为准
+                    columns = IntStream.range(0, present.length).filter(i -> present[i]).toArray();
+                    insert = con.prepareStatement(insertSql(qualified, reader, columns));
+                    if (!full) {
+                        delete = con.prepareStatement("DELETE FROM " + qualified + " WHERE id = ?");
+                    }
+                }
+                for (int i = 0; i < columns.length; i++) {
+                    reader.bind(insert, i + 1, columns[i], values[columns[i]]);
+                }
+                insert.addBatch();
+                if (delete != null) {
+                    reader.bind(delete, 1, idColumn, values[idColumn]);
+                    delete.addBatch();
+                }
+                rows++;
+                if (++pending == batchSize) {
+                    executeBatches(delete, insert);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                executeBatches(delete, insert);
+            }
+        } finally {
+            JdbcUtils.closeStatement(insert);
+            JdbcUtils.closeStatement(delete);
+        }
+        return rows;
+    }
+
+    /**
+     * 读取快照时刻仍存在的 id 区间数组，删除区间之间及末个区间之后的行，返回删除行数。
+     * 链从全量备份开始先清空了各表，目标表中只有之前回放的行；自增 id 不回退，
+     * 末个区间之后的行在本次快照时刻已被删除
+     */
+    private long deleteMissingRows(Connection con, JsonParser parser, String qualified)
+            throws SQLException, IOException {
+        long deleted = 0;
+        long next = 0;
+        int pending = 0;
+        try (PreparedStatement delete = con.prepareStatement(
+                "DELETE FROM " + qualified + " WHERE id >= ? AND id < ?")) {
+            while (parser.nextToken() == JsonToken.START_ARRAY) {
+                long from = parser.nextLongValue(0L);
+                long to = parser.nextLongValue(0L);
+                if (parser.nextToken() != JsonToken.END_ARRAY) {
+                    throw new BusinessException(400, "备份 id 区间格式错误: " + qualified);
+                }
+                if (from > next) {
+                    delete.setLong(1, next);
+                    delete.setLong(2, from);
+                    delete.addBatch();
+                    pending++;
+                }
+                next = to + 1;
+                if (pending == batchSize) {
+                    deleted += sumUpdates(delete.executeBatch());
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                deleted += sumUpdates(delete.executeBatch());
+            }
+        }
+        try (PreparedStatement tail = con.prepareStatement("DELETE FROM " + qualified + " WHERE id >= ?")) {
+            tail.setLong(1, next);
+            deleted += tail.executeUpdate();
+        }
+        return deleted;
+    }
+
+    private static long sumUpdates(int[] counts) {
+        return Arrays.stream(counts).filter(c -> c > 0).asLongStream().sum();
+    }
+
+    private static void executeBatches(PreparedStatement delete, PreparedStatement insert) throws SQLException {
+        if (delete != null) {
+            delete.executeBatch();
+        }
+        insert.executeBatch();
+    }
+
+    private static String insertSql(String qualified, JdbcJsonRowReader reader, int[] columns) {
+        String names = Arrays.stream(columns).mapToObj(reader::getColumnName).collect(Collectors.joining(", "));
+        String params = Arrays.stream(columns).mapToObj(i -> "?").collect(Collectors.joining(", "));
+        return "INSERT INTO " + qualified + " (" + names + ") VALUES (" + params + ")";
+    }
+
+    /**
+     * 演练 schema：MySQL 用 CREATE TABLE ... LIKE 复制表结构，H2 用空结果集建表
+     */
+    private static void createScratchSchema(Statement st, String schema, boolean mysql) throws SQLException {
+        dropScratchSchema(st, schema, mysql);
+        st.execute("CREATE SCHEMA " + schema);
+        for (BackupTable table : BackupTables.ALL) {
+            String target = qualify(schema, table.getTable());
+            st.execute(mysql
+                    ? "CREATE TABLE " + target + " LIKE " + table.getTable()
+                    : "CREATE TABLE " + target + " AS SELECT * FROM " + table.getTable() + " WHERE 1 = 0");
+        }
+    }
+
+    private static void dropScratchSchema(Statement st, String schema, boolean mysql) throws SQLException {
+        st.execute(mysql ? "DROP SCHEMA IF EXISTS " + schema : "DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+    }
+
+    private static String qualify(String schema, String table) {
+        return schema != null ? schema + "." + table : table;
+    }
+
+    private static long queryLong(Statement st, String sql) throws SQLException {
+        try (ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
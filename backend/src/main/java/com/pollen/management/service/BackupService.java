@@ -11,18 +11,19 @@ import java.util.List;
 public interface BackupService {
 
     /**
-     * 执行每日数据备份（JPA 导出为 JSON）
+     * 执行每日数据备份（逐表流式导出为 gzip 压缩的 JSON）。
+     * 全量备份日做全量，其余日期按配置做增量或差异备份；找不到可用的上一次备份时退回全量
      * @return 备份记录
      */
     BackupRecord executeDailyBackup();
 
     /**
-     * 清理超过 30 天的旧备份
+     * 清理超过 30 天的旧备份；仍被未过期增量 / 差异备份依赖的备份链整体保留
      */
     void cleanOldBackups();
 
     /**
-     * 同步备份文件到云存储（预留接口）
+     * 异步同步备份文件到配置的存储目标（见 {@link BackupSyncService}），未配置时备份保持 PENDING
      * @param backupRecord 备份记录
      */
     void syncToCloudStorage(BackupRecord backupRecord);
@@ -34,7 +35,14 @@ public interface BackupService {
     List<BackupRecord> listBackups();
 
     /**
-     * 手动触发备份
+     * 获取恢复指定备份需依次回放的备份链（从全量备份开始，到该备份为止）
+     * @param backupId 备份记录 ID
+     * @return 按回放顺序排列的备份记录
+     */
+    List<BackupRecord> getRestoreChain(Long backupId);
+
+    /**
+     * 手动触发备份（全量）
      * @return 备份记录
      */
     BackupRecord manualBackup();
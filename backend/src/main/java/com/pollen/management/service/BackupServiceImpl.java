@@ -1,41 +1,98 @@
 package com.pollen.management.service;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.pollen.management.entity.BackupRecord;
+import com.pollen.management.entity.enums.BackupMode;
 import com.pollen.management.entity.enums.BackupStatus;
 import com.pollen.management.entity.enums.BackupType;
 import com.pollen.management.entity.enums.CloudSyncStatus;
-import com.pollen.management.repository.*;
-import lombok.RequiredArgsConstructor;
+import com.pollen.management.repository.BackupRecordRepository;
+import com.pollen.management.util.BackupTable;
+import com.pollen.management.util.BusinessException;
+import com.pollen.management.util.JdbcJsonRowWriter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.File;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+/**
+ * 数据备份服务：逐表以键集分页读取，经 JsonGenerator 流式写成 gzip 压缩的 JSON，
+ * 写出过程中同步计算 SHA-256，内存占用与数据量无关。
+ * <p>
+ * 各表在有界线程池中并行写出，每张表一个压缩分段，最后装入同一个 ZIP 归档；
+ * 各表共用同一快照时刻与 id 上限，并把每张表的耗时记在备份记录上。
+ * <p>
+ * 每周一次全量备份，其余日期按变更水位只备份新增或修改过的行（增量或差异），
+ * 并记录各表快照时刻仍存在的 id 区间，恢复时据此回放期间的物理删除；
+ * 每个备份旁写一份清单文件，列出恢复时需依次回放的备份链。
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class BackupServiceImpl implements BackupService {
 
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /** 备份归档后缀：ZIP 内每张表一个 gzip 分段 */
+    static final String ARCHIVE_SUFFIX = ".zip";
+    /** 旧版单文件备份后缀（整个 JSON 一个 gzip 流），恢复时仍可读取 */
+    static final String LEGACY_SUFFIX = ".json.gz";
+    /** 归档内的元数据条目 */
+    static final String METADATA_ENTRY = "metadata.json";
+    /** 水位起点回退量：覆盖快照建立前已写入变更时间、但快照后才提交的事务，重复行恢复时按 id 覆盖 */
+    private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(5);
+    /** 备份链根超过该时长（如错过了全量日）时，强制改为全量备份，避免链条过长 */
+    private static final Duration MAX_CHAIN_AGE = Duration.ofDays(7);
+
     private final BackupRecordRepository backupRecordRepository;
-    private final UserRepository userRepository;
-    private final ApplicationRepository applicationRepository;
-    private final PointsRecordRepository pointsRecordRepository;
-    private final SalaryRecordRepository salaryRecordRepository;
-    private final ActivityRepository activityRepository;
-    private final WeeklyReportRepository weeklyReportRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate snapshotTemplate;
+    private final BackupSyncService backupSyncService;
 
     @Value("${backup.directory:./backups}")
     private String backupDirectory;
@@ -43,16 +100,39 @@ public class BackupServiceImpl implements BackupService {
     @Value("${backup.retention-days:30}")
     private int retentionDays;
 
-    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    @Value("${backup.page-size:1000}")
+    private int pageSize;
+
+    @Value("${backup.dump-threads:3}")
+    private int dumpThreads;
+
+    @Value("${backup.full-backup-day:SUNDAY}")
+    private DayOfWeek fullBackupDay;
+
+    @Value("${backup.incremental-mode:INCREMENTAL}")
+    private BackupMode incrementalMode;
+
+    public BackupServiceImpl(BackupRecordRepository backupRecordRepository, JdbcTemplate jdbcTemplate,
+                             ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                             BackupSyncService backupSyncService) {
+        this.backupRecordRepository = backupRecordRepository;
+        this.backupSyncService = backupSyncService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
 
     @Override
     public BackupRecord executeDailyBackup() {
-        return executeBackup(BackupType.DAILY);
+        BackupMode mode = LocalDate.now().getDayOfWeek() == fullBackupDay ? BackupMode.FULL : incrementalMode;
+        return executeBackup(BackupType.DAILY, mode);
     }
 
     @Override
     public BackupRecord manualBackup() {
-        return executeBackup(BackupType.MANUAL);
+        return executeBackup(BackupType.MANUAL, BackupMode.FULL);
     }
 
     /**
@@ -76,26 +156,42 @@ public class BackupServiceImpl implements BackupService {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(retentionDays);
         List<BackupRecord> oldBackups = backupRecordRepository.findByCreatedAtBefore(cutoffDate);
 
+        int deleted = 0;
         for (BackupRecord record : oldBackups) {
+            Long rootId = chainRootId(record);
+            if (rootId != null
+                    && backupRecordRepository.existsByBaseBackupIdAndCreatedAtGreaterThanEqual(rootId, cutoffDate)) {
+                // 仍有未过期的备份依赖这条备份链，整条链保留到最后一个成员过期
+                continue;
+            }
             try {
                 Path filePath = Paths.get(record.getFilePath());
                 Files.deleteIfExists(filePath);
+                Path manifestPath = manifestPathOf(record.getFilePath());
+                if (manifestPath != null) {
+                    Files.deleteIfExists(manifestPath);
+                }
                 log.info("已删除过期备份文件: {}", record.getFilePath());
             } catch (IOException e) {
                 log.warn("删除备份文件失败: {}", record.getFilePath(), e);
             }
             backupRecordRepository.delete(record);
+            deleted++;
         }
 
-        if (!oldBackups.isEmpty()) {
-            log.info("已清理 {} 个超过 {} 天的旧备份", oldBackups.size(), retentionDays);
+        if (deleted > 0) {
+            log.info("已清理 {} 个超过 {} 天的旧备份", deleted, retentionDays);
         }
     }
 
     @Override
     public void syncToCloudStorage(BackupRecord backupRecord) {
-        // 预留接口：云存储同步尚未配置
-        log.info("Cloud sync not configured - 云存储同步未配置，跳过同步备份: {}", backupRecord.getFileName());
+        if (backupRecord.getStatus() != BackupStatus.SUCCESS) {
+            log.info("备份未成功，跳过同步: {}", backupRecord.getFileName());
+            return;
+        }
+        // 在异步线程中分块上传，不阻塞备份任务
+        backupSyncService.syncAsync(backupRecord.getId());
     }
 
     @Override
@@ -103,61 +199,495 @@ public class BackupServiceImpl implements BackupService {
         return backupRecordRepository.findAllByOrderByCreatedAtDesc();
     }
 
-    private BackupRecord executeBackup(BackupType backupType) {
+    @Override
+    public List<BackupRecord> getRestoreChain(Long backupId) {
+        BackupRecord record = backupRecordRepository.findById(backupId)
+                .orElseThrow(() -> new BusinessException(404, "备份记录不存在"));
+        return restoreChain(record);
+    }
+
+    private BackupRecord executeBackup(BackupType backupType, BackupMode requestedMode) {
+        BackupRecord parent = requestedMode == BackupMode.FULL ? null : findParent(requestedMode);
+        BackupMode mode = parent != null ? requestedMode : BackupMode.FULL;
+        LocalDateTime watermarkFrom = parent != null ? parent.getWatermarkTo().minus(WATERMARK_OVERLAP) : null;
+
         String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        String fileName = "backup_" + timestamp + ".json";
+        String suffix = mode == BackupMode.FULL ? "" : "_" + mode.name().toLowerCase();
+        String baseName = "backup_" + timestamp + suffix;
+        String fileName = baseName + ARCHIVE_SUFFIX;
         Path filePath = null;
+        Path segmentDir = null;
 
         try {
             Path dirPath = Paths.get(backupDirectory);
             filePath = dirPath.resolve(fileName);
-            Files.createDirectories(dirPath);
+            segmentDir = dirPath.resolve("." + baseName + ".segments");
+            Files.createDirectories(segmentDir);
 
-            Map<String, Object> backupData = exportAllEntities();
-
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.registerModule(new JavaTimeModule());
-            mapper.writerWithDefaultPrettyPrinter().writeValue(filePath.toFile(), backupData);
+            Snapshot snapshot = captureSnapshot();
+            List<Segment> segments = dumpSegments(segmentDir, mode, watermarkFrom, snapshot);
+            Map<String, Long> rowCounts = new LinkedHashMap<>();
+            Map<String, Long> tableTimings = new LinkedHashMap<>();
+            for (Segment segment : segments) {
+                rowCounts.put(segment.table().getKey(), segment.rows());
+                tableTimings.put(segment.table().getKey(), segment.durationMs());
+            }
 
-            long fileSize = Files.size(filePath);
+            Map<String, Object> metadata = new LinkedHashMap<>();
+            metadata.put("exportTime", snapshot.watermarkTo().toString());
+            metadata.put("backupMode", mode.name());
+            metadata.put("watermarkFrom", Objects.toString(watermarkFrom, null));
+            metadata.put("watermarkTo", snapshot.watermarkTo().toString());
+            metadata.put("maxIds", snapshot.maxIds());
+            metadata.put("rowCounts", rowCounts);
+            metadata.put("tableTotals", snapshot.tableTotals());
+            metadata.put("tableTimingsMs", tableTimings);
+            String checksum = writeArchive(filePath, metadata, segments);
+            segments.stream().max(Comparator.comparingLong(Segment::durationMs)).ifPresent(slowest ->
+                    log.info("备份 {} 各表耗时（ms）: {}，最慢: {}", fileName, tableTimings, slowest.table().getKey()));
 
             BackupRecord record = BackupRecord.builder()
                     .backupType(backupType)
+                    .backupMode(mode)
+                    .baseBackupId(parent != null ? chainRootId(parent) : null)
+                    .parentBackupId(parent != null ? parent.getId() : null)
+                    .watermarkFrom(watermarkFrom)
+                    .watermarkTo(snapshot.watermarkTo())
                     .fileName(fileName)
                     .filePath(filePath.toString())
-                    .fileSize(fileSize)
+                    .fileSize(Files.size(filePath))
                     .status(BackupStatus.SUCCESS)
+                    .checksum(checksum)
+                    .tableRowCounts(objectMapper.writeValueAsString(rowCounts))
+                    .tableTimings(objectMapper.writeValueAsString(tableTimings))
                     .cloudSyncStatus(CloudSyncStatus.PENDING)
                     .build();
 
-            return backupRecordRepository.save(record);
+            BackupRecord saved = backupRecordRepository.save(record);
+            writeManifest(saved);
+            return saved;
 
         } catch (Exception e) {
-            log.error("备份执行失败: {}", e.getMessage(), e);
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            log.error("备份执行失败: {}", cause.getMessage(), cause);
+            deleteQuietly(filePath);
 
             BackupRecord record = BackupRecord.builder()
                     .backupType(backupType)
+                    .backupMode(mode)
                     .fileName(fileName)
                     .filePath(filePath != null ? filePath.toString() : backupDirectory + "/" + fileName)
                     .fileSize(0L)
                     .status(BackupStatus.FAILED)
-                    .errorMessage(e.getMessage())
+                    .errorMessage(cause.getMessage())
                     .cloudSyncStatus(CloudSyncStatus.PENDING)
                     .build();
 
             return backupRecordRepository.save(record);
+        } finally {
+            deleteSegments(segmentDir);
+        }
+    }
+
+    /**
+     * 查找增量 / 差异备份的水位来源：增量取上一次成功备份，差异取上一次成功全量备份。
+     * 找不到、备份文件已丢失或链根过旧时返回 null，由调用方改为全量备份。
+     */
+    private BackupRecord findParent(BackupMode mode) {
+        Optional<BackupRecord> candidate = mode == BackupMode.DIFFERENTIAL
+                ? backupRecordRepository.findFirstByStatusAndBackupModeOrderByIdDesc(
+                        BackupStatus.SUCCESS, BackupMode.FULL)
+                : backupRecordRepository.findFirstByStatusOrderByIdDesc(BackupStatus.SUCCESS);
+        BackupRecord parent = candidate
+                .filter(r -> r.getWatermarkTo() != null && Files.exists(Paths.get(r.getFilePath())))
+                .orElse(null);
+        if (parent == null) {
+            log.info("没有可作为水位起点的备份，本次改为全量备份");
+            return null;
+        }
+        Long rootId = chainRootId(parent);
+        BackupRecord root = rootId.equals(parent.getId())
+                ? parent
+                : backupRecordRepository.findById(rootId).orElse(null);
+        if (root == null || root.getWatermarkTo() == null
+                || root.getWatermarkTo().isBefore(LocalDateTime.now().minus(MAX_CHAIN_AGE))) {
+            log.info("备份链根缺失或已超过 {} 天，本次改为全量备份", MAX_CHAIN_AGE.toDays());
+            return null;
+        }
+        return parent;
+    }
+
+    /**
+     * 恢复指定备份需依次回放的备份链，从全量备份开始；链上任一备份缺失或未成功时报错
+     */
+    private List<BackupRecord> restoreChain(BackupRecord record) {
+        LinkedList<BackupRecord> chain = new LinkedList<>();
+        BackupRecord current = record;
+        while (true) {
+            if (current.getStatus() != BackupStatus.SUCCESS) {
+                throw new BusinessException(400, "备份链不完整：备份 " + current.getId() + " 未成功");
+            }
+            chain.addFirst(current);
+            if (current.getBackupMode() == BackupMode.FULL) {
+                return chain;
+            }
+            Long parentId = current.getParentBackupId();
+            current = backupRecordRepository.findById(parentId)
+                    .orElseThrow(() -> new BusinessException(400, "备份链不完整：缺少备份 " + parentId));
+        }
+    }
+
+    /**
+     * 在备份文件旁写出清单：本备份的元数据与恢复时需依次回放的备份链。
+     * 清单可由备份记录重建，写出失败只记日志，不影响备份结果。
+     */
+    private void writeManifest(BackupRecord record) {
+        Path manifestPath = manifestPathOf(record.getFilePath());
+        try {
+            List<Map<String, Object>> chain = new ArrayList<>();
+            for (BackupRecord member : restoreChain(record)) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("backupId", member.getId());
+                entry.put("backupMode", member.getBackupMode().name());
+                entry.put("fileName", member.getFileName());
+                entry.put("checksum", member.getChecksum());
+                entry.put("watermarkFrom", Objects.toString(member.getWatermarkFrom(), null));
+                entry.put("watermarkTo", Objects.toString(member.getWatermarkTo(), null));
+                entry.put("tableRowCounts", member.getTableRowCounts() != null
+                        ? objectMapper.readTree(member.getTableRowCounts()) : null);
+                chain.add(entry);
+            }
+            Map<String, Object> manifest = new LinkedHashMap<>();
+            manifest.put("backupId", record.getId());
+            manifest.put("backupMode", record.getBackupMode().name());
+            manifest.put("chain", chain);
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(manifestPath.toFile(), manifest);
+        } catch (Exception e) {
+            log.warn("写入备份清单失败: {}", manifestPath, e);
+        }
+    }
+
+    /**
+     * 备份文件对应的清单路径（backup_xxx.zip / backup_xxx.json.gz → backup_xxx.manifest.json），
+     * 更早格式的备份没有清单时返回 null
+     */
+    static Path manifestPathOf(String backupFilePath) {
+        if (backupFilePath == null) {
+            return null;
+        }
+        for (String suffix : List.of(ARCHIVE_SUFFIX, LEGACY_SUFFIX)) {
+            if (backupFilePath.endsWith(suffix)) {
+                return Paths.get(backupFilePath.substring(0, backupFilePath.length() - suffix.length())
+                        + ".manifest.json");
+            }
+        }
+        return null;
+    }
+
+    private static Long chainRootId(BackupRecord record) {
+        return record.getBackupMode() == BackupMode.FULL ? record.getId() : record.getBaseBackupId();
+    }
+
+    /**
+     * 在一个短事务内确定快照：快照时刻即本次的水位终点，同时记下各表当前最大 id 与总行数。
+     * 各表随后在各自的连接上并行读取，都以这组值为界，归档内各分段对应同一时刻；
+     * 总行数供恢复备份链后核对。
+     */
+    private Snapshot captureSnapshot() {
+        return snapshotTemplate.execute(status -> {
+            LocalDateTime watermarkTo = LocalDateTime.now();
+            Map<String, Long> maxIds = new LinkedHashMap<>();
+            Map<String, Long> tableTotals = new LinkedHashMap<>();
+            for (BackupTable table : BackupTables.ALL) {
+                Long maxId = jdbcTemplate.queryForObject(table.getMaxIdSql(), Long.class);
+                maxIds.put(table.getKey(), maxId != null ? maxId : 0L);
+                Long total = jdbcTemplate.queryForObject(table.getCountSql(), Long.class, maxIds.get(table.getKey()));
+                tableTotals.put(table.getKey(), total != null ? total : 0L);
+            }
+            return new Snapshot(watermarkTo, maxIds, tableTotals);
+        });
+    }
+
+    /**
+     * 在有界线程池中并行写出各表的分段文件，按注册顺序返回；任一表失败时取消其余表
+     */
+    private List<Segment> dumpSegments(Path segmentDir, BackupMode mode, LocalDateTime watermarkFrom,
+                                       Snapshot snapshot) throws InterruptedException, ExecutionException {
+        int threads = Math.max(1, Math.min(dumpThreads, BackupTables.ALL.size()));
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(BackupTables.ALL.size()),
+                r -> {
+                    Thread t = new Thread(r, "backup-dump-" + threadIndex.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        try {
+            List<Future<Segment>> futures = new ArrayList<>();
+            for (BackupTable table : BackupTables.ALL) {
+                futures.add(executor.submit(() -> dumpSegment(table, segmentDir, mode, watermarkFrom, snapshot)));
+            }
+            List<Segment> segments = new ArrayList<>();
+            for (Future<Segment> future : futures) {
+                segments.add(future.get());
+            }
+            return segments;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 在独立的只读、可重复读事务中把一张表写成 gzip 压缩的 JSON 数组，同时计算分段的 CRC32 供归档使用
+     */
+    private Segment dumpSegment(BackupTable table, Path segmentDir, BackupMode mode, LocalDateTime watermarkFrom,
+                                Snapshot snapshot) throws IOException {
+        long started = System.nanoTime();
+        Path file = segmentDir.resolve(table.getSegmentName());
+        Path liveIdsFile = mode != BackupMode.FULL ? segmentDir.resolve(table.getLiveIdsSegmentName()) : null;
+        long maxId = snapshot.maxIds().get(table.getKey());
+        boolean changedOnly = mode != BackupMode.FULL && table.supportsIncremental();
+        CRC32 crc = new CRC32();
+        CRC32 liveIdsCrc = new CRC32();
+        long rows;
+        try (JsonGenerator generator = createSegmentGenerator(file, crc);
+             JsonGenerator liveIds = liveIdsFile != null ? createSegmentGenerator(liveIdsFile, liveIdsCrc) : null) {
+            generator.writeStartArray();
+            rows = snapshotTemplate.execute(status -> {
+                long written = changedOnly
+                        ? writeChangedRows(table, generator, watermarkFrom, snapshot.watermarkTo(), maxId)
+                        : writeTable(table, generator, maxId);
+                if (liveIds != null) {
+                    // 与行数据同一事务读取，删除区间与写出的行对应同一快照
+                    writeLiveIdRanges(table, liveIds, maxId);
+                }
+                return written;
+            });
+            generator.writeEndArray();
+        }
+        SegmentFile liveIdsSegment = liveIdsFile != null
+                ? new SegmentFile(table.getLiveIdsSegmentName(), liveIdsFile, liveIdsCrc.getValue(),
+                        Files.size(liveIdsFile))
+                : null;
+        return new Segment(table, new SegmentFile(table.getSegmentName(), file, crc.getValue(), Files.size(file)),
+                liveIdsSegment, rows, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * 分段文件的 JSON 生成器：gzip 压缩，同时计算压缩后内容的 CRC32
+     */
+    private JsonGenerator createSegmentGenerator(Path file, CRC32 crc) throws IOException {
+        return objectMapper.getFactory().createGenerator(new GZIPOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE), crc), BUFFER_SIZE),
+                JsonEncoding.UTF8);
+    }
+
+    /**
+     * 把各分段原样（STORED，已压缩）装入 ZIP 归档，元数据放在最前；返回整个归档的 SHA-256。
+     * 归档结构：metadata.json（exportTime、backupMode、watermarkFrom、watermarkTo、maxIds、rowCounts、
+     * tableTotals、tableTimingsMs），每张表一个 &lt;表键名&gt;.json.gz（行对象数组），
+     * 增量 / 差异备份另有每张表一个 &lt;表键名&gt;.ids.json.gz（快照时刻仍存在的 id 区间 [起, 止] 数组）。
+     */
+    private String writeArchive(Path filePath, Map<String, Object> metadata, List<Segment> segments)
+            throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (ZipOutputStream zip = new ZipOutputStream(new DigestOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(filePath), BUFFER_SIZE), digest))) {
+            zip.putNextEntry(new ZipEntry(METADATA_ENTRY));
+            zip.write(objectMapper.writeValueAsBytes(metadata));
+            zip.closeEntry();
+            for (Segment segment : segments) {
+                putStored(zip, segment.rowsFile());
+                if (segment.liveIdsFile() != null) {
+                    putStored(zip, segment.liveIdsFile());
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void putStored(ZipOutputStream zip, SegmentFile segmentFile) throws IOException {
+        ZipEntry entry = new ZipEntry(segmentFile.name());
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(segmentFile.size());
+        entry.setCompressedSize(segmentFile.size());
+        entry.setCrc(segmentFile.crc());
+        zip.putNextEntry(entry);
+        Files.copy(segmentFile.path(), zip);
+        zip.closeEntry();
+    }
+
+    /**
+     * 按 id 键集分页读取一张表，逐行写入生成器，内存中只保留当前页的游标
+     */
+    private long writeTable(BackupTable table, JsonGenerator generator, long maxId) {
+        return writePages(table, generator, table.getPageSql(), (ps, cursor) -> {
+            ps.setLong(1, cursor.lastId);
+            ps.setLong(2, maxId);
+            ps.setInt(3, pageSize);
+        });
+    }
+
+    /**
+     * 按 (变更时间, id) 键集分页读取水位区间 (from, to] 内新增或修改过的行
+     */
+    private long writeChangedRows(BackupTable table, JsonGenerator generator,
+                                  LocalDateTime from, LocalDateTime to, long maxId) {
+        return writePages(table, generator, table.getChangedPageSql(), (ps, cursor) -> {
+            LocalDateTime lastChangedAt = cursor.lastChangedAt != null ? cursor.lastChangedAt : from;
+            ps.setObject(1, from);
+            ps.setObject(2, to);
+            ps.setObject(3, lastChangedAt);
+            ps.setObject(4, lastChangedAt);
+            ps.setLong(5, cursor.lastId);
+            ps.setLong(6, maxId);
+            ps.setInt(7, pageSize);
+        });
+    }
+
+    /**
+     * 按 id 键集分页读取快照时刻仍存在的 id，把连续的 id 合并成 [起, 止] 区间写出。
+     * 只写区间而不写删除记录：数据库中没有删除日志，恢复时删除区间之间及末个区间之后的行即可
+     */
+    private void writeLiveIdRanges(BackupTable table, JsonGenerator generator, long maxId) {
+        IdRangeWriter ranges = new IdRangeWriter(generator);
+        int fetched;
+        try {
+            generator.writeStartArray();
+            do {
+                ranges.pageRows = 0;
+                jdbcTemplate.query(table.getIdPageSql(), ps -> {
+                    ps.setLong(1, ranges.lastId);
+                    ps.setLong(2, maxId);
+                    ps.setInt(3, pageSize);
+                }, (RowCallbackHandler) rs -> ranges.add(rs.getLong(1)));
+                fetched = ranges.pageRows;
+            } while (fetched == pageSize);
+            ranges.finish();
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
-    private Map<String, Object> exportAllEntities() {
-        Map<String, Object> data = new LinkedHashMap<>();
-        data.put("exportTime", LocalDateTime.now().toString());
-        data.put("users", userRepository.findAll());
-        data.put("applications", applicationRepository.findAll());
-        data.put("pointsRecords", pointsRecordRepository.findAll());
-        data.put("salaryRecords", salaryRecordRepository.findAll());
-        data.put("activities", activityRepository.findAll());
-        data.put("weeklyReports", weeklyReportRepository.findAll());
-        return data;
+    private long writePages(BackupTable table, JsonGenerator generator, String sql, PageBinder binder) {
+        TableCursor cursor = new TableCursor();
+        String changeColumn = table.getChangeColumn();
+        int fetched;
+        do {
+            cursor.pageRows = 0;
+            jdbcTemplate.query(sql, ps -> binder.bind(ps, cursor), (RowCallbackHandler) rs -> {
+                try {
+                    if (cursor.rowWriter == null) {
+                        cursor.rowWriter = new JdbcJsonRowWriter(rs.getMetaData());
+                    }
+                    cursor.rowWriter.writeRow(rs, generator);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                cursor.lastId = rs.getLong("id");
+                if (changeColumn != null) {
+                    cursor.lastChangedAt = rs.getObject(changeColumn, LocalDateTime.class);
+                }
+                cursor.pageRows++;
+            });
+            fetched = cursor.pageRows;
+            cursor.total += fetched;
+        } while (fetched == pageSize);
+        return cursor.total;
+    }
+
+    private static void deleteSegments(Path segmentDir) {
+        if (segmentDir == null || !Files.isDirectory(segmentDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(segmentDir)) {
+            files.forEach(BackupServiceImpl::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("清理备份分段目录失败: {}", segmentDir, e);
+        }
+        deleteQuietly(segmentDir);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除未完成的备份文件失败: {}", path, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PageBinder {
+        void bind(PreparedStatement ps, TableCursor cursor) throws SQLException;
+    }
+
+    /** 快照时刻与各表 id 上限、总行数 */
+    private record Snapshot(LocalDateTime watermarkTo, Map<String, Long> maxIds, Map<String, Long> tableTotals) {
+    }
+
+    /** 一张表写出的分段：行数据，以及增量 / 差异备份的存活 id 区间（全量备份为 null） */
+    private record Segment(BackupTable table, SegmentFile rowsFile, SegmentFile liveIdsFile, long rows,
+                           long durationMs) {
+    }
+
+    /** 归档内的一个分段文件 */
+    private record SegmentFile(String name, Path path, long crc, long size) {
+    }
+
+    /** 单表分页读取的进度 */
+    private static final class TableCursor {
+        long lastId;
+        LocalDateTime lastChangedAt;
+        long total;
+        int pageRows;
+        JdbcJsonRowWriter rowWriter;
+    }
+
+    /** 把递增的 id 合并成连续区间逐个写出 */
+    private static final class IdRangeWriter {
+        private final JsonGenerator generator;
+        long lastId;
+        int pageRows;
+        private long rangeStart = -1;
+
+        IdRangeWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        void add(long id) {
+            if (rangeStart >= 0 && id != lastId + 1) {
+                writeRange();
+            }
+            if (rangeStart < 0) {
+                rangeStart = id;
+            }
+            lastId = id;
+            pageRows++;
+        }
+
+        void finish() {
+            if (rangeStart >= 0) {
+                writeRange();
+            }
+        }
+
+        private void writeRange() {
+            try {
+                generator.writeStartArray();
+                generator.writeNumber(rangeStart);
+                generator.writeNumber(lastId);
+                generator.writeEndArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rangeStart = -1;
+        }
     }
 }
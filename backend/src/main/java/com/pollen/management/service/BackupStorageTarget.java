@@ -0,0 +1,56 @@
+package com.pollen.management.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * 备份异地存储目标。
+ * <p>
+ * 以分块上传为基本模型：发起上传得到上传 ID，分块可并行、乱序、重复上传，
+ * 中断后凭上传 ID 列出已收到的分块继续上传，最后按分块号合并并校验整个对象。
+ */
+public interface BackupStorageTarget {
+
+    /**
+     * 目标名称，用于日志
+     */
+    String getName();
+
+    /**
+     * 对象已存在且内容 SHA-256 与给定值一致
+     */
+    boolean exists(String key, String sha256) throws IOException;
+
+    /**
+     * 发起分块上传
+     * @param sha256 整个对象的 SHA-256，完成时用于校验
+     * @return 上传 ID
+     */
+    String initiateUpload(String key, String sha256) throws IOException;
+
+    /**
+     * 列出已收到的分块
+     * @return 分块号 → 分块 MD5 十六进制；上传 ID 已失效（已完成、已中止或过期）时返回 null
+     */
+    Map<Integer, String> listParts(String key, String uploadId) throws IOException;
+
+    /**
+     * 上传一个分块，同一分块号重复上传时覆盖
+     * @param partNumber 分块号，从 1 开始
+     * @return 目标端计算的分块 MD5 十六进制
+     */
+    String uploadPart(String key, String uploadId, int partNumber, byte[] data) throws IOException;
+
+    /**
+     * 按分块号顺序合并完成上传，合并结果与分块 MD5、对象 SHA-256 不一致时抛出 IOException
+     * @param partMd5s 分块号 → 分块 MD5 十六进制
+     */
+    void completeUpload(String key, String uploadId, SortedMap<Integer, String> partMd5s, String sha256)
+            throws IOException;
+
+    /**
+     * 中止上传并丢弃已收到的分块
+     */
+    void abortUpload(String key, String uploadId) throws IOException;
+}
@@ -0,0 +1,28 @@
+package com.pollen.management.service;
+
+import com.pollen.management.entity.BackupRecord;
+
+/**
+ * 备份异地同步服务
+ */
+public interface BackupSyncService {
+
+    /**
+     * 在后台线程中同步备份，立即返回
+     * @param backupId 备份记录 ID
+     */
+    void syncAsync(Long backupId);
+
+    /**
+     * 同步备份文件及其清单到存储目标，失败时从已上传的分块续传，并更新 cloudSyncStatus
+     * @param backupId 备份记录 ID
+     * @return 更新后的备份记录；未配置存储目标时保持 PENDING
+     */
+    BackupRecord sync(Long backupId);
+
+    /**
+     * 重新同步所有同步失败的成功备份
+     * @return 本次同步成功的数量
+     */
+    int retryFailed();
+}
@@ -0,0 +1,310 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.BackupStorageProperties;
+import com.pollen.management.entity.BackupRecord;
+import com.pollen.management.entity.enums.BackupStatus;
+import com.pollen.management.entity.enums.CloudSyncStatus;
+import com.pollen.management.repository.BackupRecordRepository;
+import com.pollen.management.util.BusinessException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 备份异地同步服务实现。
+ * <p>
+ * 备份文件按 backup.storage.chunk-size 分块，在有界线程池中并行上传；池满时由同步线程自己上传，
+ * 内存占用不超过（线程数 + 1）个分块。每个分块上传后核对目标端返回的 MD5，失败按退避重试；
+ * 上传 ID 在发起时即写入备份记录，中断或失败后再次同步会列出目标端已有的分块，
+ * 只重传缺失或内容不一致的分块。整个对象在完成时由存储目标再做一次校验。
+ * 同步在 @Async 线程中执行，不阻塞备份任务；失败的同步由定时任务重试。
+ */
+@Service
+@Slf4j
+public class BackupSyncServiceImpl implements BackupSyncService {
+
+    private final BackupRecordRepository backupRecordRepository;
+    private final BackupStorageProperties properties;
+    private final BackupStorageTarget target;
+    private final ThreadPoolExecutor uploadExecutor;
+    /** 正在同步的备份 ID，避免异步同步与定时重试同时上传同一个备份 */
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public BackupSyncServiceImpl(BackupRecordRepository backupRecordRepository, BackupStorageProperties properties,
+                                 ObjectProvider<BackupStorageTarget> targetProvider) {
+        this(backupRecordRepository, properties, targetProvider.getIfAvailable());
+    }
+
+    BackupSyncServiceImpl(BackupRecordRepository backupRecordRepository, BackupStorageProperties properties,
+                          BackupStorageTarget target) {
+        this.backupRecordRepository = backupRecordRepository;
+        this.properties = properties;
+        this.target = target;
+        int threads = Math.max(1, properties.getUploadThreads());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.uploadExecutor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads),
+                r -> {
+                    Thread t = new Thread(r, "backup-upload-" + threadIndex.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        uploadExecutor.shutdownNow();
+    }
+
+    @Async
+    @Override
+    public void syncAsync(Long backupId) {
+        try {
+            sync(backupId);
+        } catch (Exception e) {
+            log.error("备份异地同步失败: backupId={}", backupId, e);
+        }
+    }
+
+    @Override
+    public BackupRecord sync(Long backupId) {
+        BackupRecord record = backupRecordRepository.findById(backupId)
+                .orElseThrow(() -> new BusinessException(404, "备份记录不存在"));
+        if (target == null) {
+            log.info("Cloud sync not configured - 云存储同步未配置，跳过同步备份: {}", record.getFileName());
+            return record;
+        }
+        if (record.getStatus() != BackupStatus.SUCCESS) {
+            throw new BusinessException(400, "只能同步成功的备份");
+        }
+        if (record.getCloudSyncStatus() == CloudSyncStatus.SYNCED) {
+            return record;
+        }
+        if (!inFlight.add(backupId)) {
+            log.info("备份正在同步中，跳过: {}", record.getFileName());
+            return record;
+        }
+        try {
+            long start = System.nanoTime();
+            Path file = Paths.get(record.getFilePath());
+            String key = properties.getPrefix() + record.getFileName();
+            String sha256 = record.getChecksum() != null ? record.getChecksum() : sha256Of(file);
+            upload(record, file, key, sha256);
+
+            Path manifest = BackupServiceImpl.manifestPathOf(record.getFilePath());
+            if (manifest != null && Files.exists(manifest)) {
+                upload(null, manifest, properties.getPrefix() + manifest.getFileName(), sha256Of(manifest));
+            }
+            record.setCloudObjectKey(key);
+            record.setCloudUploadId(null);
+            record.setCloudSyncStatus(CloudSyncStatus.SYNCED);
+            log.info("备份已同步到 {}: {}（{} 字节，{} ms）", target.getName(), key, record.getFileSize(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("备份同步到 {} 失败: {}", target.getName(), record.getFileName(), e);
+            record.setCloudSyncStatus(CloudSyncStatus.FAILED);
+        } finally {
+            inFlight.remove(backupId);
+        }
+        return backupRecordRepository.save(record);
+    }
+
+    /**
+     * 定时重新同步失败的备份，以及进程重启时上传中断（仍为 PENDING 但已有上传 ID）的备份
+     */
+    @Scheduled(fixedDelayString = "${backup.storage.retry-interval-ms:1800000}",
+            initialDelayString = "${backup.storage.retry-interval-ms:1800000}")
+    @Override
+    public int retryFailed() {
+        if (target == null) {
+            return 0;
+        }
+        int synced = 0;
+        List<BackupRecord> candidates = backupRecordRepository.findByStatusAndCloudSyncStatusIn(
+                BackupStatus.SUCCESS, List.of(CloudSyncStatus.FAILED, CloudSyncStatus.PENDING));
+        for (BackupRecord candidate : candidates) {
+            if (candidate.getCloudSyncStatus() == CloudSyncStatus.PENDING && candidate.getCloudUploadId() == null) {
+                continue;
+            }
+            try {
+                if (sync(candidate.getId()).getCloudSyncStatus() == CloudSyncStatus.SYNCED) {
+                    synced++;
+                }
+            } catch (Exception e) {
+                log.warn("重新同步备份失败: {}", candidate.getFileName(), e);
+            }
+        }
+        if (synced > 0) {
+            log.info("已重新同步 {} 个备份", synced);
+        }
+        return synced;
+    }
+
+    /**
+     * 分块上传一个文件；resumeRecord 不为 null 时把上传 ID 记在备份记录上以便续传
+     */
+    private void upload(BackupRecord resumeRecord, Path file, String key, String sha256) throws IOException {
+        if (target.exists(key, sha256)) {
+            return;
+        }
+        long size = Files.size(file);
+        long chunkSize = Math.max(1, properties.getChunkSize().toBytes());
+        int partCount = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+
+        String uploadId = resumeRecord != null && key.equals(resumeRecord.getCloudObjectKey())
+                ? resumeRecord.getCloudUploadId() : null;
+        Map<Integer, String> uploaded = uploadId != null ? target.listParts(key, uploadId) : null;
+        if (uploaded == null) {
+            uploadId = target.initiateUpload(key, sha256);
+            uploaded = Map.of();
+            if (resumeRecord != null) {
+                resumeRecord.setCloudObjectKey(key);
+                resumeRecord.setCloudUploadId(uploadId);
+                backupRecordRepository.save(resumeRecord);
+            }
+        } else {
+            log.info("续传 {}：目标端已有 {}/{} 个分块", key, uploaded.size(), partCount);
+        }
+
+        SortedMap<Integer, String> partMd5s = uploadParts(file, key, uploadId, size, chunkSize, partCount, uploaded);
+        try {
+            target.completeUpload(key, uploadId, partMd5s, sha256);
+        } catch (IOException e) {
+            // 合并或校验失败说明已上传的分块不可信，丢弃本次上传，下次从头上传
+            try {
+                target.abortUpload(key, uploadId);
+            } catch (IOException abortError) {
+                e.addSuppressed(abortError);
+            }
+            if (resumeRecord != null) {
+                resumeRecord.setCloudUploadId(null);
+            }
+            throw e;
+        }
+    }
+
+    private SortedMap<Integer, String> uploadParts(Path file, String key, String uploadId, long size, long chunkSize,
+                                                   int partCount, Map<Integer, String> uploaded) throws IOException {
+        SortedMap<Integer, String> partMd5s = new ConcurrentSkipListMap<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        List<Future<?>> futures = new ArrayList<>(partCount);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+                int part = partNumber;
+                long offset = (partNumber - 1) * chunkSize;
+                int length = (int) Math.min(chunkSize, size - offset);
+                futures.add(uploadExecutor.submit(() -> {
+                    if (failure.get() != null) {
+                        return;
+                    }
+                    try {
+                        partMd5s.put(part, uploadPart(channel, key, uploadId, part, offset, length, uploaded.get(part)));
+                    } catch (Exception e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IOException("上传被中断: " + key, e);
+        } catch (ExecutionException e) {
+            throw new IOException("分块上传失败: " + key, e.getCause());
+        }
+        if (failure.get() != null) {
+            Exception e = failure.get();
+            throw e instanceof IOException io ? io : new IOException("分块上传失败: " + key, e);
+        }
+        return partMd5s;
+    }
+
+    private String uploadPart(FileChannel channel, String key, String uploadId, int partNumber, long offset,
+                              int length, String remoteMd5) throws IOException, InterruptedException {
+        byte[] data = new byte[length];
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("备份文件在分块 " + partNumber + " 处意外结束");
+            }
+        }
+        String md5 = HexFormat.of().formatHex(digest("MD5").digest(data));
+        if (md5.equalsIgnoreCase(remoteMd5)) {
+            // 续传：目标端已有内容一致的分块
+            return md5;
+        }
+        int maxAttempts = Math.max(1, properties.getMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                String etag = target.uploadPart(key, uploadId, partNumber, data);
+                if (!md5.equalsIgnoreCase(etag)) {
+                    throw new IOException("分块 " + partNumber + " 校验失败: 本地 " + md5 + "，目标端 " + etag);
+                }
+                return md5;
+            } catch (IOException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.warn("分块 {} 第 {} 次上传失败，将重试: {}", partNumber, attempt, e.getMessage());
+                Thread.sleep(properties.getRetryBackoffMs() * attempt);
+            }
+        }
+    }
+
+    private static String sha256Of(Path file) throws IOException {
+        MessageDigest digest = digest("SHA-256");
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest digest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.pollen.management.service;
+
+import com.pollen.management.util.BackupTable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 备份表注册表，按备份文件中的写出顺序排列。
+ * 积分记录与周报只插入不修改，以创建 / 生成时间作变更时间；活动表没有更新时间列，增量备份时全量写出。
+ */
+public final class BackupTables {
+
+    public static final BackupTable USERS = new BackupTable("users", "users", "updated_at");
+    public static final BackupTable APPLICATIONS = new BackupTable("applications", "applications", "updated_at");
+    public static final BackupTable POINTS_RECORDS = new BackupTable("pointsRecords", "points_records", "created_at");
+    public static final BackupTable SALARY_RECORDS = new BackupTable("salaryRecords", "salary_records", "updated_at");
+    public static final BackupTable ACTIVITIES = new BackupTable("activities", "activities", null);
+    public static final BackupTable WEEKLY_REPORTS = new BackupTable("weeklyReports", "weekly_report", "generated_at");
+
+    public static final List<BackupTable> ALL =
+            List.of(USERS, APPLICATIONS, POINTS_RECORDS, SALARY_RECORDS, ACTIVITIES, WEEKLY_REPORTS);
+
+    private static final Map<String, BackupTable> BY_KEY = ALL.stream()
+            .collect(Collectors.toUnmodifiableMap(BackupTable::getKey, Function.identity()));
+
+    private BackupTables() {
+    }
+
+    /**
+     * 按备份文件中的表键名查找，不是备份表时返回 null
+     */
+    public static BackupTable findByKey(String key) {
+        return BY_KEY.get(key);
+    }
+}
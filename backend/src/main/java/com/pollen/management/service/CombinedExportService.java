@@ -0,0 +1,15 @@
+package com.pollen.management.service;
+
+import java.io.OutputStream;
+
+/**
+ * 合并导出服务：成员、积分、薪资、活动四个数据集写入同一个工作簿，每个数据集一个 Sheet。
+ * 输出流由调用方负责关闭。
+ */
+public interface CombinedExportService {
+
+    /**
+     * 并行读取所有报表数据集并写出单个 XLSX 文件
+     */
+    void exportAll(OutputStream out);
+}
@@ -0,0 +1,162 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.ExportJobProperties;
+import com.pollen.management.util.BusinessException;
+import com.pollen.management.util.ExportDataset;
+import com.pollen.management.util.StreamingExcelWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 合并导出服务实现。
+ * <ul>
+ *   <li>开始前在同一只读事务中记录各表的 MAX(id) 作为截止点，各 Sheet 只导出截止点以内的行，
+ *       导出期间新插入的数据不会只出现在部分 Sheet 中</li>
+ *   <li>每个数据集在有界线程池中各占一个线程、一个连接、一个只读 REPEATABLE_READ 事务，
+ *       用 JDBC 游标逐行写入各自的 SXSSF Sheet，总耗时接近最慢的单个 Sheet</li>
+ *   <li>任一 Sheet 失败时取消其余任务并抛出异常；线程池队列满时以 503 拒绝</li>
+ * </ul>
+ * MySQL 不支持多个连接共享同一快照，因此这里的一致性是"按截止点的插入一致"加"单表内快照一致"。
+ */
+@Service
+@Slf4j
+public class CombinedExportServiceImpl implements CombinedExportService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTemplate;
+    private final TransactionTemplate sheetTemplate;
+    private final ThreadPoolExecutor executor;
+
+    public CombinedExportServiceImpl(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     ExportJobProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.sheetTemplate = new TransactionTemplate(transactionManager);
+        this.sheetTemplate.setReadOnly(true);
+        this.sheetTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.sheetTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        int threads = Math.max(1, properties.getSheetThreads());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                r -> {
+                    Thread t = new Thread(r, "export-sheet-" + threadIndex.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void exportAll(OutputStream out) {
+        List<ExportDataset<?>> datasets = ExportDatasets.REPORTS;
+        Map<ExportDataset<?>, Long> watermarks = captureWatermarks(datasets);
+
+        try (StreamingExcelWriter writer = new StreamingExcelWriter()) {
+            // 所有 Sheet 先在当前线程按固定顺序创建，工作线程只向各自的 Sheet 追加行
+            List<StreamingExcelWriter.SheetWriter> sheets = new ArrayList<>(datasets.size());
+            for (ExportDataset<?> dataset : datasets) {
+                sheets.add(writer.createSheet(dataset.getSheetName(), dataset.getHeaders()));
+            }
+            List<Future<Integer>> futures = new ArrayList<>(datasets.size());
+            try {
+                for (int i = 0; i < datasets.size(); i++) {
+                    ExportDataset<?> dataset = datasets.get(i);
+                    StreamingExcelWriter.SheetWriter sheet = sheets.get(i);
+                    long maxId = watermarks.get(dataset);
+                    futures.add(executor.submit(() -> writeSheet(dataset, maxId, sheet)));
+                }
+                for (int i = 0; i < futures.size(); i++) {
+                    int rows = futures.get(i).get();
+                    log.debug("合并导出 Sheet 完成: {} ({} 行)", datasets.get(i).getName(), rows);
+                }
+            } catch (RejectedExecutionException e) {
+                cancelAll(futures);
+                log.warn("合并导出线程池队列已满，拒绝请求");
+                throw new BusinessException(503, "导出任务繁忙，请稍后重试");
+            } catch (InterruptedException e) {
+                cancelAll(futures);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("合并导出被中断", e);
+            } catch (ExecutionException e) {
+                cancelAll(futures);
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException("合并导出失败: " + cause.getMessage(), cause);
+            }
+            writer.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export combined workbook", e);
+        }
+    }
+
+    /**
+     * 在一个只读事务中记录各表当前最大主键
+     */
+    private Map<ExportDataset<?>, Long> captureWatermarks(List<ExportDataset<?>> datasets) {
+        return snapshotTemplate.execute(status -> {
+            Map<ExportDataset<?>, Long> watermarks = new LinkedHashMap<>();
+            for (ExportDataset<?> dataset : datasets) {
+                Long maxId = jdbcTemplate.queryForObject(
+                        "SELECT MAX(id) FROM " + dataset.getTable(), Long.class);
+                watermarks.put(dataset, maxId != null ? maxId : 0L);
+            }
+            return watermarks;
+        });
+    }
+
+    /**
+     * 在独立的只读 REPEATABLE_READ 事务中用 JDBC 游标把 id ≤ maxId 的行写入 Sheet，返回行数
+     */
+    private int writeSheet(ExportDataset<?> dataset, long maxId, StreamingExcelWriter.SheetWriter sheet) {
+        String sql = dataset.getSelectSql() + " WHERE id <= ? ORDER BY id";
+        sheetTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(TextExportServiceImpl.streamingFetchSize(connection));
+            ps.setLong(1, maxId);
+            return ps;
+        }, rs -> {
+            dataset.writeRow(rs, sheet.nextRow());
+        }));
+        return sheet.getRowCount();
+    }
+
+    private static void cancelAll(List<Future<Integer>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
+}
@@ -0,0 +1,116 @@
+package com.pollen.management.service;
+
+import com.pollen.management.entity.Activity;
+import com.pollen.management.entity.Application;
+import com.pollen.management.entity.PointsRecord;
+import com.pollen.management.entity.SalaryRecord;
+import com.pollen.management.entity.User;
+import com.pollen.management.util.EncryptedFieldConverter;
+import com.pollen.management.util.EncryptedIntegerConverter;
+import com.pollen.management.util.ExportColumn;
+import com.pollen.management.util.ExportDataset;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 可导出数据集注册表：各数据集的列只在这里声明一次，XLSX、CSV、NDJSON 导出共用。
+ * 薪资的迷你币与薪资金额在库中为 AES 密文，JDBC 读取时用与实体相同的转换器解密。
+ */
+public final class ExportDatasets {
+
+    private static final EncryptedIntegerConverter ENCRYPTED_INTEGER = new EncryptedIntegerConverter();
+    private static final EncryptedFieldConverter ENCRYPTED_DECIMAL = new EncryptedFieldConverter();
+
+    public static final ExportDataset<User> MEMBERS = new ExportDataset<>("members", "成员列表", "users", List.of(
+            ExportColumn.ofLong("ID", "id", "id", User::getId),
+            ExportColumn.ofString("用户名", "username", "username", User::getUsername),
+            ExportColumn.ofEnum("角色", "role", "role", User::getRole),
+            ExportColumn.ofBoolean("状态", "enabled", "enabled", User::getEnabled, "启用", "禁用"),
+            ExportColumn.ofEnum("在线状态", "onlineStatus", "online_status", User::getOnlineStatus),
+            ExportColumn.ofDateTime("创建时间", "createdAt", "created_at", User::getCreatedAt)));
+
+    public static final ExportDataset<PointsRecord> POINTS = new ExportDataset<>("points", "积分记录", "points_records",
+            List.of(
+                    ExportColumn.ofLong("ID", "id", "id", PointsRecord::getId),
+                    ExportColumn.ofLong("用户ID", "userId", "user_id", PointsRecord::getUserId),
+                    ExportColumn.ofEnum("积分类型", "pointsType", "points_type", PointsRecord::getPointsType),
+                    ExportColumn.ofLong("数额", "amount", "amount", PointsRecord::getAmount),
+                    ExportColumn.ofString("描述", "description", "description", PointsRecord::getDescription),
+                    ExportColumn.ofDateTime("创建时间", "createdAt", "created_at", PointsRecord::getCreatedAt)));
+
+    public static final ExportDataset<SalaryRecord> SALARY = new ExportDataset<>("salary", "薪资记录", "salary_records",
+            List.of(
+                    ExportColumn.ofLong("ID", "id", "id", SalaryRecord::getId),
+                    ExportColumn.ofLong("用户ID", "userId", "user_id", SalaryRecord::getUserId),
+                    ExportColumn.ofLong("基础积分", "basePoints", "base_points", SalaryRecord::getBasePoints),
+                    ExportColumn.ofLong("奖励积分", "bonusPoints", "bonus_points", SalaryRecord::getBonusPoints),
+                    ExportColumn.ofLong("扣减", "deductions", "deductions", SalaryRecord::getDeductions),
+                    ExportColumn.ofLong("总积分", "totalPoints", "total_points", SalaryRecord::getTotalPoints),
+                    ExportColumn.<SalaryRecord>ofLong("迷你币", "miniCoins", "mini_coins", SalaryRecord::getMiniCoins)
+                            .decodedBy(ENCRYPTED_INTEGER::convertToEntityAttribute),
+                    ExportColumn.<SalaryRecord>ofDecimal("薪资金额", "salaryAmount", "salary_amount",
+                                    SalaryRecord::getSalaryAmount)
+                            .decodedBy(ENCRYPTED_DECIMAL::convertToEntityAttribute),
+                    ExportColumn.ofString("备注", "remark", "remark", SalaryRecord::getRemark),
+                    ExportColumn.ofDateTime("创建时间", "createdAt", "created_at", SalaryRecord::getCreatedAt)));
+
+    public static final ExportDataset<Activity> ACTIVITIES = new ExportDataset<>("activities", "活动记录", "activities",
+            List.of(
+                    ExportColumn.ofLong("ID", "id", "id", Activity::getId),
+                    ExportColumn.ofString("活动名称", "name", "name", Activity::getName),
+                    ExportColumn.ofString("描述", "description", "description", Activity::getDescription),
+                    ExportColumn.ofEnum("活动类型", "activityType", "activity_type", Activity::getActivityType),
+                    ExportColumn.ofDateTime("活动时间", "activityTime", "activity_time", Activity::getActivityTime),
+                    ExportColumn.ofString("地点", "location", "location", Activity::getLocation),
+                    ExportColumn.ofLong("报名人数", "registrationCount", "registration_count",
+                            Activity::getRegistrationCount),
+                    ExportColumn.ofEnum("状态", "status", "status", Activity::getStatus),
+                    ExportColumn.ofDateTime("创建时间", "createdAt", "created_at", Activity::getCreatedAt)));
+
+    public static final ExportDataset<Application> APPLICATIONS = new ExportDataset<>("applications", "报名数据",
+            "applications", List.of(
+                    ExportColumn.ofLong("ID", "id", "id", Application::getId),
+                    ExportColumn.ofLong("用户ID", "userId", "user_id", Application::getUserId),
+                    ExportColumn.ofEnum("状态", "status", "status", Application::getStatus),
+                    ExportColumn.ofEnum("入口类型", "entryType", "entry_type", Application::getEntryType),
+                    ExportColumn.ofString("花粉UID", "pollenUid", "pollen_uid", Application::getPollenUid),
+                    ExportColumn.ofDate("出生日期", "birthDate", "birth_date", Application::getBirthDate),
+                    ExportColumn.ofLong("年龄", "calculatedAge", "calculated_age", Application::getCalculatedAge),
+                    ExportColumn.ofEnum("教育阶段", "educationStage", "education_stage",
+                            Application::getEducationStage),
+                    ExportColumn.ofBoolean("中高考标识", "examFlag", "exam_flag", Application::getExamFlag, "是", "否"),
+                    ExportColumn.ofEnum("考试类型", "examType", "exam_type", Application::getExamType),
+                    ExportColumn.ofDate("考试日期", "examDate", "exam_date", Application::getExamDate),
+                    ExportColumn.ofLong("每周可用天数", "weeklyAvailableDays", "weekly_available_days",
+                            Application::getWeeklyAvailableDays),
+                    ExportColumn.ofDecimal("每日可用时长", "dailyAvailableHours", "daily_available_hours",
+                            Application::getDailyAvailableHours),
+                    ExportColumn.ofBoolean("筛选通过", "screeningPassed", "screening_passed",
+                            Application::getScreeningPassed, "是", "否"),
+                    ExportColumn.ofString("筛选拒绝原因", "screeningRejectReason", "screening_reject_reason",
+                            Application::getScreeningRejectReason),
+                    ExportColumn.ofBoolean("需要重点审核", "needsAttention", "needs_attention",
+                            Application::getNeedsAttention, "是", "否"),
+                    ExportColumn.ofDateTime("创建时间", "createdAt", "created_at", Application::getCreatedAt)));
+
+    /**
+     * 报表导出（/api/reports/export/*）支持的数据集，按合并导出时的 Sheet 顺序排列
+     */
+    public static final List<ExportDataset<?>> REPORTS = List.of(MEMBERS, POINTS, SALARY, ACTIVITIES);
+
+    private static final Map<String, ExportDataset<?>> REPORTS_BY_NAME = REPORTS.stream()
+            .collect(Collectors.toUnmodifiableMap(ExportDataset::getName, Function.identity()));
+
+    private ExportDatasets() {
+    }
+
+    /**
+     * 按报表数据类型（不区分大小写）查找数据集，不支持时返回 null
+     */
+    public static ExportDataset<?> findReport(String dataType) {
+        return dataType != null ? REPORTS_BY_NAME.get(dataType.toLowerCase()) : null;
+    }
+}
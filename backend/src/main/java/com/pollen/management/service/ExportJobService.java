@@ -0,0 +1,33 @@
+package com.pollen.management.service;
+
+import com.pollen.management.dto.ExportJobInfo;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * 异步导出任务服务：任务在有界线程池中执行并写入临时文件，
+ * 相同数据类型与时间段的进行中请求合并为同一任务。
+ */
+public interface ExportJobService {
+
+    /**
+     * 提交导出任务；已有相同参数的进行中任务时直接返回该任务
+     */
+    ExportJobInfo submit(String dataType, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 查询任务状态与进度
+     */
+    ExportJobInfo getJob(String jobId);
+
+    /**
+     * 获取已完成任务的结果文件，任务不存在、未完成或已过期时抛出 BusinessException
+     */
+    Path getResultFile(String jobId);
+
+    /**
+     * 删除超过保留期的任务及其结果文件
+     */
+    void purgeExpired();
+}
@@ -0,0 +1,262 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.ExportJobProperties;
+import com.pollen.management.dto.ExportJobInfo;
+import com.pollen.management.entity.enums.ExportJobStatus;
+import com.pollen.management.util.BusinessException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 异步导出任务服务实现。
+ * <ul>
+ *   <li>任务在固定大小的有界线程池中执行，队列满时以 503 拒绝</li>
+ *   <li>导出结果写入 {@code export-job.directory} 下的临时文件，进度按页更新</li>
+ *   <li>相同数据类型与时间段的进行中任务只执行一次，后续请求直接返回同一任务</li>
+ *   <li>完成（或失败）的任务保留 {@code export-job.retention-minutes} 分钟后连同文件一并删除</li>
+ * </ul>
+ * 任务状态只保存在本节点内存中，重启后丢失。
+ */
+@Service
+@Slf4j
+public class ExportJobServiceImpl implements ExportJobService {
+
+    private final ExportService exportService;
+    private final ThreadPoolExecutor executor;
+    private final Path directory;
+    private final long retentionMinutes;
+
+    // jobId → 任务
+    private final ConcurrentHashMap<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    // 去重键 → 进行中的任务
+    private final ConcurrentHashMap<String, ExportJob> inFlight = new ConcurrentHashMap<>();
+
+    public ExportJobServiceImpl(ExportService exportService, ExportJobProperties properties) {
+        this.exportService = exportService;
+        this.directory = Paths.get(properties.getDirectory());
+        this.retentionMinutes = properties.getRetentionMinutes();
+        int threads = Math.max(1, properties.getThreads());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                r -> {
+                    Thread t = new Thread(r, "export-job-" + threadIndex.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PostConstruct
+    void init() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法创建导出目录: " + directory, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public ExportJobInfo submit(String dataType, LocalDate startDate, LocalDate endDate) {
+        try {
+            exportService.validateDataType(dataType);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(400, "不支持的导出数据类型: " + dataType);
+        }
+        if ((startDate == null) != (endDate == null)) {
+            throw new BusinessException(400, "开始日期和结束日期需同时提供");
+        }
+        if (startDate != null && startDate.isAfter(endDate)) {
+            throw new BusinessException(400, "开始日期不能晚于结束日期");
+        }
+
+        String type = dataType.toLowerCase();
+        String key = type + "|" + startDate + "|" + endDate;
+        ExportJob[] created = new ExportJob[1];
+        // 先登记到 jobs 再在 inFlight 中可见，合并到该任务的并发请求拿到的 jobId 总能查到
+        ExportJob job = inFlight.computeIfAbsent(key, k -> {
+            created[0] = new ExportJob(UUID.randomUUID().toString(), k, type, startDate, endDate,
+                    exportService.generateFileName(type, startDate, endDate));
+            jobs.put(created[0].id, created[0]);
+            return created[0];
+        });
+        if (created[0] == null) {
+            return job.toInfo();
+        }
+
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            // 已合并到该任务的请求会看到 FAILED 状态
+            job.fail("导出任务繁忙，请稍后重试");
+            inFlight.remove(key, job);
+            log.warn("导出任务队列已满，拒绝任务: {}", key);
+            throw new BusinessException(503, "导出任务繁忙，请稍后重试");
+        }
+        return job.toInfo();
+    }
+
+    @Override
+    public ExportJobInfo getJob(String jobId) {
+        return requireJob(jobId).toInfo();
+    }
+
+    @Override
+    public Path getResultFile(String jobId) {
+        ExportJob job = requireJob(jobId);
+        if (job.status != ExportJobStatus.COMPLETED) {
+            throw new BusinessException(409, "导出任务尚未完成");
+        }
+        if (!Files.exists(job.file)) {
+            throw new BusinessException(404, "导出文件不存在或已过期");
+        }
+        return job.file;
+    }
+
+    @Override
+    @Scheduled(fixedRate = 60_000)
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        jobs.values().removeIf(job -> {
+            LocalDateTime expiresAt = job.expiresAt();
+            if (expiresAt == null || now.isBefore(expiresAt)) {
+                return false;
+            }
+            deleteQuietly(job.file);
+            return true;
+        });
+    }
+
+    private void run(ExportJob job) {
+        Path file = directory.resolve(job.id + ".xlsx");
+        job.status = ExportJobStatus.RUNNING;
+        try {
+            job.rowsTotal = exportService.countRows(job.dataType, job.startDate, job.endDate);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                exportService.export(job.dataType, job.startDate, job.endDate, out, job.rowsDone::addAndGet);
+            }
+            job.complete(file, Files.size(file));
+            log.info("导出任务完成: {} ({} 行, {} 字节)", job.key, job.rowsDone.get(), job.fileSize);
+        } catch (Exception e) {
+            log.error("导出任务失败: {}", job.key, e);
+            deleteQuietly(file);
+            job.fail("导出失败: " + e.getMessage());
+        } finally {
+            inFlight.remove(job.key, job);
+        }
+    }
+
+    private ExportJob requireJob(String jobId) {
+        ExportJob job = jobId != null ? jobs.get(jobId) : null;
+        if (job == null) {
+            throw new BusinessException(404, "导出任务不存在或已过期");
+        }
+        return job;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除导出文件失败: {}", file, e);
+        }
+    }
+
+    /**
+     * 单个导出任务的可变状态
+     */
+    private final class ExportJob {
+
+        private final String id;
+        private final String key;
+        private final String dataType;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final String fileName;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicLong rowsDone = new AtomicLong();
+
+        private volatile ExportJobStatus status = ExportJobStatus.PENDING;
+        private volatile long rowsTotal;
+        private volatile Path file;
+        private volatile long fileSize;
+        private volatile String errorMessage;
+        private volatile LocalDateTime finishedAt;
+
+        ExportJob(String id, String key, String dataType, LocalDate startDate, LocalDate endDate, String fileName) {
+            this.id = id;
+            this.key = key;
+            this.dataType = dataType;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.fileName = fileName;
+        }
+
+        void complete(Path file, long fileSize) {
+            this.file = file;
+            this.fileSize = fileSize;
+            this.finishedAt = LocalDateTime.now();
+            this.status = ExportJobStatus.COMPLETED;
+        }
+
+        void fail(String message) {
+            this.errorMessage = message;
+            this.finishedAt = LocalDateTime.now();
+            this.status = ExportJobStatus.FAILED;
+        }
+
+        LocalDateTime expiresAt() {
+            LocalDateTime finished = finishedAt;
+            return finished != null ? finished.plusMinutes(retentionMinutes) : null;
+        }
+
+        ExportJobInfo toInfo() {
+            return ExportJobInfo.builder()
+                    .jobId(id)
+                    .dataType(dataType)
+                    .startDate(startDate)
+                    .endDate(endDate)
+                    .status(status)
+                    .rowsDone(rowsDone.get())
+                    .rowsTotal(rowsTotal)
+                    .fileName(fileName)
+                    .fileSize(fileSize)
+                    .errorMessage(errorMessage)
+                    .createdAt(createdAt)
+                    .finishedAt(finishedAt)
+                    .expiresAt(expiresAt())
+                    .build();
+        }
+    }
+}
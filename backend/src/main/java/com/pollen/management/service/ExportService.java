@@ -1,12 +1,35 @@
 package com.pollen.management.service;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.function.LongConsumer;
 
+/**
+ * 数据导出服务：行数据分页读取后直接以流式 Excel 写入输出流，堆内存占用与行数无关。
+ * 输出流由调用方负责关闭。
+ */
 public interface ExportService {
-    byte[] exportMembers();
-    byte[] exportPoints();
-    byte[] exportSalary();
-    byte[] exportActivities();
-    byte[] exportWithDateRange(String dataType, LocalDate startDate, LocalDate endDate);
+    void exportMembers(OutputStream out);
+    void exportPoints(OutputStream out);
+    void exportSalary(OutputStream out);
+    void exportActivities(OutputStream out);
+    void exportWithDateRange(String dataType, LocalDate startDate, LocalDate endDate, OutputStream out);
+
+    /**
+     * 通用导出入口：起止日期为空时导出全部数据；每写完一页以本页行数回调 progress
+     */
+    void export(String dataType, LocalDate startDate, LocalDate endDate, OutputStream out, LongConsumer progress);
+
+    /**
+     * 导出将包含的行数（起止日期为空时为全表行数），用于进度展示
+     */
+    long countRows(String dataType, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 校验数据类型，不支持时抛出 IllegalArgumentException。
+     * 流式响应开始写出后无法再返回错误，需在写出前调用。
+     */
+    void validateDataType(String dataType);
+
     String generateFileName(String dataType, LocalDate startDate, LocalDate endDate);
 }
@@ -8,100 +8,126 @@ import com.pollen.management.repository.ActivityRepository;
 import com.pollen.management.repository.PointsRecordRepository;
 import com.pollen.management.repository.SalaryRecordRepository;
 import com.pollen.management.repository.UserRepository;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import com.pollen.management.util.ExportDataset;
+import com.pollen.management.util.StreamingExcelWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 报表 Excel 导出：列定义来自 {@link ExportDatasets}，数据按主键或 (createdAt, id) 游标分页读取。
+ * 新增报表数据集只需在 ExportDatasets 中声明列，并在构造函数中登记其分页查询。
+ * <p>
+ * 每页在独立的只读事务中读取并写出，写完即清空持久化上下文：流式响应线程上绑定了 Open-In-View 的
+ * EntityManager 时，已写出的实体也不会随页数在内存中累积。
+ */
 @Service
 public class ExportServiceImpl implements ExportService {
 
-    private final UserRepository userRepository;
-    private final PointsRecordRepository pointsRecordRepository;
-    private final SalaryRecordRepository salaryRecordRepository;
-    private final ActivityRepository activityRepository;
+    static final int PAGE_SIZE = 1000;
+    private static final LongConsumer NO_PROGRESS = rows -> { };
+
+    private final Map<String, ReportSource<?>> sources;
+    private final TransactionTemplate pageTemplate;
+    private final EntityManager entityManager;
 
     public ExportServiceImpl(UserRepository userRepository,
                              PointsRecordRepository pointsRecordRepository,
                              SalaryRecordRepository salaryRecordRepository,
-                             ActivityRepository activityRepository) {
-        this.userRepository = userRepository;
-        this.pointsRecordRepository = pointsRecordRepository;
-        this.salaryRecordRepository = salaryRecordRepository;
-        this.activityRepository = activityRepository;
+                             ActivityRepository activityRepository,
+                             PlatformTransactionManager transactionManager,
+                             EntityManager entityManager) {
+        this.pageTemplate = new TransactionTemplate(transactionManager);
+        this.pageTemplate.setReadOnly(true);
+        // 独立事务：清空持久化上下文不会影响调用方事务中的实体
+        this.pageTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.entityManager = entityManager;
+        this.sources = Map.of(
+                "members", new ReportSource<>(ExportDatasets.MEMBERS, User::getId, User::getCreatedAt,
+                        userRepository::findByIdGreaterThanOrderByIdAsc, userRepository::findPageByCreatedAtBetween,
+                        userRepository::count, userRepository::countByCreatedAtBetween),
+                "points", new ReportSource<>(ExportDatasets.POINTS, PointsRecord::getId, PointsRecord::getCreatedAt,
+                        pointsRecordRepository::findByIdGreaterThanOrderByIdAsc,
+                        pointsRecordRepository::findPageByCreatedAtBetween,
+                        pointsRecordRepository::count, pointsRecordRepository::countByCreatedAtBetween),
+                "salary", new ReportSource<>(ExportDatasets.SALARY, SalaryRecord::getId, SalaryRecord::getCreatedAt,
+                        salaryRecordRepository::findByIdGreaterThanOrderByIdAsc,
+                        salaryRecordRepository::findPageByCreatedAtBetween,
+                        salaryRecordRepository::count, salaryRecordRepository::countByCreatedAtBetween),
+                "activities", new ReportSource<>(ExportDatasets.ACTIVITIES, Activity::getId, Activity::getCreatedAt,
+                        activityRepository::findByIdGreaterThanOrderByIdAsc,
+                        activityRepository::findPageByCreatedAtBetween,
+                        activityRepository::count, activityRepository::countByCreatedAtBetween));
     }
 
     @Override
-    public byte[] exportMembers() {
-        List<User> users = userRepository.findAll();
-        return buildMembersExcel(users);
+    public void exportMembers(OutputStream out) {
+        export("members", null, null, out, NO_PROGRESS);
     }
 
     @Override
-    public byte[] exportPoints() {
-        List<PointsRecord> records = pointsRecordRepository.findAll();
-        return buildPointsExcel(records);
+    public void exportPoints(OutputStream out) {
+        export("points", null, null, out, NO_PROGRESS);
     }
 
     @Override
-    public byte[] exportSalary() {
-        List<SalaryRecord> records = salaryRecordRepository.findAll();
-        return buildSalaryExcel(records);
+    public void exportSalary(OutputStream out) {
+        export("salary", null, null, out, NO_PROGRESS);
     }
 
     @Override
-    public byte[] exportActivities() {
-        List<Activity> activities = activityRepository.findAll();
-        return buildActivitiesExcel(activities);
+    public void exportActivities(OutputStream out) {
+        export("activities", null, null, out, NO_PROGRESS);
     }
 
     @Override
-    public byte[] exportWithDateRange(String dataType, LocalDate startDate, LocalDate endDate) {
-        LocalDateTime start = startDate.atStartOfDay();
-        LocalDateTime end = endDate.atTime(LocalTime.MAX);
+    public void exportWithDateRange(String dataType, LocalDate startDate, LocalDate endDate, OutputStream out) {
+        export(dataType, startDate, endDate, out, NO_PROGRESS);
+    }
 
-        return switch (dataType.toLowerCase()) {
-            case "members" -> {
-                List<User> users = userRepository.findAll().stream()
-                        .filter(u -> u.getCreatedAt() != null
-                                && !u.getCreatedAt().isBefore(start)
-                                && !u.getCreatedAt().isAfter(end))
-                        .toList();
-                yield buildMembersExcel(users);
-            }
-            case "points" -> {
-                List<PointsRecord> records = pointsRecordRepository.findAll().stream()
-                        .filter(r -> r.getCreatedAt() != null
-                                && !r.getCreatedAt().isBefore(start)
-                                && !r.getCreatedAt().isAfter(end))
-                        .toList();
-                yield buildPointsExcel(records);
-            }
-            case "salary" -> {
-                List<SalaryRecord> records = salaryRecordRepository.findAll().stream()
-                        .filter(r -> r.getCreatedAt() != null
-                                && !r.getCreatedAt().isBefore(start)
-                                && !r.getCreatedAt().isAfter(end))
-                        .toList();
-                yield buildSalaryExcel(records);
-            }
-            case "activities" -> {
-                List<Activity> activities = activityRepository.findAll().stream()
-                        .filter(a -> a.getCreatedAt() != null
-                                && !a.getCreatedAt().isBefore(start)
-                                && !a.getCreatedAt().isAfter(end))
-                        .toList();
-                yield buildActivitiesExcel(activities);
-            }
-            default -> throw new IllegalArgumentException("Unsupported data type: " + dataType);
-        };
+    @Override
+    public void export(String dataType, LocalDate startDate, LocalDate endDate,
+                       OutputStream out, LongConsumer progress) {
+        ReportSource<?> source = requireSource(dataType);
+        if (startDate != null && endDate != null) {
+            writeExcel(out, source, startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX), progress);
+        } else {
+            writeExcel(out, source, null, null, progress);
+        }
+    }
+
+    @Override
+    public long countRows(String dataType, LocalDate startDate, LocalDate endDate) {
+        ReportSource<?> source = requireSource(dataType);
+        if (startDate == null || endDate == null) {
+            return source.count.getAsLong();
+        }
+        return source.countRange.apply(startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX));
+    }
+
+    @Override
+    public void validateDataType(String dataType) {
+        requireSource(dataType);
     }
 
     @Override
@@ -113,146 +139,115 @@ public class ExportServiceImpl implements ExportService {
         return dataType + "_" + LocalDate.now().format(fmt) + ".xlsx";
     }
 
-    // --- Excel builders ---
-
-    private byte[] buildMembersExcel(List<User> users) {
-        String[] headers = {"ID", "用户名", "角色", "状态", "在线状态", "创建时间"};
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("成员列表");
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            createHeaderRow(sheet, headers, headerStyle);
-
-            int rowIdx = 1;
-            for (User user : users) {
-                Row row = sheet.createRow(rowIdx++);
-                row.createCell(0).setCellValue(user.getId() != null ? user.getId() : 0);
-                row.createCell(1).setCellValue(user.getUsername() != null ? user.getUsername() : "");
-                row.createCell(2).setCellValue(user.getRole() != null ? user.getRole().name() : "");
-                row.createCell(3).setCellValue(Boolean.TRUE.equals(user.getEnabled()) ? "启用" : "禁用");
-                row.createCell(4).setCellValue(user.getOnlineStatus() != null ? user.getOnlineStatus().name() : "");
-                row.createCell(5).setCellValue(user.getCreatedAt() != null ? user.getCreatedAt().toString() : "");
-            }
-
-            autoSizeColumns(sheet, headers.length);
-            return toByteArray(workbook);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to export members Excel", e);
+    private ReportSource<?> requireSource(String dataType) {
+        ReportSource<?> source = dataType != null ? sources.get(dataType.toLowerCase()) : null;
+        if (source == null) {
+            throw new IllegalArgumentException("Unsupported data type: " + dataType);
         }
+        return source;
     }
 
-    private byte[] buildPointsExcel(List<PointsRecord> records) {
-        String[] headers = {"ID", "用户ID", "积分类型", "数额", "描述", "创建时间"};
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("积分记录");
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            createHeaderRow(sheet, headers, headerStyle);
-
-            int rowIdx = 1;
-            for (PointsRecord record : records) {
-                Row row = sheet.createRow(rowIdx++);
-                row.createCell(0).setCellValue(record.getId() != null ? record.getId() : 0);
-                row.createCell(1).setCellValue(record.getUserId() != null ? record.getUserId() : 0);
-                row.createCell(2).setCellValue(record.getPointsType() != null ? record.getPointsType().name() : "");
-                row.createCell(3).setCellValue(record.getAmount() != null ? record.getAmount() : 0);
-                row.createCell(4).setCellValue(record.getDescription() != null ? record.getDescription() : "");
-                row.createCell(5).setCellValue(record.getCreatedAt() != null ? record.getCreatedAt().toString() : "");
+    /**
+     * 创建单 Sheet 流式工作簿，按数据集的列描述逐行写入后输出到 out，临时文件随后删除；
+     * start 为 null 时导出全表
+     */
+    private <T> void writeExcel(OutputStream out, ReportSource<T> source, LocalDateTime start, LocalDateTime end,
+                                LongConsumer progress) {
+        ExportDataset<T> dataset = source.dataset;
+        try (StreamingExcelWriter writer = new StreamingExcelWriter()) {
+            StreamingExcelWriter.SheetWriter sheet = writer.createSheet(dataset.getSheetName(), dataset.getHeaders());
+            Consumer<T> writeRow = row -> dataset.writeRow(row, sheet.nextRow());
+            if (start != null) {
+                forEachInRange(source.rangePage, start, end, source.createdAtOf, source.idOf, progress, writeRow);
+            } else {
+                forEachById(source.idPage, source.idOf, progress, writeRow);
             }
-
-            autoSizeColumns(sheet, headers.length);
-            return toByteArray(workbook);
+            writer.writeTo(out);
         } catch (IOException e) {
-            throw new RuntimeException("Failed to export points Excel", e);
+            throw new UncheckedIOException("Failed to export " + dataset.getName() + " Excel", e);
         }
     }
 
-    private byte[] buildSalaryExcel(List<SalaryRecord> records) {
-        String[] headers = {"ID", "用户ID", "基础积分", "奖励积分", "扣减", "总积分", "迷你币", "薪资金额", "备注", "创建时间"};
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("薪资记录");
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            createHeaderRow(sheet, headers, headerStyle);
-
-            int rowIdx = 1;
-            for (SalaryRecord record : records) {
-                Row row = sheet.createRow(rowIdx++);
-                row.createCell(0).setCellValue(record.getId() != null ? record.getId() : 0);
-                row.createCell(1).setCellValue(record.getUserId() != null ? record.getUserId() : 0);
-                row.createCell(2).setCellValue(record.getBasePoints() != null ? record.getBasePoints() : 0);
-                row.createCell(3).setCellValue(record.getBonusPoints() != null ? record.getBonusPoints() : 0);
-                row.createCell(4).setCellValue(record.getDeductions() != null ? record.getDeductions() : 0);
-                row.createCell(5).setCellValue(record.getTotalPoints() != null ? record.getTotalPoints() : 0);
-                row.createCell(6).setCellValue(record.getMiniCoins() != null ? record.getMiniCoins() : 0);
-                row.createCell(7).setCellValue(record.getSalaryAmount() != null ? record.getSalaryAmount().doubleValue() : 0);
-                row.createCell(8).setCellValue(record.getRemark() != null ? record.getRemark() : "");
-                row.createCell(9).setCellValue(record.getCreatedAt() != null ? record.getCreatedAt().toString() : "");
+    /**
+     * 按主键游标逐页读取，每页 {@value #PAGE_SIZE} 行，处理完即可回收，避免 findAll 一次性加载全表
+     */
+    private <T> void forEachById(BiFunction<Long, Pageable, List<T>> pageQuery,
+                                 Function<T, Long> idOf, LongConsumer progress, Consumer<T> action) {
+        Pageable page = PageRequest.of(0, PAGE_SIZE);
+        long lastId = 0L;
+        while (true) {
+            long after = lastId;
+            List<T> rows = processPage(() -> pageQuery.apply(after, page), action);
+            progress.accept(rows.size());
+            if (rows.size() < PAGE_SIZE) {
+                return;
             }
-
-            autoSizeColumns(sheet, headers.length);
-            return toByteArray(workbook);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to export salary Excel", e);
+            lastId = idOf.apply(rows.get(rows.size() - 1));
         }
     }
 
-    private byte[] buildActivitiesExcel(List<Activity> activities) {
-        String[] headers = {"ID", "活动名称", "描述", "活动类型", "活动时间", "地点", "报名人数", "状态", "创建时间"};
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("活动记录");
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            createHeaderRow(sheet, headers, headerStyle);
-
-            int rowIdx = 1;
-            for (Activity activity : activities) {
-                Row row = sheet.createRow(rowIdx++);
-                row.createCell(0).setCellValue(activity.getId() != null ? activity.getId() : 0);
-                row.createCell(1).setCellValue(activity.getName() != null ? activity.getName() : "");
-                row.createCell(2).setCellValue(activity.getDescription() != null ? activity.getDescription() : "");
-                row.createCell(3).setCellValue(activity.getActivityType() != null ? activity.getActivityType().name() : "");
-                row.createCell(4).setCellValue(activity.getActivityTime() != null ? activity.getActivityTime().toString() : "");
-                row.createCell(5).setCellValue(activity.getLocation() != null ? activity.getLocation() : "");
-                row.createCell(6).setCellValue(activity.getRegistrationCount() != null ? activity.getRegistrationCount() : 0);
-                row.createCell(7).setCellValue(activity.getStatus() != null ? activity.getStatus().name() : "");
-                row.createCell(8).setCellValue(activity.getCreatedAt() != null ? activity.getCreatedAt().toString() : "");
+    /**
+     * 按 (createdAt, id) 游标在数据库侧逐页读取 [start, end] 内的行，读取量与时间段内行数成正比
+     */
+    private <T> void forEachInRange(RangePageQuery<T> pageQuery, LocalDateTime start, LocalDateTime end,
+                                    Function<T, LocalDateTime> createdAtOf, Function<T, Long> idOf,
+                                    LongConsumer progress, Consumer<T> action) {
+        Pageable page = PageRequest.of(0, PAGE_SIZE);
+        LocalDateTime after = start;
+        long afterId = 0L;
+        while (true) {
+            LocalDateTime pageAfter = after;
+            long pageAfterId = afterId;
+            List<T> rows = processPage(() -> pageQuery.fetch(pageAfter, pageAfterId, end, page), action);
+            progress.accept(rows.size());
+            if (rows.size() < PAGE_SIZE) {
+                return;
             }
-
-            autoSizeColumns(sheet, headers.length);
-            return toByteArray(workbook);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to export activities Excel", e);
+            T last = rows.get(rows.size() - 1);
+            after = createdAtOf.apply(last);
+            afterId = idOf.apply(last);
         }
     }
 
-    // --- Utility methods ---
-
-    private CellStyle createHeaderStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        Font font = workbook.createFont();
-        font.setBold(true);
-        style.setFont(font);
-        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        return style;
-    }
-
-    private void createHeaderRow(Sheet sheet, String[] headers, CellStyle style) {
-        Row headerRow = sheet.createRow(0);
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(style);
-        }
+    /**
+     * 在只读事务中读取一页并逐行处理，处理完清空持久化上下文后返回该页（已脱管）
+     */
+    private <T> List<T> processPage(Supplier<List<T>> query, Consumer<T> action) {
+        return pageTemplate.execute(status -> {
+            List<T> rows = query.get();
+            rows.forEach(action);
+            entityManager.clear();
+            return rows;
+        });
     }
 
-    private void autoSizeColumns(Sheet sheet, int columnCount) {
-        for (int i = 0; i < columnCount; i++) {
-            sheet.autoSizeColumn(i);
-        }
+    @FunctionalInterface
+    interface RangePageQuery<T> {
+        List<T> fetch(LocalDateTime after, Long afterId, LocalDateTime end, Pageable pageable);
     }
 
-    private byte[] toByteArray(Workbook workbook) throws IOException {
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            workbook.write(out);
-            return out.toByteArray();
+    /**
+     * 报表数据集的列描述与对应仓库的分页、计数查询
+     */
+    private static final class ReportSource<T> {
+        private final ExportDataset<T> dataset;
+        private final Function<T, Long> idOf;
+        private final Function<T, LocalDateTime> createdAtOf;
+        private final BiFunction<Long, Pageable, List<T>> idPage;
+        private final RangePageQuery<T> rangePage;
+        private final LongSupplier count;
+        private final BiFunction<LocalDateTime, LocalDateTime, Long> countRange;
+
+        ReportSource(ExportDataset<T> dataset, Function<T, Long> idOf, Function<T, LocalDateTime> createdAtOf,
+                     BiFunction<Long, Pageable, List<T>> idPage, RangePageQuery<T> rangePage,
+                     LongSupplier count, BiFunction<LocalDateTime, LocalDateTime, Long> countRange) {
+            this.dataset = dataset;
+            this.idOf = idOf;
+            this.createdAtOf = createdAtOf;
+            this.idPage = idPage;
+            this.rangePage = rangePage;
+            this.count = count;
+            this.countRange = countRange;
         }
     }
 }
@@ -36,6 +36,7 @@ public class InternshipServiceImpl implements InternshipService {
     private final PointsService pointsService;
     private final EmailService emailService;
     private final RoleChangeHistoryRepository roleChangeHistoryRepository;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     @Transactional
@@ -169,6 +170,7 @@ public class InternshipServiceImpl implements InternshipService {
         Role oldRole = user.getRole();
         user.setRole(Role.MEMBER);
         userRepository.save(user);
+        tokenRevocationService.revokeUserTokens(user.getId());
 
         // 记录角色变更历史
         roleChangeHistoryRepository.save(RoleChangeHistory.builder()
@@ -0,0 +1,137 @@
+package com.pollen.management.service;
+
+import com.pollen.management.dto.InterviewScenarioCatalog.CategoryRules;
+import com.pollen.management.dto.InterviewScenarioCatalog.ResponseRule;
+import com.pollen.management.dto.InterviewScenarioCatalog.ScoringKeywords;
+import com.pollen.management.util.AhoCorasickMatcher;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 面试关键词匹配器 - 每个场景分类编译一次。
+ * <p>
+ * 评分维度的关键词组与该分类的回复规则合并到同一个 Aho-Corasick 自动机中，
+ * 每条消息只扫描一遍，得到的命中结果同时用于回复选择和三个维度的评分。
+ */
+public class InterviewKeywordMatcher {
+
+    private final AhoCorasickMatcher matcher;
+    private final long ruleFamiliarityMask;
+    private final long communicationMask;
+    private final long pressureMask;
+    /** 回复规则的起始分组编号，规则 i 对应分组 ruleOffset + i */
+    private final int ruleOffset;
+    private final List<String> responses;
+    private final String defaultResponse;
+
+    private InterviewKeywordMatcher(AhoCorasickMatcher matcher, long ruleFamiliarityMask, long communicationMask,
+                                    long pressureMask, int ruleOffset, List<String> responses,
+                                    String defaultResponse) {
+        this.matcher = matcher;
+        this.ruleFamiliarityMask = ruleFamiliarityMask;
+        this.communicationMask = communicationMask;
+        this.pressureMask = pressureMask;
+        this.ruleOffset = ruleOffset;
+        this.responses = responses;
+        this.defaultResponse = defaultResponse;
+    }
+
+    /**
+     * 编译匹配器
+     *
+     * @param scoring         评分关键词组
+     * @param category        分类回复规则，可为 null（仅评分，回复总是 fallbackResponse）
+     * @param fallbackResponse 分类未配置默认回复时使用的通用回复
+     */
+    public static InterviewKeywordMatcher compile(ScoringKeywords scoring, CategoryRules category,
+                                                  String fallbackResponse) {
+        AhoCorasickMatcher.Builder builder = AhoCorasickMatcher.builder();
+        int[] next = {0};
+        long ruleMask = addGroups(builder, next, scoring.getRuleFamiliarity());
+        long commMask = addGroups(builder, next, scoring.getCommunication());
+        long pressureMask = addGroups(builder, next, scoring.getPressure());
+
+        int ruleOffset = next[0];
+        List<String> responses = new ArrayList<>();
+        String defaultResponse = fallbackResponse;
+        if (category != null) {
+            List<ResponseRule> rules = category.getRules();
+            if (ruleOffset + rules.size() > AhoCorasickMatcher.MAX_GROUPS) {
+                throw new IllegalArgumentException("关键词组数量超过上限 " + AhoCorasickMatcher.MAX_GROUPS);
+            }
+            for (int i = 0; i < rules.size(); i++) {
+                for (String keyword : rules.get(i).getKeywords()) {
+                    builder.add(keyword, ruleOffset + i);
+                }
+                responses.add(rules.get(i).getResponse());
+            }
+            if (category.getDefaultResponse() != null) {
+                defaultResponse = category.getDefaultResponse();
+            }
+        }
+        return new InterviewKeywordMatcher(builder.build(), ruleMask, commMask, pressureMask,
+                ruleOffset, List.copyOf(responses), defaultResponse);
+    }
+
+    private static long addGroups(AhoCorasickMatcher.Builder builder, int[] next, List<List<String>> groups) {
+        long mask = 0L;
+        for (List<String> group : groups) {
+            if (next[0] >= AhoCorasickMatcher.MAX_GROUPS) {
+                throw new IllegalArgumentException("关键词组数量超过上限 " + AhoCorasickMatcher.MAX_GROUPS);
+            }
+            for (String keyword : group) {
+                builder.add(keyword, next[0]);
+            }
+            mask |= 1L << next[0]++;
+        }
+        return mask;
+    }
+
+    /**
+     * 扫描一条消息
+     */
+    public Hits analyze(String message) {
+        String text = message == null ? "" : message;
+        long mask = matcher.match(text);
+        long ruleHits = responses.isEmpty() ? 0L : mask >>> ruleOffset;
+        return new Hits(
+                Long.bitCount(mask & ruleFamiliarityMask),
+                Long.bitCount(mask & communicationMask),
+                Long.bitCount(mask & pressureMask),
+                ruleHits == 0 ? -1 : Long.numberOfTrailingZeros(ruleHits),
+                text.length());
+    }
+
+    /**
+     * 按规则顺序取第一条命中规则的回复，均未命中时返回默认回复
+     */
+    public String selectResponse(Hits hits) {
+        return hits.getResponseRule() < 0 ? defaultResponse : responses.get(hits.getResponseRule());
+    }
+
+    /**
+     * 单条消息的命中结果
+     */
+    @Getter
+    public static class Hits {
+        /** 群规熟悉度维度命中的关键词组数 */
+        private final int ruleFamiliarityHits;
+        /** 沟通能力维度命中的关键词组数 */
+        private final int communicationHits;
+        /** 抗压能力维度命中的关键词组数 */
+        private final int pressureHits;
+        /** 第一条命中的回复规则下标，-1 表示未命中 */
+        private final int responseRule;
+        private final int length;
+
+        Hits(int ruleFamiliarityHits, int communicationHits, int pressureHits, int responseRule, int length) {
+            this.ruleFamiliarityHits = ruleFamiliarityHits;
+            this.communicationHits = communicationHits;
+            this.pressureHits = pressureHits;
+            this.responseRule = responseRule;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.pollen.management.service;
+
+import com.pollen.management.entity.Interview;
+import com.pollen.management.entity.InterviewMessage;
+
+import java.util.List;
+
+/**
+ * 面试消息写缓冲服务接口 - 对话消息先进入缓冲，按条数或时间批量落库
+ */
+public interface InterviewMessageBuffer {
+
+    /**
+     * 追加一轮对话，同时记录本轮之后面试的评分计数器，随消息一起写回。
+     * 返回前已写入持久化缓冲（Redis Stream；Redis 不可用时仅内存）。
+     *
+     * @param interview 面试（取其评分计数器快照）
+     * @param messages  本轮消息，未分配 clientMessageId 的会在此分配
+     */
+    void append(Interview interview, List<InterviewMessage> messages);
+
+    /**
+     * 立即把缓冲中的全部消息批量落库
+     */
+    void flush();
+
+    /**
+     * 缓冲中待落库的消息条数
+     */
+    int pendingCount();
+}
@@ -0,0 +1,433 @@
+package com.pollen.management.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pollen.management.config.InterviewSessionProperties;
+import com.pollen.management.entity.Interview;
+import com.pollen.management.entity.InterviewMessage;
+import com.pollen.management.util.BusinessException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 面试消息写缓冲实现。
+ * <ul>
+ *   <li>每轮对话（消息 + 评分计数器快照）先 XADD 到 Redis Stream {@value #STREAM_KEY}，再进入内存队列</li>
+ *   <li>待落库消息满 interview.session.flush-batch-size 条、每 flush-interval-ms 毫秒、或结束面试时，
+ *       在一个事务内 JDBC 批量插入消息并写回计数器，提交后 XDEL 对应条目</li>
+ *   <li>消息带 clientMessageId，重放时跳过已落库的消息；计数器只向前更新，重复写回无副作用</li>
+ *   <li>启动时重放 Stream 中的全部条目；运行中定时接管超过 orphan-age-ms 未删除的条目（宕机节点遗留）</li>
+ *   <li>Redis 不可用时退化为纯内存缓冲，定时重新探测，恢复后切回 Redis Stream</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class InterviewMessageBufferImpl implements InterviewMessageBuffer {
+
+    static final String STREAM_KEY = "interview:message_buffer";
+    private static final String TURN_FIELD = "turn";
+    private static final int RECOVER_BATCH = 1000;
+    private static final int IN_CLAUSE_CHUNK = 500;
+    private static final long REDIS_PROBE_INTERVAL_MS = 10_000;
+
+    private static final String INSERT_SQL = "INSERT INTO interview_messages "
+            + "(interview_id, role, content, timestamp, time_limit_seconds, client_message_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_COUNTERS_SQL = "UPDATE interviews SET user_message_count = ?, "
+            + "long_answer_count = ?, rule_keyword_hits = ?, communication_keyword_hits = ?, pressure_keyword_hits = ? "
+            + "WHERE id = ? AND user_message_count < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final InterviewSessionProperties properties;
+
+    private final ConcurrentLinkedDeque<PendingTurn> pending = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pendingMessages = new AtomicInteger();
+    /** 本节点缓冲中的 Stream 条目，接管遗留条目时跳过 */
+    private final Set<String> localRecordIds = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ThreadPoolExecutor flushExecutor;
+
+    private volatile boolean redisAvailable;
+    private volatile long lastOrphanSweep;
+    private volatile long lastRedisProbe;
+
+    @Autowired
+    public InterviewMessageBufferImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                      ObjectProvider<StringRedisTemplate> redisTemplate, ObjectMapper objectMapper,
+                                      InterviewSessionProperties properties) {
+        this(jdbcTemplate, transactionManager, redisTemplate.getIfAvailable(), objectMapper, properties);
+    }
+
+    InterviewMessageBufferImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                               InterviewSessionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        // 独立事务：在调用方事务内 flush 时也先行提交，提交后才删除 Stream 条目
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        // 单线程、队列容量 1：已有一次待执行的批量写入时不再重复排队
+        this.flushExecutor = new ThreadPoolExecutor(
+                1, 1,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1),
+                r -> {
+                    Thread t = new Thread(r, "interview-flush");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PostConstruct
+    void init() {
+        redisAvailable = checkRedisAvailable();
+        if (!redisAvailable) {
+            log.info("Redis 不可用，面试消息缓冲使用内存模式，之后定时重新探测");
+        } else {
+            try {
+                recoverFromStream(0);
+                flush();
+            } catch (Exception e) {
+                log.warn("重放面试消息缓冲失败，稍后由定时任务重试: {}", e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("关闭前写入面试消息失败，{} 条消息留在 Redis Stream 中待重放: {}", pendingCount(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void append(Interview interview, List<InterviewMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        PendingTurn turn = toTurn(interview, messages);
+        if (redisAvailable) {
+            try {
+                RecordId recordId = redisTemplate.opsForStream().add(StreamRecords.string(
+                        Map.of(TURN_FIELD, objectMapper.writeValueAsString(turn))).withStreamKey(STREAM_KEY));
+                if (recordId != null) {
+                    turn.setRecordId(recordId.getValue());
+                    localRecordIds.add(recordId.getValue());
+                }
+            } catch (Exception e) {
+                log.warn("面试消息写入 Redis Stream 失败，仅保存在内存缓冲: {}", e.getMessage());
+            }
+        }
+        pending.addLast(turn);
+        if (pendingMessages.addAndGet(turn.getMessages().size()) >= properties.getFlushBatchSize()) {
+            flushExecutor.execute(this::flushQuietly);
+        }
+    }
+
+    @Override
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<PendingTurn> batch = drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(batch));
+            } catch (RuntimeException e) {
+                requeue(batch);
+                throw new BusinessException(500, "面试消息落库失败: " + e.getMessage());
+            }
+            acknowledge(batch);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public int pendingCount() {
+        return pendingMessages.get();
+    }
+
+    /**
+     * 定时批量写入；Redis 可用时顺带接管宕机节点遗留的条目，不可用时定期重新探测
+     */
+    @Scheduled(fixedDelayString = "${interview.session.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        long now = System.currentTimeMillis();
+        if (!redisAvailable && redisTemplate != null && now - lastRedisProbe >= REDIS_PROBE_INTERVAL_MS) {
+            lastRedisProbe = now;
+            // 之后的对话先写入 Stream；恢复前只在内存中的对话随本次 flush 落库
+            redisAvailable = checkRedisAvailable();
+        }
+        if (redisAvailable && now - lastOrphanSweep >= properties.getOrphanAgeMs()) {
+            lastOrphanSweep = now;
+            try {
+                recoverFromStream(properties.getOrphanAgeMs());
+            } catch (Exception e) {
+                log.warn("接管遗留面试消息失败: {}", e.getMessage());
+            }
+        }
+        flushQuietly();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("面试消息批量写入失败，{} 条消息留在缓冲中稍后重试: {}", pendingCount(), e.getMessage());
+        }
+    }
+
+    private List<PendingTurn> drain() {
+        List<PendingTurn> batch = new ArrayList<>();
+        PendingTurn turn;
+        while ((turn = pending.pollFirst()) != null) {
+            pendingMessages.addAndGet(-turn.getMessages().size());
+            batch.add(turn);
+        }
+        return batch;
+    }
+
+    private void requeue(List<PendingTurn> batch) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            pending.addFirst(batch.get(i));
+            pendingMessages.addAndGet(batch.get(i).getMessages().size());
+        }
+    }
+
+    /**
+     * 在一个事务内插入尚未落库的消息，并把每个面试的计数器写回为批次中最新的快照
+     */
+    private void persist(List<PendingTurn> batch) {
+        Map<String, Object[]> rows = new LinkedHashMap<>();
+        Map<Long, PendingTurn> latest = new LinkedHashMap<>();
+        for (PendingTurn turn : batch) {
+            for (BufferedMessage m : turn.getMessages()) {
+                rows.putIfAbsent(m.getClientMessageId(), new Object[]{turn.getInterviewId(), m.getRole(), m.getContent(),
+                        Timestamp.valueOf(m.getTimestamp()), m.getTimeLimitSeconds(), m.getClientMessageId()});
+            }
+            if (turn.getUserMessageCount() != null) {
+                latest.merge(turn.getInterviewId(), turn,
+                        (a, b) -> b.getUserMessageCount() >= a.getUserMessageCount() ? b : a);
+            }
+        }
+
+        rows.keySet().removeAll(existingClientIds(new ArrayList<>(rows.keySet())));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, new ArrayList<>(rows.values()));
+        }
+        if (!latest.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_COUNTERS_SQL, latest.values().stream()
+                    .map(t -> new Object[]{t.getUserMessageCount(), t.getLongAnswerCount(), t.getRuleKeywordHits(),
+                            t.getCommunicationKeywordHits(), t.getPressureKeywordHits(), t.getInterviewId(),
+                            t.getUserMessageCount()})
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private Set<String> existingClientIds(List<String> ids) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CLAUSE_CHUNK));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            existing.addAll(jdbcTemplate.queryForList("SELECT client_message_id FROM interview_messages "
+                    + "WHERE client_message_id IN (" + placeholders + ")", String.class, chunk.toArray()));
+        }
+        return existing;
+    }
+
+    private void acknowledge(List<PendingTurn> batch) {
+        List<String> recordIds = batch.stream()
+                .map(PendingTurn::getRecordId)
+                .filter(id -> id != null)
+                .collect(Collectors.toList());
+        if (recordIds.isEmpty()) {
+            return;
+        }
+        localRecordIds.removeAll(recordIds);
+        if (redisAvailable) {
+            try {
+                redisTemplate.opsForStream().delete(STREAM_KEY, recordIds.toArray(String[]::new));
+            } catch (Exception e) {
+                // 未删除的条目会在重放时按 clientMessageId 去重
+                log.warn("删除已落库的 Redis Stream 条目失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 把 Stream 中早于 olderThanMs 之前写入、且不在本节点缓冲中的条目加入缓冲
+     */
+    void recoverFromStream(long olderThanMs) {
+        long cutoff = System.currentTimeMillis() - olderThanMs;
+        String after = null;
+        while (true) {
+            Range<String> range = Range.of(
+                    after == null ? Range.Bound.unbounded() : Range.Bound.exclusive(after),
+                    Range.Bound.inclusive(cutoff + "-" + Long.MAX_VALUE));
+            List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                    .range(STREAM_KEY, range, Limit.limit().count(RECOVER_BATCH));
+            if (records == null || records.isEmpty()) {
+                return;
+            }
+            int recovered = 0;
+            for (MapRecord<String, Object, Object> record : records) {
+                String recordId = record.getId().getValue();
+                if (localRecordIds.add(recordId)) {
+                    PendingTurn turn = readTurn(record);
+                    if (turn == null) {
+                        localRecordIds.remove(recordId);
+                        continue;
+                    }
+                    turn.setRecordId(recordId);
+                    pending.addLast(turn);
+                    pendingMessages.addAndGet(turn.getMessages().size());
+                    recovered++;
+                }
+            }
+            if (recovered > 0) {
+                log.info("从 Redis Stream 接管 {} 轮未落库的面试对话", recovered);
+            }
+            if (records.size() < RECOVER_BATCH) {
+                return;
+            }
+            after = records.get(records.size() - 1).getId().getValue();
+        }
+    }
+
+    private PendingTurn readTurn(MapRecord<String, Object, Object> record) {
+        Object json = record.getValue().get(TURN_FIELD);
+        try {
+            return json == null ? null : objectMapper.readValue(json.toString(), PendingTurn.class);
+        } catch (JsonProcessingException e) {
+            log.warn("忽略无法解析的面试消息缓冲条目 {}: {}", record.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private PendingTurn toTurn(Interview interview, List<InterviewMessage> messages) {
+        List<BufferedMessage> buffered = new ArrayList<>(messages.size());
+        for (InterviewMessage m : messages) {
+            if (m.getClientMessageId() == null) {
+                m.setClientMessageId(UUID.randomUUID().toString());
+            }
+            if (m.getTimestamp() == null) {
+                m.setTimestamp(LocalDateTime.now());
+            }
+            buffered.add(new BufferedMessage(m.getClientMessageId(), m.getRole(), m.getContent(),
+                    m.getTimestamp(), m.getTimeLimitSeconds()));
+        }
+        boolean tracked = interview.getUserMessageCount() != null && interview.getLongAnswerCount() != null
+                && interview.getRuleKeywordHits() != null && interview.getCommunicationKeywordHits() != null
+                && interview.getPressureKeywordHits() != null;
+        return new PendingTurn(interview.getId(), buffered,
+                tracked ? interview.getUserMessageCount() : null,
+                tracked ? interview.getLongAnswerCount() : null,
+                tracked ? interview.getRuleKeywordHits() : null,
+                tracked ? interview.getCommunicationKeywordHits() : null,
+                tracked ? interview.getPressureKeywordHits() : null,
+                null);
+    }
+
+    /**
+     * 检查 Redis 是否可用
+     */
+    private boolean checkRedisAvailable() {
+        if (redisTemplate == null) {
+            return false;
+        }
+        try {
+            redisTemplate.getConnectionFactory().getConnection().ping();
+            log.info("Redis 可用，面试消息缓冲使用 Redis Stream 持久化");
+            return true;
+        } catch (Exception e) {
+            // 内存模式下定时重新探测，失败不逐次刷日志
+            log.debug("Redis 探测失败: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 设置 Redis 可用状态（用于测试）
+     */
+    void setRedisAvailable(boolean available) {
+        this.redisAvailable = available;
+    }
+
+    /**
+     * 一轮待落库的对话；计数器为 null 表示该面试没有评分计数器（旧面试）
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class PendingTurn {
+        private Long interviewId;
+        private List<BufferedMessage> messages;
+        private Integer userMessageCount;
+        private Integer longAnswerCount;
+        private Integer ruleKeywordHits;
+        private Integer communicationKeywordHits;
+        private Integer pressureKeywordHits;
+        /** Redis Stream 条目 ID，不序列化 */
+        @JsonIgnore
+        private String recordId;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class BufferedMessage {
+        private String clientMessageId;
+        private String role;
+        private String content;
+        private LocalDateTime timestamp;
+        private Integer timeLimitSeconds;
+    }
+}
@@ -0,0 +1,31 @@
+package com.pollen.management.service;
+
+import com.pollen.management.entity.InterviewMessage;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 生成一条 AI 回复所需的上下文
+ */
+@Getter
+@Builder
+public class InterviewReplyContext {
+
+    private final Long interviewId;
+
+    private final String scenarioId;
+
+    /** 候选人本轮回答 */
+    private final String userMessage;
+
+    /** 会话缓存中的最近对话（不含本轮），可能为空 */
+    @Builder.Default
+    private final List<InterviewMessage> history = List.of();
+
+    /** 场景分类的关键词匹配器及本轮回答的命中结果，供规则回复使用 */
+    private final InterviewKeywordMatcher matcher;
+
+    private final InterviewKeywordMatcher.Hits hits;
+}
@@ -0,0 +1,18 @@
+package com.pollen.management.service;
+
+import com.pollen.management.dto.InterviewRescoreResult;
+
+/**
+ * 面试批量重新评分服务接口 - 评分规则调整后，按当前规则重新计算历史面试报告的分数与推荐标签
+ */
+public interface InterviewRescoreService {
+
+    /**
+     * 分页读取评分版本不是当前版本的报告及其对话，并行重新评分后按页批量写回并标记当前版本
+     * 人工复审结论（复审结果、是否通过）不受影响
+     *
+     * @param dryRun 为 true 时只计算差异，不写回报告
+     * @return 新旧分数与推荐标签的差异汇总
+     */
+    InterviewRescoreResult rescoreAll(boolean dryRun);
+}
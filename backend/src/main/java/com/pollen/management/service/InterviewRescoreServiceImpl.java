@@ -0,0 +1,185 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.InterviewScoringProperties;
+import com.pollen.management.dto.InterviewRescoreResult;
+import com.pollen.management.entity.InterviewMessage;
+import com.pollen.management.entity.InterviewReport;
+import com.pollen.management.util.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 面试批量重新评分服务实现。
+ * <p>
+ * 按报告 id 键集分页读取评分版本不是当前版本的报告，每页批量读取对话（{@link InterviewTranscriptService#getTranscripts}），
+ * 在专用 ForkJoinPool 上并行评分，再在一个事务内用 JDBC 批量更新写回并标记当前版本。
+ * 已是当前版本的报告被跳过，中途失败后重新触发即可从未完成的报告继续。同一时间只允许一个任务运行。
+ */
+@Service
+@Slf4j
+public class InterviewRescoreServiceImpl implements InterviewRescoreService {
+
+    private static final String PAGE_SQL = "SELECT id, interview_id, rule_familiarity, communication_score, "
+            + "pressure_score, total_score, recommendation_label, review_result FROM interview_reports "
+            + "WHERE id > ? AND (scoring_version IS NULL OR scoring_version <> ?) ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_SQL = "UPDATE interview_reports SET rule_familiarity = ?, "
+            + "communication_score = ?, pressure_score = ?, total_score = ?, ai_comment = ?, "
+            + "recommendation_label = ?, scoring_version = ?, rescored_at = ? WHERE id = ?";
+
+    private static final RowMapper<ReportRow> ROW_MAPPER = (rs, i) -> new ReportRow(
+            rs.getLong("id"), rs.getLong("interview_id"), rs.getInt("rule_familiarity"),
+            rs.getInt("communication_score"), rs.getInt("pressure_score"), rs.getInt("total_score"),
+            rs.getString("recommendation_label"), rs.getString("review_result"));
+
+    private final InterviewService interviewService;
+    private final InterviewTranscriptService transcriptService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InterviewScoringProperties properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public InterviewRescoreServiceImpl(InterviewService interviewService,
+                                       InterviewTranscriptService transcriptService,
+                                       JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       InterviewScoringProperties properties) {
+        this.interviewService = interviewService;
+        this.transcriptService = transcriptService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @Override
+    public InterviewRescoreResult rescoreAll(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException(409, "重新评分任务正在运行");
+        }
+        long start = System.currentTimeMillis();
+        String version = properties.getVersion();
+        int pageSize = Math.max(1, properties.getRescorePageSize());
+        ForkJoinPool pool = createPool();
+        InterviewRescoreResult result = InterviewRescoreResult.builder()
+                .scoringVersion(version)
+                .dryRun(dryRun)
+                .labelTransitions(new TreeMap<>())
+                .build();
+        try {
+            long lastId = 0;
+            while (true) {
+                List<ReportRow> page = jdbcTemplate.query(PAGE_SQL, ROW_MAPPER, lastId, version, pageSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                Map<Long, List<InterviewMessage>> transcripts =
+                        transcriptService.getTranscripts(page.stream().map(ReportRow::interviewId).toList());
+                List<Rescored> rescored = pool.submit(() -> page.parallelStream()
+                        .map(row -> rescore(row, transcripts.get(row.interviewId())))
+                        .toList()).join();
+                if (!dryRun) {
+                    write(rescored, version);
+                }
+                summarize(result, rescored);
+                if (page.size() < pageSize) {
+                    break;
+                }
+                lastId = page.get(page.size() - 1).id();
+            }
+        } finally {
+            pool.shutdown();
+            running.set(false);
+        }
+        result.setDurationMs(System.currentTimeMillis() - start);
+        log.info("面试重新评分完成(版本 {}{}): {} 份报告，{} 份分数变化，{} 份标签变化，{} 份失败，标签变化 {}",
+                version, dryRun ? "，演练" : "", result.getScanned(), result.getScoreChanged(),
+                result.getLabelChanged(), result.getFailed(), result.getLabelTransitions());
+        return result;
+    }
+
+    private ForkJoinPool createPool() {
+        int parallelism = properties.getRescoreParallelism() > 0
+                ? properties.getRescoreParallelism() : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("interview-rescore-" + t.getPoolIndex());
+            return t;
+        }, null, false);
+    }
+
+    private Rescored rescore(ReportRow row, List<InterviewMessage> messages) {
+        try {
+            return new Rescored(row, interviewService.scoreTranscript(row.interviewId(), messages));
+        } catch (RuntimeException e) {
+            log.warn("面试 {} 重新评分失败，保留原分数: {}", row.interviewId(), e.getMessage());
+            return new Rescored(row, null);
+        }
+    }
+
+    private void write(List<Rescored> rescored, String version) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(rescored.size());
+        for (Rescored r : rescored) {
+            if (r.report() == null) {
+                continue;
+            }
+            InterviewReport report = r.report();
+            args.add(new Object[]{report.getRuleFamiliarity(), report.getCommunicationScore(),
+                    report.getPressureScore(), report.getTotalScore(), report.getAiComment(),
+                    report.getRecommendationLabel(), version, now, r.row().id()});
+        }
+        if (!args.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, args));
+        }
+    }
+
+    private void summarize(InterviewRescoreResult result, List<Rescored> rescored) {
+        for (Rescored r : rescored) {
+            result.setScanned(result.getScanned() + 1);
+            InterviewReport report = r.report();
+            if (report == null) {
+                result.setFailed(result.getFailed() + 1);
+                continue;
+            }
+            ReportRow old = r.row();
+            if (old.ruleFamiliarity() != report.getRuleFamiliarity()
+                    || old.communicationScore() != report.getCommunicationScore()
+                    || old.pressureScore() != report.getPressureScore()
+                    || old.totalScore() != report.getTotalScore()) {
+                result.setScoreChanged(result.getScoreChanged() + 1);
+            }
+            // 早期报告可能没有保存推荐标签，按原总分推算
+            String oldLabel = old.recommendationLabel() != null
+                    ? old.recommendationLabel() : interviewService.getRecommendationLabel(old.totalScore());
+            if (!Objects.equals(oldLabel, report.getRecommendationLabel())) {
+                result.setLabelChanged(result.getLabelChanged() + 1);
+                if (old.reviewResult() != null) {
+                    result.setReviewedLabelChanged(result.getReviewedLabelChanged() + 1);
+                }
+                result.getLabelTransitions().merge(oldLabel + " -> " + report.getRecommendationLabel(), 1L, Long::sum);
+            }
+        }
+    }
+
+    private record ReportRow(long id, long interviewId, int ruleFamiliarity, int communicationScore,
+                             int pressureScore, int totalScore, String recommendationLabel, String reviewResult) {
+    }
+
+    private record Rescored(ReportRow row, InterviewReport report) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.pollen.management.service;
+
+/**
+ * 面试 AI 回复提供者 SPI。
+ * <p>
+ * 注册为 Spring Bean 即可通过 interview.response.provider 选用。除规则提供者外，
+ * 调用都在独立线程池中限时执行，实现可以阻塞（如调用远程模型），超时后线程会被中断。
+ */
+public interface InterviewResponseProvider {
+
+    /**
+     * 提供者名称，对应 interview.response.provider 配置
+     */
+    String getName();
+
+    /**
+     * 生成回复；返回 null 或空白视为失败，回退为规则回复
+     */
+    String generateReply(InterviewReplyContext context);
+}
@@ -0,0 +1,12 @@
+package com.pollen.management.service;
+
+/**
+ * 面试 AI 回复服务接口 - 调用配置的提供者生成回复，负责限时、限流、缓存与回退
+ */
+public interface InterviewResponseService {
+
+    /**
+     * 生成 AI 回复；提供者超时、失败或并发已满时返回规则回复，不会抛出异常
+     */
+    String generateReply(InterviewReplyContext context);
+}
@@ -0,0 +1,241 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.InterviewResponseProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 面试 AI 回复服务实现。
+ * <ul>
+ *   <li>规则提供者直接在调用线程上执行（纯内存计算）</li>
+ *   <li>其他提供者先查缓存；未命中时获取并发许可（tryAcquire，不排队），在独立线程池中限时调用</li>
+ *   <li>超时（中断调用线程）、异常、空回复或并发已满时回退为规则回复；只缓存提供者的成功回复</li>
+ * </ul>
+ * 调用方最多等待所选提供者的超时时间，并发许可保证慢提供者不会占满线程。
+ */
+@Service
+@Slf4j
+public class InterviewResponseServiceImpl implements InterviewResponseService {
+
+    private final InterviewResponseProperties properties;
+    private final Map<String, InterviewResponseProvider> providers = new HashMap<>();
+    private final InterviewResponseProvider rules;
+    private final Semaphore permits;
+    private final ThreadPoolExecutor executor;
+    private final ReplyCache cache;
+
+    private final LongAdder providerCalls = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public InterviewResponseServiceImpl(List<InterviewResponseProvider> providers,
+                                        InterviewResponseProperties properties) {
+        this.properties = properties;
+        for (InterviewResponseProvider provider : providers) {
+            this.providers.put(provider.getName(), provider);
+        }
+        this.rules = this.providers.computeIfAbsent(RuleBasedResponseProvider.NAME, n -> new RuleBasedResponseProvider());
+        if (!this.providers.containsKey(properties.getProvider())) {
+            log.warn("未找到面试回复提供者 {}，使用规则回复", properties.getProvider());
+        }
+
+        int maxConcurrent = Math.max(1, properties.getMaxConcurrent());
+        this.permits = new Semaphore(maxConcurrent);
+        AtomicInteger threadIndex = new AtomicInteger();
+        // 不排队；线程上限留出余量给刚归还许可、尚未回到池中的线程，以及超时后仍在退出的调用
+        this.executor = new ThreadPoolExecutor(
+                maxConcurrent, maxConcurrent * 2,
+                60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "interview-reply-" + threadIndex.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.cache = new ReplyCache(properties.getCacheSize(), properties.getCacheTtlMinutes() * 60_000L);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String generateReply(InterviewReplyContext context) {
+        InterviewResponseProvider provider = providers.getOrDefault(properties.getProvider(), rules);
+        if (provider == rules) {
+            return rules.generateReply(context);
+        }
+
+        String key = cacheKey(context.getScenarioId(), context.getUserMessage());
+        String cached = cache.get(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+
+        if (!permits.tryAcquire()) {
+            log.debug("面试回复提供者 {} 并发已满，使用规则回复", provider.getName());
+            return fallback(context);
+        }
+        // 调用结束时（结果可见之前）归还许可；未开始就被取消的任务在 done() 中归还
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable releasePermit = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        FutureTask<String> task = new FutureTask<>(() -> {
+            try {
+                return provider.generateReply(context);
+            } finally {
+                releasePermit.run();
+            }
+        }) {
+            @Override
+            protected void done() {
+                releasePermit.run();
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // 超时被取消但仍未退出的调用占满了线程
+            task.cancel(false);
+            return fallback(context);
+        }
+        providerCalls.increment();
+
+        try {
+            String reply = task.get(timeoutMs(provider), TimeUnit.MILLISECONDS);
+            if (reply == null || reply.isBlank()) {
+                return fallback(context);
+            }
+            cache.put(key, reply);
+            return reply;
+        } catch (TimeoutException e) {
+            task.cancel(true);
+            timeouts.increment();
+            log.warn("面试回复提供者 {} 超时，使用规则回复", provider.getName());
+            return fallback(context);
+        } catch (ExecutionException e) {
+            log.warn("面试回复提供者 {} 调用失败，使用规则回复: {}", provider.getName(), e.getCause().getMessage());
+            return fallback(context);
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            return fallback(context);
+        }
+    }
+
+    private String fallback(InterviewReplyContext context) {
+        fallbacks.increment();
+        return rules.generateReply(context);
+    }
+
+    private long timeoutMs(InterviewResponseProvider provider) {
+        return properties.getProviderTimeoutMs().getOrDefault(provider.getName(), properties.getTimeoutMs());
+    }
+
+    static String cacheKey(String scenarioId, String message) {
+        return (scenarioId == null ? "" : scenarioId) + '\u0001' + normalize(message);
+    }
+
+    /**
+     * 归一化回答：全半角统一（NFKC）、小写、合并空白、去掉首尾空白与结尾标点
+     */
+    static String normalize(String message) {
+        if (message == null) {
+            return "";
+        }
+        String text = Normalizer.normalize(message, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        text = text.replaceAll("\\s+", " ").trim();
+        return text.replaceAll("[\\p{P}\\s]+$", "");
+    }
+
+    // --- 统计（供测试与压测） ---
+
+    long getProviderCalls() {
+        return providerCalls.sum();
+    }
+
+    long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    /**
+     * 带过期时间的 LRU 回复缓存
+     */
+    static final class ReplyCache {
+
+        private final int maxSize;
+        private final long ttlMs;
+        private final LinkedHashMap<String, Entry> entries;
+
+        ReplyCache(int maxSize, long ttlMs) {
+            this.maxSize = maxSize;
+            this.ttlMs = ttlMs;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > ReplyCache.this.maxSize;
+                }
+            };
+        }
+
+        synchronized String get(String key) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt < System.currentTimeMillis()) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.reply;
+        }
+
+        synchronized void put(String key, String reply) {
+            if (maxSize > 0) {
+                entries.put(key, new Entry(reply, System.currentTimeMillis() + ttlMs));
+            }
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        private record Entry(String reply, long expiresAt) {
+        }
+    }
+}
@@ -3,9 +3,12 @@ package com.pollen.management.service;
 import com.pollen.management.dto.InterviewScenario;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 面试场景加载服务接口 - 从本地 JSON 文件加载面试场景
+ * <p>
+ * 返回的列表为只读快照，场景文件变化后由新的快照替换
  */
 public interface InterviewScenarioService {
 
@@ -28,4 +31,21 @@ public interface InterviewScenarioService {
      * @return 符合难度级别的面试场景列表
      */
     List<InterviewScenario> getScenariosByDifficulty(int difficulty, boolean isStudent);
+
+    /**
+     * 按 ID 查找场景（包含学生专属场景）
+     *
+     * @param scenarioId 场景 ID
+     * @return 场景，不存在时为空
+     */
+    Optional<InterviewScenario> findScenario(String scenarioId);
+
+    /**
+     * 获取场景所属分类的关键词匹配器（加载时预编译）。
+     * 未知场景返回只含评分关键词、使用通用回复的默认匹配器。
+     *
+     * @param scenarioId 场景 ID
+     * @return 关键词匹配器
+     */
+    InterviewKeywordMatcher getKeywordMatcher(String scenarioId);
 }
@@ -1,28 +1,52 @@
 package com.pollen.management.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pollen.management.dto.InterviewScenario;
+import com.pollen.management.dto.InterviewScenarioCatalog;
+import com.pollen.management.dto.InterviewScenarioCatalog.ScoringKeywords;
 import com.pollen.management.util.BusinessException;
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 
 /**
- * 面试场景加载服务实现 - 从 classpath 下的 JSON 文件加载场景数据
+ * 面试场景加载服务实现 - 从 classpath 下的 JSON 文件加载场景数据，
+ * 可选叠加外部场景目录（interview.scenarios.directory）中的 *.json。
+ * <p>
+ * 加载后构建不可变索引（按 ID、按难度、按是否学生专属），查询直接返回索引中的只读列表；
+ * 定时检查文件修改时间，变化时在后台重建索引并整体替换，无需重启即可增删场景。
  */
 @Service
+@Slf4j
 public class InterviewScenarioServiceImpl implements InterviewScenarioService {
 
     private static final String SCENARIO_FILE = "interview-scenarios.json";
 
     private final ObjectMapper objectMapper;
-    private List<InterviewScenario> allScenarios;
+
+    /** 外部场景目录，为空时只使用 classpath 中的场景文件 */
+    @Value("${interview.scenarios.directory:}")
+    private String externalDirectory;
+
+    /** 当前生效的索引快照，重新加载时整体替换 */
+    private volatile ScenarioIndex index;
 
     public InterviewScenarioServiceImpl(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
@@ -30,31 +54,240 @@ public class InterviewScenarioServiceImpl implements InterviewScenarioService {
 
     @PostConstruct
     void loadScenarios() {
+        String fingerprint = fingerprint();
+        index = buildIndex(readCatalog(), fingerprint);
+    }
+
+    /**
+     * 检查场景文件是否变化，变化时重建索引；新文件有误时保留旧索引
+     */
+    @Scheduled(fixedDelayString = "${interview.scenarios.reload-interval-ms:30000}",
+            initialDelayString = "${interview.scenarios.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        ScenarioIndex current = index;
+        String fingerprint = fingerprint();
+        if (current != null && fingerprint.equals(current.fingerprint)) {
+            return;
+        }
+        try {
+            ScenarioIndex rebuilt = buildIndex(readCatalog(), fingerprint);
+            index = rebuilt;
+            log.info("面试场景已重新加载: {} 个场景", rebuilt.byId.size());
+        } catch (BusinessException e) {
+            log.warn("面试场景重新加载失败，继续使用旧数据: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public List<InterviewScenario> getScenarios(boolean isStudent) {
+        ScenarioIndex current = requireIndex();
+        return isStudent ? current.all : current.nonStudent;
+    }
+
+    @Override
+    public List<InterviewScenario> getScenariosByDifficulty(int difficulty, boolean isStudent) {
+        ScenarioIndex current = requireIndex();
+        Map<Integer, List<InterviewScenario>> byDifficulty =
+                isStudent ? current.allByDifficulty : current.nonStudentByDifficulty;
+        return byDifficulty.getOrDefault(difficulty, List.of());
+    }
+
+    @Override
+    public Optional<InterviewScenario> findScenario(String scenarioId) {
+        return scenarioId == null ? Optional.empty() : Optional.ofNullable(requireIndex().byId.get(scenarioId));
+    }
+
+    @Override
+    public InterviewKeywordMatcher getKeywordMatcher(String scenarioId) {
+        ScenarioIndex current = requireIndex();
+        return scenarioId == null ? current.defaultMatcher
+                : current.matchers.getOrDefault(scenarioId, current.defaultMatcher);
+    }
+
+    private ScenarioIndex requireIndex() {
+        ScenarioIndex current = index;
+        if (current == null) {
+            throw new BusinessException(500, "面试场景数据未加载");
+        }
+        return current;
+    }
+
+    // --- 加载 ---
+
+    /**
+     * 读取 classpath 场景文件，并按文件名顺序叠加外部目录中的场景文件
+     */
+    private InterviewScenarioCatalog readCatalog() {
         ClassPathResource resource = new ClassPathResource(SCENARIO_FILE);
         if (!resource.exists()) {
             throw new BusinessException(500, "面试场景文件不存在: " + SCENARIO_FILE);
         }
+        InterviewScenarioCatalog catalog;
         try (InputStream is = resource.getInputStream()) {
-            allScenarios = objectMapper.readValue(is, new TypeReference<List<InterviewScenario>>() {});
+            catalog = objectMapper.readValue(is, InterviewScenarioCatalog.class);
         } catch (IOException e) {
             throw new BusinessException(500, "面试场景文件格式错误: " + e.getMessage());
         }
+        for (Path file : externalFiles()) {
+            try (InputStream is = Files.newInputStream(file)) {
+                merge(catalog, objectMapper.readValue(is, InterviewScenarioCatalog.class));
+            } catch (IOException e) {
+                throw new BusinessException(500, "面试场景文件格式错误: " + file.getFileName() + ", " + e.getMessage());
+            }
+        }
+        return catalog;
     }
 
-    @Override
-    public List<InterviewScenario> getScenarios(boolean isStudent) {
-        if (allScenarios == null) {
-            throw new BusinessException(500, "面试场景数据未加载");
+    /**
+     * 外部文件覆盖同 ID 场景与同名分类；评分关键词和通用回复仅在外部文件提供时覆盖
+     */
+    private void merge(InterviewScenarioCatalog base, InterviewScenarioCatalog extra) {
+        if (extra.getDefaultResponse() != null) {
+            base.setDefaultResponse(extra.getDefaultResponse());
         }
-        return allScenarios.stream()
-                .filter(s -> isStudent || !s.isStudentOnly())
-                .collect(Collectors.toList());
+        ScoringKeywords scoring = extra.getScoring();
+        if (scoring != null) {
+            if (!scoring.getRuleFamiliarity().isEmpty()) {
+                base.getScoring().setRuleFamiliarity(scoring.getRuleFamiliarity());
+            }
+            if (!scoring.getCommunication().isEmpty()) {
+                base.getScoring().setCommunication(scoring.getCommunication());
+            }
+            if (!scoring.getPressure().isEmpty()) {
+                base.getScoring().setPressure(scoring.getPressure());
+            }
+        }
+        base.getCategories().putAll(extra.getCategories());
+
+        Map<String, InterviewScenario> byId = new LinkedHashMap<>();
+        for (InterviewScenario s : base.getScenarios()) {
+            byId.put(s.getId(), s);
+        }
+        for (InterviewScenario s : extra.getScenarios()) {
+            byId.put(s.getId(), s);
+        }
+        base.setScenarios(new ArrayList<>(byId.values()));
     }
 
-    @Override
-    public List<InterviewScenario> getScenariosByDifficulty(int difficulty, boolean isStudent) {
-        return getScenarios(isStudent).stream()
-                .filter(s -> s.getDifficulty() == difficulty)
-                .collect(Collectors.toList());
+    private List<Path> externalFiles() {
+        if (externalDirectory == null || externalDirectory.isBlank()) {
+            return List.of();
+        }
+        Path dir = Path.of(externalDirectory);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.json")) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            throw new BusinessException(500, "读取外部面试场景目录失败: " + e.getMessage());
+        }
+        files.sort(null);
+        return files;
+    }
+
+    /**
+     * 场景文件指纹：各文件的路径、修改时间与大小；打包在 jar 内的 classpath 文件视为不变
+     */
+    private String fingerprint() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            File classpathFile = new ClassPathResource(SCENARIO_FILE).getFile();
+            sb.append(classpathFile.lastModified()).append(':').append(classpathFile.length());
+        } catch (IOException e) {
+            sb.append("jar");
+        }
+        try {
+            for (Path file : externalFiles()) {
+                sb.append('|').append(file.getFileName())
+                        .append(':').append(Files.getLastModifiedTime(file).toMillis())
+                        .append(':').append(Files.size(file));
+            }
+        } catch (IOException | BusinessException e) {
+            // 文件在列举与读取之间被删除等，下次检查时会重新比较
+            sb.append("|unstable:").append(System.nanoTime());
+        }
+        return sb.toString();
+    }
+
+    // --- 索引 ---
+
+    private ScenarioIndex buildIndex(InterviewScenarioCatalog catalog, String fingerprint) {
+        Map<String, InterviewScenario> byId = new LinkedHashMap<>();
+        for (InterviewScenario scenario : catalog.getScenarios()) {
+            if (scenario.getId() == null || scenario.getId().isBlank()) {
+                throw new BusinessException(500, "面试场景缺少 id: " + scenario.getName());
+            }
+            if (byId.put(scenario.getId(), scenario) != null) {
+                throw new BusinessException(500, "面试场景 id 重复: " + scenario.getId());
+            }
+        }
+
+        List<InterviewScenario> all = new ArrayList<>();
+        List<InterviewScenario> nonStudent = new ArrayList<>();
+        Map<Integer, List<InterviewScenario>> allByDifficulty = new TreeMap<>();
+        Map<Integer, List<InterviewScenario>> nonStudentByDifficulty = new TreeMap<>();
+        for (InterviewScenario scenario : byId.values()) {
+            all.add(scenario);
+            allByDifficulty.computeIfAbsent(scenario.getDifficulty(), d -> new ArrayList<>()).add(scenario);
+            if (!scenario.isStudentOnly()) {
+                nonStudent.add(scenario);
+                nonStudentByDifficulty.computeIfAbsent(scenario.getDifficulty(), d -> new ArrayList<>()).add(scenario);
+            }
+        }
+
+        // 每个分类编译一个匹配器，同分类的场景共享
+        Map<String, InterviewKeywordMatcher> byCategory = new HashMap<>();
+        InterviewKeywordMatcher defaultMatcher;
+        try {
+            catalog.getCategories().forEach((category, rules) -> byCategory.put(category,
+                    InterviewKeywordMatcher.compile(catalog.getScoring(), rules, catalog.getDefaultResponse())));
+            defaultMatcher = InterviewKeywordMatcher.compile(catalog.getScoring(), null, catalog.getDefaultResponse());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(500, "面试关键词配置错误: " + e.getMessage());
+        }
+        Map<String, InterviewKeywordMatcher> matchers = new HashMap<>();
+        for (InterviewScenario scenario : byId.values()) {
+            matchers.put(scenario.getId(), byCategory.getOrDefault(scenario.getCategory(), defaultMatcher));
+        }
+
+        return new ScenarioIndex(fingerprint, Map.copyOf(byId), List.copyOf(all), List.copyOf(nonStudent),
+                copyGroups(allByDifficulty), copyGroups(nonStudentByDifficulty), Map.copyOf(matchers), defaultMatcher);
+    }
+
+    private static Map<Integer, List<InterviewScenario>> copyGroups(Map<Integer, List<InterviewScenario>> groups) {
+        Map<Integer, List<InterviewScenario>> copy = new HashMap<>();
+        groups.forEach((difficulty, list) -> copy.put(difficulty, List.copyOf(list)));
+        return Map.copyOf(copy);
+    }
+
+    /**
+     * 不可变的场景索引快照
+     */
+    private static final class ScenarioIndex {
+        final String fingerprint;
+        final Map<String, InterviewScenario> byId;
+        final List<InterviewScenario> all;
+        final List<InterviewScenario> nonStudent;
+        final Map<Integer, List<InterviewScenario>> allByDifficulty;
+        final Map<Integer, List<InterviewScenario>> nonStudentByDifficulty;
+        /** 场景 ID -> 所属分类的关键词匹配器 */
+        final Map<String, InterviewKeywordMatcher> matchers;
+        final InterviewKeywordMatcher defaultMatcher;
+
+        ScenarioIndex(String fingerprint, Map<String, InterviewScenario> byId, List<InterviewScenario> all,
+                      List<InterviewScenario> nonStudent, Map<Integer, List<InterviewScenario>> allByDifficulty,
+                      Map<Integer, List<InterviewScenario>> nonStudentByDifficulty,
+                      Map<String, InterviewKeywordMatcher> matchers, InterviewKeywordMatcher defaultMatcher) {
+            this.fingerprint = fingerprint;
+            this.byId = byId;
+            this.all = all;
+            this.nonStudent = nonStudent;
+            this.allByDifficulty = allByDifficulty;
+            this.nonStudentByDifficulty = nonStudentByDifficulty;
+            this.matchers = matchers;
+            this.defaultMatcher = defaultMatcher;
+        }
     }
 }
@@ -1,6 +1,7 @@
 package com.pollen.management.service;
 
 import com.pollen.management.dto.InterviewArchiveRecord;
+import com.pollen.management.dto.InterviewScoreCard;
 import com.pollen.management.entity.Interview;
 import com.pollen.management.entity.InterviewMessage;
 import com.pollen.management.entity.InterviewReport;
@@ -22,6 +23,17 @@ public interface InterviewService {
      */
     InterviewMessage processMessage(Long interviewId, String userMessage);
 
+    /**
+     * 处理实时通道上的作答（含超时代答）：轮次与时限已由实时通道校验。
+     * 建立过实时通道的面试不再接受 {@link #processMessage} 的作答
+     */
+    InterviewMessage processStreamMessage(Long interviewId, String userMessage);
+
+    /**
+     * 获取进行中面试的会话（未缓存时先落库写缓冲再加载），面试不在进行中时抛出业务异常
+     */
+    InterviewSessionCache.InterviewSession getActiveSession(Long interviewId);
+
     /**
      * 结束面试：生成评估报告，设置面试状态为 COMPLETED，更新申请状态为 PENDING_REVIEW
      */
@@ -42,6 +54,11 @@ public interface InterviewService {
      */
     InterviewReport getReport(Long interviewId);
 
+    /**
+     * 获取面试当前评分（基于累计计数器，进行中的面试也可查看）
+     */
+    InterviewScoreCard getCurrentScore(Long interviewId);
+
     /**
      * 根据总分返回推荐标签
      * >= 8: "建议通过"
@@ -50,6 +67,11 @@ public interface InterviewService {
      */
     String getRecommendationLabel(int totalScore);
 
+    /**
+     * 按对话记录以当前评分规则重新计算分数与推荐标签（不落库），用于评分规则调整后的批量重新评分
+     */
+    InterviewReport scoreTranscript(Long interviewId, List<InterviewMessage> messages);
+
     /**
      * 人工复审：审核面试结果，以人工判断为准
      * 通过：更新申请状态为 INTERN_OFFERED，用户角色变更为 INTERN，启用账户
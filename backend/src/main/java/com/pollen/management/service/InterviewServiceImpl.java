@@ -1,7 +1,9 @@
 package com.pollen.management.service;
 
+import com.pollen.management.config.InterviewScoringProperties;
 import com.pollen.management.dto.InterviewArchiveRecord;
 import com.pollen.management.dto.InterviewScenario;
+import com.pollen.management.dto.InterviewScoreCard;
 import com.pollen.management.entity.*;
 import com.pollen.management.entity.enums.ApplicationStatus;
 import com.pollen.management.entity.enums.InterviewStatus;
@@ -12,12 +14,15 @@ import com.pollen.management.util.BusinessException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 /**
- * AI 面试对话引擎实现 - 使用模板/规则驱动的模拟 AI 回复（非真实 LLM）
+ * AI 面试对话引擎实现 - AI 回复由 {@link InterviewResponseService} 调用配置的提供者生成
+ * （默认为规则驱动的模拟回复），评分计数器始终按关键词规则累计
  */
 @Service
 @Slf4j
@@ -31,6 +36,11 @@ public class InterviewServiceImpl implements InterviewService {
     private final UserRepository userRepository;
     private final InternshipService internshipService;
     private final RoleChangeHistoryRepository roleChangeHistoryRepository;
+    private final InterviewSessionCache sessionCache;
+    private final InterviewMessageBuffer messageBuffer;
+    private final InterviewResponseService responseService;
+    private final InterviewTranscriptService transcriptService;
+    private final InterviewScoringProperties scoringProperties;
 
     public InterviewServiceImpl(InterviewRepository interviewRepository,
                                 InterviewMessageRepository messageRepository,
@@ -39,7 +49,12 @@ public class InterviewServiceImpl implements InterviewService {
                                 InterviewScenarioService scenarioService,
                                 UserRepository userRepository,
                                 InternshipService internshipService,
-                                RoleChangeHistoryRepository roleChangeHistoryRepository) {
+                                RoleChangeHistoryRepository roleChangeHistoryRepository,
+                                InterviewSessionCache sessionCache,
+                                InterviewMessageBuffer messageBuffer,
+                                InterviewResponseService responseService,
+                                InterviewTranscriptService transcriptService,
+                                InterviewScoringProperties scoringProperties) {
         this.interviewRepository = interviewRepository;
         this.messageRepository = messageRepository;
         this.reportRepository = reportRepository;
@@ -48,6 +63,11 @@ public class InterviewServiceImpl implements InterviewService {
         this.userRepository = userRepository;
         this.internshipService = internshipService;
         this.roleChangeHistoryRepository = roleChangeHistoryRepository;
+        this.sessionCache = sessionCache;
+        this.messageBuffer = messageBuffer;
+        this.responseService = responseService;
+        this.transcriptService = transcriptService;
+        this.scoringProperties = scoringProperties;
     }
 
     @Override
@@ -85,6 +105,7 @@ public class InterviewServiceImpl implements InterviewService {
                 .timeLimitSeconds(60)
                 .build();
         messageRepository.save(initialMessage);
+        sessionCache.put(interview, initialMessage);
 
         // Update application status
         application.setStatus(ApplicationStatus.AI_INTERVIEW_IN_PROGRESS);
@@ -94,43 +115,102 @@ public class InterviewServiceImpl implements InterviewService {
     }
 
     @Override
-    @Transactional
     public InterviewMessage processMessage(Long interviewId, String userMessage) {
-        Interview interview = interviewRepository.findById(interviewId)
-                .orElseThrow(() -> new BusinessException(404, "面试记录不存在"));
+        return processMessage(interviewId, userMessage, false);
+    }
 
-        if (interview.getStatus() != InterviewStatus.IN_PROGRESS) {
-            throw new BusinessException(400, "面试不在进行中状态");
-        }
+    @Override
+    public InterviewMessage processStreamMessage(Long interviewId, String userMessage) {
+        return processMessage(interviewId, userMessage, true);
+    }
 
-        // Record user message
-        InterviewMessage userMsg = InterviewMessage.builder()
-                .interviewId(interviewId)
-                .role("USER")
-                .content(userMessage)
-                .timestamp(LocalDateTime.now())
-                .timeLimitSeconds(60)
-                .build();
-        messageRepository.save(userMsg);
+    @Override
+    public InterviewSessionCache.InterviewSession getActiveSession(Long interviewId) {
+        InterviewSessionCache.InterviewSession session = sessionCache.get(interviewId, this::loadInterview);
+        synchronized (session) {
+            if (session.isEnded() || session.getInterview().getStatus() != InterviewStatus.IN_PROGRESS) {
+                throw new BusinessException(400, "面试不在进行中状态");
+            }
+        }
+        return session;
+    }
 
-        // Generate simulated AI response based on scenario context
-        String aiResponse = generateSimulatedResponse(interview, userMessage);
+    private InterviewMessage processMessage(Long interviewId, String userMessage, boolean fromStream) {
+        // 进行中的面试取自会话缓存；未命中时先把写缓冲落库，保证从库中加载的计数器是最新的
+        InterviewSessionCache.InterviewSession session = sessionCache.get(interviewId, this::loadInterview);
 
-        InterviewMessage aiMsg = InterviewMessage.builder()
-                .interviewId(interviewId)
-                .role("AI")
-                .content(aiResponse)
-                .timestamp(LocalDateTime.now())
-                .timeLimitSeconds(60)
-                .build();
-        messageRepository.save(aiMsg);
+        synchronized (session) {
+            Interview interview = session.getInterview();
+            if (session.isEnded() || interview.getStatus() != InterviewStatus.IN_PROGRESS) {
+                throw new BusinessException(400, "面试不在进行中状态");
+            }
+            if (!fromStream && session.isStreamTimed()) {
+                // 每轮时限由实时通道计时，普通接口作答会绕过截止时间
+                throw new BusinessException(400, "面试已建立实时通道，请通过实时通道作答");
+            }
 
-        return aiMsg;
+            // Record user message
+            InterviewMessage userMsg = InterviewMessage.builder()
+                    .interviewId(interviewId)
+                    .role("USER")
+                    .content(userMessage)
+                    .timestamp(LocalDateTime.now())
+                    .timeLimitSeconds(60)
+                    .build();
+
+            // Generate simulated AI response based on scenario context; also accumulates the running score counters
+            String aiResponse = generateSimulatedResponse(interview, userMessage);
+
+            InterviewMessage aiMsg = InterviewMessage.builder()
+                    .interviewId(interviewId)
+                    .role("AI")
+                    .content(aiResponse)
+                    .timestamp(LocalDateTime.now())
+                    .timeLimitSeconds(60)
+                    .build();
+
+            // 消息与计数器快照进入写缓冲，批量落库
+            messageBuffer.append(interview, List.of(userMsg, aiMsg));
+            session.appendRecent(userMsg);
+            session.appendRecent(aiMsg);
+            return aiMsg;
+        }
     }
 
     @Override
     @Transactional
     public InterviewReport endInterview(Long interviewId) {
+        // 先在会话锁内标记结束：正在处理的一轮已进入写缓冲，之后到达的消息都会被拒绝。
+        // 写缓冲只落库本节点的消息，同一面试的请求须粘性路由到同一节点（见 InterviewSessionCache）
+        InterviewSessionCache.InterviewSession session = sessionCache.get(interviewId, this::loadInterview);
+        synchronized (session) {
+            if (session.isEnded()) {
+                throw new BusinessException(400, "面试不在进行中状态");
+            }
+            session.markEnded();
+        }
+        boolean deferEviction = TransactionSynchronizationManager.isSynchronizationActive();
+        if (deferEviction) {
+            // 事务结束后才移出会话：提前移出会让并发请求从库中重新加载仍为进行中的面试；回滚时也移出，以库为准重新加载
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    sessionCache.evict(interviewId);
+                }
+            });
+        }
+        try {
+            return completeInterview(interviewId);
+        } finally {
+            if (!deferEviction) {
+                sessionCache.evict(interviewId);
+            }
+        }
+    }
+
+    private InterviewReport completeInterview(Long interviewId) {
+        // 写缓冲中的消息与计数器先落库（独立事务），随后读到的面试计数器即为最终值
+        messageBuffer.flush();
         Interview interview = interviewRepository.findById(interviewId)
                 .orElseThrow(() -> new BusinessException(404, "面试记录不存在"));
 
@@ -138,12 +218,10 @@ public class InterviewServiceImpl implements InterviewService {
             throw new BusinessException(400, "面试不在进行中状态");
         }
 
-        // Get all messages for evaluation
-        List<InterviewMessage> messages = messageRepository.findByInterviewIdOrderByTimestamp(interviewId);
-
-        // Generate evaluation report
-        InterviewReport report = generateEvaluationReport(interviewId, messages);
+        // Generate evaluation report from the running counters
+        InterviewReport report = evaluate(interview);
         report.setRecommendationLabel(getRecommendationLabel(report.getTotalScore()));
+        report.setScoringVersion(scoringProperties.getVersion());
         report = reportRepository.save(report);
 
         // Update interview status to COMPLETED
@@ -160,6 +238,15 @@ public class InterviewServiceImpl implements InterviewService {
         return report;
     }
 
+    /**
+     * 会话缓存未命中时加载面试：先把写缓冲落库，保证从库中加载的计数器是最新的
+     */
+    private Interview loadInterview(Long interviewId) {
+        messageBuffer.flush();
+        return interviewRepository.findById(interviewId)
+                .orElseThrow(() -> new BusinessException(404, "面试记录不存在"));
+    }
+
     @Override
     public Interview getInterview(Long interviewId) {
         return interviewRepository.findById(interviewId)
@@ -171,7 +258,8 @@ public class InterviewServiceImpl implements InterviewService {
         // Verify interview exists
         interviewRepository.findById(interviewId)
                 .orElseThrow(() -> new BusinessException(404, "面试记录不存在"));
-        return messageRepository.findByInterviewIdOrderByTimestamp(interviewId);
+        messageBuffer.flush();
+        return transcriptService.getTranscript(interviewId);
     }
 
     @Override
@@ -180,6 +268,35 @@ public class InterviewServiceImpl implements InterviewService {
                 .orElseThrow(() -> new BusinessException(404, "面试报告不存在"));
     }
 
+    @Override
+    public InterviewScoreCard getCurrentScore(Long interviewId) {
+        // 进行中的面试优先取会话缓存中的实时计数器
+        Interview interview = sessionCache.peek(interviewId)
+                .map(InterviewSessionCache.InterviewSession::getInterview)
+                .orElseGet(() -> interviewRepository.findById(interviewId)
+                        .orElseThrow(() -> new BusinessException(404, "面试记录不存在")));
+        InterviewReport scores;
+        long userMessageCount;
+        if (hasScoreCounters(interview)) {
+            scores = generateEvaluationReport(interview);
+            userMessageCount = interview.getUserMessageCount();
+        } else {
+            List<InterviewMessage> messages = transcriptService.getTranscript(interviewId);
+            scores = generateEvaluationReport(interviewId, messages);
+            userMessageCount = messages.stream().filter(m -> "USER".equals(m.getRole())).count();
+        }
+        return InterviewScoreCard.builder()
+                .interviewId(interviewId)
+                .status(interview.getStatus())
+                .userMessageCount(userMessageCount)
+                .ruleFamiliarity(scores.getRuleFamiliarity())
+                .communicationScore(scores.getCommunicationScore())
+                .pressureScore(scores.getPressureScore())
+                .totalScore(scores.getTotalScore())
+                .recommendationLabel(getRecommendationLabel(scores.getTotalScore()))
+                .build();
+    }
+
     @Override
     public String getRecommendationLabel(int totalScore) {
         if (totalScore >= 8) {
@@ -191,6 +308,14 @@ public class InterviewServiceImpl implements InterviewService {
         }
     }
 
+    @Override
+    public InterviewReport scoreTranscript(Long interviewId, List<InterviewMessage> messages) {
+        // 关键词列表可能已变化，不能沿用面试上按旧规则累计的计数器，必须重新扫描对话
+        InterviewReport report = generateEvaluationReport(interviewId, messages);
+        report.setRecommendationLabel(getRecommendationLabel(report.getTotalScore()));
+        return report;
+    }
+
     @Override
     @Transactional
     public InterviewReport manualReview(Long interviewId, boolean approved, String reviewComment, String suggestedMentor, Long suggestedMentorId) {
@@ -269,7 +394,8 @@ public class InterviewServiceImpl implements InterviewService {
         Interview interview = interviewRepository.findById(interviewId)
                 .orElseThrow(() -> new BusinessException(404, "面试记录不存在"));
 
-        List<InterviewMessage> messages = messageRepository.findByInterviewIdOrderByTimestamp(interviewId);
+        messageBuffer.flush();
+        List<InterviewMessage> messages = transcriptService.getTranscript(interviewId);
 
         InterviewReport report = reportRepository.findByInterviewId(interviewId).orElse(null);
 
@@ -283,96 +409,102 @@ public class InterviewServiceImpl implements InterviewService {
     // --- Private helper methods ---
 
     private InterviewScenario findScenario(String scenarioId) {
-        // Search across all scenarios (student + non-student)
-        List<InterviewScenario> allScenarios = scenarioService.getScenarios(true);
-        return allScenarios.stream()
-                .filter(s -> s.getId().equals(scenarioId))
-                .findFirst()
+        return scenarioService.findScenario(scenarioId)
                 .orElseThrow(() -> new BusinessException(404, "面试场景不存在: " + scenarioId));
     }
 
     /**
-     * 生成模拟 AI 回复 - 基于场景和用户消息的模板/规则驱动回复
+     * 生成 AI 回复 - 先用场景分类的关键词匹配器扫描回答，命中结果累计到面试的评分计数器上（调用方负责保存），
+     * 再交给回复服务生成回复；提供者不可用时回复服务回退为关键词规则回复。
      */
     String generateSimulatedResponse(Interview interview, String userMessage) {
-        String scenarioId = interview.getScenarioId();
-        String lowerMsg = userMessage.toLowerCase();
-
-        // Rule-based response generation based on scenario category and user input
-        if (scenarioId != null && scenarioId.startsWith("conflict-resolution")) {
-            return generateConflictResponse(lowerMsg);
-        } else if (scenarioId != null && scenarioId.startsWith("violation-judgment")) {
-            return generateViolationResponse(lowerMsg);
-        } else if (scenarioId != null && scenarioId.startsWith("complaint-handling")) {
-            return generateComplaintResponse(lowerMsg);
-        } else if (scenarioId != null && scenarioId.startsWith("study-work-balance")) {
-            return generateStudyWorkResponse(lowerMsg);
-        }
-
-        return "好的，我理解你的回答。请继续说明你的处理方案。";
-    }
-
-    private String generateConflictResponse(String userMessage) {
-        if (userMessage.contains("冷静") || userMessage.contains("理解") || userMessage.contains("沟通")) {
-            return "嗯...你说得有道理，但是对方确实太过分了。你能保证公平处理吗？";
-        } else if (userMessage.contains("警告") || userMessage.contains("处罚") || userMessage.contains("禁言")) {
-            return "你就知道处罚！难道不应该先了解清楚情况吗？我觉得你这样处理不公平。";
-        } else if (userMessage.contains("规则") || userMessage.contains("群规")) {
-            return "群规我知道，但有些情况群规没有明确规定啊。你觉得这种情况应该怎么灵活处理？";
+        InterviewKeywordMatcher matcher = scenarioService.getKeywordMatcher(interview.getScenarioId());
+        InterviewKeywordMatcher.Hits hits = matcher.analyze(userMessage);
+        if (hasScoreCounters(interview)) {
+            interview.setUserMessageCount(interview.getUserMessageCount() + 1);
+            interview.setRuleKeywordHits(interview.getRuleKeywordHits() + hits.getRuleFamiliarityHits());
+            interview.setCommunicationKeywordHits(interview.getCommunicationKeywordHits() + hits.getCommunicationHits());
+            interview.setPressureKeywordHits(interview.getPressureKeywordHits() + hits.getPressureHits());
+            if (hits.getLength() > 50) {
+                interview.setLongAnswerCount(interview.getLongAnswerCount() + 1);
+            }
         }
-        return "我不太满意你的回答。能不能更具体地说说你打算怎么处理这件事？";
+        return responseService.generateReply(InterviewReplyContext.builder()
+                .interviewId(interview.getId())
+                .scenarioId(interview.getScenarioId())
+                .userMessage(userMessage)
+                .history(sessionCache.peek(interview.getId())
+                        .map(InterviewSessionCache.InterviewSession::getRecentMessages)
+                        .orElse(List.of()))
+                .matcher(matcher)
+                .hits(hits)
+                .build());
     }
 
-    private String generateViolationResponse(String userMessage) {
-        if (userMessage.contains("查看") || userMessage.contains("核实") || userMessage.contains("证据")) {
-            return "好吧，那你去查。但我可以告诉你，我发的内容完全是正常分享，不是广告。你们不能随便给人扣帽子。";
-        } else if (userMessage.contains("道歉") || userMessage.contains("理解") || userMessage.contains("抱歉")) {
-            return "算了，我也不想闹大。但希望以后判断违规能更谨慎一些，别冤枉好人。";
-        } else if (userMessage.contains("规定") || userMessage.contains("群规") || userMessage.contains("标准")) {
-            return "那你把具体的群规条款发给我看看，我倒要看看我到底违反了哪一条。";
+    /**
+     * 计数器齐全时 O(1) 出分；早于计数器上线的旧面试回退为扫描对话记录
+     */
+    private InterviewReport evaluate(Interview interview) {
+        if (hasScoreCounters(interview)) {
+            return generateEvaluationReport(interview);
         }
-        return "你这个回答没有说服力。我还是觉得自己没有违规，请给我一个合理的解释。";
+        return generateEvaluationReport(interview.getId(),
+                transcriptService.getTranscript(interview.getId()));
     }
 
-    private String generateComplaintResponse(String userMessage) {
-        if (userMessage.contains("抱歉") || userMessage.contains("对不起") || userMessage.contains("改进")) {
-            return "光说抱歉有什么用？我要看到实际的改进措施。你们打算怎么解决我的问题？";
-        } else if (userMessage.contains("方案") || userMessage.contains("解决") || userMessage.contains("处理")) {
-            return "这个方案听起来还行，但我怎么知道你们会真的执行？之前也说过要改进，结果呢？";
-        } else if (userMessage.contains("反馈") || userMessage.contains("记录") || userMessage.contains("跟进")) {
-            return "好吧，那我再给你们一次机会。但如果这次还是没有改善，我就真的要采取行动了。";
-        }
-        return "你的态度让我更生气了。我需要一个明确的答复，不是敷衍。";
+    private boolean hasScoreCounters(Interview interview) {
+        return interview.getUserMessageCount() != null && interview.getLongAnswerCount() != null
+                && interview.getRuleKeywordHits() != null && interview.getCommunicationKeywordHits() != null
+                && interview.getPressureKeywordHits() != null;
     }
 
-    private String generateStudyWorkResponse(String userMessage) {
-        if (userMessage.contains("安排") || userMessage.contains("计划") || userMessage.contains("时间")) {
-            return "听起来你有在认真考虑这个问题。那具体到每周，你觉得能抽出多少时间来处理群里的事务？";
-        } else if (userMessage.contains("学业") || userMessage.contains("考试") || userMessage.contains("学习")) {
-            return "学业确实很重要，我们也理解。但群里的工作也不能完全放下，你觉得有没有折中的办法？";
-        } else if (userMessage.contains("交接") || userMessage.contains("代替") || userMessage.contains("帮忙")) {
-            return "找人暂时代替是个好主意。你有推荐的人选吗？交接的时候需要注意哪些事项？";
-        }
-        return "我理解你的困难，但我们需要一个更具体的方案。你能详细说说你的想法吗？";
+    /**
+     * 生成多维评估报告 - 基于面试上累计的关键词命中计数
+     */
+    InterviewReport generateEvaluationReport(Interview interview) {
+        return buildReport(interview.getId(), interview.getRuleKeywordHits(), interview.getCommunicationKeywordHits(),
+                interview.getPressureKeywordHits(), interview.getLongAnswerCount(), interview.getUserMessageCount());
     }
 
     /**
-     * 生成多维评估报告 - 基于对话内容的规则评分
+     * 生成多维评估报告 - 扫描对话记录重新累计关键词命中（旧面试回退路径）
      */
     InterviewReport generateEvaluationReport(Long interviewId, List<InterviewMessage> messages) {
-        long userMessageCount = messages.stream().filter(m -> "USER".equals(m.getRole())).count();
+        // 评分关键词与场景分类无关，使用默认匹配器；每条用户消息只扫描一遍，命中结果同时用于三个维度
+        InterviewKeywordMatcher matcher = scenarioService.getKeywordMatcher(null);
+        int ruleHits = 0;
+        int communicationHits = 0;
+        int pressureHits = 0;
+        int longAnswers = 0;
+        long userMessageCount = 0;
+        for (InterviewMessage msg : messages) {
+            if (!"USER".equals(msg.getRole())) continue;
+            userMessageCount++;
+            InterviewKeywordMatcher.Hits hits = matcher.analyze(msg.getContent());
+            ruleHits += hits.getRuleFamiliarityHits();
+            communicationHits += hits.getCommunicationHits();
+            pressureHits += hits.getPressureHits();
+            if (hits.getLength() > 50) {
+                longAnswers++;
+            }
+        }
+        return buildReport(interviewId, ruleHits, communicationHits, pressureHits, longAnswers, userMessageCount);
+    }
 
-        // Calculate scores based on message analysis
-        int ruleFamiliarity = calculateRuleFamiliarity(messages);
-        int communicationScore = calculateCommunicationScore(messages);
-        int pressureScore = calculatePressureScore(messages);
-        int totalScore = Math.round((ruleFamiliarity + communicationScore + pressureScore) / 3.0f);
+    private InterviewReport buildReport(Long interviewId, int ruleHits, int communicationHits, int pressureHits,
+                                        int longAnswers, long userMessageCount) {
+        int ruleFamiliarity = 5 + ruleHits; // Base score
+        int communicationScore = 5 + communicationHits + longAnswers; // Detailed responses show better communication
+        int pressureScore = 5 + pressureHits;
+        if (userMessageCount >= 3) {
+            pressureScore += 1; // Persisted through multiple rounds
+        }
 
         // Clamp all scores to 0-10
         ruleFamiliarity = clampScore(ruleFamiliarity);
         communicationScore = clampScore(communicationScore);
         pressureScore = clampScore(pressureScore);
-        totalScore = clampScore(totalScore);
+        int totalScore = clampScore(Math.round((ruleFamiliarity + communicationScore + pressureScore) / 3.0f));
 
         String aiComment = generateAiComment(ruleFamiliarity, communicationScore, pressureScore, userMessageCount);
 
@@ -386,58 +518,6 @@ public class InterviewServiceImpl implements InterviewService {
                 .build();
     }
 
-    private int calculateRuleFamiliarity(List<InterviewMessage> messages) {
-        int score = 5; // Base score
-        for (InterviewMessage msg : messages) {
-            if (!"USER".equals(msg.getRole())) continue;
-            String content = msg.getContent().toLowerCase();
-            if (content.contains("群规") || content.contains("规则") || content.contains("规定")) {
-                score += 1;
-            }
-            if (content.contains("违规") || content.contains("处罚") || content.contains("警告")) {
-                score += 1;
-            }
-        }
-        return clampScore(score);
-    }
-
-    private int calculateCommunicationScore(List<InterviewMessage> messages) {
-        int score = 5; // Base score
-        for (InterviewMessage msg : messages) {
-            if (!"USER".equals(msg.getRole())) continue;
-            String content = msg.getContent().toLowerCase();
-            if (content.contains("理解") || content.contains("沟通") || content.contains("倾听")) {
-                score += 1;
-            }
-            if (content.contains("抱歉") || content.contains("对不起") || content.contains("同理")) {
-                score += 1;
-            }
-            if (content.length() > 50) {
-                score += 1; // Detailed responses show better communication
-            }
-        }
-        return clampScore(score);
-    }
-
-    private int calculatePressureScore(List<InterviewMessage> messages) {
-        int score = 5; // Base score
-        long userMsgCount = messages.stream().filter(m -> "USER".equals(m.getRole())).count();
-        if (userMsgCount >= 3) {
-            score += 1; // Persisted through multiple rounds
-        }
-        for (InterviewMessage msg : messages) {
-            if (!"USER".equals(msg.getRole())) continue;
-            String content = msg.getContent().toLowerCase();
-            if (content.contains("冷静") || content.contains("耐心") || content.contains("理性")) {
-                score += 1;
-            }
-            if (content.contains("方案") || content.contains("解决") || content.contains("处理")) {
-                score += 1;
-            }
-        }
-        return clampScore(score);
-    }
-
     private int clampScore(int score) {
         return Math.max(0, Math.min(10, score));
     }
@@ -0,0 +1,183 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.InterviewSessionProperties;
+import com.pollen.management.entity.Interview;
+import com.pollen.management.entity.InterviewMessage;
+import lombok.Getter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 进行中面试的会话缓存：面试状态（含评分计数器）与最近若干条对话。
+ * <p>
+ * 处理消息时直接使用缓存的面试，不再每次查库；消息由 {@link InterviewMessageBuffer} 异步落库，
+ * 计数器随缓冲批量写回。会话空闲超时或面试结束时移出缓存。
+ * 同一会话上的操作由调用方对 {@link InterviewSession} 加锁串行化。
+ * 实时通道的轮次与截止时间也保存在会话中，通道断开后重连沿用，不能借断线重置计时。
+ * <p>
+ * 会话与写缓冲都按节点保存：多节点部署时，同一面试的请求须按面试 ID 粘性路由到同一节点，
+ * 否则结束面试时其他节点尚未落库的对话不会计入评分。
+ */
+@Component
+public class InterviewSessionCache {
+
+    private final InterviewSessionProperties properties;
+    private final ConcurrentHashMap<Long, InterviewSession> sessions = new ConcurrentHashMap<>();
+
+    public InterviewSessionCache(InterviewSessionProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 获取会话，未命中时通过 loader 加载面试（loader 可抛出业务异常）
+     */
+    public InterviewSession get(Long interviewId, Function<Long, Interview> loader) {
+        InterviewSession session = sessions.get(interviewId);
+        if (session == null) {
+            Interview interview = loader.apply(interviewId);
+            session = sessions.computeIfAbsent(interviewId, id -> new InterviewSession(interview, properties.getRecentMessages()));
+            evictOverflow();
+        }
+        session.touch();
+        return session;
+    }
+
+    /**
+     * 面试开始时放入会话
+     */
+    public InterviewSession put(Interview interview, InterviewMessage initialMessage) {
+        InterviewSession session = new InterviewSession(interview, properties.getRecentMessages());
+        if (initialMessage != null) {
+            session.appendRecent(initialMessage);
+        }
+        sessions.put(interview.getId(), session);
+        evictOverflow();
+        return session;
+    }
+
+    public Optional<InterviewSession> peek(Long interviewId) {
+        return Optional.ofNullable(sessions.get(interviewId));
+    }
+
+    public void evict(Long interviewId) {
+        sessions.remove(interviewId);
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * 移除空闲超时的会话；会话中的数据均已进入写缓冲，移除不丢数据
+     */
+    @Scheduled(fixedRate = 60_000)
+    public void evictIdle() {
+        long deadline = System.currentTimeMillis() - properties.getIdleTimeoutMinutes() * 60_000L;
+        sessions.values().removeIf(s -> s.lastAccess < deadline);
+    }
+
+    private void evictOverflow() {
+        int overflow = sessions.size() - properties.getMaxSessions();
+        if (overflow <= 0) {
+            return;
+        }
+        List<InterviewSession> candidates = new ArrayList<>(sessions.values());
+        candidates.sort(Comparator.comparingLong(s -> s.lastAccess));
+        for (int i = 0; i < overflow && i < candidates.size(); i++) {
+            sessions.remove(candidates.get(i).getInterview().getId(), candidates.get(i));
+        }
+    }
+
+    /**
+     * 单个面试的会话状态
+     */
+    public static class InterviewSession {
+
+        @Getter
+        private final Interview interview;
+        private final ArrayDeque<InterviewMessage> recent;
+        private final int capacity;
+        private volatile long lastAccess = System.currentTimeMillis();
+        private boolean ended;
+        private StreamTurn streamTurn;
+
+        InterviewSession(Interview interview, int capacity) {
+            this.interview = interview;
+            this.capacity = Math.max(1, capacity);
+            this.recent = new ArrayDeque<>(this.capacity);
+        }
+
+        public synchronized void appendRecent(InterviewMessage message) {
+            if (recent.size() == capacity) {
+                recent.pollFirst();
+            }
+            recent.addLast(message);
+        }
+
+        /**
+         * 最近的对话（按时间顺序的副本）
+         */
+        public synchronized List<InterviewMessage> getRecentMessages() {
+            return new ArrayList<>(recent);
+        }
+
+        /**
+         * 是否已开始结束面试；调用方持有会话锁时读取
+         */
+        public synchronized boolean isEnded() {
+            return ended;
+        }
+
+        /**
+         * 标记面试已开始结束，此后不再接受新消息
+         */
+        public synchronized void markEnded() {
+            ended = true;
+        }
+
+        /**
+         * 实时通道的轮次状态，首次建立实时通道时以给定时限创建；之后该面试只能通过实时通道作答
+         */
+        synchronized StreamTurn streamTurn(int defaultTimeLimitSeconds) {
+            if (streamTurn == null) {
+                streamTurn = new StreamTurn(defaultTimeLimitSeconds);
+            }
+            return streamTurn;
+        }
+
+        /**
+         * 是否已建立过实时通道（由实时通道计时）；调用方持有会话锁时读取
+         */
+        public synchronized boolean isStreamTimed() {
+            return streamTurn != null;
+        }
+
+        void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * 实时通道的轮次状态；由 {@link InterviewStreamServiceImpl} 持有该对象的锁时读写
+     */
+    static final class StreamTurn {
+        long turn = 1;
+        /** 本轮截止时间（epoch 毫秒），0 表示 AI 回复仍在推送、尚未开始计时 */
+        long deadline;
+        int timeLimitSeconds;
+        /** 本轮已超时、代答仍在处理中，此时不计时 */
+        boolean answeringTimeout;
+
+        StreamTurn(int timeLimitSeconds) {
+            this.timeLimitSeconds = timeLimitSeconds;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.pollen.management.service;
+
+import com.pollen.management.entity.InterviewMessage;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 面试实时通道服务接口 - 每个进行中的面试一个 SSE 通道，
+ * AI 回复逐段推送，每轮回答时限由服务端计时
+ */
+public interface InterviewStreamService {
+
+    /**
+     * 建立面试的实时通道；同一面试重复连接时替换旧连接，沿用当前轮次的截止时间
+     */
+    SseEmitter connect(Long interviewId);
+
+    /**
+     * 通过实时通道作答：处理回答后 AI 回复逐段推送到通道，推送完毕开始下一轮计时
+     *
+     * @param turn 回答所针对的轮次，可为 null
+     * @return 完整的 AI 回复
+     */
+    InterviewMessage submitAnswer(Long interviewId, String message, Long turn);
+
+    /**
+     * 关闭面试的实时通道（面试结束时调用），未连接时忽略
+     */
+    void close(Long interviewId);
+}
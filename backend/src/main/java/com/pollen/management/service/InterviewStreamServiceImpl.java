@@ -0,0 +1,382 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.InterviewStreamProperties;
+import com.pollen.management.dto.InterviewStreamEvent;
+import com.pollen.management.entity.InterviewMessage;
+import com.pollen.management.util.BusinessException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 面试实时通道实现。
+ * <p>
+ * SSE 连接由 Servlet 异步机制持有，不占用请求线程；片段推送与回答计时都是调度线程池上的短任务
+ * （推送完一个片段再调度下一个，不在线程中等待），少量线程即可支撑数百个同时进行的面试。
+ * 轮次与截止时间保存在面试会话中（{@link InterviewSessionCache.StreamTurn}），断线后重连沿用，不会重置计时；
+ * 同一面试的推送、作答与超时处理对该轮次状态加锁串行化，以轮次序号丢弃过期的推送与计时任务。
+ * 超时代答要写库并可能调用 AI 提供者，放到独立线程池中执行（不持有通道锁），完成后回到调度线程推送。
+ */
+@Service
+@Slf4j
+public class InterviewStreamServiceImpl implements InterviewStreamService {
+
+    static final String EVENT_CONNECTED = "connected";
+    static final String EVENT_TOKEN = "token";
+    static final String EVENT_DONE = "done";
+    static final String EVENT_TIMEOUT = "timeout";
+    static final String EVENT_CLOSED = "closed";
+
+    private static final int DEFAULT_TIME_LIMIT_SECONDS = 60;
+
+    private final InterviewService interviewService;
+    private final InterviewStreamProperties properties;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ThreadPoolExecutor timeoutAnswerExecutor;
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    public InterviewStreamServiceImpl(InterviewService interviewService, InterviewStreamProperties properties) {
+        this.interviewService = interviewService;
+        this.properties = properties;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.scheduler = new ScheduledThreadPoolExecutor(Math.max(1, properties.getSchedulerThreads()), r -> {
+            Thread t = new Thread(r, "interview-stream-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        // 每个通道同时至多一个代答任务，队列长度不超过通道数
+        int answerThreads = Math.max(1, properties.getTimeoutAnswerThreads());
+        AtomicInteger answerThreadIndex = new AtomicInteger();
+        this.timeoutAnswerExecutor = new ThreadPoolExecutor(answerThreads, answerThreads,
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "interview-timeout-" + answerThreadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        timeoutAnswerExecutor.shutdownNow();
+        channels.values().forEach(channel -> {
+            channel.closed = true;
+            completeQuietly(channel.emitter);
+        });
+        channels.clear();
+    }
+
+    @Override
+    public SseEmitter connect(Long interviewId) {
+        // 轮次状态随会话保存：断线后重连（无论旧通道是否仍在）都沿用原截止时间
+        InterviewSessionCache.StreamTurn state = interviewService.getActiveSession(interviewId)
+                .streamTurn(DEFAULT_TIME_LIMIT_SECONDS);
+
+        Channel channel = new Channel(interviewId, state,
+                createEmitter(properties.getConnectionTimeoutMinutes() * 60_000L));
+        Channel previous = channels.put(interviewId, channel);
+        if (previous != null) {
+            synchronized (previous.state) {
+                previous.closed = true;
+                cancelTimer(previous);
+            }
+            completeQuietly(previous.emitter);
+        }
+        synchronized (channel.state) {
+            channel.emitter.onCompletion(() -> release(channel));
+            channel.emitter.onTimeout(() -> release(channel));
+            channel.emitter.onError(e -> release(channel));
+
+            if (state.answeringTimeout) {
+                // 超时代答完成后推送到当前通道，不再计时
+            } else if (state.deadline > 0) {
+                scheduleTimeout(channel);
+            } else {
+                startTimer(channel, state.timeLimitSeconds);
+            }
+            send(channel, EVENT_CONNECTED, InterviewStreamEvent.builder()
+                    .turn(state.turn)
+                    .deadline(state.deadline)
+                    .timeLimitSeconds(state.timeLimitSeconds)
+                    .build());
+        }
+        return channel.emitter;
+    }
+
+    @Override
+    public InterviewMessage submitAnswer(Long interviewId, String message, Long turn) {
+        Channel channel = channels.get(interviewId);
+        if (channel == null) {
+            throw new BusinessException(400, "实时通道未连接");
+        }
+        synchronized (channel.state) {
+            if (channel.closed) {
+                throw new BusinessException(400, "实时通道未连接");
+            }
+            boolean expired = channel.state.deadline > 0 && System.currentTimeMillis() > channel.state.deadline;
+            if (expired || (turn != null && turn != channel.state.turn)) {
+                throw new BusinessException(400, "本轮回答已超时");
+            }
+            cancelTimer(channel);
+            InterviewMessage aiMsg;
+            try {
+                aiMsg = interviewService.processStreamMessage(interviewId, message);
+            } catch (RuntimeException e) {
+                if (channel.state.deadline > 0) {
+                    scheduleTimeout(channel);
+                }
+                throw e;
+            }
+            deliver(channel, aiMsg);
+            return aiMsg;
+        }
+    }
+
+    @Override
+    public void close(Long interviewId) {
+        Channel channel = channels.remove(interviewId);
+        if (channel != null) {
+            closeChannel(channel);
+        }
+    }
+
+    private void closeChannel(Channel channel) {
+        synchronized (channel.state) {
+            if (!channel.closed) {
+                send(channel, EVENT_CLOSED, InterviewStreamEvent.builder().turn(channel.state.turn).build());
+            }
+            channel.closed = true;
+            cancelTimer(channel);
+        }
+        completeQuietly(channel.emitter);
+    }
+
+    /**
+     * 当前已连接的通道数
+     */
+    int channelCount() {
+        return channels.size();
+    }
+
+    SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    // --- 推送 ---
+
+    /**
+     * 开启新的一轮并逐段推送 AI 回复；推送完毕后才开始本轮计时。调用方持有通道锁
+     */
+    private void deliver(Channel channel, InterviewMessage aiMsg) {
+        channel.state.turn++;
+        channel.state.deadline = 0;
+        List<String> chunks = chunk(aiMsg.getContent(), properties.getChunkSize());
+        long turn = channel.state.turn;
+        scheduler.execute(() -> streamChunk(channel, turn, chunks, 0, aiMsg));
+    }
+
+    private void streamChunk(Channel channel, long turn, List<String> chunks, int index, InterviewMessage aiMsg) {
+        synchronized (channel.state) {
+            if (channel.closed || channel.state.turn != turn) {
+                return;
+            }
+            if (index < chunks.size()) {
+                if (send(channel, EVENT_TOKEN, InterviewStreamEvent.builder().turn(turn).text(chunks.get(index)).build())) {
+                    scheduler.schedule(() -> streamChunk(channel, turn, chunks, index + 1, aiMsg),
+                            properties.getChunkIntervalMs(), TimeUnit.MILLISECONDS);
+                }
+                return;
+            }
+            int limit = timeLimitOf(aiMsg);
+            startTimer(channel, limit);
+            send(channel, EVENT_DONE, InterviewStreamEvent.builder()
+                    .turn(turn)
+                    .message(aiMsg)
+                    .deadline(channel.state.deadline)
+                    .timeLimitSeconds(limit)
+                    .build());
+        }
+    }
+
+    private static int timeLimitOf(InterviewMessage aiMsg) {
+        return aiMsg.getTimeLimitSeconds() != null ? aiMsg.getTimeLimitSeconds() : DEFAULT_TIME_LIMIT_SECONDS;
+    }
+
+    /**
+     * 按字符（码点）切分回复
+     */
+    static List<String> chunk(String text, int size) {
+        List<String> chunks = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return chunks;
+        }
+        int step = Math.max(1, size);
+        int start = 0;
+        while (start < text.length()) {
+            int end = start;
+            for (int i = 0; i < step && end < text.length(); i++) {
+                end = text.offsetByCodePoints(end, 1);
+            }
+            chunks.add(text.substring(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * 发送事件；连接已断开时释放通道并返回 false
+     */
+    private boolean send(Channel channel, String name, InterviewStreamEvent data) {
+        try {
+            channel.emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("面试 {} 的实时通道已断开: {}", channel.interviewId, e.getMessage());
+            release(channel);
+            completeQuietly(channel.emitter);
+            return false;
+        }
+    }
+
+    // --- 计时 ---
+
+    private void startTimer(Channel channel, int timeLimitSeconds) {
+        channel.state.timeLimitSeconds = timeLimitSeconds;
+        channel.state.deadline = System.currentTimeMillis() + timeLimitSeconds * 1000L;
+        scheduleTimeout(channel);
+    }
+
+    private void scheduleTimeout(Channel channel) {
+        cancelTimer(channel);
+        long turn = channel.state.turn;
+        long delay = Math.max(0, channel.state.deadline - System.currentTimeMillis());
+        channel.timer = scheduler.schedule(() -> onTurnTimeout(channel, turn), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelTimer(Channel channel) {
+        ScheduledFuture<?> timer = channel.timer;
+        if (timer != null) {
+            timer.cancel(false);
+            channel.timer = null;
+        }
+    }
+
+    /**
+     * 本轮超时：通知客户端，并把超时代答交给代答线程池（截止时间已过，期间客户端的作答会被拒绝）
+     */
+    private void onTurnTimeout(Channel channel, long turn) {
+        InterviewSessionCache.StreamTurn state = channel.state;
+        synchronized (state) {
+            if (channel.closed || state.turn != turn || state.deadline == 0 || state.answeringTimeout) {
+                return;
+            }
+            channel.timer = null;
+            if (!send(channel, EVENT_TIMEOUT, InterviewStreamEvent.builder().turn(turn).build())) {
+                return;
+            }
+            state.answeringTimeout = true;
+        }
+        Long interviewId = channel.interviewId;
+        try {
+            timeoutAnswerExecutor.execute(() -> answerTimeout(interviewId, state, turn));
+        } catch (RejectedExecutionException e) {
+            // 服务正在关闭
+            log.debug("面试 {} 的超时代答未执行: {}", interviewId, e.getMessage());
+        }
+    }
+
+    /**
+     * 在代答线程上以超时回答推进面试，结果回到调度线程推送
+     */
+    private void answerTimeout(Long interviewId, InterviewSessionCache.StreamTurn state, long turn) {
+        InterviewMessage aiMsg;
+        try {
+            aiMsg = interviewService.processStreamMessage(interviewId, properties.getTimeoutAnswer());
+        } catch (RuntimeException e) {
+            log.warn("面试 {} 超时作答处理失败，关闭实时通道: {}", interviewId, e.getMessage());
+            aiMsg = null;
+        }
+        InterviewMessage answer = aiMsg;
+        try {
+            scheduler.execute(() -> finishTimeoutAnswer(interviewId, state, turn, answer));
+        } catch (RejectedExecutionException e) {
+            log.debug("面试 {} 的超时代答结果未推送: {}", interviewId, e.getMessage());
+        }
+    }
+
+    /**
+     * 把代答结果推送到当前通道（期间可能已重连）；代答失败时（面试已结束等）关闭通道，由客户端决定是否重连。
+     * 期间已断线时只推进轮次，重连后从新一轮开始计时，回复可从对话记录中查看
+     */
+    private void finishTimeoutAnswer(Long interviewId, InterviewSessionCache.StreamTurn state, long turn,
+                                     InterviewMessage aiMsg) {
+        synchronized (state) {
+            if (state.turn != turn || !state.answeringTimeout) {
+                return;
+            }
+            state.answeringTimeout = false;
+            Channel channel = channels.get(interviewId);
+            boolean connected = channel != null && channel.state == state && !channel.closed;
+            if (aiMsg == null) {
+                if (connected) {
+                    channels.remove(interviewId, channel);
+                    closeChannel(channel);
+                }
+                return;
+            }
+            if (connected) {
+                deliver(channel, aiMsg);
+                return;
+            }
+            state.turn++;
+            state.deadline = 0;
+            state.timeLimitSeconds = timeLimitOf(aiMsg);
+        }
+    }
+
+    private void release(Channel channel) {
+        channel.closed = true;
+        cancelTimer(channel);
+        channels.remove(channel.interviewId, channel);
+    }
+
+    private static void completeQuietly(SseEmitter emitter) {
+        try {
+            emitter.complete();
+        } catch (RuntimeException ignored) {
+            // 连接已结束
+        }
+    }
+
+    /**
+     * 单个面试的一条实时连接；轮次状态取自面试会话，与重连后的新通道共享，持有其锁时读写
+     */
+    private static final class Channel {
+        final Long interviewId;
+        final InterviewSessionCache.StreamTurn state;
+        final SseEmitter emitter;
+        volatile boolean closed;
+        volatile ScheduledFuture<?> timer;
+
+        Channel(Long interviewId, InterviewSessionCache.StreamTurn state, SseEmitter emitter) {
+            this.interviewId = interviewId;
+            this.state = state;
+            this.emitter = emitter;
+        }
+    }
+}
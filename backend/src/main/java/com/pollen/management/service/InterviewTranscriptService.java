@@ -0,0 +1,37 @@
+package com.pollen.management.service;
+
+import com.pollen.management.entity.InterviewMessage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 面试对话记录服务接口 - 统一读取逐条消息与冷归档两种存储形式，并负责归档
+ */
+public interface InterviewTranscriptService {
+
+    /**
+     * 按时间顺序返回面试的全部对话；已归档的面试从归档中解压
+     */
+    List<InterviewMessage> getTranscript(Long interviewId);
+
+    /**
+     * 批量读取多场面试的对话（两次查询），没有对话的面试对应空列表
+     */
+    Map<Long, List<InterviewMessage>> getTranscripts(Collection<Long> interviewIds);
+
+    /**
+     * 把一场面试的逐条消息压缩为一行归档并删除逐条记录（单独事务）
+     *
+     * @return 归档的消息条数，没有可归档的消息时为 0
+     */
+    int archiveTranscript(Long interviewId);
+
+    /**
+     * 归档所有已结束且超过保留期的面试
+     *
+     * @return 归档的面试数
+     */
+    int archiveCompletedInterviews();
+}
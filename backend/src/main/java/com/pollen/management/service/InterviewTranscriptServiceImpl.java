@@ -0,0 +1,220 @@
+package com.pollen.management.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pollen.management.config.InterviewTranscriptArchiveProperties;
+import com.pollen.management.entity.Interview;
+import com.pollen.management.entity.InterviewMessage;
+import com.pollen.management.entity.InterviewTranscriptArchive;
+import com.pollen.management.entity.enums.InterviewStatus;
+import com.pollen.management.repository.InterviewMessageRepository;
+import com.pollen.management.repository.InterviewRepository;
+import com.pollen.management.repository.InterviewTranscriptArchiveRepository;
+import com.pollen.management.util.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 面试对话记录服务实现。
+ * <p>
+ * 已结束的面试很少再读取对话，定时任务把超过保留期的面试对话编码为 JSON 数组、deflate 压缩后存为
+ * interview_transcript_archives 中的一行，同一事务内删除 interview_messages 中的逐条记录。
+ * 读取时合并两种形式（正常情况下只有其一），对调用方透明。
+ */
+@Service
+@Slf4j
+public class InterviewTranscriptServiceImpl implements InterviewTranscriptService {
+
+    static final String FORMAT_JSON_DEFLATE = "JSON_DEFLATE";
+
+    private static final String CANDIDATES_SQL = "SELECT i.id FROM interviews i "
+            + "WHERE i.status IN ('COMPLETED', 'PENDING_REVIEW', 'REVIEWED') AND i.completed_at < ? AND i.id > ? "
+            + "AND EXISTS (SELECT 1 FROM interview_messages m WHERE m.interview_id = i.id) "
+            + "ORDER BY i.id LIMIT ?";
+
+    private static final TypeReference<List<InterviewMessage>> MESSAGE_LIST = new TypeReference<>() {
+    };
+
+    private final InterviewMessageRepository messageRepository;
+    private final InterviewTranscriptArchiveRepository archiveRepository;
+    private final InterviewRepository interviewRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final InterviewTranscriptArchiveProperties properties;
+
+    public InterviewTranscriptServiceImpl(InterviewMessageRepository messageRepository,
+                                          InterviewTranscriptArchiveRepository archiveRepository,
+                                          InterviewRepository interviewRepository,
+                                          JdbcTemplate jdbcTemplate,
+                                          PlatformTransactionManager transactionManager,
+                                          ObjectMapper objectMapper,
+                                          InterviewTranscriptArchiveProperties properties) {
+        this.messageRepository = messageRepository;
+        this.archiveRepository = archiveRepository;
+        this.interviewRepository = interviewRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    @Override
+    public List<InterviewMessage> getTranscript(Long interviewId) {
+        List<InterviewMessage> rows = messageRepository.findByInterviewIdOrderByTimestamp(interviewId);
+        Optional<InterviewTranscriptArchive> archive = archiveRepository.findByInterviewId(interviewId);
+        if (archive.isEmpty()) {
+            return rows;
+        }
+        List<InterviewMessage> messages = decode(archive.get());
+        if (!rows.isEmpty()) {
+            messages.addAll(rows);
+            messages.sort(Comparator.comparing(InterviewMessage::getTimestamp));
+        }
+        return messages;
+    }
+
+    @Override
+    public Map<Long, List<InterviewMessage>> getTranscripts(Collection<Long> interviewIds) {
+        Map<Long, List<InterviewMessage>> transcripts = new HashMap<>();
+        if (interviewIds.isEmpty()) {
+            return transcripts;
+        }
+        for (Long id : interviewIds) {
+            transcripts.put(id, new ArrayList<>());
+        }
+        List<InterviewTranscriptArchive> archives = archiveRepository.findByInterviewIdIn(interviewIds);
+        for (InterviewTranscriptArchive archive : archives) {
+            transcripts.get(archive.getInterviewId()).addAll(decode(archive));
+        }
+        for (InterviewMessage row : messageRepository.findByInterviewIdInOrderByTimestamp(interviewIds)) {
+            transcripts.get(row.getInterviewId()).add(row);
+        }
+        // 同时存在归档与逐条消息的少见情况需要重新排序
+        for (InterviewTranscriptArchive archive : archives) {
+            transcripts.get(archive.getInterviewId()).sort(Comparator.comparing(InterviewMessage::getTimestamp));
+        }
+        return transcripts;
+    }
+
+    @Override
+    public int archiveTranscript(Long interviewId) {
+        Integer archived = transactionTemplate.execute(status -> {
+            Interview interview = interviewRepository.findById(interviewId)
+                    .orElseThrow(() -> new BusinessException(404, "面试记录不存在"));
+            if (interview.getStatus() == InterviewStatus.NOT_STARTED
+                    || interview.getStatus() == InterviewStatus.IN_PROGRESS) {
+                throw new BusinessException(400, "面试尚未结束，不能归档");
+            }
+            List<InterviewMessage> rows = messageRepository.findByInterviewIdOrderByTimestamp(interviewId);
+            if (rows.isEmpty()) {
+                return 0;
+            }
+
+            // 已有归档时合并（归档后又补写了消息的少见情况）
+            Optional<InterviewTranscriptArchive> existing = archiveRepository.findByInterviewId(interviewId);
+            List<InterviewMessage> messages = new ArrayList<>();
+            existing.ifPresent(a -> messages.addAll(decode(a)));
+            messages.addAll(rows);
+            messages.sort(Comparator.comparing(InterviewMessage::getTimestamp));
+
+            InterviewTranscriptArchive archive = existing.orElseGet(() ->
+                    InterviewTranscriptArchive.builder().interviewId(interviewId).build());
+            encode(archive, messages);
+            archiveRepository.save(archive);
+            messageRepository.deleteAllInBatch(rows);
+            return rows.size();
+        });
+        return archived == null ? 0 : archived;
+    }
+
+    @Override
+    @Scheduled(cron = "${interview.archive.cron:0 30 3 * * ?}")
+    public int archiveCompletedInterviews() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(properties.getMinAgeDays()));
+        int interviews = 0;
+        long messages = 0;
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(CANDIDATES_SQL, Long.class,
+                    cutoff, lastId, properties.getBatchSize());
+            for (Long id : ids) {
+                try {
+                    int count = archiveTranscript(id);
+                    if (count > 0) {
+                        interviews++;
+                        messages += count;
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("面试 {} 对话归档失败，下次重试: {}", id, e.getMessage());
+                }
+            }
+            if (ids.size() < properties.getBatchSize()) {
+                break;
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+        if (interviews > 0) {
+            log.info("面试对话归档完成: {} 场面试，{} 条消息", interviews, messages);
+        }
+        return interviews;
+    }
+
+    // --- 编码 ---
+
+    private void encode(InterviewTranscriptArchive archive, List<InterviewMessage> messages) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(messages);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+            // 调用方传入的 Deflater 不会随流关闭释放本地内存，需自行 end
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try (OutputStream out = new DeflaterOutputStream(buffer, deflater)) {
+                out.write(json);
+            } finally {
+                deflater.end();
+            }
+            archive.setFormat(FORMAT_JSON_DEFLATE);
+            archive.setMessageCount(messages.size());
+            archive.setRawSize(json.length);
+            archive.setContent(buffer.toByteArray());
+        } catch (IOException e) {
+            throw new BusinessException(500, "面试对话归档编码失败: " + e.getMessage());
+        }
+    }
+
+    List<InterviewMessage> decode(InterviewTranscriptArchive archive) {
+        if (!FORMAT_JSON_DEFLATE.equals(archive.getFormat())) {
+            throw new BusinessException(500, "不支持的面试对话归档格式: " + archive.getFormat());
+        }
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(archive.getContent()))) {
+            return new ArrayList<>(objectMapper.readValue(in, MESSAGE_LIST));
+        } catch (IOException e) {
+            throw new BusinessException(500, "面试对话归档解码失败: " + e.getMessage());
+        }
+    }
+}
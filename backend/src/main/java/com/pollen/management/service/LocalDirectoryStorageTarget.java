@@ -0,0 +1,193 @@
+package com.pollen.management.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * 本地（或挂载的网络）目录存储目标。
+ * <p>
+ * 分块写入 {@code .uploads/<上传 ID>/} 下，先写临时文件再原子改名，避免半截分块被当作已上传；
+ * 完成时按分块号拼接并重新计算 MD5 / SHA-256，校验通过后原子移动到目标位置，
+ * 旁边写一份 {@code .sha256} 文件供后续判断对象是否已同步。
+ */
+public class LocalDirectoryStorageTarget implements BackupStorageTarget {
+
+    private static final String UPLOADS_DIR = ".uploads";
+    private static final String PART_SUFFIX = ".part";
+    private static final String SHA256_SUFFIX = ".sha256";
+
+    private final Path root;
+
+    public LocalDirectoryStorageTarget(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String getName() {
+        return "local:" + root;
+    }
+
+    @Override
+    public boolean exists(String key, String sha256) throws IOException {
+        Path object = resolve(key);
+        Path checksum = sidecarOf(object);
+        return Files.isRegularFile(object) && Files.isRegularFile(checksum)
+                && Files.readString(checksum, StandardCharsets.UTF_8).trim().equalsIgnoreCase(sha256);
+    }
+
+    @Override
+    public String initiateUpload(String key, String sha256) throws IOException {
+        resolve(key);
+        String uploadId = UUID.randomUUID().toString();
+        Files.createDirectories(uploadDir(uploadId));
+        return uploadId;
+    }
+
+    @Override
+    public Map<Integer, String> listParts(String key, String uploadId) throws IOException {
+        Path dir = uploadDir(uploadId);
+        if (!Files.isDirectory(dir)) {
+            return null;
+        }
+        Map<Integer, String> parts = new HashMap<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(PART_SUFFIX)) {
+                    int partNumber = Integer.parseInt(name.substring(0, name.length() - PART_SUFFIX.length()));
+                    parts.put(partNumber, md5Hex(Files.readAllBytes(file)));
+                }
+            }
+        }
+        return parts;
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, byte[] data) throws IOException {
+        Path dir = uploadDir(uploadId);
+        if (!Files.isDirectory(dir)) {
+            throw new IOException("上传不存在或已结束: " + uploadId);
+        }
+        Path tmp = Files.createTempFile(dir, partNumber + "-", ".tmp");
+        try {
+            Files.write(tmp, data);
+            move(tmp, dir.resolve(partNumber + PART_SUFFIX));
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return md5Hex(data);
+    }
+
+    @Override
+    public void completeUpload(String key, String uploadId, SortedMap<Integer, String> partMd5s, String sha256)
+            throws IOException {
+        Path object = resolve(key);
+        Path dir = uploadDir(uploadId);
+        if (!Files.isDirectory(dir)) {
+            throw new IOException("上传不存在或已结束: " + uploadId);
+        }
+        Path assembled = dir.resolve("object.tmp");
+        MessageDigest objectDigest = digest("SHA-256");
+        try (OutputStream out = new DigestOutputStream(Files.newOutputStream(assembled), objectDigest)) {
+            for (Map.Entry<Integer, String> part : partMd5s.entrySet()) {
+                Path partFile = dir.resolve(part.getKey() + PART_SUFFIX);
+                if (!Files.isRegularFile(partFile)) {
+                    throw new IOException("缺少分块 " + part.getKey());
+                }
+                MessageDigest partDigest = digest("MD5");
+                try (InputStream in = Files.newInputStream(partFile)) {
+                    byte[] buffer = new byte[64 * 1024];
+                    int n;
+                    while ((n = in.read(buffer)) != -1) {
+                        partDigest.update(buffer, 0, n);
+                        out.write(buffer, 0, n);
+                    }
+                }
+                if (!HexFormat.of().formatHex(partDigest.digest()).equalsIgnoreCase(part.getValue())) {
+                    throw new IOException("分块 " + part.getKey() + " 校验失败");
+                }
+            }
+        }
+        String actual = HexFormat.of().formatHex(objectDigest.digest());
+        if (!actual.equalsIgnoreCase(sha256)) {
+            throw new IOException("对象校验失败: 期望 " + sha256 + "，实际 " + actual);
+        }
+        Files.createDirectories(object.getParent());
+        move(assembled, object);
+        Files.writeString(sidecarOf(object), actual, StandardCharsets.UTF_8);
+        deleteRecursively(dir);
+    }
+
+    @Override
+    public void abortUpload(String key, String uploadId) throws IOException {
+        deleteRecursively(uploadDir(uploadId));
+    }
+
+    private Path resolve(String key) throws IOException {
+        Path object = root.resolve(key).normalize();
+        if (!object.startsWith(root) || object.equals(root) || object.startsWith(root.resolve(UPLOADS_DIR))) {
+            throw new IOException("非法对象键: " + key);
+        }
+        return object;
+    }
+
+    private Path uploadDir(String uploadId) throws IOException {
+        Path dir = root.resolve(UPLOADS_DIR).resolve(uploadId).normalize();
+        if (!dir.getParent().equals(root.resolve(UPLOADS_DIR))) {
+            throw new IOException("非法上传 ID: " + uploadId);
+        }
+        return dir;
+    }
+
+    private static Path sidecarOf(Path object) {
+        return Paths.get(object + SHA256_SUFFIX);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static String md5Hex(byte[] data) {
+        return HexFormat.of().formatHex(digest("MD5").digest(data));
+    }
+
+    private static MessageDigest digest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
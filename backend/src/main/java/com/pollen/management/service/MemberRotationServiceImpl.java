@@ -39,6 +39,7 @@ public class MemberRotationServiceImpl implements MemberRotationService {
     private final SalaryRecordRepository salaryRecordRepository;
     private final RoleChangeHistoryRepository roleChangeHistoryRepository;
     private final SalaryConfigService salaryConfigService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     public List<User> checkPromotionEligibility() {
@@ -110,6 +111,10 @@ public class MemberRotationServiceImpl implements MemberRotationService {
         userRepository.save(intern);
         userRepository.save(formalMember);
 
+        // 角色已变更，旧 Token 中的角色声明失效
+        tokenRevocationService.revokeUserTokens(intern.getId());
+        tokenRevocationService.revokeUserTokens(formalMember.getId());
+
         // 记录角色变更历史
         roleChangeHistoryRepository.save(RoleChangeHistory.builder()
                 .userId(intern.getId())
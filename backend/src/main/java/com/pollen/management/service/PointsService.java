@@ -3,6 +3,7 @@ package com.pollen.management.service;
 import com.pollen.management.entity.PointsRecord;
 import com.pollen.management.entity.enums.PointsType;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,6 +16,14 @@ public interface PointsService {
      */
     PointsRecord addPoints(Long userId, PointsType pointsType, int amount, String description);
 
+    /**
+     * 批量增加积分：为每个用户创建一条相同类型、数额的积分变动记录
+     * 一次校验用户、一次批量插入、缓存只失效一次；任一用户不存在时整批拒绝
+     *
+     * @return 写入的记录数
+     */
+    int addPointsBatch(Collection<Long> userIds, PointsType pointsType, int amount, String description);
+
     /**
      * 扣减积分：创建负数积分变动记录
      */
@@ -9,17 +9,30 @@ import com.pollen.management.util.BusinessException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class PointsServiceImpl implements PointsService {
 
+    private static final String INSERT_SQL = "INSERT INTO points_records "
+            + "(user_id, points_type, amount, description, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final int IN_CLAUSE_CHUNK = 500;
+
     private final PointsRecordRepository pointsRecordRepository;
     private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     @Transactional
@@ -44,6 +57,42 @@ public class PointsServiceImpl implements PointsService {
         return pointsRecordRepository.save(record);
     }
 
+    @Override
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(value = RedisConfig.CACHE_DASHBOARD, allEntries = true),
+        @CacheEvict(value = RedisConfig.CACHE_MEMBERS, allEntries = true)
+    })
+    public int addPointsBatch(Collection<Long> userIds, PointsType pointsType, int amount, String description) {
+        if (amount <= 0) {
+            throw new BusinessException(400, "增加积分数额必须为正数");
+        }
+        validateAmountRange(pointsType, amount);
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(userIds);
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CLAUSE_CHUNK));
+            existing.addAll(userRepository.findExistingIds(chunk));
+        }
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        missing.removeAll(existing);
+        if (!missing.isEmpty()) {
+            throw new BusinessException(404, "用户不存在: " + missing);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(ids.size());
+        for (Long userId : ids) {
+            args.add(new Object[]{userId, pointsType.name(), amount, description, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+        return args.size();
+    }
+
     @Override
     @Transactional
     @Caching(evict = {
@@ -0,0 +1,22 @@
+package com.pollen.management.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 规则回复提供者（默认）- 按场景分类的关键词规则选取回复，同时作为其他提供者的回退
+ */
+@Component
+public class RuleBasedResponseProvider implements InterviewResponseProvider {
+
+    public static final String NAME = "rules";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String generateReply(InterviewReplyContext context) {
+        return context.getMatcher().selectResponse(context.getHits());
+    }
+}
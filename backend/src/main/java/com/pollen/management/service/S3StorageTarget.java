@@ -0,0 +1,224 @@
+package com.pollen.management.service;
+
+import com.pollen.management.util.AwsSignatureV4;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * S3 兼容对象存储目标（AWS S3、MinIO 等），使用 S3 分块上传（Multipart Upload）接口。
+ * <p>
+ * 只依赖 JDK 的 HttpClient，请求按 Signature V4 签名并携带真实负载 SHA-256，
+ * 分块附带 Content-MD5 由服务端校验传输完整性；完成后核对服务端返回的组合 ETag
+ * （各分块 MD5 拼接后再取 MD5，加 "-分块数"），确认对象正是由本次上传的分块按顺序组成。
+ * 对象元数据 x-amz-meta-sha256 记录整个文件的 SHA-256，用于判断对象是否已同步。
+ * 使用路径风格地址（endpoint/bucket/key），MinIO 默认即为该风格。
+ */
+public class S3StorageTarget implements BackupStorageTarget {
+
+    private static final String SHA256_META = "x-amz-meta-sha256";
+
+    private final URI endpoint;
+    private final String bucket;
+    private final AwsSignatureV4 signer;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+
+    public S3StorageTarget(String endpoint, String region, String bucket, String accessKey, String secretKey,
+                           Duration timeout) {
+        this.endpoint = URI.create(endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint);
+        this.bucket = bucket;
+        this.signer = new AwsSignatureV4(accessKey, secretKey, region, "s3");
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return "s3:" + endpoint + "/" + bucket;
+    }
+
+    @Override
+    public boolean exists(String key, String sha256) throws IOException {
+        HttpResponse<byte[]> response = send("HEAD", key, null, Map.of(), null);
+        if (response.statusCode() == 404) {
+            return false;
+        }
+        ensureSuccess("HEAD", response);
+        return response.headers().firstValue(SHA256_META).map(sha256::equalsIgnoreCase).orElse(false);
+    }
+
+    @Override
+    public String initiateUpload(String key, String sha256) throws IOException {
+        HttpResponse<byte[]> response = send("POST", key, "uploads", Map.of(SHA256_META, sha256), null);
+        ensureSuccess("InitiateMultipartUpload", response);
+        String uploadId = text(parse(response.body()).getDocumentElement(), "UploadId");
+        if (uploadId == null || uploadId.isEmpty()) {
+            throw new IOException("InitiateMultipartUpload 未返回 UploadId");
+        }
+        return uploadId;
+    }
+
+    @Override
+    public Map<Integer, String> listParts(String key, String uploadId) throws IOException {
+        Map<Integer, String> parts = new HashMap<>();
+        String marker = null;
+        while (true) {
+            String query = "uploadId=" + AwsSignatureV4.encode(uploadId, false)
+                    + (marker != null ? "&part-number-marker=" + marker : "");
+            HttpResponse<byte[]> response = send("GET", key, query, Map.of(), null);
+            if (response.statusCode() == 404) {
+                return null;
+            }
+            ensureSuccess("ListParts", response);
+            Element result = parse(response.body()).getDocumentElement();
+            NodeList nodes = result.getElementsByTagName("Part");
+            for (int i = 0; i < nodes.getLength(); i++) {
+                Element part = (Element) nodes.item(i);
+                parts.put(Integer.parseInt(text(part, "PartNumber")), unquote(text(part, "ETag")));
+            }
+            if (!"true".equals(text(result, "IsTruncated"))) {
+                return parts;
+            }
+            marker = text(result, "NextPartNumberMarker");
+            if (marker == null || marker.isEmpty()) {
+                throw new IOException("ListParts 分页缺少 NextPartNumberMarker");
+            }
+        }
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, byte[] data) throws IOException {
+        String query = "partNumber=" + partNumber + "&uploadId=" + AwsSignatureV4.encode(uploadId, false);
+        String contentMd5 = Base64.getEncoder().encodeToString(digest("MD5").digest(data));
+        HttpResponse<byte[]> response = send("PUT", key, query, Map.of("Content-MD5", contentMd5), data);
+        ensureSuccess("UploadPart", response);
+        return response.headers().firstValue("ETag").map(S3StorageTarget::unquote)
+                .orElseThrow(() -> new IOException("UploadPart 未返回 ETag"));
+    }
+
+    @Override
+    public void completeUpload(String key, String uploadId, SortedMap<Integer, String> partMd5s, String sha256)
+            throws IOException {
+        StringBuilder xml = new StringBuilder("<CompleteMultipartUpload>");
+        MessageDigest composite = digest("MD5");
+        for (Map.Entry<Integer, String> part : partMd5s.entrySet()) {
+            xml.append("<Part><PartNumber>").append(part.getKey()).append("</PartNumber><ETag>\"")
+                    .append(part.getValue()).append("\"</ETag></Part>");
+            composite.update(HexFormat.of().parseHex(part.getValue()));
+        }
+        xml.append("</CompleteMultipartUpload>");
+
+        String query = "uploadId=" + AwsSignatureV4.encode(uploadId, false);
+        HttpResponse<byte[]> response = send("POST", key, query, Map.of(),
+                xml.toString().getBytes(StandardCharsets.UTF_8));
+        ensureSuccess("CompleteMultipartUpload", response);
+        // 合并失败时 S3 仍可能返回 200，错误放在响应体中
+        Element result = parse(response.body()).getDocumentElement();
+        if ("Error".equals(result.getTagName())) {
+            throw new IOException("CompleteMultipartUpload 失败: " + text(result, "Code") + " " + text(result, "Message"));
+        }
+        String expected = HexFormat.of().formatHex(composite.digest()) + "-" + partMd5s.size();
+        String actual = unquote(text(result, "ETag"));
+        if (!expected.equalsIgnoreCase(actual)) {
+            throw new IOException("对象校验失败: 期望 ETag " + expected + "，实际 " + actual);
+        }
+    }
+
+    @Override
+    public void abortUpload(String key, String uploadId) throws IOException {
+        HttpResponse<byte[]> response = send("DELETE", key,
+                "uploadId=" + AwsSignatureV4.encode(uploadId, false), Map.of(), null);
+        if (response.statusCode() != 404) {
+            ensureSuccess("AbortMultipartUpload", response);
+        }
+    }
+
+    private HttpResponse<byte[]> send(String method, String key, String query, Map<String, String> headers,
+                                      byte[] body) throws IOException {
+        URI uri = URI.create(endpoint + "/" + AwsSignatureV4.encode(bucket, false) + "/"
+                + AwsSignatureV4.encode(key, true) + (query != null ? "?" + query : ""));
+        String payloadSha256 = body != null ? AwsSignatureV4.sha256Hex(body) : AwsSignatureV4.EMPTY_PAYLOAD_SHA256;
+
+        Map<String, String> allHeaders = new LinkedHashMap<>(headers);
+        allHeaders.putAll(signer.sign(method, uri, headers, payloadSha256, Instant.now()));
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .method(method, body != null
+                        ? HttpRequest.BodyPublishers.ofByteArray(body)
+                        : HttpRequest.BodyPublishers.noBody());
+        allHeaders.forEach(request::header);
+        try {
+            return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("请求被中断: " + method + " " + uri, e);
+        }
+    }
+
+    private static void ensureSuccess(String operation, HttpResponse<byte[]> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            String body = response.body() != null ? new String(response.body(), StandardCharsets.UTF_8) : "";
+            throw new IOException(operation + " 失败: HTTP " + response.statusCode()
+                    + (body.isEmpty() ? "" : " " + body.substring(0, Math.min(body.length(), 200))));
+        }
+    }
+
+    private static Document parse(byte[] xml) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+            return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("无法解析 S3 响应", e);
+        }
+    }
+
+    private static String text(Element parent, String tag) {
+        NodeList nodes = parent.getElementsByTagName(tag);
+        return nodes.getLength() > 0 ? nodes.item(0).getTextContent().trim() : null;
+    }
+
+    private static String unquote(String etag) {
+        if (etag == null) {
+            return null;
+        }
+        return etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")
+                ? etag.substring(1, etag.length() - 1) : etag;
+    }
+
+    private static MessageDigest digest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.InterviewResponseProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 本地桩提供者 - 模拟远程模型的响应延迟，回复内容沿用规则回复。
+ * 用于在没有真实模型的环境下验证超时、并发上限与缓存，以及离线压测。
+ */
+@Component
+public class StubResponseProvider implements InterviewResponseProvider {
+
+    public static final String NAME = "stub";
+
+    private final InterviewResponseProperties properties;
+
+    public StubResponseProvider(InterviewResponseProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String generateReply(InterviewReplyContext context) {
+        long jitter = properties.getStubJitterMs() > 0
+                ? ThreadLocalRandom.current().nextLong(properties.getStubJitterMs() + 1) : 0;
+        try {
+            Thread.sleep(properties.getStubLatencyMs() + jitter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        return context.getMatcher().selectResponse(context.getHits());
+    }
+}
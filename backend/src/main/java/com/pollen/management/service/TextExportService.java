@@ -0,0 +1,25 @@
+package com.pollen.management.service;
+
+import com.pollen.management.entity.enums.ApplicationStatus;
+import com.pollen.management.entity.enums.ExportFormat;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * CSV / NDJSON 文本导出服务：直接从 JDBC 游标读取列值写入输出流，不构建实体对象。
+ * 输出流由调用方负责关闭。
+ */
+public interface TextExportService {
+
+    /**
+     * 导出报表数据（members/points/salary/activities），起止日期为空时导出全部
+     */
+    void exportReport(String dataType, LocalDate startDate, LocalDate endDate,
+                      ExportFormat format, OutputStream out);
+
+    /**
+     * 导出报名数据，status 为空时导出全部
+     */
+    void exportApplications(ApplicationStatus status, ExportFormat format, OutputStream out);
+}
@@ -0,0 +1,119 @@
+package com.pollen.management.service;
+
+import com.pollen.management.entity.enums.ApplicationStatus;
+import com.pollen.management.entity.enums.ExportFormat;
+import com.pollen.management.util.ExportDataset;
+import com.pollen.management.util.StreamingTextWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * CSV / NDJSON 文本导出服务实现。
+ * <ul>
+ *   <li>每个数据集一条 SQL，结果集只进只读；MySQL 下 fetchSize 设为 Integer.MIN_VALUE 逐行流式读取</li>
+ *   <li>列定义来自 {@link ExportDatasets}，按列类型直接从 ResultSet 读取并写入复用缓冲区，不经过 JPA 实体</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class TextExportServiceImpl implements TextExportService {
+
+    static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Integer fetchSize;
+
+    @Autowired
+    public TextExportServiceImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 用于测试的构造函数（指定 fetchSize，不探测数据库类型）
+     */
+    TextExportServiceImpl(JdbcTemplate jdbcTemplate, int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void exportReport(String dataType, LocalDate startDate, LocalDate endDate,
+                             ExportFormat format, OutputStream out) {
+        ExportDataset<?> dataset = ExportDatasets.findReport(dataType);
+        if (dataset == null) {
+            throw new IllegalArgumentException("Unsupported data type: " + dataType);
+        }
+        if (startDate != null && endDate != null) {
+            write(dataset, dataset.getSelectSql() + " WHERE created_at BETWEEN ? AND ? ORDER BY created_at, id", format, out,
+                    Timestamp.valueOf(startDate.atStartOfDay()), Timestamp.valueOf(endDate.atTime(LocalTime.MAX)));
+        } else {
+            write(dataset, dataset.getSelectSql() + " ORDER BY id", format, out);
+        }
+    }
+
+    @Override
+    public void exportApplications(ApplicationStatus status, ExportFormat format, OutputStream out) {
+        ExportDataset<?> dataset = ExportDatasets.APPLICATIONS;
+        if (status != null) {
+            write(dataset, dataset.getSelectSql() + " WHERE status = ? ORDER BY created_at DESC, id DESC",
+                    format, out, status.name());
+        } else {
+            write(dataset, dataset.getSelectSql() + " ORDER BY created_at DESC, id DESC", format, out);
+        }
+    }
+
+    private void write(ExportDataset<?> dataset, String sql, ExportFormat format, OutputStream out, Object... params) {
+        int resolvedFetchSize = resolveFetchSize();
+        PreparedStatementCreator creator = connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(resolvedFetchSize);
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            return ps;
+        };
+        try (StreamingTextWriter writer = new StreamingTextWriter(out, format, dataset.getHeaders(), dataset.getKeys())) {
+            jdbcTemplate.query(creator, rs -> {
+                try {
+                    dataset.writeRow(rs, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export " + dataset.getName() + " " + format, e);
+        }
+    }
+
+    /**
+     * MySQL Connector/J 只有 fetchSize = Integer.MIN_VALUE 时才逐行流式读取，其他驱动使用普通批量 fetch
+     */
+    private int resolveFetchSize() {
+        Integer size = fetchSize;
+        if (size == null) {
+            size = jdbcTemplate.execute(TextExportServiceImpl::streamingFetchSize);
+            fetchSize = size;
+        }
+        return size;
+    }
+
+    static int streamingFetchSize(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        return product != null && product.toLowerCase().contains("mysql") ? Integer.MIN_VALUE : DEFAULT_FETCH_SIZE;
+    }
+}
@@ -0,0 +1,27 @@
+package com.pollen.management.service;
+
+import com.pollen.management.security.JwtClaims;
+
+/**
+ * Token 吊销服务：吊销记录保存在 Redis，并镜像到每个节点的内存中，
+ * 认证热路径上的吊销检查不产生任何网络调用。
+ */
+public interface TokenRevocationService {
+
+    /**
+     * 判断 Token 是否已被吊销（纯内存检查）。
+     */
+    boolean isRevoked(JwtClaims claims);
+
+    /**
+     * 吊销单个 Token（如登出）。
+     * @param tokenId   Token 的 jti
+     * @param expiresAt Token 过期时间（毫秒时间戳），过期后吊销记录自动清理
+     */
+    void revokeToken(String tokenId, long expiresAt);
+
+    /**
+     * 吊销用户在此刻之前签发的所有 Token（禁用、删除或角色变更时调用）。
+     */
+    void revokeUserTokens(Long userId);
+}
@@ -0,0 +1,312 @@
+package com.pollen.management.service;
+
+import com.pollen.management.security.JwtClaims;
+import com.pollen.management.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token 吊销服务实现。
+ * <ul>
+ *   <li>单 Token 吊销：Redis ZSET {@value #REDIS_TOKENS_KEY}（member=jti，score=过期时间）</li>
+ *   <li>用户级吊销：Redis HASH {@value #REDIS_USERS_KEY}（userId → 吊销水位线），
+ *       签发时间不晚于水位线的 Token 全部失效</li>
+ *   <li>变更通过频道 {@value #CHANNEL} 广播，各节点更新本地布隆过滤器与精确集合</li>
+ *   <li>Redis 不可用时退化为单节点内存模式；定时任务重新探测，恢复后先把本节点的吊销记录补写到 Redis</li>
+ * </ul>
+ * 水位线与 Token 的签发时间都精确到毫秒（{@code iatMs} 声明），吊销后立即重新登录得到的 Token 不受影响；
+ * 只有秒级 iat 的旧 Token 与水位线同一秒内签发时也视为已吊销（宁严勿宽）。
+ * 在事务内调用时，吊销在事务提交后才生效和广播，回滚的变更不会让用户下线。
+ */
+@Service
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    static final String REDIS_TOKENS_KEY = "token_revocation:tokens";
+    static final String REDIS_USERS_KEY = "token_revocation:users";
+    static final String CHANNEL = "token_revocation:events";
+
+    static final int BLOOM_EXPECTED_INSERTIONS = 10_000;
+    static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    private final StringRedisTemplate redisTemplate;
+    private final long tokenLifetimeMs;
+
+    // jti → 过期时间
+    private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // userId → 吊销水位线
+    private final ConcurrentHashMap<Long, Long> userWatermarks = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter tokenBloom = newBloom(0);
+    private volatile boolean redisAvailable;
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    public TokenRevocationServiceImpl(StringRedisTemplate redisTemplate,
+                                      @Value("${jwt.expiration}") long tokenLifetimeMs) {
+        this.redisTemplate = redisTemplate;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+    }
+
+    /**
+     * 用于测试的构造函数（无 Redis）
+     */
+    TokenRevocationServiceImpl(long tokenLifetimeMs) {
+        this(null, tokenLifetimeMs);
+    }
+
+    @PostConstruct
+    void init() {
+        connectRedis();
+        if (!redisAvailable) {
+            log.info("Redis 不可用，Token 吊销列表使用内存模式，之后定时重新探测");
+        }
+    }
+
+    /**
+     * 切换到 Redis 同步模式：合并 Redis 中的吊销记录，补写内存模式期间本节点的吊销，再订阅频道
+     */
+    private void connectRedis() {
+        if (!checkRedisAvailable()) {
+            return;
+        }
+        try {
+            loadFromRedis();
+            revokedTokens.forEach((tokenId, expiresAt) ->
+                    redisTemplate.opsForZSet().add(REDIS_TOKENS_KEY, tokenId, expiresAt));
+            userWatermarks.forEach((userId, watermark) ->
+                    redisTemplate.opsForHash().put(REDIS_USERS_KEY, userId.toString(), Long.toString(watermark)));
+            if (listenerContainer == null) {
+                subscribe();
+            }
+            redisAvailable = true;
+        } catch (Exception e) {
+            log.warn("Token 吊销列表同步失败，使用内存模式: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (listenerContainer != null) {
+            try {
+                listenerContainer.destroy();
+            } catch (Exception e) {
+                log.debug("关闭吊销频道监听失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean isRevoked(JwtClaims claims) {
+        Long userId = claims.getUserId();
+        if (userId != null) {
+            Long watermark = userWatermarks.get(userId);
+            if (watermark != null && claims.getIssuedAt() <= watermark) {
+                return true;
+            }
+        }
+        String tokenId = claims.getTokenId();
+        if (tokenId == null || !tokenBloom.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokens.containsKey(tokenId);
+    }
+
+    @Override
+    public void revokeToken(String tokenId, long expiresAt) {
+        if (tokenId == null || expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        afterCommit(() -> publishTokenRevocation(tokenId, expiresAt));
+    }
+
+    private void publishTokenRevocation(String tokenId, long expiresAt) {
+        applyTokenRevocation(tokenId, expiresAt);
+        if (redisAvailable) {
+            try {
+                redisTemplate.opsForZSet().add(REDIS_TOKENS_KEY, tokenId, expiresAt);
+                redisTemplate.convertAndSend(CHANNEL, "T|" + tokenId + "|" + expiresAt);
+            } catch (Exception e) {
+                log.warn("Token 吊销写入 Redis 失败，仅本节点生效: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void revokeUserTokens(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        afterCommit(() -> publishUserWatermark(userId));
+    }
+
+    private void publishUserWatermark(Long userId) {
+        long watermark = System.currentTimeMillis();
+        applyUserWatermark(userId, watermark);
+        if (redisAvailable) {
+            try {
+                redisTemplate.opsForHash().put(REDIS_USERS_KEY, userId.toString(), Long.toString(watermark));
+                redisTemplate.convertAndSend(CHANNEL, "U|" + userId + "|" + watermark);
+            } catch (Exception e) {
+                log.warn("用户 Token 吊销写入 Redis 失败，仅本节点生效: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 当前线程有活动事务时推迟到提交后执行，否则立即执行
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 定时清理过期吊销记录并重建布隆过滤器；Redis 可用时顺带全量对账，弥补丢失的广播消息，不可用时重新探测。
+     */
+    @Scheduled(fixedRate = 60_000)
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(exp -> exp <= now);
+        userWatermarks.values().removeIf(wm -> wm + tokenLifetimeMs <= now);
+
+        if (!redisAvailable && redisTemplate != null) {
+            connectRedis();
+        } else if (redisAvailable) {
+            try {
+                redisTemplate.opsForZSet().removeRangeByScore(REDIS_TOKENS_KEY, 0, now);
+                loadFromRedis();
+            } catch (Exception e) {
+                log.warn("Token 吊销列表对账失败: {}", e.getMessage());
+            }
+        }
+        rebuildBloom();
+    }
+
+    /**
+     * 处理其他节点广播的吊销消息
+     */
+    void onMessage(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length != 3) {
+            return;
+        }
+        try {
+            if ("T".equals(parts[0])) {
+                applyTokenRevocation(parts[1], Long.parseLong(parts[2]));
+            } else if ("U".equals(parts[0])) {
+                applyUserWatermark(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("忽略格式错误的吊销消息: {}", message);
+        }
+    }
+
+    private void applyTokenRevocation(String tokenId, long expiresAt) {
+        // 先写精确集合再写布隆过滤器，重建过滤器时不会漏掉并发写入
+        revokedTokens.merge(tokenId, expiresAt, Math::max);
+        tokenBloom.put(tokenId);
+    }
+
+    private void applyUserWatermark(Long userId, long watermark) {
+        userWatermarks.merge(userId, watermark, Math::max);
+    }
+
+    private void loadFromRedis() {
+        long now = System.currentTimeMillis();
+        Set<ZSetOperations.TypedTuple<String>> tokens =
+                redisTemplate.opsForZSet().rangeByScoreWithScores(REDIS_TOKENS_KEY, now, Double.MAX_VALUE);
+        if (tokens != null) {
+            for (ZSetOperations.TypedTuple<String> tuple : tokens) {
+                if (tuple.getValue() != null && tuple.getScore() != null) {
+                    applyTokenRevocation(tuple.getValue(), tuple.getScore().longValue());
+                }
+            }
+        }
+
+        Map<Object, Object> users = redisTemplate.opsForHash().entries(REDIS_USERS_KEY);
+        for (Map.Entry<Object, Object> entry : users.entrySet()) {
+            long watermark = Long.parseLong(entry.getValue().toString());
+            if (watermark + tokenLifetimeMs <= now) {
+                redisTemplate.opsForHash().delete(REDIS_USERS_KEY, entry.getKey());
+            } else {
+                applyUserWatermark(Long.parseLong(entry.getKey().toString()), watermark);
+            }
+        }
+    }
+
+    /**
+     * 订阅吊销频道（包级可见，测试中替换）
+     */
+    void subscribe() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisTemplate.getConnectionFactory());
+        container.addMessageListener(
+                (message, pattern) -> onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        listenerContainer = container;
+    }
+
+    private void rebuildBloom() {
+        BloomFilter rebuilt = newBloom(revokedTokens.size());
+        revokedTokens.keySet().forEach(rebuilt::put);
+        tokenBloom = rebuilt;
+        // 切换后再补一遍，覆盖重建期间写入旧过滤器的 jti
+        revokedTokens.keySet().forEach(rebuilt::put);
+    }
+
+    private static BloomFilter newBloom(int size) {
+        return new BloomFilter(Math.max(BLOOM_EXPECTED_INSERTIONS, size * 2), BLOOM_FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * 检查 Redis 是否可用
+     */
+    private boolean checkRedisAvailable() {
+        if (redisTemplate == null) {
+            return false;
+        }
+        try {
+            redisTemplate.getConnectionFactory().getConnection().ping();
+            log.info("Redis 可用，Token 吊销列表使用 Redis 同步模式");
+            return true;
+        } catch (Exception e) {
+            // 内存模式下定时重新探测，失败不逐次刷日志
+            log.debug("Redis 探测失败: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 设置 Redis 可用状态（用于测试）
+     */
+    void setRedisAvailable(boolean available) {
+        this.redisAvailable = available;
+    }
+}
@@ -0,0 +1,166 @@
+package com.pollen.management.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick 多模式匹配器：一次扫描文本即可得到所有命中的关键词分组。
+ * <p>
+ * 每个关键词归属一个分组（0~63），{@link #match(CharSequence)} 返回命中分组的位掩码。
+ * 匹配忽略大小写；构建后不可变，可被多线程共享。
+ */
+public final class AhoCorasickMatcher {
+
+    /** 最多支持的分组数（位掩码宽度） */
+    public static final int MAX_GROUPS = Long.SIZE;
+
+    /** 每个状态的出边字符（升序，二分查找） */
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+    /** 到达该状态时命中的分组（已合并失败链上的输出） */
+    private final long[] output;
+    private final long allGroups;
+
+    private AhoCorasickMatcher(char[][] edgeChars, int[][] edgeTargets, int[] fail, long[] output, long allGroups) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.output = output;
+        this.allGroups = allGroups;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 扫描文本，返回命中分组的位掩码（第 i 位为 1 表示分组 i 至少命中一个关键词）
+     */
+    public long match(CharSequence text) {
+        if (text == null) {
+            return 0L;
+        }
+        long hits = 0L;
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next;
+            while ((next = transition(state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = Math.max(next, 0);
+            hits |= output[state];
+            if (hits == allGroups) {
+                break;
+            }
+        }
+        return hits;
+    }
+
+    private int transition(int state, char c) {
+        char[] chars = edgeChars[state];
+        int lo = 0;
+        int hi = chars.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char m = chars[mid];
+            if (m < c) {
+                lo = mid + 1;
+            } else if (m > c) {
+                hi = mid - 1;
+            } else {
+                return edgeTargets[state][mid];
+            }
+        }
+        return -1;
+    }
+
+    public static final class Builder {
+
+        private final List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        private final List<Long> outputs = new ArrayList<>();
+        private long allGroups;
+
+        private Builder() {
+            newNode();
+        }
+
+        /**
+         * 添加关键词；空白关键词会被忽略
+         *
+         * @param keyword 关键词
+         * @param group   分组编号（0~63）
+         */
+        public Builder add(String keyword, int group) {
+            if (group < 0 || group >= MAX_GROUPS) {
+                throw new IllegalArgumentException("关键词分组超出范围: " + group);
+            }
+            if (keyword == null || keyword.isBlank()) {
+                return this;
+            }
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = Character.toLowerCase(keyword.charAt(i));
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = newNode();
+                    children.get(state).put(c, next);
+                }
+                state = next;
+            }
+            outputs.set(state, outputs.get(state) | (1L << group));
+            allGroups |= 1L << group;
+            return this;
+        }
+
+        public AhoCorasickMatcher build() {
+            int size = children.size();
+            char[][] edgeChars = new char[size][];
+            int[][] edgeTargets = new int[size][];
+            int[] fail = new int[size];
+            long[] output = new long[size];
+            for (int s = 0; s < size; s++) {
+                TreeMap<Character, Integer> edges = children.get(s);
+                edgeChars[s] = new char[edges.size()];
+                edgeTargets[s] = new int[edges.size()];
+                int k = 0;
+                for (Map.Entry<Character, Integer> e : edges.entrySet()) {
+                    edgeChars[s][k] = e.getKey();
+                    edgeTargets[s][k++] = e.getValue();
+                }
+                output[s] = outputs.get(s);
+            }
+
+            // BFS 计算失败指针，父节点先于子节点完成，输出沿失败链合并
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int target : edgeTargets[0]) {
+                queue.add(target);
+            }
+            while (!queue.isEmpty()) {
+                int s = queue.poll();
+                for (Map.Entry<Character, Integer> e : children.get(s).entrySet()) {
+                    int child = e.getValue();
+                    int f = fail[s];
+                    Integer next;
+                    while ((next = children.get(f).get(e.getKey())) == null && f != 0) {
+                        f = fail[f];
+                    }
+                    fail[child] = next == null || next == child ? 0 : next;
+                    output[child] |= output[fail[child]];
+                    queue.add(child);
+                }
+            }
+            return new AhoCorasickMatcher(edgeChars, edgeTargets, fail, output, allGroups);
+        }
+
+        private int newNode() {
+            children.add(new TreeMap<>());
+            outputs.add(0L);
+            return children.size() - 1;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.pollen.management.util;
+
+/**
+ * 参与备份的数据表：备份文件中的 JSON 键名、数据库表名与变更时间列。
+ * <p>
+ * 全量备份以自增主键 id 做键集分页；增量 / 差异备份只取变更时间落在水位区间内的行，
+ * 按 (变更时间列, id) 做键集分页，可走该列索引。没有变更时间列的表每次都全量写出。
+ * 各表并行读取时不共享事务，查询都以快照时刻捕获的最大 id 为上限，快照之后插入的行不会写入本次备份。
+ */
+public final class BackupTable {
+
+    private final String key;
+    private final String table;
+    private final String changeColumn;
+
+    public BackupTable(String key, String table, String changeColumn) {
+        this.key = key;
+        this.table = table;
+        this.changeColumn = changeColumn;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * 行最近一次插入或更新的时间列，null 表示无法按水位筛选
+     */
+    public String getChangeColumn() {
+        return changeColumn;
+    }
+
+    public boolean supportsIncremental() {
+        return changeColumn != null;
+    }
+
+    /**
+     * 备份归档中该表的分段文件名
+     */
+    public String getSegmentName() {
+        return key + ".json.gz";
+    }
+
+    /**
+     * 增量 / 差异备份归档中该表快照时刻仍存在的 id 区间分段名，恢复时据此回放物理删除
+     */
+    public String getLiveIdsSegmentName() {
+        return key + ".ids.json.gz";
+    }
+
+    /**
+     * 快照时刻的 id 上限
+     */
+    public String getMaxIdSql() {
+        return "SELECT COALESCE(MAX(id), 0) FROM " + table;
+    }
+
+    /**
+     * 快照时刻的总行数，参数为 maxId
+     */
+    public String getCountSql() {
+        return "SELECT COUNT(*) FROM " + table + " WHERE id <= ?";
+    }
+
+    /**
+     * 键集分页查询：取 id 大于上一页末行的下一页，参数依次为 lastId、maxId、pageSize
+     */
+    public String getPageSql() {
+        return "SELECT * FROM " + table + " WHERE id > ? AND id <= ? ORDER BY id LIMIT ?";
+    }
+
+    /**
+     * 只取 id 的键集分页查询，参数依次为 lastId、maxId、pageSize
+     */
+    public String getIdPageSql() {
+        return "SELECT id FROM " + table + " WHERE id > ? AND id <= ? ORDER BY id LIMIT ?";
+    }
+
+    /**
+     * 水位区间内的键集分页查询，参数依次为 watermarkFrom（不含）、watermarkTo（含）、
+     * 上一页末行的变更时间（两次）与 id、maxId、pageSize
+     */
+    public String getChangedPageSql() {
+        String c = changeColumn;
+        return "SELECT * FROM " + table + " WHERE " + c + " > ? AND " + c + " <= ?"
+                + " AND (" + c + " > ? OR (" + c + " = ? AND id > ?)) AND id <= ?"
+                + " ORDER BY " + c + ", id LIMIT ?";
+    }
+}
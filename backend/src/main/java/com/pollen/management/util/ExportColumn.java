@@ -0,0 +1,132 @@
+package com.pollen.management.util;
+
+import com.pollen.management.entity.enums.ExportCellType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * 导出列描述：表头、NDJSON 键名、数据库列名、单元格类型与实体取值函数。
+ * 同一份描述同时驱动 XLSX（实体）与 CSV / NDJSON（实体或 JDBC 结果集）写出，
+ * 由 {@link ExportDataset} 编译为逐行写入器。
+ *
+ * @param <T> 实体类型
+ */
+public final class ExportColumn<T> {
+
+    private final String header;
+    private final String key;
+    private final String sqlColumn;
+    private final ExportCellType type;
+    private final Function<T, ?> extractor;
+    private final String trueText;
+    private final String falseText;
+    private final Function<String, ?> sqlDecoder;
+
+    private ExportColumn(String header, String key, String sqlColumn, ExportCellType type,
+                         Function<T, ?> extractor, String trueText, String falseText,
+                         Function<String, ?> sqlDecoder) {
+        this.header = header;
+        this.key = key;
+        this.sqlColumn = sqlColumn;
+        this.type = type;
+        this.extractor = extractor;
+        this.trueText = trueText;
+        this.falseText = falseText;
+        this.sqlDecoder = sqlDecoder;
+    }
+
+    /**
+     * 整数列（Integer / Long），XLSX 中空值写 0
+     */
+    public static <T> ExportColumn<T> ofLong(String header, String key, String sqlColumn,
+                                             Function<T, ? extends Number> extractor) {
+        return new ExportColumn<>(header, key, sqlColumn, ExportCellType.LONG, extractor, null, null, null);
+    }
+
+    /**
+     * 小数列，XLSX 中写 double，文本格式写 toPlainString
+     */
+    public static <T> ExportColumn<T> ofDecimal(String header, String key, String sqlColumn,
+                                                Function<T, BigDecimal> extractor) {
+        return new ExportColumn<>(header, key, sqlColumn, ExportCellType.DECIMAL, extractor, null, null, null);
+    }
+
+    public static <T> ExportColumn<T> ofString(String header, String key, String sqlColumn,
+                                               Function<T, String> extractor) {
+        return new ExportColumn<>(header, key, sqlColumn, ExportCellType.STRING, extractor, null, null, null);
+    }
+
+    /**
+     * 枚举列，按 name() 写出；数据库中以 EnumType.STRING 存储，JDBC 直接读字符串
+     */
+    public static <T> ExportColumn<T> ofEnum(String header, String key, String sqlColumn,
+                                             Function<T, ? extends Enum<?>> extractor) {
+        Function<T, String> name = entity -> {
+            Enum<?> value = extractor.apply(entity);
+            return value != null ? value.name() : null;
+        };
+        return new ExportColumn<>(header, key, sqlColumn, ExportCellType.STRING, name, null, null, null);
+    }
+
+    /**
+     * 布尔列：XLSX / CSV 写显示文本，NDJSON 写 true/false；空值按 false 处理
+     */
+    public static <T> ExportColumn<T> ofBoolean(String header, String key, String sqlColumn,
+                                                Function<T, Boolean> extractor,
+                                                String trueText, String falseText) {
+        return new ExportColumn<>(header, key, sqlColumn, ExportCellType.BOOLEAN, extractor,
+                trueText, falseText, null);
+    }
+
+    public static <T> ExportColumn<T> ofDate(String header, String key, String sqlColumn,
+                                             Function<T, LocalDate> extractor) {
+        return new ExportColumn<>(header, key, sqlColumn, ExportCellType.DATE, extractor, null, null, null);
+    }
+
+    public static <T> ExportColumn<T> ofDateTime(String header, String key, String sqlColumn,
+                                                 Function<T, LocalDateTime> extractor) {
+        return new ExportColumn<>(header, key, sqlColumn, ExportCellType.DATETIME, extractor, null, null, null);
+    }
+
+    /**
+     * 数据库中以字符串存储、需解码后才是列类型的值（如 AES 加密列），JDBC 读取时先经 decoder 转换
+     */
+    public ExportColumn<T> decodedBy(Function<String, ?> decoder) {
+        return new ExportColumn<>(header, key, sqlColumn, type, extractor, trueText, falseText, decoder);
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getSqlColumn() {
+        return sqlColumn;
+    }
+
+    public ExportCellType getType() {
+        return type;
+    }
+
+    Function<T, ?> getExtractor() {
+        return extractor;
+    }
+
+    String getTrueText() {
+        return trueText;
+    }
+
+    String getFalseText() {
+        return falseText;
+    }
+
+    Function<String, ?> getSqlDecoder() {
+        return sqlDecoder;
+    }
+}
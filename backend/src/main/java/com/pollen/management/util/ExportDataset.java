@@ -0,0 +1,239 @@
+package com.pollen.management.util;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 可导出数据集：一组 {@link ExportColumn} 加上数据集名、Sheet 名与表名。
+ * <p>
+ * 构造时按列类型把每一列编译成固定的写入函数（实体与 JDBC 结果集各有 XLSX 单元格、文本字段两份），
+ * 逐行写出时只按下标调用，不再判断类型。新增导出数据集只需声明一个实例。
+ *
+ * @param <T> 实体类型
+ */
+public final class ExportDataset<T> {
+
+    private final String name;
+    private final String sheetName;
+    private final String table;
+    private final List<ExportColumn<T>> columns;
+    private final String[] headers;
+    private final String[] keys;
+    private final String selectSql;
+
+    private final ExcelCellWriter<T>[] excelWriters;
+    private final TextFieldWriter<T>[] textWriters;
+    private final ResultSetFieldWriter[] resultSetWriters;
+    private final ResultSetCellWriter[] resultSetCellWriters;
+
+    @SuppressWarnings("unchecked")
+    public ExportDataset(String name, String sheetName, String table, List<ExportColumn<T>> columns) {
+        this.name = name;
+        this.sheetName = sheetName;
+        this.table = table;
+        this.columns = List.copyOf(columns);
+        this.headers = columns.stream().map(ExportColumn::getHeader).toArray(String[]::new);
+        this.keys = columns.stream().map(ExportColumn::getKey).toArray(String[]::new);
+        this.selectSql = "SELECT " + columns.stream().map(ExportColumn::getSqlColumn)
+                .collect(Collectors.joining(", ")) + " FROM " + table;
+
+        int size = columns.size();
+        this.excelWriters = new ExcelCellWriter[size];
+        this.textWriters = new TextFieldWriter[size];
+        this.resultSetWriters = new ResultSetFieldWriter[size];
+        this.resultSetCellWriters = new ResultSetCellWriter[size];
+        for (int i = 0; i < size; i++) {
+            ExportColumn<T> column = columns.get(i);
+            Function<T, ?> extractor = column.getExtractor();
+            ExcelValueWriter excel = excelValueWriter(column);
+            TextValueWriter text = textValueWriter(column);
+            excelWriters[i] = (entity, cell) -> excel.write(extractor.apply(entity), cell);
+            textWriters[i] = (entity, writer) -> text.write(extractor.apply(entity), writer);
+            Function<String, ?> decoder = column.getSqlDecoder();
+            resultSetWriters[i] = decoder != null
+                    ? (rs, index, writer) -> text.write(decoder.apply(rs.getString(index)), writer)
+                    : resultSetWriter(column, text);
+            resultSetCellWriters[i] = decoder != null
+                    ? (rs, index, cell) -> excel.write(decoder.apply(rs.getString(index)), cell)
+                    : resultSetCellWriter(column, excel);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSheetName() {
+        return sheetName;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public List<ExportColumn<T>> getColumns() {
+        return columns;
+    }
+
+    public String[] getHeaders() {
+        return headers.clone();
+    }
+
+    public String[] getKeys() {
+        return keys.clone();
+    }
+
+    /**
+     * 按列顺序选出所有列的 SQL（不含 WHERE / ORDER BY），结果集下标与列顺序一致
+     */
+    public String getSelectSql() {
+        return selectSql;
+    }
+
+    /**
+     * 把实体写入一行 XLSX 单元格（空值写 0 或空字符串，与既有 Excel 导出一致）
+     */
+    public void writeRow(T entity, Row row) {
+        for (int i = 0; i < excelWriters.length; i++) {
+            excelWriters[i].write(entity, row.createCell(i));
+        }
+    }
+
+    /**
+     * 把实体写为一行 CSV / NDJSON
+     */
+    public void writeRow(T entity, StreamingTextWriter writer) throws IOException {
+        writer.beginRow();
+        for (TextFieldWriter<T> textWriter : textWriters) {
+            textWriter.write(entity, writer);
+        }
+        writer.endRow();
+    }
+
+    /**
+     * 把 {@link #getSelectSql()} 结果集的当前行写入一行 XLSX 单元格，空值处理与实体写法一致
+     */
+    public void writeRow(ResultSet rs, Row row) throws SQLException {
+        for (int i = 0; i < resultSetCellWriters.length; i++) {
+            resultSetCellWriters[i].write(rs, i + 1, row.createCell(i));
+        }
+    }
+
+    /**
+     * 把 {@link #getSelectSql()} 结果集的当前行写为一行 CSV / NDJSON，不经过实体
+     */
+    public void writeRow(ResultSet rs, StreamingTextWriter writer) throws SQLException, IOException {
+        writer.beginRow();
+        for (int i = 0; i < resultSetWriters.length; i++) {
+            resultSetWriters[i].write(rs, i + 1, writer);
+        }
+        writer.endRow();
+    }
+
+    // --- Column compilation ---
+
+    @FunctionalInterface
+    private interface ExcelCellWriter<T> {
+        void write(T entity, Cell cell);
+    }
+
+    @FunctionalInterface
+    private interface TextFieldWriter<T> {
+        void write(T entity, StreamingTextWriter writer) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ResultSetFieldWriter {
+        void write(ResultSet rs, int index, StreamingTextWriter writer) throws SQLException, IOException;
+    }
+
+    @FunctionalInterface
+    private interface ResultSetCellWriter {
+        void write(ResultSet rs, int index, Cell cell) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface ExcelValueWriter {
+        void write(Object value, Cell cell);
+    }
+
+    @FunctionalInterface
+    private interface TextValueWriter {
+        void write(Object value, StreamingTextWriter writer) throws IOException;
+    }
+
+    private static ExcelValueWriter excelValueWriter(ExportColumn<?> column) {
+        return switch (column.getType()) {
+            case LONG, DECIMAL -> (value, cell) -> cell.setCellValue(value != null ? ((Number) value).doubleValue() : 0);
+            case BOOLEAN -> {
+                String trueText = column.getTrueText();
+                String falseText = column.getFalseText();
+                yield (value, cell) -> cell.setCellValue(Boolean.TRUE.equals(value) ? trueText : falseText);
+            }
+            case STRING, DATE, DATETIME -> (value, cell) -> cell.setCellValue(value != null ? value.toString() : "");
+        };
+    }
+
+    private static TextValueWriter textValueWriter(ExportColumn<?> column) {
+        return switch (column.getType()) {
+            case LONG -> (value, writer) -> {
+                if (value == null) {
+                    writer.writeNull();
+                } else {
+                    writer.writeLong(((Number) value).longValue());
+                }
+            };
+            case DECIMAL -> (value, writer) ->
+                    writer.writeNumber(value != null ? ((BigDecimal) value).toPlainString() : null);
+            case BOOLEAN -> {
+                String trueText = column.getTrueText();
+                String falseText = column.getFalseText();
+                yield (value, writer) -> {
+                    boolean b = Boolean.TRUE.equals(value);
+                    writer.writeBoolean(b, b ? trueText : falseText);
+                };
+            }
+            case STRING, DATE, DATETIME -> (value, writer) ->
+                    writer.writeString(value != null ? value.toString() : null);
+        };
+    }
+
+    private static ResultSetFieldWriter resultSetWriter(ExportColumn<?> column, TextValueWriter text) {
+        return switch (column.getType()) {
+            case LONG -> (rs, index, writer) -> {
+                long value = rs.getLong(index);
+                if (rs.wasNull()) {
+                    writer.writeNull();
+                } else {
+                    writer.writeLong(value);
+                }
+            };
+            case DECIMAL -> (rs, index, writer) -> text.write(rs.getBigDecimal(index), writer);
+            case STRING -> (rs, index, writer) -> writer.writeString(rs.getString(index));
+            case BOOLEAN -> (rs, index, writer) -> text.write(rs.getBoolean(index), writer);
+            case DATE -> (rs, index, writer) -> text.write(rs.getObject(index, LocalDate.class), writer);
+            case DATETIME -> (rs, index, writer) -> text.write(rs.getObject(index, LocalDateTime.class), writer);
+        };
+    }
+
+    private static ResultSetCellWriter resultSetCellWriter(ExportColumn<?> column, ExcelValueWriter excel) {
+        return switch (column.getType()) {
+            case LONG -> (rs, index, cell) -> cell.setCellValue(rs.getLong(index));
+            case DECIMAL -> (rs, index, cell) -> excel.write(rs.getBigDecimal(index), cell);
+            case STRING -> (rs, index, cell) -> excel.write(rs.getString(index), cell);
+            case BOOLEAN -> (rs, index, cell) -> excel.write(rs.getBoolean(index), cell);
+            case DATE -> (rs, index, cell) -> excel.write(rs.getObject(index, LocalDate.class), cell);
+            case DATETIME -> (rs, index, cell) -> excel.write(rs.getObject(index, LocalDateTime.class), cell);
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package com.pollen.management.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link JdbcJsonRowWriter} 的逆过程：按目标表的列元数据，把备份文件中的一个行对象读成列值数组并绑定到插入语句。
+ * <p>
+ * 日期时间列从 ISO-8601 字符串解析，二进制列从 Base64 解码；H2 的 JSON 列按 UTF-8 字节绑定，
+ * 避免被当作 JSON 字符串字面量再包一层引号。
+ */
+public final class JdbcJsonRowReader {
+
+    private final String[] names;
+    private final int[] sqlTypes;
+    private final boolean[] jsonColumns;
+    private final Map<String, Integer> indexByName;
+
+    public JdbcJsonRowReader(ResultSetMetaData metaData) throws SQLException {
+        int count = metaData.getColumnCount();
+        this.names = new String[count];
+        this.sqlTypes = new int[count];
+        this.jsonColumns = new boolean[count];
+        this.indexByName = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            names[i] = metaData.getColumnLabel(i + 1).toLowerCase();
+            sqlTypes[i] = metaData.getColumnType(i + 1);
+            jsonColumns[i] = sqlTypes[i] == Types.OTHER && "JSON".equalsIgnoreCase(metaData.getColumnTypeName(i + 1));
+            indexByName.put(names[i], i);
+        }
+    }
+
+    public int getColumnCount() {
+        return names.length;
+    }
+
+    public String getColumnName(int column) {
+        return names[column];
+    }
+
+    /**
+     * 列下标，目标表没有该列时返回 -1
+     */
+    public int indexOf(String name) {
+        Integer index = indexByName.get(name);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * 读取解析器当前位置的行对象（当前 token 为 START_OBJECT），按列下标填入 values，
+     * 行中出现过的列在 present 中置位；目标表没有的字段直接跳过
+     */
+    public void readRow(JsonParser parser, Object[] values, boolean[] present) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            int column = indexOf(parser.currentName());
+            parser.nextToken();
+            if (column < 0) {
+                parser.skipChildren();
+                continue;
+            }
+            values[column] = readValue(parser, column);
+            present[column] = true;
+        }
+    }
+
+    /**
+     * 把列值绑定到语句的第 parameterIndex 个参数
+     */
+    public void bind(PreparedStatement ps, int parameterIndex, int column, Object value) throws SQLException {
+        if (value == null) {
+            ps.setNull(parameterIndex, sqlTypes[column]);
+        } else if (jsonColumns[column] && value instanceof String text) {
+            ps.setBytes(parameterIndex, text.getBytes(StandardCharsets.UTF_8));
+        } else {
+            ps.setObject(parameterIndex, value);
+        }
+    }
+
+    private Object readValue(JsonParser parser, int column) throws IOException {
+        JsonToken token = parser.currentToken();
+        return switch (token) {
+            case VALUE_NULL -> null;
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NUMBER_INT -> parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                    ? parser.getBigIntegerValue() : parser.getLongValue();
+            case VALUE_NUMBER_FLOAT -> parser.getDecimalValue();
+            case VALUE_STRING -> readText(parser, column);
+            default -> parser.readValueAsTree().toString();
+        };
+    }
+
+    private Object readText(JsonParser parser, int column) throws IOException {
+        return switch (sqlTypes[column]) {
+            case Types.TIMESTAMP -> LocalDateTime.parse(parser.getText());
+            case Types.DATE -> LocalDate.parse(parser.getText());
+            case Types.TIME -> LocalTime.parse(parser.getText());
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> parser.getBinaryValue();
+            default -> parser.getText();
+        };
+    }
+}
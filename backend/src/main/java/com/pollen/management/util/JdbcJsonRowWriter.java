@@ -0,0 +1,113 @@
+package com.pollen.management.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * 把 JDBC 结果集的当前行原样写为一个 JSON 对象，键为小写列名。
+ * <p>
+ * 构造时按列的 JDBC 类型编译出每列的写入函数，逐行写出时不再查元数据。
+ * 加密列按库中密文写出，备份文件不含明文敏感数据；日期时间写 ISO-8601 字符串，二进制写 Base64。
+ */
+public final class JdbcJsonRowWriter {
+
+    private final String[] names;
+    private final ColumnWriter[] writers;
+
+    public JdbcJsonRowWriter(ResultSetMetaData metaData) throws SQLException {
+        int count = metaData.getColumnCount();
+        this.names = new String[count];
+        this.writers = new ColumnWriter[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = metaData.getColumnLabel(i + 1).toLowerCase();
+            writers[i] = columnWriter(metaData.getColumnType(i + 1));
+        }
+    }
+
+    public String[] getColumnNames() {
+        return names.clone();
+    }
+
+    /**
+     * 写出结果集当前行
+     */
+    public void writeRow(ResultSet rs, JsonGenerator generator) throws SQLException, IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < writers.length; i++) {
+            generator.writeFieldName(names[i]);
+            writers[i].write(rs, i + 1, generator);
+        }
+        generator.writeEndObject();
+    }
+
+    @FunctionalInterface
+    private interface ColumnWriter {
+        void write(ResultSet rs, int index, JsonGenerator generator) throws SQLException, IOException;
+    }
+
+    private static ColumnWriter columnWriter(int sqlType) {
+        return switch (sqlType) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> (rs, index, gen) -> {
+                long value = rs.getLong(index);
+                if (rs.wasNull()) {
+                    gen.writeNull();
+                } else {
+                    gen.writeNumber(value);
+                }
+            };
+            case Types.REAL, Types.FLOAT, Types.DOUBLE -> (rs, index, gen) -> {
+                double value = rs.getDouble(index);
+                if (rs.wasNull()) {
+                    gen.writeNull();
+                } else {
+                    gen.writeNumber(value);
+                }
+            };
+            case Types.DECIMAL, Types.NUMERIC -> (rs, index, gen) -> {
+                BigDecimal value = rs.getBigDecimal(index);
+                if (value == null) {
+                    gen.writeNull();
+                } else {
+                    gen.writeNumber(value);
+                }
+            };
+            case Types.BIT, Types.BOOLEAN -> (rs, index, gen) -> {
+                boolean value = rs.getBoolean(index);
+                if (rs.wasNull()) {
+                    gen.writeNull();
+                } else {
+                    gen.writeBoolean(value);
+                }
+            };
+            case Types.DATE -> (rs, index, gen) -> writeText(rs.getObject(index, LocalDate.class), gen);
+            case Types.TIME -> (rs, index, gen) -> writeText(rs.getObject(index, LocalTime.class), gen);
+            case Types.TIMESTAMP -> (rs, index, gen) -> writeText(rs.getObject(index, LocalDateTime.class), gen);
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> (rs, index, gen) -> {
+                byte[] value = rs.getBytes(index);
+                if (value == null) {
+                    gen.writeNull();
+                } else {
+                    gen.writeBinary(value);
+                }
+            };
+            default -> (rs, index, gen) -> writeText(rs.getString(index), gen);
+        };
+    }
+
+    private static void writeText(Object value, JsonGenerator generator) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
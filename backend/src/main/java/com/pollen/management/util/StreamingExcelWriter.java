@@ -0,0 +1,180 @@
+package com.pollen.management.util;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基于 SXSSFWorkbook 的流式 Excel 写入器。
+ * <ul>
+ *   <li>每个 Sheet 内存中最多保留 {@value #ROW_ACCESS_WINDOW} 行，更早的行刷到压缩临时文件</li>
+ *   <li>列宽按表头与前 {@value #WIDTH_SAMPLE_ROWS} 行采样确定，不做扫描全表的 autoSizeColumn</li>
+ *   <li>用完必须 close，以删除临时文件</li>
+ * </ul>
+ * 非线程安全，一个实例对应一次导出；例外是所有 Sheet 由同一线程创建完毕后，
+ * 不同 Sheet 的 {@link SheetWriter} 可以分别在不同线程中写入，最后仍由单个线程调用 writeTo。
+ */
+public class StreamingExcelWriter implements Closeable {
+
+    static final int ROW_ACCESS_WINDOW = 100;
+    static final int WIDTH_SAMPLE_ROWS = 100;
+    static final int MIN_COLUMN_CHARS = 6;
+    static final int MAX_COLUMN_CHARS = 60;
+
+    private final SXSSFWorkbook workbook;
+    private final CellStyle headerStyle;
+    private final List<SheetWriter> sheets = new ArrayList<>();
+
+    public StreamingExcelWriter() {
+        this.workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.headerStyle = createHeaderStyle(workbook);
+    }
+
+    /**
+     * 新建 Sheet 并写入表头行
+     */
+    public SheetWriter createSheet(String name, String[] headers) {
+        SXSSFSheet sheet = workbook.createSheet(name);
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+        }
+        SheetWriter writer = new SheetWriter(sheet, headers);
+        sheets.add(writer);
+        return writer;
+    }
+
+    /**
+     * 将工作簿写入输出流（不关闭输出流）。写出前补测各 Sheet 的最后一行。
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        for (SheetWriter sheet : sheets) {
+            sheet.finish();
+        }
+        workbook.write(out);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        workbook.close();
+    }
+
+    private static CellStyle createHeaderStyle(SXSSFWorkbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        Font font = workbook.createFont();
+        font.setBold(true);
+        style.setFont(font);
+        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        return style;
+    }
+
+    /**
+     * 单个 Sheet 的行写入器。每次 {@link #nextRow()} 返回一行新行，
+     * 采样期内在生成下一行时测量上一行（此时它仍在内存窗口内），
+     * 最后一行在 {@link StreamingExcelWriter#writeTo} 时由 {@link #finish()} 测量。
+     */
+    public static class SheetWriter {
+
+        private final SXSSFSheet sheet;
+        private final int[] columnChars;
+        private Row currentRow;
+        private int rowCount;
+
+        SheetWriter(SXSSFSheet sheet, String[] headers) {
+            this.sheet = sheet;
+            this.columnChars = new int[headers.length];
+            for (int i = 0; i < headers.length; i++) {
+                columnChars[i] = displayWidth(headers[i]);
+            }
+            applyColumnWidths();
+        }
+
+        public Row nextRow() {
+            sampleCurrentRow();
+            currentRow = sheet.createRow(++rowCount);
+            return currentRow;
+        }
+
+        /**
+         * 测量最后一行；可重复调用
+         */
+        void finish() {
+            sampleCurrentRow();
+            currentRow = null;
+        }
+
+        /**
+         * 已写入的数据行数（不含表头）
+         */
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        private void sampleCurrentRow() {
+            if (currentRow == null || rowCount > WIDTH_SAMPLE_ROWS) {
+                return;
+            }
+            boolean widened = false;
+            for (int i = 0; i < columnChars.length; i++) {
+                Cell cell = currentRow.getCell(i);
+                if (cell == null) {
+                    continue;
+                }
+                int chars = cell.getCellType() == CellType.NUMERIC
+                        ? numericWidth(cell.getNumericCellValue())
+                        : displayWidth(cell.getStringCellValue());
+                if (chars > columnChars[i]) {
+                    columnChars[i] = chars;
+                    widened = true;
+                }
+            }
+            if (widened) {
+                applyColumnWidths();
+            }
+        }
+
+        private void applyColumnWidths() {
+            for (int i = 0; i < columnChars.length; i++) {
+                int chars = Math.min(MAX_COLUMN_CHARS, Math.max(MIN_COLUMN_CHARS, columnChars[i] + 2));
+                sheet.setColumnWidth(i, chars * 256);
+            }
+        }
+
+        private static int numericWidth(double value) {
+            return value == Math.rint(value) && Math.abs(value) < 1e15
+                    ? Long.toString((long) value).length()
+                    : Double.toString(value).length();
+        }
+
+        /**
+         * 显示宽度：非 ASCII 字符（中文等）按两个字符宽计
+         */
+        static int displayWidth(String text) {
+            if (text == null) {
+                return 0;
+            }
+            int width = 0;
+            for (int i = 0; i < text.length(); i++) {
+                width += text.charAt(i) < 0x80 ? 1 : 2;
+            }
+            return width;
+        }
+    }
+}
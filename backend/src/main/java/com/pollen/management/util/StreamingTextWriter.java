@@ -0,0 +1,247 @@
+package com.pollen.management.util;
+
+import com.pollen.management.entity.enums.ExportFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSV / NDJSON 流式行写入器。
+ * <ul>
+ *   <li>所有输出先追加到一个复用的 char 缓冲区，满了才写入底层 Writer，逐行不产生临时字符串</li>
+ *   <li>CSV：UTF-8 BOM + 表头行，字段含逗号、引号或换行时加引号转义</li>
+ *   <li>NDJSON：每行一个 JSON 对象，键名预先转义，字符串按 JSON 规则转义</li>
+ * </ul>
+ * 非线程安全，一个实例对应一次导出；close 只刷出缓冲，不关闭底层输出流。
+ */
+public class StreamingTextWriter implements Closeable {
+
+    static final int BUFFER_SIZE = 16 * 1024;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final ExportFormat format;
+    private final Writer writer;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final char[] digits = new char[20];
+    private final char[][] jsonKeys;
+    private int position;
+    private int column;
+
+    /**
+     * @param headers CSV 表头
+     * @param keys    NDJSON 键名，与 headers 一一对应
+     */
+    public StreamingTextWriter(OutputStream out, ExportFormat format, String[] headers, String[] keys) throws IOException {
+        if (format == ExportFormat.XLSX) {
+            throw new IllegalArgumentException("XLSX is not a text format");
+        }
+        this.format = format;
+        this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        this.jsonKeys = new char[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            jsonKeys[i] = ("\"" + keys[i] + "\":").toCharArray();
+        }
+        if (format == ExportFormat.CSV) {
+            // BOM 让 Excel 以 UTF-8 打开中文 CSV
+            append('\uFEFF');
+            beginRow();
+            for (String header : headers) {
+                writeString(header);
+            }
+            endRow();
+        }
+    }
+
+    public void beginRow() throws IOException {
+        column = 0;
+        if (format == ExportFormat.NDJSON) {
+            append('{');
+        }
+    }
+
+    public void endRow() throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            append('}');
+        }
+        append('\n');
+    }
+
+    public void writeNull() throws IOException {
+        if (startField()) {
+            append("null");
+        }
+    }
+
+    public void writeString(String value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        startField();
+        if (format == ExportFormat.CSV) {
+            appendCsv(value);
+        } else {
+            appendJsonString(value);
+        }
+    }
+
+    public void writeLong(long value) throws IOException {
+        startField();
+        appendLong(value);
+    }
+
+    /**
+     * 写入已格式化的数值（如 BigDecimal.toPlainString），JSON 中不加引号
+     */
+    public void writeNumber(String plainNumber) throws IOException {
+        if (plainNumber == null) {
+            writeNull();
+            return;
+        }
+        startField();
+        append(plainNumber);
+    }
+
+    /**
+     * 布尔值：NDJSON 写 true/false，CSV 写与 Excel 导出一致的显示文本
+     */
+    public void writeBoolean(boolean value, String csvText) throws IOException {
+        startField();
+        if (format == ExportFormat.CSV) {
+            appendCsv(csvText);
+        } else {
+            append(value ? "true" : "false");
+        }
+    }
+
+    /**
+     * 刷出缓冲区到底层输出流
+     */
+    public void flush() throws IOException {
+        if (position > 0) {
+            writer.write(buffer, 0, position);
+            position = 0;
+        }
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    /**
+     * 写字段分隔与 JSON 键名；CSV 的 null 写为空字段，返回 false 表示无需再写值
+     */
+    private boolean startField() throws IOException {
+        int index = column++;
+        if (format == ExportFormat.CSV) {
+            if (index > 0) {
+                append(',');
+            }
+            return false;
+        }
+        if (index > 0) {
+            append(',');
+        }
+        append(jsonKeys[index]);
+        return true;
+    }
+
+    private void appendCsv(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            append(value);
+            return;
+        }
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                append('"');
+            }
+            append(c);
+        }
+        append('"');
+    }
+
+    private void appendJsonString(String value) throws IOException {
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> append("\\\"");
+                case '\\' -> append("\\\\");
+                case '\n' -> append("\\n");
+                case '\r' -> append("\\r");
+                case '\t' -> append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        append("\\u00");
+                        append(HEX[c >> 4]);
+                        append(HEX[c & 0xF]);
+                    } else {
+                        append(c);
+                    }
+                }
+            }
+        }
+        append('"');
+    }
+
+    private void appendLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            append(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            append('-');
+            value = -value;
+        }
+        int i = digits.length;
+        do {
+            digits[--i] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        for (; i < digits.length; i++) {
+            append(digits[i]);
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (position == buffer.length) {
+            writer.write(buffer, 0, position);
+            position = 0;
+        }
+        buffer[position++] = c;
+    }
+
+    private void append(char[] chars) throws IOException {
+        for (char c : chars) {
+            append(c);
+        }
+    }
+
+    private void append(String s) throws IOException {
+        int offset = 0;
+        int length = s.length();
+        while (offset < length) {
+            if (position == buffer.length) {
+                writer.write(buffer, 0, position);
+                position = 0;
+            }
+            int n = Math.min(length - offset, buffer.length - position);
+            s.getChars(offset, offset + n, buffer, position);
+            position += n;
+            offset += n;
+        }
+    }
+}
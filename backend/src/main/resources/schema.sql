@@ -36,6 +36,7 @@ DROP TABLE IF EXISTS activities;
 DROP TABLE IF EXISTS salary_records;
 DROP TABLE IF EXISTS points_records;
 DROP TABLE IF EXISTS interview_reports;
+DROP TABLE IF EXISTS interview_transcript_archives;
 DROP TABLE IF EXISTS interview_messages;
 DROP TABLE IF EXISTS interviews;
 DROP TABLE IF EXISTS application_timeline;
@@ -66,7 +67,9 @@ CREATE TABLE users (
     created_at        DATETIME        NULL,
     updated_at        DATETIME        NULL,
     PRIMARY KEY (id),
-    UNIQUE KEY uk_username (username)
+    UNIQUE KEY uk_username (username),
+    KEY idx_users_created_at (created_at),
+    KEY idx_users_updated_at (updated_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用户表';
 
 -- -----------------------------------------------------------
@@ -171,7 +174,8 @@ CREATE TABLE applications (
     attention_flags             JSON            NULL COMMENT '关注标记列表',
     created_at                  DATETIME        NULL,
     updated_at                  DATETIME        NULL,
-    PRIMARY KEY (id)
+    PRIMARY KEY (id),
+    KEY idx_applications_updated_at (updated_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='入组申请表';
 
 -- -----------------------------------------------------------
@@ -197,6 +201,11 @@ CREATE TABLE interviews (
     status            VARCHAR(20)     NOT NULL DEFAULT 'NOT_STARTED' COMMENT 'NOT_STARTED, IN_PROGRESS, COMPLETED, PENDING_REVIEW, REVIEWED',
     scenario_id       VARCHAR(255)    NULL,
     difficulty_level  VARCHAR(255)    NULL,
+    user_message_count          INT   NULL COMMENT '用户回答条数（NULL 表示早于评分计数器的旧面试）',
+    long_answer_count           INT   NULL COMMENT '超过 50 字的回答条数',
+    rule_keyword_hits           INT   NULL COMMENT '群规熟悉度关键词组命中数',
+    communication_keyword_hits  INT   NULL COMMENT '沟通能力关键词组命中数',
+    pressure_keyword_hits       INT   NULL COMMENT '抗压能力关键词组命中数',
     created_at        DATETIME        NULL,
     completed_at      DATETIME        NULL,
     PRIMARY KEY (id)
@@ -212,9 +221,27 @@ CREATE TABLE interview_messages (
     content             TEXT            NOT NULL,
     timestamp           DATETIME        NOT NULL,
     time_limit_seconds  INT             NULL DEFAULT 60,
-    PRIMARY KEY (id)
+    client_message_id   VARCHAR(36)     NULL COMMENT '写缓冲分配的消息标识，重放去重',
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_client_message_id (client_message_id),
+    KEY idx_interview_id (interview_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='面试对话消息表';
 
+-- -----------------------------------------------------------
+-- 10a. 面试对话归档表（已结束面试的整场对话，JSON 数组经 deflate 压缩）
+-- -----------------------------------------------------------
+CREATE TABLE interview_transcript_archives (
+    id              BIGINT          NOT NULL AUTO_INCREMENT,
+    interview_id    BIGINT          NOT NULL,
+    format          VARCHAR(32)     NOT NULL COMMENT '编码格式: JSON_DEFLATE',
+    message_count   INT             NOT NULL,
+    raw_size        INT             NOT NULL COMMENT '压缩前字节数',
+    content         LONGBLOB        NOT NULL,
+    archived_at     DATETIME        NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_interview_id (interview_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='面试对话归档表';
+
 -- -----------------------------------------------------------
 -- 11. 面试报告表
 -- -----------------------------------------------------------
@@ -230,6 +257,8 @@ CREATE TABLE interview_reports (
     review_result         VARCHAR(255)    NULL COMMENT '复审结果',
     suggested_mentor      VARCHAR(255)    NULL COMMENT '建议实习导师',
     recommendation_label  VARCHAR(255)    NULL COMMENT '推荐标签',
+    scoring_version       VARCHAR(32)     NULL COMMENT '评分规则版本',
+    rescored_at           DATETIME        NULL COMMENT '最近一次重新评分时间',
     manual_approved       TINYINT(1)      NULL,
     reviewed_at           DATETIME        NULL,
     created_at            DATETIME        NULL,
@@ -247,7 +276,8 @@ CREATE TABLE points_records (
     amount            INT             NOT NULL,
     description       VARCHAR(255)    NULL,
     created_at        DATETIME        NULL,
-    PRIMARY KEY (id)
+    PRIMARY KEY (id),
+    KEY idx_points_records_created_at (created_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='积分记录表';
 
 -- -----------------------------------------------------------
@@ -279,7 +309,9 @@ CREATE TABLE salary_records (
     archived_at       DATETIME        NULL,
     created_at        DATETIME        NULL,
     updated_at        DATETIME        NULL,
-    PRIMARY KEY (id)
+    PRIMARY KEY (id),
+    KEY idx_salary_records_created_at (created_at),
+    KEY idx_salary_records_updated_at (updated_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='薪资记录表';
 
 -- -----------------------------------------------------------
@@ -323,12 +355,15 @@ CREATE TABLE activities (
     approval_mode       VARCHAR(20)     NOT NULL DEFAULT 'AUTO' COMMENT 'AUTO, MANUAL',
     activity_time       DATETIME        NOT NULL,
     location            VARCHAR(255)    NULL,
+    capacity            INT             NULL COMMENT '名额上限，NULL 表示不限',
+    flash_sign_up       TINYINT(1)      NULL DEFAULT 0 COMMENT '抢票报名模式',
     registration_count  INT             NOT NULL DEFAULT 0,
     status              VARCHAR(20)     NOT NULL DEFAULT 'UPCOMING' COMMENT 'UPCOMING, ONGOING, COMPLETED, ARCHIVED',
     qr_token            VARCHAR(64)     NULL COMMENT '签到二维码 Token',
     created_by          BIGINT          NOT NULL,
     created_at          DATETIME        NULL,
-    PRIMARY KEY (id)
+    PRIMARY KEY (id),
+    KEY idx_activities_created_at (created_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='活动表';
 
 -- -----------------------------------------------------------
@@ -338,7 +373,7 @@ CREATE TABLE activity_registrations (
     id                BIGINT          NOT NULL AUTO_INCREMENT,
     activity_id       BIGINT          NOT NULL,
     user_id           BIGINT          NOT NULL,
-    status            VARCHAR(20)     NOT NULL DEFAULT 'APPROVED' COMMENT 'PENDING, APPROVED, REJECTED',
+    status            VARCHAR(20)     NOT NULL DEFAULT 'APPROVED' COMMENT 'PENDING, APPROVED, REJECTED, WAITLISTED',
     extra_fields      JSON            NULL COMMENT '自定义报名表单回答',
     checked_in        TINYINT(1)      NOT NULL DEFAULT 0,
     checked_in_at     DATETIME        NULL,
@@ -528,7 +563,8 @@ CREATE TABLE weekly_report (
     total_points_issued     INT             NOT NULL DEFAULT 0,
     detail_data             JSON            NULL COMMENT '详细数据',
     generated_at            DATETIME        NOT NULL,
-    PRIMARY KEY (id)
+    PRIMARY KEY (id),
+    KEY idx_weekly_report_generated_at (generated_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='周报表';
 
 -- -----------------------------------------------------------
@@ -536,13 +572,23 @@ CREATE TABLE weekly_report (
 -- -----------------------------------------------------------
 CREATE TABLE backup_record (
     id                  BIGINT          NOT NULL AUTO_INCREMENT,
-    backup_type         VARCHAR(20)     NOT NULL COMMENT 'FULL, INCREMENTAL',
+    backup_type         VARCHAR(20)     NOT NULL COMMENT 'DAILY, MANUAL',
+    backup_mode         VARCHAR(20)     NOT NULL DEFAULT 'FULL' COMMENT 'FULL, INCREMENTAL, DIFFERENTIAL',
+    base_backup_id      BIGINT          NULL COMMENT '备份链根（全量备份）ID',
+    parent_backup_id    BIGINT          NULL COMMENT '水位起点所依据的上一个备份 ID',
+    watermark_from      DATETIME        NULL COMMENT '变更水位起点（不含）',
+    watermark_to        DATETIME        NULL COMMENT '变更水位终点（含）',
     file_name           VARCHAR(255)    NOT NULL,
     file_path           VARCHAR(255)    NOT NULL,
     file_size           BIGINT          NULL DEFAULT 0,
     status              VARCHAR(20)     NOT NULL COMMENT 'SUCCESS, FAILED',
     error_message       VARCHAR(255)    NULL,
+    checksum            VARCHAR(64)     NULL COMMENT '备份文件 SHA-256',
+    table_row_counts    VARCHAR(500)    NULL COMMENT '各表备份行数 JSON',
+    table_timings       VARCHAR(500)    NULL COMMENT '各表写出耗时 JSON（毫秒）',
     cloud_sync_status   VARCHAR(20)     NOT NULL DEFAULT 'PENDING' COMMENT 'PENDING, SYNCED, FAILED',
+    cloud_object_key    VARCHAR(255)    NULL COMMENT '异地存储对象键',
+    cloud_upload_id     VARCHAR(1024)   NULL COMMENT '进行中的分块上传 ID，用于续传',
     created_at          DATETIME        NOT NULL,
     PRIMARY KEY (id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='数据备份记录表';
@@ -0,0 +1,33 @@
+package com.pollen.management.config;
+
+import com.pollen.management.dto.ApiResponse;
+import com.pollen.management.util.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void businessException_shouldReturnBadRequestWithBusinessCode() {
+        ResponseEntity<ApiResponse<Void>> response =
+                handler.handleBusinessException(new BusinessException(409, "不可重复报名同一活动"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(409, response.getBody().getCode());
+    }
+
+    @Test
+    void serviceUnavailable_shouldReturnHttp503SoClientsCanBackOff() {
+        ResponseEntity<ApiResponse<Void>> response =
+                handler.handleBusinessException(new BusinessException(503, "系统繁忙，请稍后重试"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(503, response.getBody().getCode());
+        assertEquals("系统繁忙，请稍后重试", response.getBody().getMessage());
+    }
+}
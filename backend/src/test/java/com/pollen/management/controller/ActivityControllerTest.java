@@ -2,10 +2,13 @@ package com.pollen.management.controller;
 
 import com.pollen.management.dto.ApiResponse;
 import com.pollen.management.dto.AwardPointsRequest;
+import com.pollen.management.dto.BulkCheckInRequest;
+import com.pollen.management.dto.BulkCheckInResult;
 import com.pollen.management.dto.CreateActivityRequest;
 import com.pollen.management.entity.Activity;
 import com.pollen.management.entity.ActivityRegistration;
 import com.pollen.management.entity.enums.ActivityStatus;
+import com.pollen.management.service.ActivityCheckInService;
 import com.pollen.management.service.ActivityService;
 import com.pollen.management.util.BusinessException;
 import org.junit.jupiter.api.Test;
@@ -28,6 +31,9 @@ class ActivityControllerTest {
     @Mock
     private ActivityService activityService;
 
+    @Mock
+    private ActivityCheckInService activityCheckInService;
+
     @InjectMocks
     private ActivityController controller;
 
@@ -147,6 +153,25 @@ class ActivityControllerTest {
                 .hasMessage("活动已归档，无法报名");
     }
 
+    // --- POST /api/activities/{id}/cancel ---
+
+    @Test
+    void cancelRegistration_shouldDelegateToServiceAndReturnSuccess() {
+        ApiResponse<Void> response = controller.cancelRegistration(1L, 2L);
+
+        assertThat(response.getCode()).isEqualTo(200);
+        verify(activityService).cancelRegistration(1L, 2L);
+    }
+
+    @Test
+    void cancelRegistration_notRegistered_shouldPropagateException() {
+        doThrow(new BusinessException(404, "未报名该活动")).when(activityService).cancelRegistration(1L, 2L);
+
+        assertThatThrownBy(() -> controller.cancelRegistration(1L, 2L))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("未报名该活动");
+    }
+
     // --- POST /api/activities/{id}/check-in ---
 
     @Test
@@ -188,6 +213,37 @@ class ActivityControllerTest {
                 .hasMessage("已签到，请勿重复签到");
     }
 
+    // --- POST /api/activities/{id}/check-in/bulk ---
+
+    @Test
+    void bulkCheckIn_shouldDelegateToServiceAndReturnResults() {
+        var request = BulkCheckInRequest.builder()
+                .scans(List.of(BulkCheckInRequest.Scan.builder().userId(2L).build(),
+                        BulkCheckInRequest.Scan.builder().userId(3L).build()))
+                .build();
+        var result = BulkCheckInResult.builder().total(2).checkedIn(1).failed(1).build();
+        when(activityCheckInService.bulkCheckIn(1L, request)).thenReturn(result);
+
+        ApiResponse<BulkCheckInResult> response = controller.bulkCheckIn(1L, request);
+
+        assertThat(response.getCode()).isEqualTo(200);
+        assertThat(response.getData().getCheckedIn()).isEqualTo(1);
+        verify(activityCheckInService).bulkCheckIn(1L, request);
+    }
+
+    @Test
+    void bulkCheckIn_invalidQrToken_shouldPropagateException() {
+        var request = BulkCheckInRequest.builder().qrToken("bad")
+                .scans(List.of(BulkCheckInRequest.Scan.builder().userId(2L).build()))
+                .build();
+        when(activityCheckInService.bulkCheckIn(1L, request))
+                .thenThrow(new BusinessException(400, "二维码无效或已过期"));
+
+        assertThatThrownBy(() -> controller.bulkCheckIn(1L, request))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("二维码无效或已过期");
+    }
+
     // --- POST /api/activities/{id}/archive ---
 
     @Test
@@ -0,0 +1,85 @@
+package com.pollen.management.controller;
+
+import com.pollen.management.dto.ApiResponse;
+import com.pollen.management.dto.CreateExportJobRequest;
+import com.pollen.management.dto.ExportJobInfo;
+import com.pollen.management.entity.enums.ExportJobStatus;
+import com.pollen.management.service.ExportJobService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportJobControllerTest {
+
+    @Mock
+    private ExportJobService exportJobService;
+
+    @InjectMocks
+    private ExportJobController controller;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void createJob_shouldSubmitToService() {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 31);
+        ExportJobInfo info = ExportJobInfo.builder().jobId("job-1").status(ExportJobStatus.PENDING).build();
+        when(exportJobService.submit("points", start, end)).thenReturn(info);
+
+        ApiResponse<ExportJobInfo> response = controller.createJob(new CreateExportJobRequest("points", start, end));
+
+        assertThat(response.getCode()).isEqualTo(200);
+        assertThat(response.getData().getJobId()).isEqualTo("job-1");
+    }
+
+    @Test
+    void download_withoutSendfile_transfersFileContent() throws Exception {
+        Path file = Files.write(tempDir.resolve("job-1.xlsx"), new byte[]{1, 2, 3, 4, 5});
+        when(exportJobService.getResultFile("job-1")).thenReturn(file);
+        when(exportJobService.getJob("job-1")).thenReturn(
+                ExportJobInfo.builder().jobId("job-1").fileName("points_20240610.xlsx").build());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.download("job-1", new MockHttpServletRequest(), response);
+
+        assertThat(response.getContentAsByteArray()).containsExactly(1, 2, 3, 4, 5);
+        assertThat(response.getContentLengthLong()).isEqualTo(5);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains("points_20240610.xlsx");
+        assertThat(response.getContentType()).isEqualTo(ExportJobController.XLSX_CONTENT_TYPE);
+    }
+
+    @Test
+    void download_withSendfileSupport_delegatesToContainer() throws Exception {
+        Path file = Files.write(tempDir.resolve("job-1.xlsx"), new byte[]{1, 2, 3});
+        when(exportJobService.getResultFile("job-1")).thenReturn(file);
+        when(exportJobService.getJob("job-1")).thenReturn(
+                ExportJobInfo.builder().jobId("job-1").fileName("points.xlsx").build());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(ExportJobController.SENDFILE_SUPPORT_ATTR, Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.download("job-1", request, response);
+
+        assertThat(request.getAttribute(ExportJobController.SENDFILE_FILENAME_ATTR))
+                .isEqualTo(file.toAbsolutePath().toString());
+        assertThat(request.getAttribute(ExportJobController.SENDFILE_START_ATTR)).isEqualTo(0L);
+        assertThat(request.getAttribute(ExportJobController.SENDFILE_END_ATTR)).isEqualTo(3L);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getContentLengthLong()).isEqualTo(3);
+    }
+}
@@ -20,11 +20,12 @@ class InterviewAccessControlTest {
 
     private static final String ADMIN_LEADER_ONLY = "hasAnyRole('ADMIN', 'LEADER')";
     private static final String READ_ACCESS = "hasAnyRole('ADMIN', 'LEADER', 'VICE_LEADER')";
+    private static final String ADMIN_ONLY = "hasRole('ADMIN')";
 
     // --- Write endpoints: ADMIN/LEADER only ---
 
     @ParameterizedTest
-    @ValueSource(strings = {"startInterview", "processMessage", "endInterview", "manualReview"})
+    @ValueSource(strings = {"startInterview", "processMessage", "openStream", "streamMessage", "endInterview", "manualReview"})
     void writeEndpoints_shouldRequireAdminOrLeaderRole(String methodName) {
         PreAuthorize annotation = findPreAuthorize(methodName);
         assertThat(annotation).as("@PreAuthorize missing on %s", methodName).isNotNull();
@@ -34,21 +35,30 @@ class InterviewAccessControlTest {
     // --- Read endpoints: ADMIN/LEADER/VICE_LEADER ---
 
     @ParameterizedTest
-    @ValueSource(strings = {"getInterview", "getMessages", "getReport", "getArchive"})
+    @ValueSource(strings = {"getInterview", "getMessages", "getReport", "getCurrentScore", "getArchive"})
     void readEndpoints_shouldAllowViceLeaderReadAccess(String methodName) {
         PreAuthorize annotation = findPreAuthorize(methodName);
         assertThat(annotation).as("@PreAuthorize missing on %s", methodName).isNotNull();
         assertThat(annotation.value()).isEqualTo(READ_ACCESS);
     }
 
+    // --- Batch re-scoring: ADMIN only ---
+
+    @Test
+    void rescore_shouldRequireAdminRole() {
+        PreAuthorize annotation = findPreAuthorize("rescore");
+        assertThat(annotation).as("@PreAuthorize missing on rescore").isNotNull();
+        assertThat(annotation.value()).isEqualTo(ADMIN_ONLY);
+    }
+
     // --- All methods should have @PreAuthorize ---
 
     @Test
     void allPublicMethods_shouldHavePreAuthorizeAnnotation() {
         List<String> endpointMethods = List.of(
-                "startInterview", "processMessage", "endInterview",
-                "getInterview", "getMessages", "getReport",
-                "manualReview", "getArchive"
+                "startInterview", "processMessage", "openStream", "streamMessage", "endInterview",
+                "getInterview", "getMessages", "getReport", "getCurrentScore",
+                "manualReview", "getArchive", "rescore"
         );
 
         for (String methodName : endpointMethods) {
@@ -63,7 +73,8 @@ class InterviewAccessControlTest {
 
     @Test
     void writeEndpoints_shouldNotIncludeViceLeader() {
-        List<String> writeMethods = List.of("startInterview", "processMessage", "endInterview", "manualReview");
+        List<String> writeMethods = List.of("startInterview", "processMessage", "openStream", "streamMessage",
+                "endInterview", "manualReview");
 
         for (String methodName : writeMethods) {
             PreAuthorize annotation = findPreAuthorize(methodName);
@@ -78,7 +89,7 @@ class InterviewAccessControlTest {
 
     @Test
     void readEndpoints_shouldIncludeViceLeader() {
-        List<String> readMethods = List.of("getInterview", "getMessages", "getReport", "getArchive");
+        List<String> readMethods = List.of("getInterview", "getMessages", "getReport", "getCurrentScore", "getArchive");
 
         for (String methodName : readMethods) {
             PreAuthorize annotation = findPreAuthorize(methodName);
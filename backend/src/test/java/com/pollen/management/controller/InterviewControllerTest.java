@@ -5,16 +5,20 @@ import com.pollen.management.entity.Interview;
 import com.pollen.management.entity.InterviewMessage;
 import com.pollen.management.entity.InterviewReport;
 import com.pollen.management.entity.enums.InterviewStatus;
+import com.pollen.management.service.InterviewRescoreService;
 import com.pollen.management.service.InterviewService;
+import com.pollen.management.service.InterviewStreamService;
 import com.pollen.management.util.BusinessException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -26,6 +30,12 @@ class InterviewControllerTest {
     @Mock
     private InterviewService interviewService;
 
+    @Mock
+    private InterviewStreamService interviewStreamService;
+
+    @Mock
+    private InterviewRescoreService interviewRescoreService;
+
     @InjectMocks
     private InterviewController controller;
 
@@ -106,6 +116,50 @@ class InterviewControllerTest {
                 .hasMessage("面试记录不存在");
     }
 
+    // --- GET /api/interviews/{id}/stream ---
+
+    @Test
+    void openStream_shouldReturnEmitterFromStreamService() {
+        var emitter = new SseEmitter();
+        when(interviewStreamService.connect(10L)).thenReturn(emitter);
+
+        assertThat(controller.openStream(10L)).isSameAs(emitter);
+    }
+
+    // --- POST /api/interviews/{id}/stream/message ---
+
+    @Test
+    void streamMessage_shouldDelegateWithTurnAndReturnAiReply() {
+        var request = InterviewStreamAnswerRequest.builder()
+                .message("我会先了解情况再处理")
+                .turn(2L)
+                .build();
+        var aiMessage = InterviewMessage.builder()
+                .id(21L)
+                .interviewId(10L)
+                .role("AI")
+                .content("好的，那如果对方情绪激动怎么办？")
+                .build();
+        when(interviewStreamService.submitAnswer(10L, "我会先了解情况再处理", 2L)).thenReturn(aiMessage);
+
+        var response = controller.streamMessage(10L, request);
+
+        assertThat(response.getCode()).isEqualTo(200);
+        assertThat(response.getData().getId()).isEqualTo(21L);
+        verifyNoInteractions(interviewService);
+    }
+
+    @Test
+    void streamMessage_timedOut_shouldPropagateException() {
+        var request = InterviewStreamAnswerRequest.builder().message("test").turn(1L).build();
+        when(interviewStreamService.submitAnswer(10L, "test", 1L))
+                .thenThrow(new BusinessException(400, "本轮回答已超时"));
+
+        assertThatThrownBy(() -> controller.streamMessage(10L, request))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("本轮回答已超时");
+    }
+
     // --- POST /api/interviews/{id}/end ---
 
     @Test
@@ -128,6 +182,7 @@ class InterviewControllerTest {
         assertThat(response.getData().getTotalScore()).isEqualTo(7);
         assertThat(response.getData().getRecommendationLabel()).isEqualTo("重点审查对话内容");
         verify(interviewService).endInterview(10L);
+        verify(interviewStreamService).close(10L);
     }
 
     @Test
@@ -236,6 +291,30 @@ class InterviewControllerTest {
                 .hasMessage("面试报告不存在");
     }
 
+    // --- GET /api/interviews/{id}/score ---
+
+    @Test
+    void getCurrentScore_shouldReturnRunningScoreCard() {
+        var score = InterviewScoreCard.builder()
+                .interviewId(10L)
+                .status(InterviewStatus.IN_PROGRESS)
+                .userMessageCount(2)
+                .ruleFamiliarity(7)
+                .communicationScore(6)
+                .pressureScore(6)
+                .totalScore(6)
+                .recommendationLabel("重点审查对话内容")
+                .build();
+        when(interviewService.getCurrentScore(10L)).thenReturn(score);
+
+        var response = controller.getCurrentScore(10L);
+
+        assertThat(response.getCode()).isEqualTo(200);
+        assertThat(response.getData().getStatus()).isEqualTo(InterviewStatus.IN_PROGRESS);
+        assertThat(response.getData().getTotalScore()).isEqualTo(6);
+        verify(interviewService).getCurrentScore(10L);
+    }
+
     // --- POST /api/interviews/{id}/review ---
 
     @Test
@@ -341,4 +420,35 @@ class InterviewControllerTest {
                 .isInstanceOf(BusinessException.class)
                 .hasMessage("面试记录不存在");
     }
+
+    // --- POST /api/interviews/rescore ---
+
+    @Test
+    void rescore_shouldDelegateWithDryRunFlagAndReturnSummary() {
+        var result = InterviewRescoreResult.builder()
+                .scoringVersion("2")
+                .dryRun(true)
+                .scanned(3)
+                .labelChanged(1)
+                .labelTransitions(Map.of("建议通过 -> 建议拒绝", 1L))
+                .build();
+        when(interviewRescoreService.rescoreAll(true)).thenReturn(result);
+
+        var response = controller.rescore(true);
+
+        assertThat(response.getCode()).isEqualTo(200);
+        assertThat(response.getData().getScanned()).isEqualTo(3);
+        assertThat(response.getData().getLabelTransitions()).containsEntry("建议通过 -> 建议拒绝", 1L);
+        verify(interviewRescoreService).rescoreAll(true);
+    }
+
+    @Test
+    void rescore_alreadyRunning_shouldPropagateException() {
+        when(interviewRescoreService.rescoreAll(false))
+                .thenThrow(new BusinessException(409, "重新评分任务正在运行"));
+
+        assertThatThrownBy(() -> controller.rescore(false))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("重新评分任务正在运行");
+    }
 }
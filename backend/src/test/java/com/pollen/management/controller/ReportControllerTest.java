@@ -2,8 +2,12 @@ package com.pollen.management.controller;
 
 import com.pollen.management.dto.ApiResponse;
 import com.pollen.management.entity.WeeklyReport;
+import com.pollen.management.entity.enums.ExportFormat;
+import com.pollen.management.util.BusinessException;
+import com.pollen.management.service.CombinedExportService;
 import com.pollen.management.service.ExportService;
 import com.pollen.management.service.ReportService;
+import com.pollen.management.service.TextExportService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -11,7 +15,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -29,6 +35,12 @@ class ReportControllerTest {
     @Mock
     private ExportService exportService;
 
+    @Mock
+    private TextExportService textExportService;
+
+    @Mock
+    private CombinedExportService combinedExportService;
+
     @InjectMocks
     private ReportController controller;
 
@@ -134,96 +146,163 @@ class ReportControllerTest {
     // --- GET /api/reports/export/members ---
 
     @Test
-    void exportMembers_shouldReturnExcelFile() {
-        byte[] data = new byte[]{1, 2, 3};
-        when(exportService.exportMembers()).thenReturn(data);
+    void exportMembers_shouldReturnExcelFile() throws Exception {
         when(exportService.generateFileName("members", null, null)).thenReturn("members_20240610.xlsx");
 
-        ResponseEntity<byte[]> response = controller.exportMembers();
+        ResponseEntity<StreamingResponseBody> response = controller.exportMembers("xlsx");
 
         assertThat(response.getStatusCode().value()).isEqualTo(200);
-        assertThat(response.getBody()).isEqualTo(data);
         assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
                 .contains("members_20240610.xlsx");
-        verify(exportService).exportMembers();
+        verify(exportService, never()).exportMembers(any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(exportService).exportMembers(out);
     }
 
     // --- GET /api/reports/export/points ---
 
     @Test
-    void exportPoints_shouldReturnExcelFile() {
-        byte[] data = new byte[]{4, 5, 6};
-        when(exportService.exportPoints()).thenReturn(data);
+    void exportPoints_shouldReturnExcelFile() throws Exception {
         when(exportService.generateFileName("points", null, null)).thenReturn("points_20240610.xlsx");
 
-        ResponseEntity<byte[]> response = controller.exportPoints();
+        ResponseEntity<StreamingResponseBody> response = controller.exportPoints("xlsx");
 
         assertThat(response.getStatusCode().value()).isEqualTo(200);
-        assertThat(response.getBody()).isEqualTo(data);
         assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
                 .contains("points_20240610.xlsx");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(exportService).exportPoints(out);
     }
 
     // --- GET /api/reports/export/salary ---
 
     @Test
-    void exportSalary_shouldReturnExcelFile() {
-        byte[] data = new byte[]{7, 8, 9};
-        when(exportService.exportSalary()).thenReturn(data);
+    void exportSalary_shouldReturnExcelFile() throws Exception {
         when(exportService.generateFileName("salary", null, null)).thenReturn("salary_20240610.xlsx");
 
-        ResponseEntity<byte[]> response = controller.exportSalary();
+        ResponseEntity<StreamingResponseBody> response = controller.exportSalary("xlsx");
 
         assertThat(response.getStatusCode().value()).isEqualTo(200);
-        assertThat(response.getBody()).isEqualTo(data);
         assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
                 .contains("salary_20240610.xlsx");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(exportService).exportSalary(out);
     }
 
     // --- GET /api/reports/export/activities ---
 
     @Test
-    void exportActivities_shouldReturnExcelFile() {
-        byte[] data = new byte[]{10, 11, 12};
-        when(exportService.exportActivities()).thenReturn(data);
+    void exportActivities_shouldReturnExcelFile() throws Exception {
         when(exportService.generateFileName("activities", null, null)).thenReturn("activities_20240610.xlsx");
 
-        ResponseEntity<byte[]> response = controller.exportActivities();
+        ResponseEntity<StreamingResponseBody> response = controller.exportActivities("xlsx");
 
         assertThat(response.getStatusCode().value()).isEqualTo(200);
-        assertThat(response.getBody()).isEqualTo(data);
         assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
                 .contains("activities_20240610.xlsx");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(exportService).exportActivities(out);
     }
 
     // --- GET /api/reports/export/custom ---
 
     @Test
-    void exportCustom_shouldReturnFilteredExcelFile() {
+    void exportCustom_shouldReturnFilteredExcelFile() throws Exception {
         LocalDate start = LocalDate.of(2024, 1, 1);
         LocalDate end = LocalDate.of(2024, 1, 31);
-        byte[] data = new byte[]{13, 14, 15};
-        when(exportService.exportWithDateRange("members", start, end)).thenReturn(data);
         when(exportService.generateFileName("members", start, end)).thenReturn("members_20240101_20240131.xlsx");
 
-        ResponseEntity<byte[]> response = controller.exportCustom("members", start, end);
+        ResponseEntity<StreamingResponseBody> response = controller.exportCustom("members", start, end, "xlsx");
 
         assertThat(response.getStatusCode().value()).isEqualTo(200);
-        assertThat(response.getBody()).isEqualTo(data);
         assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
                 .contains("members_20240101_20240131.xlsx");
-        verify(exportService).exportWithDateRange("members", start, end);
+        verify(exportService).validateDataType("members");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(exportService).exportWithDateRange("members", start, end, out);
     }
 
     @Test
     void exportCustom_invalidDataType_shouldPropagateException() {
         LocalDate start = LocalDate.of(2024, 1, 1);
         LocalDate end = LocalDate.of(2024, 1, 31);
-        when(exportService.exportWithDateRange("invalid", start, end))
-                .thenThrow(new IllegalArgumentException("Unsupported data type: invalid"));
+        doThrow(new IllegalArgumentException("Unsupported data type: invalid"))
+                .when(exportService).validateDataType("invalid");
 
-        assertThatThrownBy(() -> controller.exportCustom("invalid", start, end))
+        assertThatThrownBy(() -> controller.exportCustom("invalid", start, end, "xlsx"))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Unsupported data type: invalid");
+        verify(exportService, never()).exportWithDateRange(any(), any(), any(), any());
+    }
+
+    // --- GET /api/reports/export/all ---
+
+    @Test
+    void exportAll_shouldStreamCombinedWorkbook() throws Exception {
+        when(exportService.generateFileName("all", null, null)).thenReturn("all_20240610.xlsx");
+
+        ResponseEntity<StreamingResponseBody> response = controller.exportAll();
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
+                .contains("all_20240610.xlsx");
+        verify(combinedExportService, never()).exportAll(any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(combinedExportService).exportAll(out);
+    }
+
+    // --- format=csv / ndjson ---
+
+    @Test
+    void exportPoints_csv_shouldStreamTextExport() throws Exception {
+        when(exportService.generateFileName("points", null, null)).thenReturn("points_20240610.xlsx");
+
+        ResponseEntity<StreamingResponseBody> response = controller.exportPoints("CSV");
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
+                .contains("points_20240610.csv");
+        assertThat(response.getHeaders().getContentType().toString()).startsWith("text/csv");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(textExportService).exportReport("points", null, null, ExportFormat.CSV, out);
+        verify(exportService, never()).exportPoints(any());
+    }
+
+    @Test
+    void exportCustom_ndjson_shouldStreamTextExportForRange() throws Exception {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 31);
+        when(exportService.generateFileName("salary", start, end)).thenReturn("salary_20240101_20240131.xlsx");
+
+        ResponseEntity<StreamingResponseBody> response = controller.exportCustom("salary", start, end, "ndjson");
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
+                .contains("salary_20240101_20240131.ndjson");
+        assertThat(response.getHeaders().getContentType().toString()).startsWith("application/x-ndjson");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(textExportService).exportReport("salary", start, end, ExportFormat.NDJSON, out);
+        verify(exportService, never()).exportWithDateRange(any(), any(), any(), any());
+    }
+
+    @Test
+    void export_unknownFormat_shouldRejectBeforeStreaming() {
+        assertThatThrownBy(() -> controller.exportMembers("pdf"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("pdf");
+        verifyNoInteractions(textExportService);
     }
 }
@@ -179,9 +179,10 @@ class ActivityEnhancedEntityTest {
     @Test
     void registrationStatusEnumShouldContainAllValues() {
         RegistrationStatus[] values = RegistrationStatus.values();
-        assertEquals(3, values.length);
+        assertEquals(4, values.length);
         assertNotNull(RegistrationStatus.valueOf("PENDING"));
         assertNotNull(RegistrationStatus.valueOf("APPROVED"));
         assertNotNull(RegistrationStatus.valueOf("REJECTED"));
+        assertNotNull(RegistrationStatus.valueOf("WAITLISTED"));
     }
 }
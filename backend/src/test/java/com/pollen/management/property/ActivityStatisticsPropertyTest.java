@@ -10,6 +10,7 @@ import com.pollen.management.repository.ActivityRegistrationRepository;
 import com.pollen.management.repository.ActivityRepository;
 import com.pollen.management.repository.ActivityStatisticsRepository;
 import com.pollen.management.service.ActivityServiceImpl;
+import com.pollen.management.service.ActivitySignUpService;
 import com.pollen.management.service.PointsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.jqwik.api.*;
@@ -207,7 +208,8 @@ class ActivityStatisticsPropertyTest {
                 statsRepo,
                 mock(ActivityMaterialRepository.class),
                 mock(PointsService.class),
-                new ObjectMapper()
+                new ObjectMapper(),
+                mock(ActivitySignUpService.class)
         );
     }
 }
@@ -10,19 +10,30 @@ import com.pollen.management.repository.PointsRecordRepository;
 import com.pollen.management.repository.SalaryRecordRepository;
 import com.pollen.management.repository.UserRepository;
 import com.pollen.management.service.ExportServiceImpl;
+import jakarta.persistence.EntityManager;
 import net.jqwik.api.*;
 import net.jqwik.api.constraints.IntRange;
 import net.jqwik.api.constraints.Size;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -48,7 +59,7 @@ class ExcelExportPropertyTest {
             @ForAll("userLists") List<User> users) throws Exception {
 
         ExportServiceImpl service = buildService(users, List.of(), List.of(), List.of());
-        byte[] excel = service.exportMembers();
+        byte[] excel = export(service::exportMembers);
 
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(excel))) {
             Sheet sheet = wb.getSheetAt(0);
@@ -64,7 +75,7 @@ class ExcelExportPropertyTest {
             @ForAll("userLists") List<User> users) throws Exception {
 
         ExportServiceImpl service = buildService(users, List.of(), List.of(), List.of());
-        byte[] excel = service.exportMembers();
+        byte[] excel = export(service::exportMembers);
 
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(excel))) {
             Sheet sheet = wb.getSheetAt(0);
@@ -93,7 +104,7 @@ class ExcelExportPropertyTest {
             @ForAll("pointsLists") List<PointsRecord> records) throws Exception {
 
         ExportServiceImpl service = buildService(List.of(), records, List.of(), List.of());
-        byte[] excel = service.exportPoints();
+        byte[] excel = export(service::exportPoints);
 
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(excel))) {
             Sheet sheet = wb.getSheetAt(0);
@@ -106,7 +117,7 @@ class ExcelExportPropertyTest {
             @ForAll("pointsLists") List<PointsRecord> records) throws Exception {
 
         ExportServiceImpl service = buildService(List.of(), records, List.of(), List.of());
-        byte[] excel = service.exportPoints();
+        byte[] excel = export(service::exportPoints);
 
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(excel))) {
             Sheet sheet = wb.getSheetAt(0);
@@ -137,7 +148,7 @@ class ExcelExportPropertyTest {
             @ForAll("salaryLists") List<SalaryRecord> records) throws Exception {
 
         ExportServiceImpl service = buildService(List.of(), List.of(), records, List.of());
-        byte[] excel = service.exportSalary();
+        byte[] excel = export(service::exportSalary);
 
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(excel))) {
             Sheet sheet = wb.getSheetAt(0);
@@ -150,7 +161,7 @@ class ExcelExportPropertyTest {
             @ForAll("salaryLists") List<SalaryRecord> records) throws Exception {
 
         ExportServiceImpl service = buildService(List.of(), List.of(), records, List.of());
-        byte[] excel = service.exportSalary();
+        byte[] excel = export(service::exportSalary);
 
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(excel))) {
             Sheet sheet = wb.getSheetAt(0);
@@ -181,7 +192,7 @@ class ExcelExportPropertyTest {
             @ForAll("activityLists") List<Activity> activities) throws Exception {
 
         ExportServiceImpl service = buildService(List.of(), List.of(), List.of(), activities);
-        byte[] excel = service.exportActivities();
+        byte[] excel = export(service::exportActivities);
 
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(excel))) {
             Sheet sheet = wb.getSheetAt(0);
@@ -194,7 +205,7 @@ class ExcelExportPropertyTest {
             @ForAll("activityLists") List<Activity> activities) throws Exception {
 
         ExportServiceImpl service = buildService(List.of(), List.of(), List.of(), activities);
-        byte[] excel = service.exportActivities();
+        byte[] excel = export(service::exportActivities);
 
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(excel))) {
             Sheet sheet = wb.getSheetAt(0);
@@ -235,7 +246,7 @@ class ExcelExportPropertyTest {
                 .count();
 
         ExportServiceImpl service = buildService(users, List.of(), List.of(), List.of());
-        byte[] excel = service.exportWithDateRange("members", startDate, endDate);
+        byte[] excel = export(out -> service.exportWithDateRange("members", startDate, endDate, out));
 
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(excel))) {
             Sheet sheet = wb.getSheetAt(0);
@@ -382,11 +393,42 @@ class ExcelExportPropertyTest {
         SalaryRecordRepository salaryRepo = mock(SalaryRecordRepository.class);
         ActivityRepository activityRepo = mock(ActivityRepository.class);
 
-        when(userRepo.findAll()).thenReturn(users);
-        when(pointsRepo.findAll()).thenReturn(points);
-        when(salaryRepo.findAll()).thenReturn(salaries);
-        when(activityRepo.findAll()).thenReturn(activities);
+        when(userRepo.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(users);
+        when(userRepo.findPageByCreatedAtBetween(any(), anyLong(), any(), any()))
+                .thenAnswer(rangePage(users, User::getCreatedAt, User::getId));
+        when(pointsRepo.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(points);
+        when(salaryRepo.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(salaries);
+        when(activityRepo.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(activities);
 
-        return new ExportServiceImpl(userRepo, pointsRepo, salaryRepo, activityRepo);
+        return new ExportServiceImpl(userRepo, pointsRepo, salaryRepo, activityRepo,
+                mock(PlatformTransactionManager.class), mock(EntityManager.class));
+    }
+
+    private static byte[] export(Consumer<OutputStream> exporter) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.accept(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 模拟 findPageByCreatedAtBetween 的数据库语义：时间段过滤 + (createdAt, id) 游标 + 排序 + 分页
+     */
+    private static <T> Answer<List<T>> rangePage(List<T> rows, Function<T, LocalDateTime> createdAtOf,
+                                                 Function<T, Long> idOf) {
+        return invocation -> {
+            LocalDateTime after = invocation.getArgument(0);
+            long afterId = invocation.getArgument(1);
+            LocalDateTime end = invocation.getArgument(2);
+            Pageable pageable = invocation.getArgument(3);
+            return rows.stream()
+                    .filter(r -> {
+                        LocalDateTime t = createdAtOf.apply(r);
+                        return t != null && !t.isBefore(after) && !t.isAfter(end)
+                                && (t.isAfter(after) || idOf.apply(r) > afterId);
+                    })
+                    .sorted(Comparator.comparing(createdAtOf).thenComparing(idOf))
+                    .limit(pageable.getPageSize())
+                    .toList();
+        };
     }
 }
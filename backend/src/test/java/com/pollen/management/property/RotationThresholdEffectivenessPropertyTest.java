@@ -12,6 +12,7 @@ import com.pollen.management.repository.SalaryRecordRepository;
 import com.pollen.management.repository.UserRepository;
 import com.pollen.management.service.MemberRotationServiceImpl;
 import com.pollen.management.service.SalaryConfigService;
+import com.pollen.management.service.TokenRevocationService;
 import net.jqwik.api.*;
 
 import java.time.LocalDateTime;
@@ -68,7 +69,8 @@ class RotationThresholdEffectivenessPropertyTest {
         RoleChangeHistoryRepository roleChangeRepo = mock(RoleChangeHistoryRepository.class);
 
         MemberRotationServiceImpl service = new MemberRotationServiceImpl(
-                userRepo, pointsRepo, salaryRepo, roleChangeRepo, configService);
+                userRepo, pointsRepo, salaryRepo, roleChangeRepo, configService,
+                mock(TokenRevocationService.class));
 
         // Create an intern user
         User intern = User.builder().id(1L).username("intern1").password("pass").role(Role.INTERN).build();
@@ -134,7 +136,8 @@ class RotationThresholdEffectivenessPropertyTest {
         RoleChangeHistoryRepository roleChangeRepo = mock(RoleChangeHistoryRepository.class);
 
         MemberRotationServiceImpl service = new MemberRotationServiceImpl(
-                userRepo, pointsRepo, salaryRepo, roleChangeRepo, configService);
+                userRepo, pointsRepo, salaryRepo, roleChangeRepo, configService,
+                mock(TokenRevocationService.class));
 
         User member = User.builder().id(2L).username("member1").password("pass").role(Role.MEMBER).build();
         when(userRepo.findByRoleIn(anyList())).thenReturn(List.of(member));
@@ -212,7 +215,8 @@ class RotationThresholdEffectivenessPropertyTest {
         RoleChangeHistoryRepository roleChangeRepo = mock(RoleChangeHistoryRepository.class);
 
         MemberRotationServiceImpl service = new MemberRotationServiceImpl(
-                userRepo, pointsRepo, salaryRepo, roleChangeRepo, configService);
+                userRepo, pointsRepo, salaryRepo, roleChangeRepo, configService,
+                mock(TokenRevocationService.class));
 
         User intern = User.builder().id(3L).username("intern2").password("pass").role(Role.INTERN).build();
         when(userRepo.findByRole(Role.INTERN)).thenReturn(List.of(intern));
@@ -0,0 +1,131 @@
+package com.pollen.management.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pollen.management.config.PasswordHashingProperties;
+import com.pollen.management.dto.ApiResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 登录风暴压测：模拟 Tomcat 请求线程同时执行大量 BCrypt 校验，同时测量“其他接口”（一批 JSON 序列化）的 p95 延迟，
+ * 对比空闲、有界线程池与直接在请求线程上哈希三种情况。
+ * <p>
+ * 不在常规测试中运行（类名不匹配 surefire includes），手动执行：
+ * <pre>
+ * mvn test -Dtest=BoundedPasswordEncoderBenchmark -Dlogin.benchmark.requests=96 \
+ *     -Dlogin.benchmark.request-threads=32 -Dlogin.benchmark.strength=10
+ * </pre>
+ */
+class BoundedPasswordEncoderBenchmark {
+
+    /** 单次探针请求的工作量：约数毫秒的 CPU 计算，被抢占时延迟明显上升 */
+    private static final int PROBE_SERIALIZATIONS = 2_000;
+    private static final int MIN_PROBE_SAMPLES = 40;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int requestThreads = Integer.getInteger("login.benchmark.request-threads", 16);
+    private final int loginRequests = Integer.getInteger("login.benchmark.requests", 48);
+
+    @Test
+    void loginStorm_probeLatencyIdleVsBoundedVsUnbounded() throws Exception {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(Integer.getInteger("login.benchmark.strength", 8));
+        String hash = bcrypt.encode("admin123");
+
+        // 预热 JIT，避免把编译耗时计入基线
+        measureProbeP95(null, null);
+        double idleP95 = measureProbeP95(null, null);
+
+        ConcurrencyTrackingEncoder boundedTracked = new ConcurrencyTrackingEncoder(bcrypt);
+        PasswordHashingProperties props = new PasswordHashingProperties();
+        props.setTimeoutMs(60_000);
+        BoundedPasswordEncoder bounded = new BoundedPasswordEncoder(boundedTracked, props);
+        try {
+            double boundedP95 = measureProbeP95(bounded, hash);
+            ConcurrencyTrackingEncoder unboundedTracked = new ConcurrencyTrackingEncoder(bcrypt);
+            double unboundedP95 = measureProbeP95(unboundedTracked, hash);
+
+            System.out.printf("[login-benchmark] logins=%d requestThreads=%d hashingThreads=%d cores=%d%n",
+                    loginRequests, requestThreads, props.resolveThreads(), Runtime.getRuntime().availableProcessors());
+            System.out.printf("[login-benchmark] probe p95: idle=%.2f ms, storm(bounded)=%.2f ms, storm(unbounded)=%.2f ms%n",
+                    idleP95, boundedP95, unboundedP95);
+            System.out.printf("[login-benchmark] max concurrent hashes: bounded=%d, unbounded=%d%n",
+                    boundedTracked.maxConcurrent.get(), unboundedTracked.maxConcurrent.get());
+
+            assertTrue(boundedTracked.maxConcurrent.get() <= props.resolveThreads());
+            assertEquals(0, bounded.getStats().getRejected());
+        } finally {
+            bounded.destroy();
+        }
+    }
+
+    /**
+     * 在登录风暴期间（encoder 为 null 时无风暴）周期性执行探针请求，返回 p95 延迟（毫秒）
+     */
+    private double measureProbeP95(PasswordEncoder encoder, String hash) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(requestThreads);
+        List<Future<Boolean>> logins = new ArrayList<>();
+        try {
+            if (encoder != null) {
+                for (int i = 0; i < loginRequests; i++) {
+                    logins.add(pool.submit(() -> encoder.matches("admin123", hash)));
+                }
+            }
+
+            List<Double> samples = new ArrayList<>();
+            while (samples.size() < MIN_PROBE_SAMPLES || logins.stream().anyMatch(f -> !f.isDone())) {
+                long start = System.nanoTime();
+                for (int i = 0; i < PROBE_SERIALIZATIONS; i++) {
+                    objectMapper.writeValueAsString(ApiResponse.success(Map.of("id", i, "name", "probe")));
+                }
+                samples.add((System.nanoTime() - start) / 1_000_000.0);
+                Thread.sleep(2);
+            }
+            for (Future<Boolean> login : logins) {
+                assertTrue(login.get(60, TimeUnit.SECONDS));
+            }
+
+            Collections.sort(samples);
+            return samples.get(Math.max(0, (int) Math.ceil(samples.size() * 0.95) - 1));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static class ConcurrencyTrackingEncoder implements PasswordEncoder {
+        private final PasswordEncoder delegate;
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+        ConcurrencyTrackingEncoder(PasswordEncoder delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return delegate.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            maxConcurrent.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                return delegate.matches(rawPassword, encodedPassword);
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+    }
+}
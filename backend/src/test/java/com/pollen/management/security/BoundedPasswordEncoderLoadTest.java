@@ -0,0 +1,78 @@
+package com.pollen.management.security;
+
+import com.pollen.management.config.PasswordHashingProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 登录风暴负载测试：模拟 Tomcat 请求线程同时执行大量 BCrypt 校验，
+ * BCrypt 在有界线程池中执行时，同时占用 CPU 的哈希数不超过线程数。
+ * 其他接口延迟的对比见 {@link BoundedPasswordEncoderBenchmark}（手动运行）。
+ */
+class BoundedPasswordEncoderLoadTest {
+
+    private static final int REQUEST_THREADS = 16;
+    private static final int LOGIN_REQUESTS = 48;
+    private static final int BCRYPT_STRENGTH = 8;
+
+    @Test
+    void loginStorm_concurrentHashesNeverExceedThreads() throws Exception {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(BCRYPT_STRENGTH);
+        String hash = bcrypt.encode("admin123");
+
+        ConcurrencyTrackingEncoder tracked = new ConcurrencyTrackingEncoder(bcrypt);
+        PasswordHashingProperties props = new PasswordHashingProperties();
+        props.setTimeoutMs(60_000);
+        BoundedPasswordEncoder bounded = new BoundedPasswordEncoder(tracked, props);
+        ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        try {
+            List<Future<Boolean>> logins = new ArrayList<>();
+            for (int i = 0; i < LOGIN_REQUESTS; i++) {
+                logins.add(requestThreads.submit(() -> bounded.matches("admin123", hash)));
+            }
+            for (Future<Boolean> login : logins) {
+                assertTrue(login.get(60, TimeUnit.SECONDS));
+            }
+
+            assertTrue(tracked.maxConcurrent.get() <= props.resolveThreads());
+            assertEquals(0, bounded.getStats().getRejected());
+            assertEquals(LOGIN_REQUESTS, bounded.getStats().getCompleted());
+        } finally {
+            requestThreads.shutdownNow();
+            bounded.destroy();
+        }
+    }
+
+    private static class ConcurrencyTrackingEncoder implements PasswordEncoder {
+        private final PasswordEncoder delegate;
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+        ConcurrencyTrackingEncoder(PasswordEncoder delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return delegate.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            maxConcurrent.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                return delegate.matches(rawPassword, encodedPassword);
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.pollen.management.security;
+
+import com.pollen.management.config.PasswordHashingProperties;
+import com.pollen.management.dto.PasswordHashingStats;
+import com.pollen.management.util.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+    private ExecutorService callers;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.destroy();
+        }
+        if (callers != null) {
+            callers.shutdownNow();
+        }
+    }
+
+    private static PasswordHashingProperties props(int threads, int queueCapacity, long timeoutMs) {
+        PasswordHashingProperties props = new PasswordHashingProperties();
+        props.setThreads(threads);
+        props.setQueueCapacity(queueCapacity);
+        props.setTimeoutMs(timeoutMs);
+        return props;
+    }
+
+    /** 阻塞直到 release 被放行的 PasswordEncoder，用于占满线程池 */
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "encoded";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+    }
+
+    @Test
+    void encodeAndMatches_delegateToBCrypt() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), props(2, 8, 5_000));
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+
+        PasswordHashingStats stats = encoder.getStats();
+        assertEquals(3, stats.getCompleted());
+        assertEquals(0, stats.getRejected());
+        assertEquals(2, stats.getThreads());
+    }
+
+    @Test
+    void queueFull_rejectsImmediatelyWith503() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started, release), props(1, 1, 10_000));
+        callers = Executors.newFixedThreadPool(2);
+
+        callers.submit(() -> encoder.encode("a"));          // occupies the worker
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> encoder.encode("b"));          // fills the queue
+        waitUntil(() -> encoder.getStats().getQueued() == 1);
+
+        long begin = System.nanoTime();
+        BusinessException ex = assertThrows(BusinessException.class, () -> encoder.encode("c"));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        assertEquals(503, ex.getCode());
+        assertTrue(elapsedMs < 1_000, "rejection should be immediate, took " + elapsedMs + "ms");
+        assertEquals(1, encoder.getStats().getRejected());
+        release.countDown();
+    }
+
+    @Test
+    void slowHash_timesOutWith503() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started, release), props(1, 4, 50));
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> encoder.encode("a"));
+
+        assertEquals(503, ex.getCode());
+        assertEquals(1, encoder.getStats().getTimedOut());
+        release.countDown();
+    }
+
+    @Test
+    void delegateException_isPropagated() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), props(1, 4, 5_000));
+
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode(null));
+    }
+
+    @Test
+    void defaultThreads_useHalfOfCpuCount() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), props(0, 4, 5_000));
+
+        assertEquals(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), encoder.getStats().getThreads());
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("condition not met in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
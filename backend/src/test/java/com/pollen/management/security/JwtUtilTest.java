@@ -0,0 +1,116 @@
+package com.pollen.management.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-bytes-long-for-hmac";
+    private static final long EXPIRATION = 3600000L;
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, EXPIRATION, 3);
+    }
+
+    @Test
+    void parseToken_validToken_returnsAllClaims() {
+        String token = jwtUtil.generateToken(7L, "alice", "LEADER");
+
+        JwtClaims claims = jwtUtil.parseToken(token);
+
+        assertNotNull(claims);
+        assertEquals(7L, claims.getUserId());
+        assertEquals("alice", claims.getUsername());
+        assertEquals("LEADER", claims.getRole());
+        assertTrue(claims.getExpiresAt() > claims.getIssuedAt());
+    }
+
+    @Test
+    void parseToken_issuedAtHasMillisecondPrecision() {
+        long before = System.currentTimeMillis();
+        String token = jwtUtil.generateToken(7L, "alice", "LEADER");
+        long after = System.currentTimeMillis();
+
+        long issuedAt = jwtUtil.parseToken(token).getIssuedAt();
+
+        assertTrue(issuedAt >= before && issuedAt <= after);
+    }
+
+    @Test
+    void parseToken_repeatedCall_servedFromCache() {
+        String token = jwtUtil.generateToken(7L, "alice", "LEADER");
+
+        JwtClaims first = jwtUtil.parseToken(token);
+        JwtClaims second = jwtUtil.parseToken(token);
+
+        assertSame(first, second);
+        assertEquals(1, jwtUtil.getCachedClaimsCount());
+    }
+
+    @Test
+    void parseToken_invalidToken_returnsNullAndIsNotCached() {
+        assertNull(jwtUtil.parseToken("not.a.jwt"));
+        assertNull(jwtUtil.parseToken(null));
+        assertNull(jwtUtil.parseToken(""));
+        assertEquals(0, jwtUtil.getCachedClaimsCount());
+    }
+
+    @Test
+    void parseToken_signedTokenWithoutExpiration_returnsNullAndIsNotCached() {
+        String token = Jwts.builder()
+                .subject("mallory")
+                .claim("userId", 9L)
+                .claim("role", "ADMIN")
+                .issuedAt(new Date())
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertNull(jwtUtil.parseToken(token));
+        assertFalse(jwtUtil.validateToken(token));
+        assertThrows(JwtException.class, () -> jwtUtil.getUserIdFromToken(token));
+        assertEquals(0, jwtUtil.getCachedClaimsCount());
+    }
+
+    @Test
+    void parseToken_expiredToken_returnsNull() throws InterruptedException {
+        JwtUtil shortLived = new JwtUtil(SECRET, 0L);
+        String token = shortLived.generateToken(1L, "bob", "MEMBER");
+        Thread.sleep(5);
+
+        assertNull(jwtUtil.parseToken(token));
+        assertEquals(0, jwtUtil.getCachedClaimsCount());
+    }
+
+    @Test
+    void parseToken_cacheIsBounded() {
+        for (long i = 1; i <= 10; i++) {
+            assertNotNull(jwtUtil.parseToken(jwtUtil.generateToken(i, "user" + i, "MEMBER")));
+        }
+        assertTrue(jwtUtil.getCachedClaimsCount() <= 3);
+    }
+
+    @Test
+    void parseToken_cacheDisabled_stillVerifies() {
+        JwtUtil noCache = new JwtUtil(SECRET, EXPIRATION, 0);
+        String token = noCache.generateToken(1L, "bob", "MEMBER");
+
+        assertEquals("bob", noCache.parseToken(token).getUsername());
+        assertEquals(0, noCache.getCachedClaimsCount());
+    }
+
+    @Test
+    void getters_invalidToken_throwJwtException() {
+        assertThrows(JwtException.class, () -> jwtUtil.getUserIdFromToken("garbage"));
+    }
+}
@@ -0,0 +1,174 @@
+package com.pollen.management.service;
+
+import com.pollen.management.dto.BulkCheckInRequest;
+import com.pollen.management.dto.BulkCheckInResult;
+import com.pollen.management.entity.Activity;
+import com.pollen.management.entity.ActivityRegistration;
+import com.pollen.management.entity.enums.PointsType;
+import com.pollen.management.entity.enums.RegistrationStatus;
+import com.pollen.management.repository.ActivityRegistrationRepository;
+import com.pollen.management.repository.ActivityRepository;
+import com.pollen.management.repository.UserRepository;
+import com.pollen.management.util.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityCheckInServiceImplTest {
+
+    @Mock
+    private ActivityRepository activityRepository;
+
+    @Mock
+    private ActivityRegistrationRepository registrationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ActivitySignUpService signUpService;
+
+    @Mock
+    private PointsService pointsService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ActivityCheckInServiceImpl checkInService;
+
+    private static ActivityRegistration registration(long id, long userId, RegistrationStatus status, boolean checkedIn) {
+        return ActivityRegistration.builder()
+                .id(id).activityId(1L).userId(userId).status(status).checkedIn(checkedIn).build();
+    }
+
+    private static BulkCheckInRequest request(String qrToken, long... userIds) {
+        List<BulkCheckInRequest.Scan> scans = new ArrayList<>();
+        for (long userId : userIds) {
+            scans.add(BulkCheckInRequest.Scan.builder()
+                    .userId(userId).scannedAt(LocalDateTime.of(2025, 8, 1, 14, 0)).build());
+        }
+        return BulkCheckInRequest.builder().qrToken(qrToken).scans(scans).build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkCheckIn_shouldUpdateInOneBatchAndAwardPointsOnce() {
+        Activity activity = Activity.builder().id(1L).name("线下活动").qrToken("token").build();
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
+        when(registrationRepository.findByActivityIdAndUserIdIn(eq(1L), anyList())).thenReturn(List.of(
+                registration(10L, 2L, RegistrationStatus.APPROVED, false),
+                registration(11L, 3L, RegistrationStatus.APPROVED, false),
+                registration(12L, 4L, RegistrationStatus.APPROVED, true),
+                registration(13L, 5L, RegistrationStatus.WAITLISTED, false)));
+        when(userRepository.findExistingIds(anyList())).thenReturn(List.of(2L, 3L, 4L, 5L));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 1});
+
+        BulkCheckInResult result = checkInService.bulkCheckIn(1L, request("token", 2L, 3L, 2L, 4L, 5L, 6L));
+
+        assertEquals(6, result.getTotal());
+        assertEquals(2, result.getCheckedIn());
+        assertEquals(4, result.getFailed());
+        List<BulkCheckInResult.Entry> entries = result.getResults();
+        assertTrue(entries.get(0).isSuccess());
+        assertEquals(LocalDateTime.of(2025, 8, 1, 14, 0), entries.get(0).getCheckedInAt());
+        assertTrue(entries.get(1).isSuccess());
+        assertEquals("重复扫码", entries.get(2).getMessage());
+        assertEquals(400, entries.get(3).getCode());
+        assertEquals(403, entries.get(4).getCode());
+        assertEquals("候补中，无法签到", entries.get(4).getMessage());
+        assertEquals(403, entries.get(5).getCode());
+        assertNull(entries.get(5).getCheckedInAt());
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture());
+        assertEquals(List.of(10L, 11L), captor.getValue().stream().map(args -> args[2]).toList());
+        verify(pointsService, times(1)).addPointsBatch(List.of(2L, 3L), PointsType.CHECKIN, 5, "活动签到奖励");
+        verify(pointsService, never()).addPoints(any(), any(), anyInt(), any());
+        verify(registrationRepository, never()).save(any());
+    }
+
+    @Test
+    void bulkCheckIn_concurrentlyCheckedIn_shouldNotAwardTwice() {
+        Activity activity = Activity.builder().id(1L).name("线下活动").build();
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
+        when(registrationRepository.findByActivityIdAndUserIdIn(eq(1L), anyList())).thenReturn(List.of(
+                registration(10L, 2L, RegistrationStatus.APPROVED, false),
+                registration(11L, 3L, RegistrationStatus.APPROVED, false)));
+        when(userRepository.findExistingIds(anyList())).thenReturn(List.of(2L, 3L));
+        // 用户 3 在上传期间已通过单人签到完成
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0});
+
+        BulkCheckInResult result = checkInService.bulkCheckIn(1L, request(null, 2L, 3L));
+
+        assertEquals(1, result.getCheckedIn());
+        assertEquals("已签到，请勿重复签到", result.getResults().get(1).getMessage());
+        verify(pointsService).addPointsBatch(List.of(2L), PointsType.CHECKIN, 5, "活动签到奖励");
+    }
+
+    @Test
+    void bulkCheckIn_missingUser_shouldFailOnlyThatEntry() {
+        Activity activity = Activity.builder().id(1L).name("线下活动").build();
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
+        when(registrationRepository.findByActivityIdAndUserIdIn(eq(1L), anyList())).thenReturn(List.of(
+                registration(10L, 2L, RegistrationStatus.APPROVED, false),
+                registration(11L, 3L, RegistrationStatus.APPROVED, false)));
+        when(userRepository.findExistingIds(anyList())).thenReturn(List.of(2L));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+
+        BulkCheckInResult result = checkInService.bulkCheckIn(1L, request(null, 2L, 3L));
+
+        assertEquals(1, result.getCheckedIn());
+        assertEquals(404, result.getResults().get(1).getCode());
+    }
+
+    @Test
+    void bulkCheckIn_flashSignUp_shouldFlushPendingRegistrationsFirst() {
+        Activity activity = Activity.builder().id(1L).name("抢票活动").capacity(10).flashSignUp(true).build();
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
+        when(registrationRepository.findByActivityIdAndUserIdIn(eq(1L), anyList())).thenReturn(List.of());
+
+        BulkCheckInResult result = checkInService.bulkCheckIn(1L, request(null, 2L));
+
+        assertEquals(0, result.getCheckedIn());
+        verify(signUpService).flush();
+        verifyNoInteractions(jdbcTemplate, pointsService);
+    }
+
+    @Test
+    void bulkCheckIn_invalidQrToken_shouldRejectWholeRequest() {
+        Activity activity = Activity.builder().id(1L).name("线下活动").qrToken("token").build();
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> checkInService.bulkCheckIn(1L, request("expired", 2L)));
+        assertEquals(400, ex.getCode());
+        verifyNoInteractions(registrationRepository, jdbcTemplate, pointsService);
+    }
+
+    @Test
+    void bulkCheckIn_shouldRejectForNonExistentActivity() {
+        when(activityRepository.findById(99L)).thenReturn(Optional.empty());
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> checkInService.bulkCheckIn(99L, request(null, 2L)));
+        assertEquals(404, ex.getCode());
+    }
+}
@@ -0,0 +1,137 @@
+package com.pollen.management.service;
+
+import com.pollen.management.entity.Activity;
+import com.pollen.management.entity.ActivityRegistration;
+import com.pollen.management.entity.enums.ApprovalMode;
+import com.pollen.management.entity.enums.RegistrationStatus;
+import com.pollen.management.repository.ActivityRegistrationRepository;
+import com.pollen.management.repository.ActivityRepository;
+import com.pollen.management.util.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 在 H2 上验证并发报名与审批时报名人数不丢失更新
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ActivityRegistrationConcurrencyTest {
+
+    private static final int THREADS = 64;
+
+    @Autowired
+    private ActivityService activityService;
+    @Autowired
+    private ActivityRepository activityRepository;
+    @Autowired
+    private ActivityRegistrationRepository registrationRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DELETE FROM activity_registrations");
+        jdbcTemplate.execute("DELETE FROM activities");
+    }
+
+    private Activity activity(ApprovalMode mode) {
+        return activityRepository.save(Activity.builder()
+                .name("并发报名活动").activityTime(LocalDateTime.now().plusDays(3)).createdBy(1L)
+                .approvalMode(mode).registrationCount(0).build());
+    }
+
+    private int registrationCount(Long activityId) {
+        return activityRepository.findById(activityId).orElseThrow().getRegistrationCount();
+    }
+
+    /** 所有任务在同一时刻放行，返回抛出 BusinessException 的任务数 */
+    private int runSimultaneously(List<Callable<?>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Callable<?> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        return task.call();
+                    } catch (BusinessException e) {
+                        rejected.incrementAndGet();
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return rejected.get();
+    }
+
+    @Test
+    void registerForActivity_500Simultaneous_shouldCountExactly() throws Exception {
+        Activity activity = activity(ApprovalMode.AUTO);
+        // 报名前读到的活动，稍后整行保存，模拟并发的其他修改
+        Activity stale = activityRepository.findById(activity.getId()).orElseThrow();
+
+        List<Callable<?>> tasks = new ArrayList<>();
+        for (long userId = 1; userId <= 500; userId++) {
+            long uid = userId;
+            tasks.add(() -> activityService.registerForActivity(activity.getId(), uid));
+        }
+        assertEquals(0, runSimultaneously(tasks));
+
+        assertEquals(500, registrationCount(activity.getId()));
+        assertEquals(500, registrationRepository.countByActivityId(activity.getId()));
+
+        stale.setLocation("改到线上");
+        activityRepository.save(stale);
+        assertEquals(500, registrationCount(activity.getId()));
+    }
+
+    @Test
+    void approveRegistration_sameRegistrationApprovedTwice_shouldCountOnce() throws Exception {
+        Activity activity = activity(ApprovalMode.MANUAL);
+        List<ActivityRegistration> pending = new ArrayList<>();
+        for (long userId = 1; userId <= 200; userId++) {
+            pending.add(activityService.registerForActivity(activity.getId(), userId));
+        }
+        assertEquals(0, registrationCount(activity.getId()));
+
+        List<Callable<?>> tasks = new ArrayList<>();
+        for (ActivityRegistration registration : pending) {
+            for (int i = 0; i < 2; i++) {
+                tasks.add(() -> {
+                    activityService.approveRegistration(activity.getId(), registration.getId());
+                    return null;
+                });
+            }
+        }
+        assertEquals(200, runSimultaneously(tasks));
+
+        assertEquals(200, registrationCount(activity.getId()));
+        assertTrue(registrationRepository.findByActivityId(activity.getId()).stream()
+                .allMatch(r -> r.getStatus() == RegistrationStatus.APPROVED));
+    }
+}
@@ -38,7 +38,8 @@ class ActivityRegistrationProperties {
                 Mockito.mock(ActivityStatisticsRepository.class),
                 Mockito.mock(ActivityMaterialRepository.class),
                 Mockito.mock(PointsService.class),
-                new ObjectMapper()
+                new ObjectMapper(),
+                Mockito.mock(ActivitySignUpService.class)
         );
     }
 
@@ -42,6 +42,9 @@ class ActivityServiceImplTest {
     @Mock
     private PointsService pointsService;
 
+    @Mock
+    private ActivitySignUpService signUpService;
+
     @Spy
     private ObjectMapper objectMapper = new ObjectMapper();
 
@@ -82,14 +85,14 @@ class ActivityServiceImplTest {
             r.setId(1L);
             return r;
         });
-        when(activityRepository.save(any(Activity.class))).thenAnswer(inv -> inv.getArgument(0));
 
         ActivityRegistration result = activityService.registerForActivity(1L, 2L);
 
         assertEquals(1L, result.getActivityId());
         assertEquals(2L, result.getUserId());
         assertFalse(result.getCheckedIn());
-        assertEquals(1, activity.getRegistrationCount());
+        verify(activityRepository).incrementRegistrationCount(1L);
+        verify(activityRepository, never()).save(any(Activity.class));
     }
 
     @Test
@@ -124,6 +127,85 @@ class ActivityServiceImplTest {
         assertEquals(404, ex.getCode());
     }
 
+    @Test
+    void registerForActivity_full_shouldWaitlist() {
+        Activity activity = Activity.builder().id(1L).name("活动").status(ActivityStatus.UPCOMING)
+                .capacity(10).registrationCount(10).build();
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
+        when(activityRepository.incrementRegistrationCount(1L)).thenReturn(0);
+        when(registrationRepository.save(any(ActivityRegistration.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        ActivityRegistration result = activityService.registerForActivity(1L, 2L);
+
+        assertEquals(RegistrationStatus.WAITLISTED, result.getStatus());
+    }
+
+    @Test
+    void registerForActivity_flashSignUp_shouldDelegateToSignUpService() {
+        Activity activity = Activity.builder().id(1L).name("活动").status(ActivityStatus.UPCOMING)
+                .capacity(10).flashSignUp(true).registrationCount(0).build();
+        ActivityRegistration reserved = ActivityRegistration.builder()
+                .activityId(1L).userId(2L).status(RegistrationStatus.APPROVED).checkedIn(false).build();
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
+        when(signUpService.signUp(activity, 2L)).thenReturn(reserved);
+
+        assertSame(reserved, activityService.registerForActivity(1L, 2L));
+        verify(registrationRepository, never()).save(any());
+        verify(activityRepository, never()).incrementRegistrationCount(any());
+    }
+
+    // --- cancelRegistration tests ---
+
+    @Test
+    void cancelRegistration_approved_shouldPromoteFirstWaitlisted() {
+        Activity activity = Activity.builder().id(1L).name("活动").capacity(1).registrationCount(1).build();
+        ActivityRegistration reg = ActivityRegistration.builder()
+                .id(10L).activityId(1L).userId(2L).status(RegistrationStatus.APPROVED).checkedIn(false).build();
+        ActivityRegistration waiting = ActivityRegistration.builder()
+                .id(11L).activityId(1L).userId(3L).status(RegistrationStatus.WAITLISTED).checkedIn(false).build();
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
+        when(registrationRepository.findByActivityIdAndUserId(1L, 2L)).thenReturn(Optional.of(reg));
+        when(registrationRepository.findByActivityIdAndStatusOrderByIdAsc(1L, RegistrationStatus.WAITLISTED))
+                .thenReturn(List.of(waiting));
+        when(registrationRepository.updateStatus(11L, RegistrationStatus.WAITLISTED, RegistrationStatus.APPROVED))
+                .thenReturn(1);
+
+        activityService.cancelRegistration(1L, 2L);
+
+        verify(registrationRepository).delete(reg);
+        verify(activityRepository, never()).decrementRegistrationCount(any());
+    }
+
+    @Test
+    void cancelRegistration_noWaitlist_shouldReleaseSeat() {
+        Activity activity = Activity.builder().id(1L).name("活动").capacity(1).registrationCount(1).build();
+        ActivityRegistration reg = ActivityRegistration.builder()
+                .id(10L).activityId(1L).userId(2L).status(RegistrationStatus.APPROVED).checkedIn(false).build();
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
+        when(registrationRepository.findByActivityIdAndUserId(1L, 2L)).thenReturn(Optional.of(reg));
+        when(registrationRepository.findByActivityIdAndStatusOrderByIdAsc(1L, RegistrationStatus.WAITLISTED))
+                .thenReturn(List.of());
+
+        activityService.cancelRegistration(1L, 2L);
+
+        verify(registrationRepository).delete(reg);
+        verify(activityRepository).decrementRegistrationCount(1L);
+    }
+
+    @Test
+    void cancelRegistration_checkedIn_shouldReject() {
+        Activity activity = Activity.builder().id(1L).name("活动").build();
+        ActivityRegistration reg = ActivityRegistration.builder()
+                .id(10L).activityId(1L).userId(2L).status(RegistrationStatus.APPROVED).checkedIn(true).build();
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
+        when(registrationRepository.findByActivityIdAndUserId(1L, 2L)).thenReturn(Optional.of(reg));
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> activityService.cancelRegistration(1L, 2L));
+        assertEquals(400, ex.getCode());
+        verify(registrationRepository, never()).delete(any());
+    }
+
     // --- checkIn tests ---
 
     @Test
@@ -286,13 +368,66 @@ class ActivityServiceImplTest {
 
         when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
         when(registrationRepository.findById(10L)).thenReturn(Optional.of(reg));
-        when(registrationRepository.save(any(ActivityRegistration.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(activityRepository.save(any(Activity.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(registrationRepository.updateStatus(10L, RegistrationStatus.PENDING, RegistrationStatus.APPROVED))
+                .thenReturn(1);
 
         activityService.approveRegistration(1L, 10L);
 
         assertEquals(RegistrationStatus.APPROVED, reg.getStatus());
-        assertEquals(1, activity.getRegistrationCount());
+        verify(activityRepository).incrementRegistrationCount(1L);
+        verify(activityRepository, never()).save(any(Activity.class));
+    }
+
+    @Test
+    void approveRegistration_full_shouldReject() {
+        Activity activity = Activity.builder().id(1L).name("活动")
+                .approvalMode(ApprovalMode.MANUAL).capacity(1).registrationCount(1).build();
+        ActivityRegistration reg = ActivityRegistration.builder()
+                .id(10L).activityId(1L).userId(2L).status(RegistrationStatus.PENDING).build();
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
+        when(registrationRepository.findById(10L)).thenReturn(Optional.of(reg));
+        when(registrationRepository.updateStatus(10L, RegistrationStatus.PENDING, RegistrationStatus.APPROVED))
+                .thenReturn(1);
+        when(activityRepository.incrementRegistrationCount(1L)).thenReturn(0);
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> activityService.approveRegistration(1L, 10L));
+        assertEquals(400, ex.getCode());
+    }
+
+    @Test
+    void approveRegistration_flashActivity_shouldReject() {
+        Activity activity = Activity.builder().id(1L).name("抢票活动")
+                .capacity(10).flashSignUp(true).registrationCount(0).build();
+        ActivityRegistration reg = ActivityRegistration.builder()
+                .id(10L).activityId(1L).userId(2L).status(RegistrationStatus.PENDING).build();
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
+        when(registrationRepository.findById(10L)).thenReturn(Optional.of(reg));
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> activityService.approveRegistration(1L, 10L));
+        assertEquals(400, ex.getCode());
+        verify(registrationRepository, never()).updateStatus(any(), any(), any());
+        verify(activityRepository, never()).incrementRegistrationCount(any());
+    }
+
+    @Test
+    void approveRegistration_concurrentlyApproved_shouldRejectWithoutIncrement() {
+        Activity activity = Activity.builder().id(1L).name("活动")
+                .approvalMode(ApprovalMode.MANUAL).registrationCount(0).build();
+        ActivityRegistration reg = ActivityRegistration.builder()
+                .id(10L).activityId(1L).userId(2L).status(RegistrationStatus.PENDING).build();
+
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
+        when(registrationRepository.findById(10L)).thenReturn(Optional.of(reg));
+        // 读取时仍是待审核，条件更新时已被另一次审批修改
+        when(registrationRepository.updateStatus(10L, RegistrationStatus.PENDING, RegistrationStatus.APPROVED))
+                .thenReturn(0);
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> activityService.approveRegistration(1L, 10L));
+        assertEquals(400, ex.getCode());
+        verify(activityRepository, never()).incrementRegistrationCount(any());
     }
 
     @Test
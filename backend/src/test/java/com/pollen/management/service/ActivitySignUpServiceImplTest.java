@@ -0,0 +1,290 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.ActivitySignUpProperties;
+import com.pollen.management.dto.CreateActivityRequest;
+import com.pollen.management.entity.Activity;
+import com.pollen.management.entity.ActivityRegistration;
+import com.pollen.management.entity.enums.ApprovalMode;
+import com.pollen.management.entity.enums.RegistrationStatus;
+import com.pollen.management.repository.ActivityRegistrationRepository;
+import com.pollen.management.repository.ActivityRepository;
+import com.pollen.management.util.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 在 H2 上验证抢票报名（Redis 不可用，内存模式）：名额不超卖、候补递补与批量落库
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ActivitySignUpServiceImplTest {
+
+    private static final int THREADS = 64;
+
+    @Autowired
+    private ActivityService activityService;
+    @Autowired
+    private ActivitySignUpService signUpService;
+    @Autowired
+    private ActivityRepository activityRepository;
+    @Autowired
+    private ActivityRegistrationRepository registrationRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ActivitySignUpProperties properties;
+
+    @AfterEach
+    void cleanUp() {
+        signUpService.flush();
+        jdbcTemplate.execute("DELETE FROM activity_registrations");
+        jdbcTemplate.execute("DELETE FROM activities");
+    }
+
+    private Activity flashActivity(int capacity) {
+        return activityRepository.save(Activity.builder()
+                .name("抢票活动").activityTime(LocalDateTime.now().plusDays(3)).createdBy(1L)
+                .capacity(capacity).flashSignUp(true).registrationCount(0).build());
+    }
+
+    private int registrationCount(Long activityId) {
+        return activityRepository.findById(activityId).orElseThrow().getRegistrationCount();
+    }
+
+    private RegistrationStatus status(Long activityId, Long userId) {
+        return registrationRepository.findByActivityIdAndUserId(activityId, userId)
+                .map(ActivityRegistration::getStatus).orElse(null);
+    }
+
+    @Test
+    void signUp_500SimultaneousFor100Seats_shouldNeverOversell() throws Exception {
+        Activity activity = flashActivity(100);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ActivityRegistration>> futures = new ArrayList<>();
+        try {
+            for (long userId = 1; userId <= 500; userId++) {
+                long uid = userId;
+                Callable<ActivityRegistration> task = () -> {
+                    start.await();
+                    return activityService.registerForActivity(activity.getId(), uid);
+                };
+                futures.add(pool.submit(task));
+            }
+            start.countDown();
+            int approved = 0;
+            int waitlisted = 0;
+            for (Future<ActivityRegistration> future : futures) {
+                RegistrationStatus status = future.get(60, TimeUnit.SECONDS).getStatus();
+                if (status == RegistrationStatus.APPROVED) {
+                    approved++;
+                } else if (status == RegistrationStatus.WAITLISTED) {
+                    waitlisted++;
+                }
+            }
+            assertEquals(100, approved);
+            assertEquals(400, waitlisted);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        signUpService.flush();
+
+        assertEquals(0, signUpService.pendingCount());
+        assertEquals(500, registrationRepository.countByActivityId(activity.getId()));
+        assertEquals(100, registrationRepository
+                .findByActivityIdAndStatusOrderByIdAsc(activity.getId(), RegistrationStatus.APPROVED).size());
+        assertEquals(100, registrationCount(activity.getId()));
+
+        // 重复落库无副作用
+        signUpService.flush();
+        assertEquals(100, registrationCount(activity.getId()));
+    }
+
+    @Test
+    void signUp_duplicate_shouldRejectIncludingPersistedRegistrations() {
+        Activity activity = flashActivity(2);
+        activityService.registerForActivity(activity.getId(), 1L);
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> activityService.registerForActivity(activity.getId(), 1L));
+        assertEquals(409, ex.getCode());
+
+        signUpService.flush();
+        ex = assertThrows(BusinessException.class,
+                () -> activityService.registerForActivity(activity.getId(), 1L));
+        assertEquals(409, ex.getCode());
+        assertEquals(1, registrationRepository.countByActivityId(activity.getId()));
+    }
+
+    @Test
+    void cancel_seatedUser_shouldPromoteHeadOfWaitlist() {
+        Activity activity = flashActivity(1);
+        activityService.registerForActivity(activity.getId(), 1L);
+        assertEquals(RegistrationStatus.WAITLISTED,
+                activityService.registerForActivity(activity.getId(), 2L).getStatus());
+        activityService.registerForActivity(activity.getId(), 3L);
+
+        activityService.cancelRegistration(activity.getId(), 1L);
+        signUpService.flush();
+
+        assertNull(status(activity.getId(), 1L));
+        assertEquals(RegistrationStatus.APPROVED, status(activity.getId(), 2L));
+        assertEquals(RegistrationStatus.WAITLISTED, status(activity.getId(), 3L));
+        assertEquals(1, registrationCount(activity.getId()));
+
+        // 候补用户不能签到
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> activityService.checkIn(activity.getId(), 3L));
+        assertEquals(403, ex.getCode());
+    }
+
+    @Test
+    void cancel_withoutWaitlist_shouldReleaseSeat() {
+        Activity activity = flashActivity(1);
+        activityService.registerForActivity(activity.getId(), 1L);
+        signUpService.flush();
+        assertEquals(1, registrationCount(activity.getId()));
+
+        activityService.cancelRegistration(activity.getId(), 1L);
+        signUpService.flush();
+        assertEquals(0, registrationCount(activity.getId()));
+
+        assertEquals(RegistrationStatus.APPROVED,
+                activityService.registerForActivity(activity.getId(), 2L).getStatus());
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> activityService.cancelRegistration(activity.getId(), 1L));
+        assertEquals(404, ex.getCode());
+    }
+
+    @Test
+    void signUp_shouldSeedSeatsFromExistingRegistrations() {
+        Activity activity = flashActivity(2);
+        List<ActivityRegistration> existing = new ArrayList<>();
+        existing.add(ActivityRegistration.builder().activityId(activity.getId()).userId(1L)
+                .status(RegistrationStatus.APPROVED).build());
+        existing.add(ActivityRegistration.builder().activityId(activity.getId()).userId(2L)
+                .status(RegistrationStatus.APPROVED).build());
+        registrationRepository.saveAll(existing);
+        jdbcTemplate.update("UPDATE activities SET registration_count = 2 WHERE id = ?", activity.getId());
+
+        ActivityRegistration registration = activityService.registerForActivity(activity.getId(), 3L);
+
+        assertEquals(RegistrationStatus.WAITLISTED, registration.getStatus());
+        signUpService.flush();
+        assertEquals(2, registrationCount(activity.getId()));
+        assertEquals(Collections.singletonList(3L), registrationRepository
+                .findByActivityIdAndStatusOrderByIdAsc(activity.getId(), RegistrationStatus.WAITLISTED)
+                .stream().map(ActivityRegistration::getUserId).toList());
+    }
+
+    @Test
+    void createActivity_flashWithoutCapacity_shouldReject() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> activityService.createActivity(CreateActivityRequest.builder()
+                        .name("抢票活动").eventTime(LocalDateTime.now().plusDays(1)).createdBy(1L)
+                        .flashSignUp(true).build()));
+        assertEquals(400, ex.getCode());
+    }
+
+    @Test
+    void createActivity_flashWithManualApproval_shouldReject() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> activityService.createActivity(CreateActivityRequest.builder()
+                        .name("抢票活动").eventTime(LocalDateTime.now().plusDays(1)).createdBy(1L)
+                        .capacity(10).approvalMode(ApprovalMode.MANUAL).flashSignUp(true).build()));
+        assertEquals(400, ex.getCode());
+        assertEquals(0, activityRepository.count());
+    }
+
+    // --- Redis ---
+
+    private ActivitySignUpServiceImpl redisService(StringRedisTemplate redisTemplate) {
+        ActivitySignUpServiceImpl service = new ActivitySignUpServiceImpl(jdbcTemplate, transactionManager,
+                registrationRepository, redisTemplate, properties);
+        service.setRedisAvailable(true);
+        return service;
+    }
+
+    @Test
+    void signUp_withRedis_shouldMapScriptResult() {
+        Activity activity = flashActivity(1);
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        String dirtyField = activity.getId() + ":";
+        when(redisTemplate.execute(eq(ActivitySignUpServiceImpl.SIGN_UP_SCRIPT), anyList(), eq("1"), eq(dirtyField + 1)))
+                .thenReturn(0L);
+        when(redisTemplate.execute(eq(ActivitySignUpServiceImpl.SIGN_UP_SCRIPT), anyList(), eq("2"), eq(dirtyField + 2)))
+                .thenReturn(1L);
+        when(redisTemplate.execute(eq(ActivitySignUpServiceImpl.SIGN_UP_SCRIPT), anyList(), eq("3"), eq(dirtyField + 3)))
+                .thenReturn(-1L);
+        ActivitySignUpServiceImpl service = redisService(redisTemplate);
+
+        assertEquals(RegistrationStatus.APPROVED, service.signUp(activity, 1L).getStatus());
+        assertEquals(RegistrationStatus.WAITLISTED, service.signUp(activity, 2L).getStatus());
+        assertEquals(409, assertThrows(BusinessException.class, () -> service.signUp(activity, 3L)).getCode());
+        // 脚本未执行（连接失败）时返回 503，不写入报名
+        assertEquals(503, assertThrows(BusinessException.class, () -> service.signUp(activity, 4L)).getCode());
+        assertEquals(0, registrationRepository.countByActivityId(activity.getId()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scheduledFlush_redisRecovered_shouldPersistMemorySeatsAndSwitchBackToRedis() {
+        Activity activity = flashActivity(1);
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ActivitySignUpServiceImpl service = new ActivitySignUpServiceImpl(jdbcTemplate, transactionManager,
+                registrationRepository, redisTemplate, properties);
+
+        // 启动时 Redis 不可用：内存模式占用唯一名额
+        assertEquals(RegistrationStatus.APPROVED, service.signUp(activity, 1L).getStatus());
+        assertNull(status(activity.getId(), 1L));
+
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        when(redisTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.getConnection()).thenReturn(mock(RedisConnection.class));
+        HashOperations<String, Object, Object> hashOps = mock(HashOperations.class);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOps);
+        when(hashOps.scan(eq(ActivitySignUpServiceImpl.DIRTY_KEY), any())).thenReturn(mock(Cursor.class));
+        when(redisTemplate.execute(eq(ActivitySignUpServiceImpl.SIGN_UP_SCRIPT), anyList(), eq("2"), any()))
+                .thenReturn(1L);
+
+        service.scheduledFlush();
+
+        // 切换前内存中的报名已落库，之后按数据库记录（剩余 0 个名额）初始化 Redis 并走脚本
+        assertEquals(RegistrationStatus.APPROVED, status(activity.getId(), 1L));
+        assertEquals(RegistrationStatus.WAITLISTED, service.signUp(activity, 2L).getStatus());
+        verify(redisTemplate).execute(eq(ActivitySignUpServiceImpl.INIT_SCRIPT), anyList(), eq("0"), eq("1"), eq("A"));
+    }
+}
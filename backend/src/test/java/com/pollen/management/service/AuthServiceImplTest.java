@@ -11,6 +11,7 @@ import com.pollen.management.entity.enums.EntryType;
 import com.pollen.management.entity.enums.Role;
 import com.pollen.management.repository.ApplicationRepository;
 import com.pollen.management.repository.UserRepository;
+import com.pollen.management.security.JwtClaims;
 import com.pollen.management.security.JwtUtil;
 import com.pollen.management.util.BusinessException;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +46,9 @@ class AuthServiceImplTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -225,4 +229,30 @@ class AuthServiceImplTest {
 
         verify(jwtUtil, never()).generateToken(anyLong(), anyString(), anyString());
     }
+
+    // --- Logout tests ---
+
+    @Test
+    void logout_shouldRevokeCurrentToken() {
+        JwtClaims claims = JwtClaims.builder()
+                .tokenId("jti-1").userId(1L).username("admin").role("ADMIN")
+                .issuedAt(1_000L).expiresAt(9_000_000_000_000L)
+                .build();
+        when(jwtUtil.parseToken("jwt-token-123")).thenReturn(claims);
+
+        ApiResponse<Void> response = authService.logout("jwt-token-123");
+
+        assertEquals(200, response.getCode());
+        verify(tokenRevocationService).revokeToken("jti-1", 9_000_000_000_000L);
+    }
+
+    @Test
+    void logout_shouldSucceedWithoutRevokingWhenTokenInvalid() {
+        when(jwtUtil.parseToken(any())).thenReturn(null);
+
+        ApiResponse<Void> response = authService.logout(null);
+
+        assertEquals(200, response.getCode());
+        verify(tokenRevocationService, never()).revokeToken(anyString(), anyLong());
+    }
 }
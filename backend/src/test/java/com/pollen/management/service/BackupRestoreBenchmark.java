@@ -0,0 +1,97 @@
+package com.pollen.management.service;
+
+import com.pollen.management.dto.BackupRestoreResult;
+import com.pollen.management.entity.BackupRecord;
+import com.pollen.management.entity.enums.BackupStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 备份恢复基准：备份 N 行积分记录，清空后从备份文件恢复，输出吞吐。
+ * <p>
+ * 不在常规测试中运行（类名不匹配 surefire includes），手动执行：
+ * <pre>
+ * mvn test -Dtest=BackupRestoreBenchmark -Dsurefire.failIfNoSpecifiedTests=false -Dbackup.benchmark.rows=1000000
+ * </pre>
+ * 默认 1000000 行，批次大小取 backup.restore.batch-size。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BackupRestoreBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BackupServiceImpl backupService;
+    @Autowired
+    private BackupRestoreService backupRestoreService;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE points_records");
+        jdbcTemplate.execute("DELETE FROM backup_record");
+    }
+
+    @Test
+    void restoreOneMillionPointsRecords() {
+        int rows = Integer.getInteger("backup.benchmark.rows", 1_000_000);
+        populate(rows);
+        ReflectionTestUtils.setField(backupService, "backupDirectory", tempDir.toString());
+
+        long backupStart = System.nanoTime();
+        BackupRecord backup = backupService.manualBackup();
+        long backupMs = (System.nanoTime() - backupStart) / 1_000_000;
+        assertEquals(BackupStatus.SUCCESS, backup.getStatus());
+
+        jdbcTemplate.execute("TRUNCATE TABLE points_records");
+        System.gc();
+        BackupRestoreResult result = backupRestoreService.restore(backup.getId(), false);
+        Runtime runtime = Runtime.getRuntime();
+        long usedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+
+        assertEquals((long) rows, result.getTableRowCounts().get("pointsRecords"));
+        System.out.printf("[restore-benchmark] points=%d, cpus=%d, batch=%s%n", rows,
+                runtime.availableProcessors(), ReflectionTestUtils.getField(backupRestoreService, "batchSize"));
+        System.out.printf("[restore-benchmark] backup:  %d ms, %d bytes (gzip)%n", backupMs, backup.getFileSize());
+        System.out.printf("[restore-benchmark] restore: %d ms, %d rows, %.0f rows/s, heap used after %d MB%n",
+                result.getDurationMs(), result.getRowsApplied(),
+                result.getRowsApplied() * 1000.0 / Math.max(1, result.getDurationMs()), usedMb);
+    }
+
+    private void populate(int rows) {
+        String sql = "INSERT INTO points_records (user_id, points_type, amount, description, created_at) "
+                + "VALUES (?, 'CHECKIN', ?, ?, ?)";
+        int batchSize = 10_000;
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{(long) (i % 500) + 1, i % 50, "签到奖励 #" + i,
+                    Timestamp.valueOf(BASE.plusMinutes(i))});
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.pollen.management.service;
+
+import com.pollen.management.dto.BackupRestoreResult;
+import com.pollen.management.entity.BackupRecord;
+import com.pollen.management.entity.enums.BackupMode;
+import com.pollen.management.util.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BackupRestoreServiceImplTest {
+
+    private static final String POINTS_SQL = "SELECT id, user_id, points_type, amount, description, created_at "
+            + "FROM points_records ORDER BY id";
+    private static final String ACTIVITY_SQL = "SELECT id, name, CAST(custom_form_fields AS VARCHAR) AS form_fields, "
+            + "registration_count, created_at FROM activities ORDER BY id";
+
+    @Autowired
+    private BackupServiceImpl backupService;
+    @Autowired
+    private BackupRestoreService backupRestoreService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(backupService, "backupDirectory", tempDir.toString());
+        Timestamp old = Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 9, 0));
+        for (int i = 1; i <= 130; i++) {
+            jdbcTemplate.update("INSERT INTO points_records (user_id, points_type, amount, description, created_at) "
+                    + "VALUES (?, 'CHECKIN', ?, ?, ?)", (long) i, i, i % 10 == 0 ? null : "签到 " + i, old);
+        }
+        jdbcTemplate.update("INSERT INTO activities (name, description, activity_time, location, registration_count, "
+                + "status, activity_type, approval_mode, created_by, created_at, custom_form_fields) "
+                + "VALUES ('团建', '年度团建', ?, '会议室A', 12, 'UPCOMING', 'TEAM_BUILDING', 'AUTO', 1, ?, "
+                + "'[{\"name\":\"size\"}]' FORMAT JSON)", old, old);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DELETE FROM points_records");
+        jdbcTemplate.execute("DELETE FROM activities");
+        jdbcTemplate.execute("DELETE FROM backup_record");
+        ReflectionTestUtils.setField(backupService, "fullBackupDay", DayOfWeek.SUNDAY);
+    }
+
+    @Test
+    void restore_fullBackup_replacesTablesWithBackedUpRows() {
+        List<Map<String, Object>> points = jdbcTemplate.queryForList(POINTS_SQL);
+        List<Map<String, Object>> activities = jdbcTemplate.queryForList(ACTIVITY_SQL);
+        long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        BackupRecord full = backupService.manualBackup();
+
+        jdbcTemplate.update("DELETE FROM points_records WHERE id % 2 = 0");
+        jdbcTemplate.update("UPDATE points_records SET amount = -1");
+        jdbcTemplate.update("UPDATE activities SET name = '已修改'");
+
+        BackupRestoreResult result = backupRestoreService.restore(full.getId(), false);
+
+        assertFalse(result.isDryRun());
+        assertEquals(List.of(full.getId()), result.getChainBackupIds());
+        assertEquals(130L, result.getTableRowCounts().get("pointsRecords"));
+        assertEquals(users, result.getTableRowCounts().get("users"));
+        assertEquals(points, jdbcTemplate.queryForList(POINTS_SQL));
+        assertEquals(activities, jdbcTemplate.queryForList(ACTIVITY_SQL));
+        assertEquals("[{\"name\":\"size\"}]", activities.get(0).get("form_fields"));
+
+        // 自增起点已越过恢复的最大 id，新插入不冲突
+        jdbcTemplate.update("INSERT INTO points_records (user_id, points_type, amount, created_at) "
+                + "VALUES (1, 'CHECKIN', 1, CURRENT_TIMESTAMP)");
+        assertEquals(131L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM points_records", Long.class));
+    }
+
+    @Test
+    void restore_incrementalChain_replaysFullThenChanges() {
+        BackupRecord full = backupService.manualBackup();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 1; i <= 20; i++) {
+            jdbcTemplate.update("INSERT INTO points_records (user_id, points_type, amount, description, created_at) "
+                    + "VALUES (?, 'CHECKIN', ?, ?, ?)", (long) i, i, "新记录 " + i, now);
+        }
+        jdbcTemplate.update("UPDATE users SET online_status = 'BUSY', updated_at = ? WHERE username = 'admin'", now);
+        ReflectionTestUtils.setField(backupService, "fullBackupDay", LocalDate.now().getDayOfWeek().plus(1));
+        BackupRecord incremental = backupService.executeDailyBackup();
+        assertEquals(BackupMode.INCREMENTAL, incremental.getBackupMode());
+        List<Map<String, Object>> points = jdbcTemplate.queryForList(POINTS_SQL);
+
+        jdbcTemplate.update("DELETE FROM points_records");
+        jdbcTemplate.update("UPDATE users SET online_status = 'OFFLINE' WHERE username = 'admin'");
+
+        BackupRestoreResult result = backupRestoreService.restore(incremental.getId(), false);
+
+        assertEquals(List.of(full.getId(), incremental.getId()), result.getChainBackupIds());
+        assertEquals(150L, result.getTableRowCounts().get("pointsRecords"));
+        assertEquals(points, jdbcTemplate.queryForList(POINTS_SQL));
+        assertEquals("BUSY", jdbcTemplate.queryForObject(
+                "SELECT online_status FROM users WHERE username = 'admin'", String.class));
+    }
+
+    @Test
+    void restore_dryRun_leavesLiveTablesUntouchedAndDropsScratchSchema() {
+        BackupRecord full = backupService.manualBackup();
+        jdbcTemplate.update("DELETE FROM points_records WHERE id % 2 = 0");
+
+        BackupRestoreResult result = backupRestoreService.restore(full.getId(), true);
+
+        assertTrue(result.isDryRun());
+        assertEquals("backup_restore_scratch", result.getTargetSchema());
+        assertEquals(130L, result.getTableRowCounts().get("pointsRecords"));
+        assertEquals(1L, result.getTableRowCounts().get("activities"));
+        assertEquals(65L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM points_records", Long.class));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SCHEMATA "
+                + "WHERE UPPER(SCHEMA_NAME) = 'BACKUP_RESTORE_SCRATCH'", Long.class));
+    }
+
+    @Test
+    void restore_corruptedFile_failsChecksumWithoutTouchingData() throws Exception {
+        BackupRecord full = backupService.manualBackup();
+        jdbcTemplate.update("DELETE FROM points_records WHERE id % 2 = 0");
+        Files.write(Path.of(full.getFilePath()), new byte[]{0}, StandardOpenOption.APPEND);
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> backupRestoreService.restore(full.getId(), false));
+
+        assertEquals(400, ex.getCode());
+        assertEquals(65L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM points_records", Long.class));
+    }
+
+    @Test
+    void restore_rowCountMismatch_rollsBack() {
+        BackupRecord full = backupService.manualBackup();
+        jdbcTemplate.update("UPDATE backup_record SET table_row_counts = ? WHERE id = ?",
+                full.getTableRowCounts().replace("\"pointsRecords\":130", "\"pointsRecords\":131"), full.getId());
+        jdbcTemplate.update("DELETE FROM points_records WHERE id % 2 = 0");
+
+        assertThrows(BusinessException.class, () -> backupRestoreService.restore(full.getId(), false));
+
+        assertEquals(65L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM points_records", Long.class));
+    }
+
+    @Test
+    void restore_chainWithDeletesBetweenBackups_replaysDeletes() throws Exception {
+        BackupRecord full = backupService.manualBackup();
+        ReflectionTestUtils.setField(backupService, "fullBackupDay", LocalDate.now().getDayOfWeek().plus(1));
+        jdbcTemplate.update("DELETE FROM points_records WHERE id % 3 = 0");
+        jdbcTemplate.update("DELETE FROM activities");
+        jdbcTemplate.update("INSERT INTO points_records (user_id, points_type, amount, description, created_at) "
+                + "VALUES (1, 'CHECKIN', 1, '新记录', ?)", Timestamp.valueOf(LocalDateTime.now()));
+        BackupRecord first = backupService.executeDailyBackup();
+        // 备份文件名精确到秒，避免两次备份写到同一个文件
+        Thread.sleep(1_100);
+        jdbcTemplate.update("DELETE FROM points_records WHERE id = (SELECT MAX(id) FROM points_records)");
+        jdbcTemplate.update("DELETE FROM points_records WHERE id = (SELECT MIN(id) FROM points_records)");
+        BackupRecord second = backupService.executeDailyBackup();
+        assertEquals(BackupMode.INCREMENTAL, second.getBackupMode());
+        List<Map<String, Object>> points = jdbcTemplate.queryForList(POINTS_SQL);
+        jdbcTemplate.update("DELETE FROM points_records");
+
+        BackupRestoreResult result = backupRestoreService.restore(second.getId(), false);
+
+        assertEquals(List.of(full.getId(), first.getId(), second.getId()), result.getChainBackupIds());
+        assertEquals((long) points.size(), result.getTableRowCounts().get("pointsRecords"));
+        assertEquals(0L, result.getTableRowCounts().get("activities"));
+        assertEquals(points, jdbcTemplate.queryForList(POINTS_SQL));
+    }
+
+    @Test
+    void restore_chainTotalsMismatch_rollsBackWithoutPartialCommit() throws Exception {
+        backupService.manualBackup();
+        jdbcTemplate.update("DELETE FROM points_records WHERE id = (SELECT MIN(id) FROM points_records)");
+        ReflectionTestUtils.setField(backupService, "fullBackupDay", LocalDate.now().getDayOfWeek().plus(1));
+        BackupRecord incremental = backupService.executeDailyBackup();
+        assertEquals(BackupMode.INCREMENTAL, incremental.getBackupMode());
+        // 去掉存活 id 区间（相当于早期不记录删除的归档），回放链后行数多于快照时刻
+        stripLiveIdSegments(incremental);
+        jdbcTemplate.update("DELETE FROM points_records");
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> backupRestoreService.restore(incremental.getId(), false));
+
+        assertEquals(400, ex.getCode());
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM points_records", Long.class));
+    }
+
+    /** 重写归档，去掉各表的存活 id 区间分段，并更新备份记录中的校验和 */
+    private void stripLiveIdSegments(BackupRecord record) throws Exception {
+        Path path = Path.of(record.getFilePath());
+        Path stripped = tempDir.resolve("stripped.zip");
+        try (ZipFile zip = new ZipFile(path.toFile());
+             ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(stripped))) {
+            for (ZipEntry entry : Collections.list(zip.entries())) {
+                if (entry.getName().endsWith(".ids.json.gz")) {
+                    continue;
+                }
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                try (InputStream in = zip.getInputStream(entry)) {
+                    in.transferTo(out);
+                }
+                out.closeEntry();
+            }
+        }
+        Files.move(stripped, path, StandardCopyOption.REPLACE_EXISTING);
+        String checksum = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(path)));
+        jdbcTemplate.update("UPDATE backup_record SET checksum = ? WHERE id = ?", checksum, record.getId());
+    }
+}
@@ -0,0 +1,152 @@
+package com.pollen.management.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.pollen.management.entity.BackupRecord;
+import com.pollen.management.entity.enums.BackupMode;
+import com.pollen.management.entity.enums.BackupStatus;
+import com.pollen.management.util.BackupTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 在 H2 上验证备份的键集分页、增量水位与文件内容
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BackupServiceDumpTest {
+
+    @Autowired
+    private BackupServiceImpl backupService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DELETE FROM points_records");
+        jdbcTemplate.execute("DELETE FROM backup_record");
+        ReflectionTestUtils.setField(backupService, "pageSize", 1000);
+        ReflectionTestUtils.setField(backupService, "fullBackupDay", DayOfWeek.SUNDAY);
+        ReflectionTestUtils.setField(backupService, "incrementalMode", BackupMode.INCREMENTAL);
+    }
+
+    /** 把归档的元数据与各表分段合成一个对象：元数据字段 + 表键名 → 行数组 */
+    private JsonNode readBackup(BackupRecord record) throws Exception {
+        try (ZipFile zip = new ZipFile(record.getFilePath())) {
+            ObjectNode root;
+            try (InputStream in = zip.getInputStream(zip.getEntry("metadata.json"))) {
+                root = (ObjectNode) objectMapper.readTree(in);
+            }
+            for (BackupTable table : BackupTables.ALL) {
+                try (InputStream in = new GZIPInputStream(zip.getInputStream(zip.getEntry(table.getSegmentName())))) {
+                    root.set(table.getKey(), objectMapper.readTree(in));
+                }
+            }
+            return root;
+        }
+    }
+
+    @Test
+    void manualBackup_pagesThroughTablesAndWritesEveryRow() throws Exception {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 9, 0));
+        for (int i = 1; i <= 250; i++) {
+            jdbcTemplate.update("INSERT INTO points_records (user_id, points_type, amount, description, created_at) "
+                    + "VALUES (?, 'CHECKIN', ?, ?, ?)", (long) i, i, "签到 " + i, now);
+        }
+        long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        ReflectionTestUtils.setField(backupService, "backupDirectory", tempDir.toString());
+        ReflectionTestUtils.setField(backupService, "pageSize", 100);
+
+        BackupRecord record = backupService.manualBackup();
+
+        assertEquals(BackupStatus.SUCCESS, record.getStatus());
+        assertNotNull(record.getId());
+        assertEquals(64, record.getChecksum().length());
+        JsonNode counts = objectMapper.readTree(record.getTableRowCounts());
+        assertEquals(250, counts.get("pointsRecords").asLong());
+        assertEquals(users, counts.get("users").asLong());
+
+        JsonNode root = readBackup(record);
+        JsonNode points = root.get("pointsRecords");
+        assertEquals(250, points.size());
+        long previousId = 0;
+        for (JsonNode row : points) {
+            assertTrue(row.get("id").asLong() > previousId);
+            previousId = row.get("id").asLong();
+        }
+        JsonNode last = points.get(249);
+        assertEquals(250, last.get("amount").asInt());
+        assertEquals("签到 250", last.get("description").asText());
+        assertEquals("CHECKIN", last.get("points_type").asText());
+        assertEquals("2024-05-01T09:00", last.get("created_at").asText());
+        assertEquals(users, root.get("users").size());
+        assertEquals(250, root.get("rowCounts").get("pointsRecords").asLong());
+        assertEquals(previousId, root.get("maxIds").get("pointsRecords").asLong());
+        assertTrue(objectMapper.readTree(record.getTableTimings()).has("pointsRecords"));
+    }
+
+    @Test
+    void dailyBackup_afterFull_writesOnlyRowsChangedSinceWatermark() throws Exception {
+        Timestamp old = Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 9, 0));
+        for (int i = 1; i <= 120; i++) {
+            jdbcTemplate.update("INSERT INTO points_records (user_id, points_type, amount, description, created_at) "
+                    + "VALUES (?, 'CHECKIN', ?, ?, ?)", (long) i, i, "旧记录 " + i, old);
+        }
+        ReflectionTestUtils.setField(backupService, "backupDirectory", tempDir.toString());
+        ReflectionTestUtils.setField(backupService, "pageSize", 50);
+        BackupRecord full = backupService.manualBackup();
+        assertEquals(BackupMode.FULL, full.getBackupMode());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 1; i <= 75; i++) {
+            jdbcTemplate.update("INSERT INTO points_records (user_id, points_type, amount, description, created_at) "
+                    + "VALUES (?, 'CHECKIN', ?, ?, ?)", (long) i, i, "新记录 " + i, now);
+        }
+        ReflectionTestUtils.setField(backupService, "fullBackupDay", LocalDate.now().getDayOfWeek().plus(1));
+
+        BackupRecord incremental = backupService.executeDailyBackup();
+
+        assertEquals(BackupStatus.SUCCESS, incremental.getStatus());
+        assertEquals(BackupMode.INCREMENTAL, incremental.getBackupMode());
+        assertEquals(full.getId(), incremental.getBaseBackupId());
+        assertEquals(full.getId(), incremental.getParentBackupId());
+        JsonNode root = readBackup(incremental);
+        assertEquals("INCREMENTAL", root.get("backupMode").asText());
+        JsonNode points = root.get("pointsRecords");
+        assertEquals(75, points.size());
+        for (JsonNode row : points) {
+            assertTrue(row.get("description").asText().startsWith("新记录"));
+        }
+        assertEquals(75, objectMapper.readTree(incremental.getTableRowCounts()).get("pointsRecords").asLong());
+
+        assertEquals(List.of(full.getId(), incremental.getId()),
+                backupService.getRestoreChain(incremental.getId()).stream().map(BackupRecord::getId).toList());
+        JsonNode manifest = objectMapper.readTree(BackupServiceImpl.manifestPathOf(incremental.getFilePath()).toFile());
+        assertEquals(2, manifest.get("chain").size());
+        assertEquals(full.getChecksum(), manifest.get("chain").get(0).get("checksum").asText());
+    }
+}
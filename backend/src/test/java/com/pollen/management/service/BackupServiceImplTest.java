@@ -1,29 +1,54 @@
 package com.pollen.management.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pollen.management.entity.BackupRecord;
+import com.pollen.management.entity.enums.BackupMode;
 import com.pollen.management.entity.enums.BackupStatus;
 import com.pollen.management.entity.enums.BackupType;
 import com.pollen.management.entity.enums.CloudSyncStatus;
-import com.pollen.management.repository.*;
+import com.pollen.management.repository.BackupRecordRepository;
+import com.pollen.management.util.BusinessException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
-import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,19 +57,12 @@ class BackupServiceImplTest {
     @Mock
     private BackupRecordRepository backupRecordRepository;
     @Mock
-    private UserRepository userRepository;
+    private JdbcTemplate jdbcTemplate;
     @Mock
-    private ApplicationRepository applicationRepository;
+    private PlatformTransactionManager transactionManager;
     @Mock
-    private PointsRecordRepository pointsRecordRepository;
-    @Mock
-    private SalaryRecordRepository salaryRecordRepository;
-    @Mock
-    private ActivityRepository activityRepository;
-    @Mock
-    private WeeklyReportRepository weeklyReportRepository;
+    private BackupSyncService backupSyncService;
 
-    @InjectMocks
     private BackupServiceImpl backupService;
 
     @TempDir
@@ -52,22 +70,56 @@ class BackupServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        backupService = new BackupServiceImpl(backupRecordRepository, jdbcTemplate, new ObjectMapper(),
+                transactionManager, backupSyncService);
         ReflectionTestUtils.setField(backupService, "backupDirectory", tempDir.toString());
         ReflectionTestUtils.setField(backupService, "retentionDays", 30);
+        ReflectionTestUtils.setField(backupService, "pageSize", 1000);
+        ReflectionTestUtils.setField(backupService, "fullBackupDay", LocalDate.now().getDayOfWeek());
+        ReflectionTestUtils.setField(backupService, "incrementalMode", BackupMode.INCREMENTAL);
+        // 未打桩的 JdbcTemplate 查询不回调任何行，相当于所有表为空
     }
 
-    private void stubRepositoriesEmpty() {
-        when(userRepository.findAll()).thenReturn(Collections.emptyList());
-        when(applicationRepository.findAll()).thenReturn(Collections.emptyList());
-        when(pointsRecordRepository.findAll()).thenReturn(Collections.emptyList());
-        when(salaryRecordRepository.findAll()).thenReturn(Collections.emptyList());
-        when(activityRepository.findAll()).thenReturn(Collections.emptyList());
-        when(weeklyReportRepository.findAll()).thenReturn(Collections.emptyList());
+    private void useIncrementalDay(BackupMode mode) {
+        ReflectionTestUtils.setField(backupService, "fullBackupDay", LocalDate.now().getDayOfWeek().plus(1));
+        ReflectionTestUtils.setField(backupService, "incrementalMode", mode);
+    }
+
+    private BackupRecord successfulBackup(Long id, BackupMode mode, Long baseId, Long parentId,
+                                          LocalDateTime watermarkTo) throws IOException {
+        Path file = tempDir.resolve("backup_" + id + ".json.gz");
+        Files.write(file, new byte[]{1});
+        return BackupRecord.builder()
+                .id(id)
+                .backupMode(mode)
+                .baseBackupId(baseId)
+                .parentBackupId(parentId)
+                .watermarkTo(watermarkTo)
+                .fileName(file.getFileName().toString())
+                .filePath(file.toString())
+                .status(BackupStatus.SUCCESS)
+                .checksum("c" + id)
+                .tableRowCounts("{\"users\":" + id + "}")
+                .createdAt(watermarkTo)
+                .build();
+    }
+
+    /** 读取备份归档：条目名 → 内容（分段解压后） */
+    private static Map<String, String> readArchive(Path file) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            for (ZipEntry entry : Collections.list(zip.entries())) {
+                InputStream raw = zip.getInputStream(entry);
+                try (InputStream in = entry.getName().endsWith(".gz") ? new GZIPInputStream(raw) : raw) {
+                    entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return entries;
     }
 
     @Test
     void executeDailyBackup_shouldCreateJsonFileAndReturnSuccessRecord() {
-        stubRepositoriesEmpty();
         when(backupRecordRepository.save(any(BackupRecord.class))).thenAnswer(inv -> {
             BackupRecord r = inv.getArgument(0);
             r.setId(1L);
@@ -78,7 +130,7 @@ class BackupServiceImplTest {
 
         assertThat(result.getBackupType()).isEqualTo(BackupType.DAILY);
         assertThat(result.getStatus()).isEqualTo(BackupStatus.SUCCESS);
-        assertThat(result.getFileName()).startsWith("backup_").endsWith(".json");
+        assertThat(result.getFileName()).startsWith("backup_").endsWith(".zip");
         assertThat(result.getFileSize()).isGreaterThan(0);
         assertThat(result.getErrorMessage()).isNull();
 
@@ -89,7 +141,6 @@ class BackupServiceImplTest {
 
     @Test
     void manualBackup_shouldCreateBackupWithManualType() {
-        stubRepositoriesEmpty();
         when(backupRecordRepository.save(any(BackupRecord.class))).thenAnswer(inv -> {
             BackupRecord r = inv.getArgument(0);
             r.setId(2L);
@@ -103,9 +154,11 @@ class BackupServiceImplTest {
     }
 
     @Test
-    void executeDailyBackup_shouldSaveFailedRecordOnError() {
-        // Simulate failure by making the repository throw during export
-        when(userRepository.findAll()).thenThrow(new RuntimeException("Database connection failed"));
+    void executeDailyBackup_shouldSaveFailedRecordOnError() throws IOException {
+        // Simulate failure by making the users page query throw during export
+        doThrow(new DataAccessResourceFailureException("Database connection failed"))
+                .when(jdbcTemplate).query(startsWith("SELECT * FROM users"),
+                        any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
         ReflectionTestUtils.setField(backupService, "backupDirectory", tempDir.resolve("backup_fail_test").toString());
         when(backupRecordRepository.save(any(BackupRecord.class))).thenAnswer(inv -> {
             BackupRecord r = inv.getArgument(0);
@@ -118,6 +171,11 @@ class BackupServiceImplTest {
         assertThat(result.getStatus()).isEqualTo(BackupStatus.FAILED);
         assertThat(result.getErrorMessage()).isNotNull();
         assertThat(result.getFileSize()).isZero();
+        assertThat(result.getChecksum()).isNull();
+        assertThat(Files.exists(Path.of(result.getFilePath()))).isFalse();
+        try (Stream<Path> files = Files.list(tempDir.resolve("backup_fail_test"))) {
+            assertThat(files).isEmpty();
+        }
     }
 
     @Test
@@ -173,14 +231,29 @@ class BackupServiceImplTest {
     }
 
     @Test
-    void syncToCloudStorage_shouldLogAndNotThrow() {
+    void syncToCloudStorage_shouldHandOffSuccessfulBackupToAsyncSync() {
         BackupRecord record = BackupRecord.builder()
                 .id(1L)
                 .fileName("test_backup.json")
+                .status(BackupStatus.SUCCESS)
                 .build();
 
-        // Should not throw - just logs "Cloud sync not configured"
         backupService.syncToCloudStorage(record);
+
+        verify(backupSyncService).syncAsync(1L);
+    }
+
+    @Test
+    void syncToCloudStorage_shouldSkipFailedBackup() {
+        BackupRecord record = BackupRecord.builder()
+                .id(1L)
+                .fileName("test_backup.json")
+                .status(BackupStatus.FAILED)
+                .build();
+
+        backupService.syncToCloudStorage(record);
+
+        verify(backupSyncService, never()).syncAsync(any());
     }
 
     @Test
@@ -207,7 +280,6 @@ class BackupServiceImplTest {
 
     @Test
     void executeDailyBackup_shouldSetCloudSyncStatusToPending() {
-        stubRepositoriesEmpty();
         when(backupRecordRepository.save(any(BackupRecord.class))).thenAnswer(inv -> {
             BackupRecord r = inv.getArgument(0);
             r.setId(1L);
@@ -221,7 +293,6 @@ class BackupServiceImplTest {
 
     @Test
     void executeDailyBackup_backupFileContainsValidJson() throws IOException {
-        stubRepositoriesEmpty();
         when(backupRecordRepository.save(any(BackupRecord.class))).thenAnswer(inv -> {
             BackupRecord r = inv.getArgument(0);
             r.setId(1L);
@@ -230,13 +301,192 @@ class BackupServiceImplTest {
 
         BackupRecord result = backupService.executeDailyBackup();
 
-        String content = Files.readString(Path.of(result.getFilePath()));
-        assertThat(content).contains("\"exportTime\"");
-        assertThat(content).contains("\"users\"");
-        assertThat(content).contains("\"applications\"");
-        assertThat(content).contains("\"pointsRecords\"");
-        assertThat(content).contains("\"salaryRecords\"");
-        assertThat(content).contains("\"activities\"");
-        assertThat(content).contains("\"weeklyReports\"");
+        Map<String, String> entries = readArchive(Path.of(result.getFilePath()));
+        assertThat(entries.keySet()).containsExactly("metadata.json", "users.json.gz", "applications.json.gz",
+                "pointsRecords.json.gz", "salaryRecords.json.gz", "activities.json.gz", "weeklyReports.json.gz");
+        JsonNode metadata = new ObjectMapper().readTree(entries.get("metadata.json"));
+        assertThat(metadata.has("exportTime")).isTrue();
+        assertThat(metadata.get("backupMode").asText()).isEqualTo("FULL");
+        assertThat(metadata.get("watermarkTo").asText()).isEqualTo(result.getWatermarkTo().toString());
+        assertThat(entries.get("users.json.gz")).isEqualTo("[]");
+    }
+
+    @Test
+    void executeDailyBackup_dumpsTablesInParallelAndRecordsTimings() throws Exception {
+        when(backupRecordRepository.save(any(BackupRecord.class))).thenAnswer(inv -> inv.getArgument(0));
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        doAnswer(inv -> {
+            threads.add(Thread.currentThread().getName());
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+        BackupRecord result = backupService.executeDailyBackup();
+
+        assertThat(threads).isNotEmpty().allMatch(name -> name.startsWith("backup-dump-"));
+        JsonNode timings = new ObjectMapper().readTree(result.getTableTimings());
+        assertThat(timings.fieldNames()).toIterable().containsExactly("users", "applications", "pointsRecords",
+                "salaryRecords", "activities", "weeklyReports");
+        // 段文件只是中间产物，装入归档后删除
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files.map(f -> f.getFileName().toString()))
+                    .containsExactlyInAnyOrder(result.getFileName(), result.getFileName().replace(".zip", ".manifest.json"));
+        }
+    }
+
+    @Test
+    void executeDailyBackup_recordsChecksumAndRowCounts() throws Exception {
+        when(backupRecordRepository.save(any(BackupRecord.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        BackupRecord result = backupService.executeDailyBackup();
+
+        byte[] bytes = Files.readAllBytes(Path.of(result.getFilePath()));
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        assertThat(result.getChecksum()).isEqualTo(expected);
+        assertThat(result.getTableRowCounts()).isEqualTo("{\"users\":0,\"applications\":0,\"pointsRecords\":0,"
+                + "\"salaryRecords\":0,\"activities\":0,\"weeklyReports\":0}");
+    }
+
+    @Test
+    void executeDailyBackup_onFullBackupDay_shouldBeFullWithoutParent() {
+        when(backupRecordRepository.save(any(BackupRecord.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        BackupRecord result = backupService.executeDailyBackup();
+
+        assertThat(result.getBackupMode()).isEqualTo(BackupMode.FULL);
+        assertThat(result.getParentBackupId()).isNull();
+        assertThat(result.getWatermarkFrom()).isNull();
+        assertThat(result.getWatermarkTo()).isNotNull();
+        verify(backupRecordRepository, never()).findFirstByStatusOrderByIdDesc(any());
+        verify(jdbcTemplate).query(startsWith("SELECT * FROM users WHERE id > ?"),
+                any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void executeDailyBackup_withoutPreviousBackup_shouldFallBackToFull() {
+        useIncrementalDay(BackupMode.INCREMENTAL);
+        when(backupRecordRepository.save(any(BackupRecord.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        BackupRecord result = backupService.executeDailyBackup();
+
+        assertThat(result.getStatus()).isEqualTo(BackupStatus.SUCCESS);
+        assertThat(result.getBackupMode()).isEqualTo(BackupMode.FULL);
+        assertThat(result.getFileName()).doesNotContain("incremental");
+    }
+
+    @Test
+    void executeDailyBackup_incremental_shouldChainToLastBackupAndWriteManifest() throws Exception {
+        useIncrementalDay(BackupMode.INCREMENTAL);
+        LocalDateTime fullAt = LocalDateTime.now().minusDays(2);
+        BackupRecord full = successfulBackup(5L, BackupMode.FULL, null, null, fullAt);
+        BackupRecord previous = successfulBackup(6L, BackupMode.INCREMENTAL, 5L, 5L, fullAt.plusDays(1));
+        when(backupRecordRepository.findFirstByStatusOrderByIdDesc(BackupStatus.SUCCESS))
+                .thenReturn(Optional.of(previous));
+        when(backupRecordRepository.findById(5L)).thenReturn(Optional.of(full));
+        when(backupRecordRepository.findById(6L)).thenReturn(Optional.of(previous));
+        when(backupRecordRepository.save(any(BackupRecord.class))).thenAnswer(inv -> {
+            BackupRecord r = inv.getArgument(0);
+            r.setId(7L);
+            return r;
+        });
+
+        BackupRecord result = backupService.executeDailyBackup();
+
+        assertThat(result.getBackupMode()).isEqualTo(BackupMode.INCREMENTAL);
+        assertThat(result.getFileName()).endsWith("_incremental.zip");
+        assertThat(result.getBaseBackupId()).isEqualTo(5L);
+        assertThat(result.getParentBackupId()).isEqualTo(6L);
+        assertThat(result.getWatermarkFrom()).isEqualTo(previous.getWatermarkTo().minusMinutes(5));
+        verify(jdbcTemplate).query(startsWith("SELECT * FROM users WHERE updated_at > ?"),
+                any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+        // 活动表没有更新时间列，增量备份时仍全量写出
+        verify(jdbcTemplate).query(startsWith("SELECT * FROM activities WHERE id > ?"),
+                any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+        JsonNode manifest = new ObjectMapper().readTree(
+                BackupServiceImpl.manifestPathOf(result.getFilePath()).toFile());
+        assertThat(manifest.get("backupId").asLong()).isEqualTo(7L);
+        JsonNode chain = manifest.get("chain");
+        assertThat(chain).hasSize(3);
+        assertThat(chain.get(0).get("backupId").asLong()).isEqualTo(5L);
+        assertThat(chain.get(0).get("backupMode").asText()).isEqualTo("FULL");
+        assertThat(chain.get(0).get("tableRowCounts").get("users").asLong()).isEqualTo(5L);
+        assertThat(chain.get(1).get("backupId").asLong()).isEqualTo(6L);
+        assertThat(chain.get(2).get("checksum").asText()).isEqualTo(result.getChecksum());
+    }
+
+    @Test
+    void executeDailyBackup_differential_shouldChainToLastFullBackup() throws Exception {
+        useIncrementalDay(BackupMode.DIFFERENTIAL);
+        BackupRecord full = successfulBackup(5L, BackupMode.FULL, null, null, LocalDateTime.now().minusDays(3));
+        when(backupRecordRepository.findFirstByStatusAndBackupModeOrderByIdDesc(BackupStatus.SUCCESS, BackupMode.FULL))
+                .thenReturn(Optional.of(full));
+        when(backupRecordRepository.findById(5L)).thenReturn(Optional.of(full));
+        when(backupRecordRepository.save(any(BackupRecord.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        BackupRecord result = backupService.executeDailyBackup();
+
+        assertThat(result.getBackupMode()).isEqualTo(BackupMode.DIFFERENTIAL);
+        assertThat(result.getBaseBackupId()).isEqualTo(5L);
+        assertThat(result.getParentBackupId()).isEqualTo(5L);
+        verify(backupRecordRepository, never()).findFirstByStatusOrderByIdDesc(any());
+    }
+
+    @Test
+    void executeDailyBackup_staleChainRoot_shouldFallBackToFull() throws Exception {
+        useIncrementalDay(BackupMode.INCREMENTAL);
+        BackupRecord full = successfulBackup(5L, BackupMode.FULL, null, null, LocalDateTime.now().minusDays(8));
+        when(backupRecordRepository.findFirstByStatusOrderByIdDesc(BackupStatus.SUCCESS))
+                .thenReturn(Optional.of(full));
+        when(backupRecordRepository.save(any(BackupRecord.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        BackupRecord result = backupService.executeDailyBackup();
+
+        assertThat(result.getBackupMode()).isEqualTo(BackupMode.FULL);
+        assertThat(result.getParentBackupId()).isNull();
+    }
+
+    @Test
+    void getRestoreChain_shouldReturnMembersFromFullBackup() throws Exception {
+        LocalDateTime t = LocalDateTime.now().minusDays(2);
+        BackupRecord full = successfulBackup(1L, BackupMode.FULL, null, null, t);
+        BackupRecord inc1 = successfulBackup(2L, BackupMode.INCREMENTAL, 1L, 1L, t.plusHours(1));
+        BackupRecord inc2 = successfulBackup(3L, BackupMode.INCREMENTAL, 1L, 2L, t.plusHours(2));
+        when(backupRecordRepository.findById(1L)).thenReturn(Optional.of(full));
+        when(backupRecordRepository.findById(2L)).thenReturn(Optional.of(inc1));
+        when(backupRecordRepository.findById(3L)).thenReturn(Optional.of(inc2));
+
+        List<BackupRecord> chain = backupService.getRestoreChain(3L);
+
+        assertThat(chain).extracting(BackupRecord::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void getRestoreChain_missingParent_shouldThrow() throws Exception {
+        BackupRecord inc = successfulBackup(3L, BackupMode.INCREMENTAL, 1L, 2L, LocalDateTime.now());
+        when(backupRecordRepository.findById(3L)).thenReturn(Optional.of(inc));
+        when(backupRecordRepository.findById(2L)).thenReturn(Optional.empty());
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> backupService.getRestoreChain(3L));
+        assertThat(ex.getCode()).isEqualTo(400);
+        assertThrows(BusinessException.class, () -> backupService.getRestoreChain(99L));
+    }
+
+    @Test
+    void cleanOldBackups_shouldKeepChainStillUsedByRetainedBackups() throws IOException {
+        BackupRecord oldFull = successfulBackup(1L, BackupMode.FULL, null, null, LocalDateTime.now().minusDays(35));
+        BackupRecord oldInc = successfulBackup(2L, BackupMode.INCREMENTAL, 1L, 1L, LocalDateTime.now().minusDays(31));
+        BackupRecord expiredFull = successfulBackup(3L, BackupMode.FULL, null, null, LocalDateTime.now().minusDays(40));
+        when(backupRecordRepository.findByCreatedAtBefore(any(LocalDateTime.class)))
+                .thenReturn(List.of(oldFull, oldInc, expiredFull));
+        when(backupRecordRepository.existsByBaseBackupIdAndCreatedAtGreaterThanEqual(eq(1L), any()))
+                .thenReturn(true);
+
+        backupService.cleanOldBackups();
+
+        verify(backupRecordRepository, never()).delete(oldFull);
+        verify(backupRecordRepository, never()).delete(oldInc);
+        verify(backupRecordRepository).delete(expiredFull);
+        assertThat(Files.exists(Path.of(oldFull.getFilePath()))).isTrue();
+        assertThat(Files.exists(Path.of(expiredFull.getFilePath()))).isFalse();
     }
 }
@@ -0,0 +1,188 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.BackupStorageProperties;
+import com.pollen.management.entity.BackupRecord;
+import com.pollen.management.entity.enums.BackupStatus;
+import com.pollen.management.entity.enums.CloudSyncStatus;
+import com.pollen.management.repository.BackupRecordRepository;
+import com.pollen.management.util.AwsSignatureV4;
+import com.pollen.management.util.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BackupSyncServiceImplTest {
+
+    private static final int FILE_SIZE = 10 * 1024 + 300;
+    private static final int PART_COUNT = 11;
+
+    @Mock
+    private BackupRecordRepository backupRecordRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private final BackupStorageProperties properties = new BackupStorageProperties();
+    private FakeS3Server server;
+    private BackupSyncServiceImpl syncService;
+    private BackupRecord record;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties.setChunkSize(DataSize.ofKilobytes(1));
+        properties.setUploadThreads(3);
+        properties.setMaxAttempts(2);
+        properties.setRetryBackoffMs(0);
+
+        content = new byte[FILE_SIZE];
+        new Random(42).nextBytes(content);
+        Path file = tempDir.resolve("backup_20240501_030000.zip");
+        Files.write(file, content);
+        Files.writeString(tempDir.resolve("backup_20240501_030000.manifest.json"), "{\"chain\":[]}",
+                StandardCharsets.UTF_8);
+        record = BackupRecord.builder()
+                .id(1L)
+                .fileName(file.getFileName().toString())
+                .filePath(file.toString())
+                .fileSize((long) FILE_SIZE)
+                .status(BackupStatus.SUCCESS)
+                .checksum(AwsSignatureV4.sha256Hex(content))
+                .build();
+        lenient().when(backupRecordRepository.findById(1L)).thenReturn(Optional.of(record));
+        lenient().when(backupRecordRepository.save(any(BackupRecord.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        server = new FakeS3Server();
+        syncService = new BackupSyncServiceImpl(backupRecordRepository, properties, server.target());
+    }
+
+    @AfterEach
+    void tearDown() {
+        syncService.shutdown();
+        server.close();
+    }
+
+    @Test
+    void sync_uploadsChunksInParallelAndMarksSynced() {
+        BackupRecord result = syncService.sync(1L);
+
+        assertEquals(CloudSyncStatus.SYNCED, result.getCloudSyncStatus());
+        assertEquals("backups/backup_20240501_030000.zip", result.getCloudObjectKey());
+        assertNull(result.getCloudUploadId());
+        assertArrayEquals(content, server.object("backups/backup_20240501_030000.zip"));
+        assertEquals("{\"chain\":[]}", new String(server.object("backups/backup_20240501_030000.manifest.json"),
+                StandardCharsets.UTF_8));
+        assertEquals(PART_COUNT + 1, server.partPuts());
+    }
+
+    @Test
+    void sync_transientPartFailure_isRetried() {
+        server.failPart(4, 1);
+
+        BackupRecord result = syncService.sync(1L);
+
+        assertEquals(CloudSyncStatus.SYNCED, result.getCloudSyncStatus());
+        assertArrayEquals(content, server.object("backups/backup_20240501_030000.zip"));
+    }
+
+    @Test
+    void sync_afterFailure_resumesOnlyMissingParts() {
+        server.failPart(7, 10);
+
+        BackupRecord failed = syncService.sync(1L);
+
+        assertEquals(CloudSyncStatus.FAILED, failed.getCloudSyncStatus());
+        String uploadId = failed.getCloudUploadId();
+        assertNotNull(uploadId);
+        assertNull(server.object("backups/backup_20240501_030000.zip"));
+        int alreadyUploaded = server.uploadedPartCount(uploadId);
+        assertTrue(alreadyUploaded < PART_COUNT);
+
+        server.resetCounters();
+        BackupRecord resumed = syncService.sync(1L);
+
+        assertEquals(CloudSyncStatus.SYNCED, resumed.getCloudSyncStatus());
+        assertArrayEquals(content, server.object("backups/backup_20240501_030000.zip"));
+        // 只重传缺失的分块，外加清单文件的一个分块
+        assertEquals(PART_COUNT - alreadyUploaded + 1, server.partPuts());
+    }
+
+    @Test
+    void sync_objectAlreadyPresent_skipsUpload() {
+        syncService.sync(1L);
+        record.setCloudSyncStatus(CloudSyncStatus.PENDING);
+        server.resetCounters();
+
+        BackupRecord result = syncService.sync(1L);
+
+        assertEquals(CloudSyncStatus.SYNCED, result.getCloudSyncStatus());
+        assertEquals(0, server.partPuts());
+    }
+
+    @Test
+    void sync_localDirectoryTarget_copiesFileAndManifest() throws Exception {
+        Path remote = tempDir.resolve("remote");
+        BackupSyncServiceImpl localSync = new BackupSyncServiceImpl(backupRecordRepository, properties,
+                new LocalDirectoryStorageTarget(remote));
+        try {
+            BackupRecord result = localSync.sync(1L);
+
+            assertEquals(CloudSyncStatus.SYNCED, result.getCloudSyncStatus());
+            assertArrayEquals(content, Files.readAllBytes(remote.resolve("backups/backup_20240501_030000.zip")));
+            assertTrue(Files.exists(remote.resolve("backups/backup_20240501_030000.manifest.json")));
+        } finally {
+            localSync.shutdown();
+        }
+    }
+
+    @Test
+    void sync_withoutTarget_keepsPending() {
+        BackupSyncServiceImpl unconfigured = new BackupSyncServiceImpl(backupRecordRepository, properties,
+                (BackupStorageTarget) null);
+
+        BackupRecord result = unconfigured.sync(1L);
+
+        assertEquals(CloudSyncStatus.PENDING, result.getCloudSyncStatus());
+        verify(backupRecordRepository, never()).save(any());
+        unconfigured.shutdown();
+    }
+
+    @Test
+    void sync_failedBackup_isRejected() {
+        record.setStatus(BackupStatus.FAILED);
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> syncService.sync(1L));
+        assertEquals(400, ex.getCode());
+    }
+
+    @Test
+    void retryFailed_resyncsFailedBackups() {
+        record.setCloudSyncStatus(CloudSyncStatus.FAILED);
+        BackupRecord neverStarted = BackupRecord.builder().id(2L).status(BackupStatus.SUCCESS).build();
+        when(backupRecordRepository.findByStatusAndCloudSyncStatusIn(any(), any()))
+                .thenReturn(List.of(record, neverStarted));
+
+        int synced = syncService.retryFailed();
+
+        assertEquals(1, synced);
+        assertEquals(CloudSyncStatus.SYNCED, record.getCloudSyncStatus());
+        verify(backupRecordRepository, never()).findById(2L);
+    }
+}
@@ -20,7 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 class CheckinPointsProperties {
 
-    private final PointsServiceImpl service = new PointsServiceImpl(null, null);
+    private final PointsServiceImpl service = new PointsServiceImpl(null, null, null);
 
     private static final Set<Integer> VALID_RESULTS = Set.of(-20, -10, 0, 30, 50);
 
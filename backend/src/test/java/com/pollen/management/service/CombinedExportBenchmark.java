@@ -0,0 +1,124 @@
+package com.pollen.management.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 合并导出基准：依次导出四个数据集（四个文件） 对比 一次合并导出（一个文件、四个并行 Sheet）。
+ * <p>
+ * 不在常规测试中运行（类名不匹配 surefire includes），手动执行：
+ * <pre>
+ * mvn test -Dtest=CombinedExportBenchmark -Dexport.benchmark.rows=500000
+ * </pre>
+ * 积分记录默认 200000 行，活动记录为其四分之一。并行收益取决于 CPU 核数与数据库连接数。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CombinedExportBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private CombinedExportService combinedExportService;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE points_records");
+        jdbcTemplate.execute("TRUNCATE TABLE activities");
+    }
+
+    @Test
+    void combinedExport_versusSequentialDownloads() {
+        int rows = Integer.getInteger("export.benchmark.rows", 200_000);
+        populate(rows);
+
+        // 预热 POI 与 JIT
+        exportService.exportMembers(new CountingOutputStream());
+        combinedExportService.exportAll(new CountingOutputStream());
+
+        CountingOutputStream sequentialOut = new CountingOutputStream();
+        long sequentialStart = System.nanoTime();
+        exportService.exportMembers(sequentialOut);
+        exportService.exportPoints(sequentialOut);
+        exportService.exportSalary(sequentialOut);
+        exportService.exportActivities(sequentialOut);
+        long sequentialMs = (System.nanoTime() - sequentialStart) / 1_000_000;
+
+        CountingOutputStream pointsOut = new CountingOutputStream();
+        long pointsStart = System.nanoTime();
+        exportService.exportPoints(pointsOut);
+        long pointsMs = (System.nanoTime() - pointsStart) / 1_000_000;
+
+        CountingOutputStream combinedOut = new CountingOutputStream();
+        long combinedStart = System.nanoTime();
+        combinedExportService.exportAll(combinedOut);
+        long combinedMs = (System.nanoTime() - combinedStart) / 1_000_000;
+
+        System.out.printf("[combined-benchmark] points=%d, activities=%d, cpus=%d%n",
+                rows, rows / 4, Runtime.getRuntime().availableProcessors());
+        System.out.printf("[combined-benchmark] 4 sequential downloads: %d ms, %d bytes%n",
+                sequentialMs, sequentialOut.count);
+        System.out.printf("[combined-benchmark] points only:            %d ms%n", pointsMs);
+        System.out.printf("[combined-benchmark] combined workbook:      %d ms, %d bytes%n",
+                combinedMs, combinedOut.count);
+        assertTrue(combinedOut.count > 0);
+    }
+
+    private void populate(int rows) {
+        Timestamp now = Timestamp.valueOf(BASE);
+        batchInsert("INSERT INTO points_records (user_id, points_type, amount, description, created_at) "
+                        + "VALUES (?, 'CHECKIN', ?, ?, ?)", rows,
+                i -> new Object[]{(long) (i % 500) + 1, i % 50, "签到奖励 #" + i,
+                        Timestamp.valueOf(BASE.plusMinutes(i))});
+        batchInsert("INSERT INTO activities (name, description, activity_time, location, registration_count, "
+                        + "status, activity_type, approval_mode, created_by, created_at) "
+                        + "VALUES (?, '基准活动', ?, '会议室', ?, 'UPCOMING', 'TEAM_BUILDING', 'AUTO', 1, ?)", rows / 4,
+                i -> new Object[]{"活动 " + i, now, i % 100, now});
+    }
+
+    private void batchInsert(String sql, int rows, IntFunction<Object[]> row) {
+        int batchSize = 10_000;
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < rows; i++) {
+            batch.add(row.apply(i));
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.ExportJobProperties;
+import com.pollen.management.util.BusinessException;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CombinedExportServiceImplTest {
+
+    @Autowired
+    private CombinedExportService combinedExportService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DELETE FROM points_records");
+        jdbcTemplate.execute("DELETE FROM activities");
+    }
+
+    @Test
+    void exportAll_writesOneSheetPerDatasetInOrder() throws Exception {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 9, 0));
+        for (int i = 1; i <= 250; i++) {
+            jdbcTemplate.update("INSERT INTO points_records (user_id, points_type, amount, description, created_at) "
+                    + "VALUES (?, 'CHECKIN', ?, ?, ?)", (long) i, i, "签到 " + i, now);
+        }
+        jdbcTemplate.update("INSERT INTO activities (name, description, activity_time, location, registration_count, "
+                + "status, activity_type, approval_mode, created_by, created_at) "
+                + "VALUES ('团建', '年度团建', ?, '会议室A', 12, 'UPCOMING', 'TEAM_BUILDING', 'AUTO', 1, ?)", now, now);
+        long members = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        combinedExportService.exportAll(out);
+
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(4, wb.getNumberOfSheets());
+            assertEquals("成员列表", wb.getSheetName(0));
+            assertEquals("积分记录", wb.getSheetName(1));
+            assertEquals("薪资记录", wb.getSheetName(2));
+            assertEquals("活动记录", wb.getSheetName(3));
+            assertEquals(members, wb.getSheetAt(0).getLastRowNum());
+
+            Sheet points = wb.getSheetAt(1);
+            assertEquals(250, points.getLastRowNum());
+            assertEquals("CHECKIN", points.getRow(1).getCell(2).getStringCellValue());
+            assertEquals(250.0, points.getRow(250).getCell(3).getNumericCellValue());
+            assertEquals("签到 250", points.getRow(250).getCell(4).getStringCellValue());
+
+            assertEquals(0, wb.getSheetAt(2).getLastRowNum());
+            Sheet activities = wb.getSheetAt(3);
+            assertEquals("团建", activities.getRow(1).getCell(1).getStringCellValue());
+            assertEquals(12.0, activities.getRow(1).getCell(6).getNumericCellValue());
+        }
+    }
+
+    @Test
+    void exportAll_sheetFailure_propagatesWithoutWritingOutput() {
+        JdbcTemplate failing = mock(JdbcTemplate.class);
+        when(failing.queryForObject(anyString(), eq(Long.class))).thenReturn(10L);
+        doThrow(new DataAccessResourceFailureException("connection lost"))
+                .when(failing).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        ExportJobProperties properties = new ExportJobProperties();
+        CombinedExportServiceImpl service =
+                new CombinedExportServiceImpl(failing, mock(PlatformTransactionManager.class), properties);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try {
+            assertThrows(DataAccessResourceFailureException.class, () -> service.exportAll(out));
+            assertEquals(0, out.size());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void exportAll_poolSaturated_rejectsWith503() {
+        JdbcTemplate slow = mock(JdbcTemplate.class);
+        when(slow.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> release.await(5, TimeUnit.SECONDS))
+                .when(slow).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        ExportJobProperties properties = new ExportJobProperties();
+        properties.setSheetThreads(1);
+        properties.setQueueCapacity(1);
+        CombinedExportServiceImpl service =
+                new CombinedExportServiceImpl(slow, mock(PlatformTransactionManager.class), properties);
+
+        try {
+            BusinessException ex = assertThrows(BusinessException.class,
+                    () -> service.exportAll(new ByteArrayOutputStream()));
+            assertEquals(503, ex.getCode());
+        } finally {
+            release.countDown();
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.pollen.management.service;
+
+import com.pollen.management.entity.PointsRecord;
+import com.pollen.management.repository.PointsRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 时间段导出基准：对比 findAll + 内存过滤 与 数据库侧 createdAt 范围 + 游标分页。
+ * <p>
+ * 不在常规测试中运行（类名不匹配 surefire includes），手动执行：
+ * <pre>
+ * mvn test -Dtest=ExportDateRangeBenchmark -Dexport.benchmark.rows=5000000 -DargLine=-Xmx4g
+ * </pre>
+ * 行数默认 200000；记录时间均匀分布在五年内，导出其中一周。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ExportDateRangeBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final long SPAN_MINUTES = 5L * 365 * 24 * 60;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PointsRecordRepository pointsRecordRepository;
+    @Autowired
+    private ExportService exportService;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE points_records");
+    }
+
+    @Test
+    void oneWeekExport_readsOnlyRowsInRange() {
+        int rows = Integer.getInteger("export.benchmark.rows", 200_000);
+        populate(rows);
+
+        LocalDate weekStart = LocalDate.of(2023, 6, 5);
+        LocalDate weekEnd = weekStart.plusDays(6);
+        LocalDateTime start = weekStart.atStartOfDay();
+        LocalDateTime end = weekEnd.atTime(LocalTime.MAX);
+        long expected = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM points_records WHERE created_at BETWEEN ? AND ?",
+                Long.class, Timestamp.valueOf(start), Timestamp.valueOf(end));
+
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT * FROM points_records WHERE created_at BETWEEN ? AND ? ORDER BY created_at, id",
+                String.class, Timestamp.valueOf(start), Timestamp.valueOf(end));
+        assertTrue(plan.toUpperCase().contains("IDX_POINTS_RECORDS_CREATED_AT"), plan);
+
+        // 旧实现：全表加载后在 Java 中过滤
+        long legacyStart = System.nanoTime();
+        List<PointsRecord> all = pointsRecordRepository.findAll();
+        long legacyMatched = all.stream()
+                .filter(r -> !r.getCreatedAt().isBefore(start) && !r.getCreatedAt().isAfter(end))
+                .count();
+        long legacyMs = (System.nanoTime() - legacyStart) / 1_000_000;
+        int legacyRead = all.size();
+        all = null;
+
+        // 新实现：数据库侧范围 + 游标分页，直接写流式 Excel（先导出一次空时间段预热 POI）
+        exportService.exportWithDateRange("points", LocalDate.of(2010, 1, 1), LocalDate.of(2010, 1, 7),
+                new CountingOutputStream());
+        CountingOutputStream out = new CountingOutputStream();
+        long streamingStart = System.nanoTime();
+        exportService.exportWithDateRange("points", weekStart, weekEnd, out);
+        long streamingMs = (System.nanoTime() - streamingStart) / 1_000_000;
+
+        System.out.printf("[export-benchmark] rows=%d, inRange=%d%n", rows, expected);
+        System.out.printf("[export-benchmark] findAll+filter: read=%d rows, %d ms (rows only, no Excel)%n",
+                legacyRead, legacyMs);
+        System.out.printf("[export-benchmark] range+keyset:   read=%d rows, %d ms (incl. XLSX %d bytes)%n",
+                expected, streamingMs, out.count);
+
+        assertEquals(expected, legacyMatched);
+        assertTrue(out.count > 0);
+    }
+
+    private void populate(int rows) {
+        String sql = "INSERT INTO points_records (user_id, points_type, amount, description, created_at) "
+                + "VALUES (?, 'CHECKIN', ?, 'benchmark', ?)";
+        int batchSize = 10_000;
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < rows; i++) {
+            // 乘以大质数打散插入顺序，使主键顺序与时间顺序无关
+            long minute = (i * 2_654_435_761L) % SPAN_MINUTES;
+            batch.add(new Object[]{(long) (i % 500) + 1, i % 50, Timestamp.valueOf(BASE.plusMinutes(minute))});
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.ExportJobProperties;
+import com.pollen.management.dto.ExportJobInfo;
+import com.pollen.management.entity.enums.ExportJobStatus;
+import com.pollen.management.util.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ExportJobServiceImplTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 1, 31);
+
+    @TempDir
+    Path tempDir;
+
+    private final ExportService exportService = mock(ExportService.class);
+    private ExportJobServiceImpl service;
+
+    private ExportJobServiceImpl createService(int threads, int queueCapacity, long retentionMinutes) {
+        ExportJobProperties properties = new ExportJobProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setRetentionMinutes(retentionMinutes);
+        properties.setDirectory(tempDir.toString());
+        when(exportService.generateFileName(anyString(), any(), any())).thenReturn("points.xlsx");
+        service = new ExportJobServiceImpl(exportService, properties);
+        service.init();
+        return service;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private ExportJobInfo awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            ExportJobInfo info = service.getJob(jobId);
+            if (info.getStatus() == ExportJobStatus.COMPLETED || info.getStatus() == ExportJobStatus.FAILED) {
+                return info;
+            }
+            Thread.sleep(10);
+        }
+        fail("export job did not finish in time");
+        return null;
+    }
+
+    @Test
+    void submit_writesResultFileAndReportsProgress() throws Exception {
+        createService(1, 4, 30);
+        when(exportService.countRows("points", START, END)).thenReturn(3L);
+        doAnswer(inv -> {
+            OutputStream out = inv.getArgument(3);
+            LongConsumer progress = inv.getArgument(4);
+            out.write(new byte[]{1, 2, 3, 4});
+            progress.accept(2);
+            progress.accept(1);
+            return null;
+        }).when(exportService).export(eq("points"), eq(START), eq(END), any(), any());
+
+        ExportJobInfo submitted = service.submit("Points", START, END);
+        ExportJobInfo finished = awaitFinished(submitted.getJobId());
+
+        assertEquals(ExportJobStatus.COMPLETED, finished.getStatus());
+        assertEquals(3, finished.getRowsDone());
+        assertEquals(3, finished.getRowsTotal());
+        assertEquals(4, finished.getFileSize());
+        assertNotNull(finished.getExpiresAt());
+        Path file = service.getResultFile(submitted.getJobId());
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, Files.readAllBytes(file));
+    }
+
+    @Test
+    void submit_identicalInFlightRequests_shareOneJob() throws Exception {
+        createService(1, 4, 30);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(exportService).export(eq("points"), eq(START), eq(END), any(), any());
+
+        ExportJobInfo first = service.submit("points", START, END);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ExportJobInfo second = service.submit("POINTS", START, END);
+        ExportJobInfo otherRange = service.submit("points", START, END.plusDays(1));
+        release.countDown();
+
+        assertEquals(first.getJobId(), second.getJobId());
+        assertNotEquals(first.getJobId(), otherRange.getJobId());
+        awaitFinished(first.getJobId());
+        awaitFinished(otherRange.getJobId());
+        verify(exportService, times(1)).export(eq("points"), eq(START), eq(END), any(), any());
+    }
+
+    @Test
+    void submit_concurrentIdenticalRequests_jobIdIsAlwaysQueryable() throws Exception {
+        createService(1, 4, 30);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(exportService).export(eq("points"), eq(START), eq(END), any(), any());
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<ExportJobInfo>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 64; i++) {
+                futures.add(pool.submit(() -> {
+                    go.await();
+                    ExportJobInfo info = service.submit("points", START, END);
+                    // 合并到进行中任务的请求也能立即查询
+                    service.getJob(info.getJobId());
+                    return info;
+                }));
+            }
+            go.countDown();
+            String jobId = futures.get(0).get(10, TimeUnit.SECONDS).getJobId();
+            for (Future<ExportJobInfo> future : futures) {
+                assertEquals(jobId, future.get(10, TimeUnit.SECONDS).getJobId());
+            }
+            release.countDown();
+            awaitFinished(jobId);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void submit_afterCompletion_startsNewJob() throws Exception {
+        createService(1, 4, 30);
+
+        ExportJobInfo first = service.submit("points", START, END);
+        awaitFinished(first.getJobId());
+        ExportJobInfo second = service.submit("points", START, END);
+
+        assertNotEquals(first.getJobId(), second.getJobId());
+    }
+
+    @Test
+    void submit_exportFails_marksJobFailedAndRemovesFile() throws Exception {
+        createService(1, 4, 30);
+        doThrow(new IllegalStateException("db down"))
+                .when(exportService).export(anyString(), any(), any(), any(), any());
+
+        ExportJobInfo job = awaitFinished(service.submit("points", START, END).getJobId());
+
+        assertEquals(ExportJobStatus.FAILED, job.getStatus());
+        assertTrue(job.getErrorMessage().contains("db down"));
+        assertFalse(Files.exists(tempDir.resolve(job.getJobId() + ".xlsx")));
+        BusinessException ex = assertThrows(BusinessException.class, () -> service.getResultFile(job.getJobId()));
+        assertEquals(409, ex.getCode());
+    }
+
+    @Test
+    void submit_queueFull_rejectsWith503() throws Exception {
+        createService(1, 1, 30);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(exportService).export(anyString(), any(), any(), any(), any());
+
+        try {
+            service.submit("points", START, END);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            service.submit("members", START, END);
+
+            BusinessException ex = assertThrows(BusinessException.class,
+                    () -> service.submit("salary", START, END));
+            assertEquals(503, ex.getCode());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void submit_invalidArguments_rejectedWith400() {
+        createService(1, 4, 30);
+        doThrow(new IllegalArgumentException("Unsupported data type: bad"))
+                .when(exportService).validateDataType("bad");
+
+        assertEquals(400, assertThrows(BusinessException.class,
+                () -> service.submit("bad", START, END)).getCode());
+        assertEquals(400, assertThrows(BusinessException.class,
+                () -> service.submit("points", START, null)).getCode());
+        assertEquals(400, assertThrows(BusinessException.class,
+                () -> service.submit("points", END, START)).getCode());
+    }
+
+    @Test
+    void purgeExpired_removesFinishedJobsAndFiles() throws Exception {
+        createService(1, 4, 0);
+        doAnswer(inv -> {
+            ((OutputStream) inv.getArgument(3)).write(1);
+            return null;
+        }).when(exportService).export(anyString(), any(), any(), any(), any());
+
+        ExportJobInfo job = awaitFinished(service.submit("points", null, null).getJobId());
+        Path file = tempDir.resolve(job.getJobId() + ".xlsx");
+        assertTrue(Files.exists(file));
+
+        service.purgeExpired();
+
+        assertFalse(Files.exists(file));
+        BusinessException ex = assertThrows(BusinessException.class, () -> service.getJob(job.getJobId()));
+        assertEquals(404, ex.getCode());
+    }
+}
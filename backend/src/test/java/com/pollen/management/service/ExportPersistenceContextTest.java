@@ -0,0 +1,71 @@
+package com.pollen.management.service;
+
+import com.pollen.management.entity.PointsRecord;
+import com.pollen.management.entity.enums.PointsType;
+import com.pollen.management.repository.PointsRecordRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 在 H2 上模拟 Open-In-View：流式导出线程绑定了 EntityManager 时，持久化上下文不随页数增长
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ExportPersistenceContextTest {
+
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private PointsRecordRepository pointsRecordRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DELETE FROM points_records");
+    }
+
+    @Test
+    void export_withOpenInViewEntityManager_shouldNotAccumulateEntitiesAcrossPages() {
+        int total = ExportServiceImpl.PAGE_SIZE * 2 + 5;
+        List<PointsRecord> records = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            records.add(PointsRecord.builder().userId(7L).pointsType(PointsType.CHECKIN).amount(1).build());
+        }
+        pointsRecordRepository.saveAll(records);
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        List<Integer> managedAfterPage = new ArrayList<>();
+        long[] exported = {0};
+        try {
+            exportService.export("points", null, null, new ByteArrayOutputStream(), rows -> {
+                exported[0] += rows;
+                managedAfterPage.add(entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+            });
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+
+        assertEquals(total, exported[0]);
+        assertEquals(List.of(0, 0, 0), managedAfterPage);
+    }
+}
@@ -9,6 +9,7 @@ import com.pollen.management.repository.ActivityRepository;
 import com.pollen.management.repository.PointsRecordRepository;
 import com.pollen.management.repository.SalaryRecordRepository;
 import com.pollen.management.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,15 +18,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +53,10 @@ class ExportServiceImplTest {
     private SalaryRecordRepository salaryRecordRepository;
     @Mock
     private ActivityRepository activityRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private EntityManager entityManager;
 
     @InjectMocks
     private ExportServiceImpl exportService;
@@ -98,9 +116,9 @@ class ExportServiceImplTest {
 
     @Test
     void exportMembers_returnsValidExcel() throws Exception {
-        when(userRepository.findAll()).thenReturn(List.of(testUser));
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(List.of(testUser));
 
-        byte[] result = exportService.exportMembers();
+        byte[] result = export(exportService::exportMembers);
 
         assertNotNull(result);
         assertTrue(result.length > 0);
@@ -124,9 +142,9 @@ class ExportServiceImplTest {
 
     @Test
     void exportMembers_emptyList_returnsExcelWithHeaderOnly() throws Exception {
-        when(userRepository.findAll()).thenReturn(Collections.emptyList());
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(Collections.emptyList());
 
-        byte[] result = exportService.exportMembers();
+        byte[] result = export(exportService::exportMembers);
 
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(result))) {
             Sheet sheet = wb.getSheetAt(0);
@@ -137,9 +155,9 @@ class ExportServiceImplTest {
 
     @Test
     void exportPoints_returnsValidExcel() throws Exception {
-        when(pointsRecordRepository.findAll()).thenReturn(List.of(testPointsRecord));
+        when(pointsRecordRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(List.of(testPointsRecord));
 
-        byte[] result = exportService.exportPoints();
+        byte[] result = export(exportService::exportPoints);
 
         assertNotNull(result);
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(result))) {
@@ -155,9 +173,9 @@ class ExportServiceImplTest {
 
     @Test
     void exportSalary_returnsValidExcel() throws Exception {
-        when(salaryRecordRepository.findAll()).thenReturn(List.of(testSalaryRecord));
+        when(salaryRecordRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(List.of(testSalaryRecord));
 
-        byte[] result = exportService.exportSalary();
+        byte[] result = export(exportService::exportSalary);
 
         assertNotNull(result);
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(result))) {
@@ -174,9 +192,9 @@ class ExportServiceImplTest {
 
     @Test
     void exportActivities_returnsValidExcel() throws Exception {
-        when(activityRepository.findAll()).thenReturn(List.of(testActivity));
+        when(activityRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(List.of(testActivity));
 
-        byte[] result = exportService.exportActivities();
+        byte[] result = export(exportService::exportActivities);
 
         assertNotNull(result);
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(result))) {
@@ -196,10 +214,11 @@ class ExportServiceImplTest {
                 .id(2L).username("olduser").password("x").role(Role.INTERN).enabled(false).build();
         oldUser.setCreatedAt(LocalDateTime.of(2023, 6, 1, 10, 0));
 
-        when(userRepository.findAll()).thenReturn(List.of(testUser, oldUser));
+        when(userRepository.findPageByCreatedAtBetween(any(), anyLong(), any(), any()))
+                .thenAnswer(rangePage(List.of(testUser, oldUser), User::getCreatedAt, User::getId));
 
-        byte[] result = exportService.exportWithDateRange("members",
-                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        byte[] result = export(out -> exportService.exportWithDateRange("members",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), out));
 
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(result))) {
             Sheet sheet = wb.getSheetAt(0);
@@ -214,10 +233,11 @@ class ExportServiceImplTest {
                 .id(2L).userId(1L).pointsType(PointsType.CHECKIN).amount(5).build();
         oldRecord.setCreatedAt(LocalDateTime.of(2023, 3, 1, 10, 0));
 
-        when(pointsRecordRepository.findAll()).thenReturn(List.of(testPointsRecord, oldRecord));
+        when(pointsRecordRepository.findPageByCreatedAtBetween(any(), anyLong(), any(), any()))
+                .thenAnswer(rangePage(List.of(testPointsRecord, oldRecord), PointsRecord::getCreatedAt, PointsRecord::getId));
 
-        byte[] result = exportService.exportWithDateRange("points",
-                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        byte[] result = export(out -> exportService.exportWithDateRange("points",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), out));
 
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(result))) {
             Sheet sheet = wb.getSheetAt(0);
@@ -228,10 +248,11 @@ class ExportServiceImplTest {
 
     @Test
     void exportWithDateRange_salary_filtersCorrectly() throws Exception {
-        when(salaryRecordRepository.findAll()).thenReturn(List.of(testSalaryRecord));
+        when(salaryRecordRepository.findPageByCreatedAtBetween(any(), anyLong(), any(), any()))
+                .thenAnswer(rangePage(List.of(testSalaryRecord), SalaryRecord::getCreatedAt, SalaryRecord::getId));
 
-        byte[] result = exportService.exportWithDateRange("salary",
-                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        byte[] result = export(out -> exportService.exportWithDateRange("salary",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), out));
 
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(result))) {
             Sheet sheet = wb.getSheetAt(0);
@@ -241,10 +262,11 @@ class ExportServiceImplTest {
 
     @Test
     void exportWithDateRange_activities_filtersCorrectly() throws Exception {
-        when(activityRepository.findAll()).thenReturn(List.of(testActivity));
+        when(activityRepository.findPageByCreatedAtBetween(any(), anyLong(), any(), any()))
+                .thenAnswer(rangePage(List.of(testActivity), Activity::getCreatedAt, Activity::getId));
 
-        byte[] result = exportService.exportWithDateRange("activities",
-                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        byte[] result = export(out -> exportService.exportWithDateRange("activities",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), out));
 
         try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(result))) {
             Sheet sheet = wb.getSheetAt(0);
@@ -252,10 +274,94 @@ class ExportServiceImplTest {
         }
     }
 
+    @Test
+    void exportWithDateRange_points_queriesRangeInDatabaseWithKeysetCursor() throws Exception {
+        LocalDateTime sameTime = LocalDateTime.of(2024, 1, 20, 9, 0);
+        List<PointsRecord> records = new ArrayList<>();
+        for (long id = ExportServiceImpl.PAGE_SIZE + 5; id >= 1; id--) {
+            PointsRecord r = PointsRecord.builder().id(id).userId(1L).pointsType(PointsType.CHECKIN).amount(1).build();
+            // 前 10 条时间更早，其余时间相同，验证同一时间戳下按 id 续页
+            r.setCreatedAt(id <= 10 ? sameTime.minusDays(1) : sameTime);
+            records.add(r);
+        }
+        when(pointsRecordRepository.findPageByCreatedAtBetween(any(), anyLong(), any(), any()))
+                .thenAnswer(rangePage(records, PointsRecord::getCreatedAt, PointsRecord::getId));
+
+        byte[] result = export(out -> exportService.exportWithDateRange("points",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), out));
+
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(result))) {
+            Sheet sheet = wb.getSheetAt(0);
+            assertEquals(records.size(), sheet.getLastRowNum());
+            for (int i = 1; i <= records.size(); i++) {
+                assertEquals(i, (int) sheet.getRow(i).getCell(0).getNumericCellValue());
+            }
+        }
+        verify(pointsRecordRepository).findPageByCreatedAtBetween(
+                eq(LocalDate.of(2024, 1, 1).atStartOfDay()), eq(0L),
+                eq(LocalDate.of(2024, 1, 31).atTime(LocalTime.MAX)), any());
+        verify(pointsRecordRepository, times(2)).findPageByCreatedAtBetween(any(), anyLong(), any(), any());
+        verify(pointsRecordRepository, never()).findAll();
+    }
+
+    @Test
+    void export_reportsProgressPerPage() {
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(List.of(testUser));
+        List<Long> progress = new ArrayList<>();
+
+        exportService.export("members", null, null, new ByteArrayOutputStream(), progress::add);
+
+        assertEquals(List.of(1L), progress);
+    }
+
+    @Test
+    void countRows_usesRangeCountOrTableCount() {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 31);
+        when(pointsRecordRepository.count()).thenReturn(100L);
+        when(pointsRecordRepository.countByCreatedAtBetween(start.atStartOfDay(), end.atTime(LocalTime.MAX)))
+                .thenReturn(7L);
+
+        assertEquals(100L, exportService.countRows("points", null, null));
+        assertEquals(7L, exportService.countRows("points", start, end));
+    }
+
     @Test
     void exportWithDateRange_unsupportedType_throwsException() {
         assertThrows(IllegalArgumentException.class, () ->
-                exportService.exportWithDateRange("unknown", LocalDate.now(), LocalDate.now()));
+                exportService.exportWithDateRange("unknown", LocalDate.now(), LocalDate.now(),
+                        new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void validateDataType_unsupportedType_throwsException() {
+        assertDoesNotThrow(() -> exportService.validateDataType("Points"));
+        assertThrows(IllegalArgumentException.class, () -> exportService.validateDataType("unknown"));
+    }
+
+    @Test
+    void exportPoints_readsPagesByIdCursorUntilShortPage() throws Exception {
+        List<PointsRecord> fullPage = new ArrayList<>();
+        for (long id = 1; id <= ExportServiceImpl.PAGE_SIZE; id++) {
+            fullPage.add(PointsRecord.builder().id(id).userId(1L).pointsType(PointsType.CHECKIN).amount(1).build());
+        }
+        PointsRecord last = PointsRecord.builder()
+                .id((long) ExportServiceImpl.PAGE_SIZE + 1).userId(2L).pointsType(PointsType.CHECKIN).amount(2).build();
+        when(pointsRecordRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(fullPage);
+        when(pointsRecordRepository.findByIdGreaterThanOrderByIdAsc(eq((long) ExportServiceImpl.PAGE_SIZE), any()))
+                .thenReturn(List.of(last));
+
+        byte[] result = export(exportService::exportPoints);
+
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(result))) {
+            Sheet sheet = wb.getSheetAt(0);
+            assertEquals(ExportServiceImpl.PAGE_SIZE + 1, sheet.getLastRowNum());
+            assertEquals(ExportServiceImpl.PAGE_SIZE + 1.0,
+                    sheet.getRow(ExportServiceImpl.PAGE_SIZE + 1).getCell(0).getNumericCellValue());
+        }
+        verify(pointsRecordRepository, times(2)).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+        // 每页写完清空一次持久化上下文
+        verify(entityManager, times(2)).clear();
     }
 
     @Test
@@ -271,4 +377,32 @@ class ExportServiceImplTest {
         String today = LocalDate.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
         assertEquals("points_" + today + ".xlsx", name);
     }
+
+    private static byte[] export(Consumer<OutputStream> exporter) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.accept(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 模拟 findPageByCreatedAtBetween 的数据库语义：时间段过滤 + (createdAt, id) 游标 + 排序 + 分页
+     */
+    private static <T> Answer<List<T>> rangePage(List<T> rows, Function<T, LocalDateTime> createdAtOf,
+                                                 Function<T, Long> idOf) {
+        return invocation -> {
+            LocalDateTime after = invocation.getArgument(0);
+            long afterId = invocation.getArgument(1);
+            LocalDateTime end = invocation.getArgument(2);
+            Pageable pageable = invocation.getArgument(3);
+            return rows.stream()
+                    .filter(r -> {
+                        LocalDateTime t = createdAtOf.apply(r);
+                        return t != null && !t.isBefore(after) && !t.isAfter(end)
+                                && (t.isAfter(after) || idOf.apply(r) > afterId);
+                    })
+                    .sorted(Comparator.comparing(createdAtOf).thenComparing(idOf))
+                    .limit(pageable.getPageSize())
+                    .toList();
+        };
+    }
 }
@@ -0,0 +1,291 @@
+package com.pollen.management.service;
+
+import com.pollen.management.util.AwsSignatureV4;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 测试用的 S3 兼容服务（MinIO 替身），基于 JDK HttpServer，在内存中实现分块上传相关接口：
+ * HEAD 对象、InitiateMultipartUpload、UploadPart（校验 Content-MD5）、ListParts（分页）、
+ * CompleteMultipartUpload（返回组合 ETag）、AbortMultipartUpload。
+ * 每个请求都检查签名头存在且 x-amz-content-sha256 与负载一致，并支持注入分块失败。
+ */
+final class FakeS3Server implements AutoCloseable {
+
+    static final String BUCKET = "backups";
+    static final String ACCESS_KEY = "test-access";
+    static final String SECRET_KEY = "test-secret";
+
+    private static final Pattern COMPLETE_PART = Pattern.compile(
+            "<Part><PartNumber>(\\d+)</PartNumber><ETag>\"?([0-9a-fA-F]+)\"?</ETag></Part>");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final Map<String, String> objectSha256 = new ConcurrentHashMap<>();
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicInteger> partFailures = new ConcurrentHashMap<>();
+    private final AtomicInteger partPuts = new AtomicInteger();
+    private volatile int listPageSize = 1000;
+    private volatile boolean corruptCompleteEtag;
+
+    private record Upload(String key, String sha256, NavigableMap<Integer, byte[]> parts) {
+    }
+
+    FakeS3Server() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    S3StorageTarget target() {
+        return new S3StorageTarget(endpoint(), "us-east-1", BUCKET, ACCESS_KEY, SECRET_KEY,
+                java.time.Duration.ofSeconds(10));
+    }
+
+    byte[] object(String key) {
+        return objects.get(key);
+    }
+
+    int uploadedPartCount(String uploadId) {
+        Upload upload = uploads.get(uploadId);
+        return upload != null ? upload.parts().size() : 0;
+    }
+
+    int partPuts() {
+        return partPuts.get();
+    }
+
+    void resetCounters() {
+        partPuts.set(0);
+        partFailures.clear();
+    }
+
+    /** 分块 partNumber 的接下来 times 次上传返回 500 */
+    void failPart(int partNumber, int times) {
+        partFailures.put(partNumber, new AtomicInteger(times));
+    }
+
+    void setListPageSize(int listPageSize) {
+        this.listPageSize = listPageSize;
+    }
+
+    void setCorruptCompleteEtag(boolean corruptCompleteEtag) {
+        this.corruptCompleteEtag = corruptCompleteEtag;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            if (authorization == null
+                    || !authorization.startsWith("AWS4-HMAC-SHA256 Credential=" + ACCESS_KEY + "/")) {
+                respond(exchange, 403, error("AccessDenied"));
+                return;
+            }
+            if (!AwsSignatureV4.sha256Hex(body).equals(exchange.getRequestHeaders().getFirst("x-amz-content-sha256"))) {
+                respond(exchange, 400, error("XAmzContentSHA256Mismatch"));
+                return;
+            }
+            String path = URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8);
+            String prefix = "/" + BUCKET + "/";
+            if (!path.startsWith(prefix)) {
+                respond(exchange, 404, error("NoSuchBucket"));
+                return;
+            }
+            String key = path.substring(prefix.length());
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String method = exchange.getRequestMethod();
+
+            if ("HEAD".equals(method)) {
+                headObject(exchange, key);
+            } else if ("POST".equals(method) && query.containsKey("uploads")) {
+                initiate(exchange, key);
+            } else if ("PUT".equals(method) && query.containsKey("partNumber")) {
+                uploadPart(exchange, query, body);
+            } else if ("GET".equals(method) && query.containsKey("uploadId")) {
+                listParts(exchange, query);
+            } else if ("POST".equals(method) && query.containsKey("uploadId")) {
+                complete(exchange, key, query, body);
+            } else if ("DELETE".equals(method) && query.containsKey("uploadId")) {
+                Upload removed = uploads.remove(query.get("uploadId"));
+                respond(exchange, removed != null ? 204 : 404, removed != null ? null : error("NoSuchUpload"));
+            } else {
+                respond(exchange, 405, error("MethodNotAllowed"));
+            }
+        }
+    }
+
+    private void headObject(HttpExchange exchange, String key) throws IOException {
+        if (!objects.containsKey(key)) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        exchange.getResponseHeaders().add("x-amz-meta-sha256", objectSha256.get(key));
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void initiate(HttpExchange exchange, String key) throws IOException {
+        String uploadId = UUID.randomUUID().toString().replace("-", "") + "+/=";
+        uploads.put(uploadId, new Upload(key, exchange.getRequestHeaders().getFirst("x-amz-meta-sha256"),
+                new ConcurrentSkipListMap<>()));
+        respond(exchange, 200, "<InitiateMultipartUploadResult><Bucket>" + BUCKET + "</Bucket><Key>" + key
+                + "</Key><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+    }
+
+    private void uploadPart(HttpExchange exchange, Map<String, String> query, byte[] body) throws IOException {
+        Upload upload = uploads.get(query.get("uploadId"));
+        if (upload == null) {
+            respond(exchange, 404, error("NoSuchUpload"));
+            return;
+        }
+        int partNumber = Integer.parseInt(query.get("partNumber"));
+        AtomicInteger failures = partFailures.get(partNumber);
+        if (failures != null && failures.getAndDecrement() > 0) {
+            respond(exchange, 500, error("InternalError"));
+            return;
+        }
+        byte[] md5 = md5(body);
+        if (!Base64.getEncoder().encodeToString(md5).equals(exchange.getRequestHeaders().getFirst("Content-MD5"))) {
+            respond(exchange, 400, error("BadDigest"));
+            return;
+        }
+        upload.parts().put(partNumber, body);
+        partPuts.incrementAndGet();
+        exchange.getResponseHeaders().add("ETag", "\"" + HexFormat.of().formatHex(md5) + "\"");
+        respond(exchange, 200, null);
+    }
+
+    private void listParts(HttpExchange exchange, Map<String, String> query) throws IOException {
+        Upload upload = uploads.get(query.get("uploadId"));
+        if (upload == null) {
+            respond(exchange, 404, error("NoSuchUpload"));
+            return;
+        }
+        int marker = Integer.parseInt(query.getOrDefault("part-number-marker", "0"));
+        NavigableMap<Integer, byte[]> remaining = upload.parts().tailMap(marker, false);
+        StringBuilder xml = new StringBuilder("<ListPartsResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">");
+        int listed = 0;
+        int last = marker;
+        for (Map.Entry<Integer, byte[]> part : remaining.entrySet()) {
+            if (listed == listPageSize) {
+                break;
+            }
+            xml.append("<Part><PartNumber>").append(part.getKey()).append("</PartNumber><ETag>&quot;")
+                    .append(HexFormat.of().formatHex(md5(part.getValue()))).append("&quot;</ETag><Size>")
+                    .append(part.getValue().length).append("</Size></Part>");
+            listed++;
+            last = part.getKey();
+        }
+        boolean truncated = remaining.size() > listed;
+        xml.append("<IsTruncated>").append(truncated).append("</IsTruncated>");
+        if (truncated) {
+            xml.append("<NextPartNumberMarker>").append(last).append("</NextPartNumberMarker>");
+        }
+        respond(exchange, 200, xml.append("</ListPartsResult>").toString());
+    }
+
+    private void complete(HttpExchange exchange, String key, Map<String, String> query, byte[] body)
+            throws IOException {
+        Upload upload = uploads.get(query.get("uploadId"));
+        if (upload == null) {
+            respond(exchange, 404, error("NoSuchUpload"));
+            return;
+        }
+        ByteArrayOutputStream object = new ByteArrayOutputStream();
+        MessageDigest composite = digest("MD5");
+        int count = 0;
+        Matcher matcher = COMPLETE_PART.matcher(new String(body, StandardCharsets.UTF_8));
+        while (matcher.find()) {
+            byte[] data = upload.parts().get(Integer.parseInt(matcher.group(1)));
+            if (data == null || !HexFormat.of().formatHex(md5(data)).equalsIgnoreCase(matcher.group(2))) {
+                // 与真实 S3 一致：合并失败也可能返回 200，错误放在响应体中
+                respond(exchange, 200, error("InvalidPart"));
+                return;
+            }
+            object.write(data);
+            composite.update(md5(data));
+            count++;
+        }
+        String etag = HexFormat.of().formatHex(composite.digest()) + "-" + count;
+        if (corruptCompleteEtag) {
+            etag = "0" + etag.substring(1);
+        }
+        uploads.remove(query.get("uploadId"));
+        objects.put(key, object.toByteArray());
+        objectSha256.put(key, upload.sha256());
+        respond(exchange, 200, "<CompleteMultipartUploadResult><Bucket>" + BUCKET + "</Bucket><Key>" + key
+                + "</Key><ETag>&quot;" + etag + "&quot;</ETag></CompleteMultipartUploadResult>");
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery != null && !rawQuery.isEmpty()) {
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                params.put(URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8),
+                        eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static String error(String code) {
+        return "<Error><Code>" + code + "</Code><Message>" + code + "</Message></Error>";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String xml) throws IOException {
+        byte[] bytes = xml != null ? xml.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static byte[] md5(byte[] data) {
+        return digest("MD5").digest(data);
+    }
+
+    private static MessageDigest digest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
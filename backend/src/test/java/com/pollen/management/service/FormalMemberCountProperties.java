@@ -43,7 +43,8 @@ class FormalMemberCountProperties {
                 .dismissalPointsThreshold(100)
                 .dismissalConsecutiveMonths(2)
                 .build());
-        return new MemberRotationServiceImpl(userRepo, pointsRepo, salaryRepo, roleChangeHistoryRepo, salaryConfigService);
+        return new MemberRotationServiceImpl(userRepo, pointsRepo, salaryRepo, roleChangeHistoryRepo, salaryConfigService,
+                Mockito.mock(TokenRevocationService.class));
     }
 
     // ========== Property 22a: Valid swap preserves formal member count ==========
@@ -50,6 +50,9 @@ class InternshipServiceImplTest {
     @Mock
     private RoleChangeHistoryRepository roleChangeHistoryRepository;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     private InternshipServiceImpl internshipService;
 
@@ -1,5 +1,9 @@
 package com.pollen.management.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pollen.management.config.InterviewSessionProperties;
+import com.pollen.management.config.InterviewScoringProperties;
+import com.pollen.management.config.InterviewTranscriptArchiveProperties;
 import com.pollen.management.dto.InterviewArchiveRecord;
 import com.pollen.management.entity.Interview;
 import com.pollen.management.entity.InterviewMessage;
@@ -39,7 +43,14 @@ class InterviewArchiveProperties {
         UserRepository userRepo = Mockito.mock(UserRepository.class);
         InternshipService internshipService = Mockito.mock(InternshipService.class);
         RoleChangeHistoryRepository roleChangeHistoryRepo = Mockito.mock(RoleChangeHistoryRepository.class);
-        return new InterviewServiceImpl(interviewRepo, messageRepo, reportRepo, appRepo, scenarioService, userRepo, internshipService, roleChangeHistoryRepo);
+        InterviewMessageBuffer messageBuffer = Mockito.mock(InterviewMessageBuffer.class);
+        // 未归档的面试：对话全部来自逐条消息表
+        InterviewTranscriptService transcriptService = new InterviewTranscriptServiceImpl(messageRepo,
+                Mockito.mock(InterviewTranscriptArchiveRepository.class), interviewRepo, null, null,
+                new ObjectMapper().findAndRegisterModules(), new InterviewTranscriptArchiveProperties());
+        return new InterviewServiceImpl(interviewRepo, messageRepo, reportRepo, appRepo, scenarioService, userRepo,
+                internshipService, roleChangeHistoryRepo, new InterviewSessionCache(new InterviewSessionProperties()), messageBuffer,
+                Mockito.mock(InterviewResponseService.class), transcriptService, new InterviewScoringProperties());
     }
 
     // ========== Property 18a: Full record with messages and report is returned intact ==========
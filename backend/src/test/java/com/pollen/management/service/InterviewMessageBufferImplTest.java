@@ -0,0 +1,302 @@
+package com.pollen.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pollen.management.config.InterviewSessionProperties;
+import com.pollen.management.entity.Interview;
+import com.pollen.management.entity.InterviewMessage;
+import com.pollen.management.entity.enums.InterviewStatus;
+import com.pollen.management.repository.InterviewRepository;
+import com.pollen.management.util.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 在 H2 上验证面试消息写缓冲的批量落库、去重与计数器写回
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class InterviewMessageBufferImplTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    private final InterviewSessionProperties properties = new InterviewSessionProperties();
+    private InterviewMessageBufferImpl buffer;
+    private Interview interview;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new InterviewMessageBufferImpl(jdbcTemplate, transactionManager, (StringRedisTemplate) null,
+                objectMapper, properties);
+        interview = interviewRepository.save(Interview.builder()
+                .applicationId(1L).userId(1L).status(InterviewStatus.IN_PROGRESS).build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DELETE FROM interview_messages");
+        jdbcTemplate.execute("DELETE FROM interviews");
+    }
+
+    private List<InterviewMessage> turn(String answer) {
+        return List.of(
+                InterviewMessage.builder().interviewId(interview.getId()).role("USER").content(answer).build(),
+                InterviewMessage.builder().interviewId(interview.getId()).role("AI").content("收到").build());
+    }
+
+    private void answered(int count, int ruleHits) {
+        interview.setUserMessageCount(count);
+        interview.setRuleKeywordHits(ruleHits);
+    }
+
+    private int messageRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM interview_messages WHERE interview_id = ?",
+                Integer.class, interview.getId());
+    }
+
+    private Map<String, Object> counters() {
+        return jdbcTemplate.queryForMap("SELECT user_message_count, rule_keyword_hits FROM interviews WHERE id = ?",
+                interview.getId());
+    }
+
+    @Test
+    void flush_shouldInsertBufferedMessagesAndWriteBackLatestCounters() {
+        answered(1, 1);
+        buffer.append(interview, turn("我会先查看群规"));
+        answered(2, 3);
+        buffer.append(interview, turn("然后私聊沟通"));
+        assertEquals(4, buffer.pendingCount());
+        assertEquals(0, messageRows());
+
+        buffer.flush();
+
+        assertEquals(0, buffer.pendingCount());
+        assertEquals(4, messageRows());
+        List<String> contents = jdbcTemplate.queryForList(
+                "SELECT content FROM interview_messages WHERE interview_id = ? ORDER BY id", String.class, interview.getId());
+        assertEquals(List.of("我会先查看群规", "收到", "然后私聊沟通", "收到"), contents);
+        Map<String, Object> counters = counters();
+        assertEquals(2, ((Number) counters.get("user_message_count")).intValue());
+        assertEquals(3, ((Number) counters.get("rule_keyword_hits")).intValue());
+    }
+
+    @Test
+    void append_shouldAssignClientMessageIds() {
+        List<InterviewMessage> messages = turn("回答");
+        buffer.append(interview, messages);
+
+        assertNotNull(messages.get(0).getClientMessageId());
+        assertNotNull(messages.get(1).getClientMessageId());
+        assertNotEquals(messages.get(0).getClientMessageId(), messages.get(1).getClientMessageId());
+        assertNotNull(messages.get(0).getTimestamp());
+    }
+
+    @Test
+    void flush_replayedTurn_shouldNotInsertDuplicatesOrRewindCounters() {
+        List<InterviewMessage> first = turn("第一条回答");
+        answered(1, 1);
+        buffer.append(interview, first);
+        answered(2, 2);
+        buffer.append(interview, turn("第二条回答"));
+        buffer.flush();
+
+        // 重放已落库的一轮（同一批 clientMessageId，计数器快照较旧）
+        answered(1, 1);
+        buffer.append(interview, first);
+        buffer.flush();
+
+        assertEquals(4, messageRows());
+        Map<String, Object> counters = counters();
+        assertEquals(2, ((Number) counters.get("user_message_count")).intValue());
+        assertEquals(2, ((Number) counters.get("rule_keyword_hits")).intValue());
+    }
+
+    @Test
+    void flush_sameMessageTwiceInOneBatch_shouldInsertOnce() {
+        List<InterviewMessage> messages = turn("回答");
+        answered(1, 0);
+        buffer.append(interview, messages);
+        buffer.append(interview, messages);
+
+        buffer.flush();
+
+        assertEquals(2, messageRows());
+    }
+
+    @Test
+    void flush_legacyInterviewWithoutCounters_shouldOnlyInsertMessages() {
+        jdbcTemplate.update("UPDATE interviews SET user_message_count = NULL WHERE id = ?", interview.getId());
+        interview.setUserMessageCount(null);
+
+        buffer.append(interview, turn("回答"));
+        buffer.flush();
+
+        assertEquals(2, messageRows());
+        assertNull(counters().get("user_message_count"));
+    }
+
+    @Test
+    void flush_failure_shouldKeepBatchForRetry() {
+        List<InterviewMessage> broken = new ArrayList<>(turn("回答"));
+        broken.set(1, InterviewMessage.builder().interviewId(interview.getId()).role("AI").content(null).build());
+        answered(1, 0);
+        buffer.append(interview, broken);
+
+        assertThrows(BusinessException.class, () -> buffer.flush());
+
+        assertEquals(2, buffer.pendingCount());
+        assertEquals(0, messageRows());
+        assertEquals(0, ((Number) counters().get("user_message_count")).intValue());
+    }
+
+    @Test
+    void append_reachingBatchSize_shouldFlushInBackground() throws Exception {
+        properties.setFlushBatchSize(4);
+        answered(1, 0);
+        buffer.append(interview, turn("第一条"));
+        assertEquals(2, buffer.pendingCount());
+        answered(2, 0);
+        buffer.append(interview, turn("第二条"));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (messageRows() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(4, messageRows());
+        assertEquals(0, buffer.pendingCount());
+    }
+
+    // --- Redis Stream ---
+
+    @SuppressWarnings("unchecked")
+    private StreamOperations<String, Object, Object> mockStream(StringRedisTemplate redisTemplate) {
+        StreamOperations<String, Object, Object> ops = mock(StreamOperations.class);
+        doReturn(ops).when(redisTemplate).opsForStream();
+        return ops;
+    }
+
+    @Test
+    void flush_withRedis_shouldDeleteStreamEntriesAfterCommit() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        StreamOperations<String, Object, Object> ops = mockStream(redisTemplate);
+        when(ops.add(any(MapRecord.class))).thenReturn(RecordId.of("1-0"), RecordId.of("2-0"));
+        buffer = new InterviewMessageBufferImpl(jdbcTemplate, transactionManager, redisTemplate, objectMapper, properties);
+        buffer.setRedisAvailable(true);
+
+        answered(1, 0);
+        buffer.append(interview, turn("第一条"));
+        answered(2, 0);
+        buffer.append(interview, turn("第二条"));
+        verify(ops, times(2)).add(any(MapRecord.class));
+        verify(ops, never()).delete(anyString(), any(String[].class));
+
+        buffer.flush();
+
+        verify(ops).delete(InterviewMessageBufferImpl.STREAM_KEY, "1-0", "2-0");
+        assertEquals(4, messageRows());
+    }
+
+    @Test
+    void recoverFromStream_shouldReplayEntriesLeftByAnotherNode() throws Exception {
+        InterviewMessageBufferImpl.PendingTurn orphan = new InterviewMessageBufferImpl.PendingTurn(interview.getId(),
+                List.of(new InterviewMessageBufferImpl.BufferedMessage("c-1", "USER", "遗留回答",
+                                LocalDateTime.now(), 60),
+                        new InterviewMessageBufferImpl.BufferedMessage("c-2", "AI", "遗留回复",
+                                LocalDateTime.now(), 60)),
+                1, 1, 0, 0, 0, null);
+        MapRecord<String, Object, Object> record = StreamRecords.newRecord()
+                .in(InterviewMessageBufferImpl.STREAM_KEY)
+                .withId(RecordId.of("5-0"))
+                .ofMap(Map.<Object, Object>of("turn", objectMapper.writeValueAsString(orphan)));
+
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        StreamOperations<String, Object, Object> ops = mockStream(redisTemplate);
+        when(ops.range(eq(InterviewMessageBufferImpl.STREAM_KEY), any(Range.class), any(Limit.class)))
+                .thenReturn(List.of(record));
+        buffer = new InterviewMessageBufferImpl(jdbcTemplate, transactionManager, redisTemplate, objectMapper, properties);
+        buffer.setRedisAvailable(true);
+
+        buffer.recoverFromStream(0);
+        // 同一条目不会重复接管
+        buffer.recoverFromStream(0);
+        assertEquals(2, buffer.pendingCount());
+
+        buffer.flush();
+
+        assertEquals(2, messageRows());
+        assertEquals(1, ((Number) counters().get("user_message_count")).intValue());
+        verify(ops).delete(InterviewMessageBufferImpl.STREAM_KEY, "5-0");
+    }
+
+    private static RedisConnection mockConnection(StringRedisTemplate redisTemplate) {
+        RedisConnectionFactory factory = mock(RedisConnectionFactory.class);
+        RedisConnection connection = mock(RedisConnection.class);
+        when(redisTemplate.getConnectionFactory()).thenReturn(factory);
+        when(factory.getConnection()).thenReturn(connection);
+        return connection;
+    }
+
+    @Test
+    void scheduledFlush_redisRecovered_shouldSwitchBackToStream() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        StreamOperations<String, Object, Object> ops = mockStream(redisTemplate);
+        when(ops.add(any(MapRecord.class))).thenReturn(RecordId.of("1-0"));
+        mockConnection(redisTemplate);
+        // 启动时 Redis 不可用
+        buffer = new InterviewMessageBufferImpl(jdbcTemplate, transactionManager, redisTemplate, objectMapper, properties);
+        buffer.append(interview, turn("内存中的回答"));
+        verify(ops, never()).add(any(MapRecord.class));
+
+        buffer.scheduledFlush();
+        buffer.append(interview, turn("恢复后的回答"));
+
+        assertEquals(2, messageRows());
+        verify(ops).add(any(MapRecord.class));
+    }
+
+    @Test
+    void scheduledFlush_redisStillDown_shouldStayInMemory() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        StreamOperations<String, Object, Object> ops = mockStream(redisTemplate);
+        when(mockConnection(redisTemplate).ping()).thenThrow(new RedisConnectionFailureException("down"));
+        buffer = new InterviewMessageBufferImpl(jdbcTemplate, transactionManager, redisTemplate, objectMapper, properties);
+
+        buffer.scheduledFlush();
+        buffer.append(interview, turn("回答"));
+
+        verifyNoInteractions(ops);
+        assertEquals(2, buffer.pendingCount());
+    }
+}
@@ -0,0 +1,163 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.InterviewScoringProperties;
+import com.pollen.management.dto.InterviewRescoreResult;
+import com.pollen.management.entity.Interview;
+import com.pollen.management.entity.InterviewMessage;
+import com.pollen.management.entity.InterviewReport;
+import com.pollen.management.entity.enums.InterviewStatus;
+import com.pollen.management.repository.InterviewMessageRepository;
+import com.pollen.management.repository.InterviewReportRepository;
+import com.pollen.management.repository.InterviewRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 在 H2 上验证评分规则调整后的批量重新评分
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class InterviewRescoreServiceImplTest {
+
+    /** 不命中任何评分关键词的回答：三个维度均为基础分 5，推荐标签为建议拒绝 */
+    private static final String PLAIN_ANSWER = "好的";
+
+    @Autowired
+    private InterviewRescoreService rescoreService;
+    @Autowired
+    private InterviewTranscriptService transcriptService;
+    @Autowired
+    private InterviewScoringProperties properties;
+    @Autowired
+    private InterviewRepository interviewRepository;
+    @Autowired
+    private InterviewMessageRepository messageRepository;
+    @Autowired
+    private InterviewReportRepository reportRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        properties.setVersion("2");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DELETE FROM interview_reports");
+        jdbcTemplate.execute("DELETE FROM interview_transcript_archives");
+        jdbcTemplate.execute("DELETE FROM interview_messages");
+        jdbcTemplate.execute("DELETE FROM interviews");
+        properties.setVersion("1");
+        properties.setRescorePageSize(500);
+    }
+
+    /** 创建一场已结束的面试（一问一答）及其按旧规则生成的报告 */
+    private InterviewReport reported(int oldScore, String version) {
+        Interview interview = interviewRepository.save(Interview.builder()
+                .applicationId(1L).userId(1L).status(InterviewStatus.COMPLETED)
+                .completedAt(LocalDateTime.now().minusDays(60)).build());
+        LocalDateTime t = LocalDateTime.of(2024, 3, 1, 10, 0);
+        messageRepository.saveAll(List.of(
+                InterviewMessage.builder().interviewId(interview.getId()).role("AI").content("请处理群内争执")
+                        .timestamp(t).build(),
+                InterviewMessage.builder().interviewId(interview.getId()).role("USER").content(PLAIN_ANSWER)
+                        .timestamp(t.plusSeconds(10)).build()));
+        return reportRepository.save(InterviewReport.builder()
+                .interviewId(interview.getId())
+                .ruleFamiliarity(oldScore).communicationScore(oldScore).pressureScore(oldScore).totalScore(oldScore)
+                .recommendationLabel(oldScore >= 8 ? "建议通过" : oldScore >= 6 ? "重点审查对话内容" : "建议拒绝")
+                .aiComment("旧评语")
+                .scoringVersion(version)
+                .build());
+    }
+
+    @Test
+    void rescoreAll_shouldWriteNewScoresWithVersionAndSummarizeLabelFlips() {
+        InterviewReport flipped = reported(9, "1");
+        InterviewReport reviewed = reported(8, null);
+        reviewed.setReviewResult("APPROVED");
+        reviewed.setManualApproved(true);
+        reportRepository.save(reviewed);
+        InterviewReport unchanged = reported(5, "1");
+        InterviewReport review = reported(6, "1");
+        InterviewReport current = reported(9, "2");
+
+        InterviewRescoreResult result = rescoreService.rescoreAll(false);
+
+        assertEquals("2", result.getScoringVersion());
+        assertFalse(result.isDryRun());
+        assertEquals(4, result.getScanned());
+        assertEquals(3, result.getScoreChanged());
+        assertEquals(3, result.getLabelChanged());
+        assertEquals(1, result.getReviewedLabelChanged());
+        assertEquals(0, result.getFailed());
+        assertEquals(2L, result.getLabelTransitions().get("建议通过 -> 建议拒绝"));
+        assertEquals(1L, result.getLabelTransitions().get("重点审查对话内容 -> 建议拒绝"));
+
+        InterviewReport rescored = reportRepository.findById(flipped.getId()).orElseThrow();
+        assertEquals(5, rescored.getTotalScore());
+        assertEquals("建议拒绝", rescored.getRecommendationLabel());
+        assertEquals("2", rescored.getScoringVersion());
+        assertNotNull(rescored.getRescoredAt());
+        assertNotEquals("旧评语", rescored.getAiComment());
+
+        // 人工复审结论不受影响
+        InterviewReport rescoredReviewed = reportRepository.findById(reviewed.getId()).orElseThrow();
+        assertEquals("APPROVED", rescoredReviewed.getReviewResult());
+        assertTrue(rescoredReviewed.getManualApproved());
+        assertEquals("建议拒绝", rescoredReviewed.getRecommendationLabel());
+
+        assertEquals("2", reportRepository.findById(unchanged.getId()).orElseThrow().getScoringVersion());
+        assertEquals(5, reportRepository.findById(review.getId()).orElseThrow().getTotalScore());
+        // 已是当前版本的报告跳过
+        InterviewReport skipped = reportRepository.findById(current.getId()).orElseThrow();
+        assertEquals(9, skipped.getTotalScore());
+        assertNull(skipped.getRescoredAt());
+
+        // 再次运行没有待重新评分的报告
+        assertEquals(0, rescoreService.rescoreAll(false).getScanned());
+    }
+
+    @Test
+    void rescoreAll_dryRun_shouldOnlyReportDiff() {
+        InterviewReport flipped = reported(9, "1");
+
+        InterviewRescoreResult result = rescoreService.rescoreAll(true);
+
+        assertTrue(result.isDryRun());
+        assertEquals(1, result.getScanned());
+        assertEquals(1L, result.getLabelTransitions().get("建议通过 -> 建议拒绝"));
+        InterviewReport report = reportRepository.findById(flipped.getId()).orElseThrow();
+        assertEquals(9, report.getTotalScore());
+        assertEquals("1", report.getScoringVersion());
+        assertEquals(1, rescoreService.rescoreAll(true).getScanned());
+    }
+
+    @Test
+    void rescoreAll_shouldPageThroughReportsAndReadArchivedTranscripts() {
+        properties.setRescorePageSize(2);
+        for (int i = 0; i < 5; i++) {
+            reported(9, null);
+        }
+        InterviewReport archived = reported(9, null);
+        transcriptService.archiveTranscript(archived.getInterviewId());
+
+        InterviewRescoreResult result = rescoreService.rescoreAll(false);
+
+        assertEquals(6, result.getScanned());
+        assertEquals(6L, result.getLabelTransitions().get("建议通过 -> 建议拒绝"));
+        assertTrue(reportRepository.findAll().stream()
+                .allMatch(r -> "2".equals(r.getScoringVersion()) && r.getTotalScore() == 5));
+    }
+}
@@ -0,0 +1,89 @@
+package com.pollen.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pollen.management.config.InterviewResponseProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 面试回复提供者离线压测：本地桩提供者模拟模型延迟，多个并发客户端重复提交有限种回答，
+ * 观察吞吐、延迟分位、缓存命中与回退次数。不依赖网络与数据库。
+ * <p>
+ * 不在常规测试中运行（类名不匹配 surefire includes），手动执行：
+ * <pre>
+ * mvn test -Dtest=InterviewResponseBenchmark -Dinterview.benchmark.requests=5000 \
+ *     -Dinterview.benchmark.clients=200 -Dinterview.benchmark.latency-ms=300 -Dinterview.benchmark.timeout-ms=500
+ * </pre>
+ */
+class InterviewResponseBenchmark {
+
+    @Test
+    void stubProvider_throughputWithCacheAndConcurrencyLimit() throws Exception {
+        int requests = Integer.getInteger("interview.benchmark.requests", 2_000);
+        int clients = Integer.getInteger("interview.benchmark.clients", 64);
+        int distinct = Integer.getInteger("interview.benchmark.distinct", 200);
+
+        InterviewResponseProperties properties = new InterviewResponseProperties();
+        properties.setProvider(StubResponseProvider.NAME);
+        properties.setStubLatencyMs(Long.getLong("interview.benchmark.latency-ms", 100));
+        properties.setStubJitterMs(Long.getLong("interview.benchmark.jitter-ms", 100));
+        properties.setTimeoutMs(Long.getLong("interview.benchmark.timeout-ms", 500));
+        properties.setMaxConcurrent(Integer.getInteger("interview.benchmark.max-concurrent", 32));
+
+        InterviewScenarioServiceImpl scenarios = new InterviewScenarioServiceImpl(new ObjectMapper());
+        scenarios.loadScenarios();
+        String scenarioId = scenarios.getScenarios(true).get(0).getId();
+        InterviewKeywordMatcher matcher = scenarios.getKeywordMatcher(scenarioId);
+
+        InterviewResponseServiceImpl service = new InterviewResponseServiceImpl(
+                List.of(new RuleBasedResponseProvider(), new StubResponseProvider(properties)), properties);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<Long>> futures = new ArrayList<>(requests);
+            long start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                futures.add(pool.submit(() -> {
+                    String message = "我会先按群规处理，第 " + ThreadLocalRandom.current().nextInt(distinct) + " 种说法";
+                    InterviewReplyContext context = InterviewReplyContext.builder()
+                            .interviewId(1L)
+                            .scenarioId(scenarioId)
+                            .userMessage(message)
+                            .matcher(matcher)
+                            .hits(matcher.analyze(message))
+                            .build();
+                    long t = System.nanoTime();
+                    assertNotNull(service.generateReply(context));
+                    return System.nanoTime() - t;
+                }));
+            }
+            long[] latencies = new long[requests];
+            for (int i = 0; i < requests; i++) {
+                latencies[i] = futures.get(i).get();
+            }
+            long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            Arrays.sort(latencies);
+
+            System.out.printf("[response-benchmark] requests=%d clients=%d distinct=%d maxConcurrent=%d%n",
+                    requests, clients, distinct, properties.getMaxConcurrent());
+            System.out.printf("[response-benchmark] %d ms, %,d req/s, p50=%d ms, p99=%d ms%n",
+                    elapsedMs, requests * 1000L / elapsedMs,
+                    latencies[requests / 2] / 1_000_000, latencies[requests * 99 / 100] / 1_000_000);
+            System.out.printf("[response-benchmark] providerCalls=%d cacheHits=%d timeouts=%d fallbacks=%d%n",
+                    service.getProviderCalls(), service.getCacheHits(), service.getTimeouts(), service.getFallbacks());
+            // 每个请求要么命中缓存，要么调用了提供者，要么因并发已满直接回退
+            assertTrue(service.getCacheHits() + service.getProviderCalls() + service.getFallbacks() >= requests);
+        } finally {
+            pool.shutdownNow();
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.InterviewResponseProperties;
+import com.pollen.management.dto.InterviewScenarioCatalog.ScoringKeywords;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterviewResponseServiceImplTest {
+
+    private static final InterviewKeywordMatcher MATCHER =
+            InterviewKeywordMatcher.compile(new ScoringKeywords(), null, "规则回复");
+
+    private final InterviewResponseProperties properties = new InterviewResponseProperties();
+    private InterviewResponseServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private static InterviewReplyContext context(String scenarioId, String message) {
+        return InterviewReplyContext.builder()
+                .interviewId(1L)
+                .scenarioId(scenarioId)
+                .userMessage(message)
+                .matcher(MATCHER)
+                .hits(MATCHER.analyze(message))
+                .build();
+    }
+
+    /** 以给定函数作为回复逻辑的测试提供者，记录调用次数 */
+    private static final class TestProvider implements InterviewResponseProvider {
+        final AtomicInteger calls = new AtomicInteger();
+        private final Function<InterviewReplyContext, String> reply;
+
+        TestProvider(Function<InterviewReplyContext, String> reply) {
+            this.reply = reply;
+        }
+
+        @Override
+        public String getName() {
+            return "test";
+        }
+
+        @Override
+        public String generateReply(InterviewReplyContext context) {
+            calls.incrementAndGet();
+            return reply.apply(context);
+        }
+    }
+
+    private TestProvider use(Function<InterviewReplyContext, String> reply) {
+        TestProvider provider = new TestProvider(reply);
+        properties.setProvider("test");
+        service = new InterviewResponseServiceImpl(List.of(new RuleBasedResponseProvider(), provider), properties);
+        return provider;
+    }
+
+    @Test
+    void rulesProvider_shouldReplyWithoutCaching() {
+        service = new InterviewResponseServiceImpl(List.of(new RuleBasedResponseProvider()), properties);
+
+        assertEquals("规则回复", service.generateReply(context("s1", "回答")));
+        assertEquals(0, service.getProviderCalls());
+        assertEquals(0, service.getFallbacks());
+    }
+
+    @Test
+    void unknownProvider_shouldUseRules() {
+        properties.setProvider("missing");
+        service = new InterviewResponseServiceImpl(List.of(), properties);
+
+        assertEquals("规则回复", service.generateReply(context("s1", "回答")));
+    }
+
+    @Test
+    void provider_shouldReplyAndCacheByScenarioAndNormalizedMessage() {
+        TestProvider provider = use(ctx -> "模型回复：" + ctx.getUserMessage());
+
+        assertEquals("模型回复：我会先私聊", service.generateReply(context("s1", "我会先私聊")));
+        assertEquals("模型回复：我会先私聊", service.generateReply(context("s1", "  我会先私聊。 ")));
+        assertEquals("模型回复：我会先私聊", service.generateReply(context("s2", "我会先私聊")));
+
+        assertEquals(2, provider.calls.get());
+        assertEquals(1, service.getCacheHits());
+    }
+
+    @Test
+    void slowProvider_shouldTimeOutAndFallBackToRules() {
+        properties.setProviderTimeoutMs(java.util.Map.of("test", 50L));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        use(ctx -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "太慢的回复";
+        });
+
+        long start = System.nanoTime();
+        String reply = service.generateReply(context("s1", "回答"));
+
+        assertEquals("规则回复", reply);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2_000);
+        assertEquals(1, service.getTimeouts());
+        assertDoesNotThrow(() -> assertTrue(interrupted.await(2, TimeUnit.SECONDS)));
+        // 超时的结果不缓存
+        assertEquals(0, service.getCacheHits());
+    }
+
+    @Test
+    void failingProvider_shouldFallBackToRules() {
+        use(ctx -> {
+            throw new IllegalStateException("模型服务不可用");
+        });
+
+        assertEquals("规则回复", service.generateReply(context("s1", "回答")));
+        assertEquals(1, service.getFallbacks());
+    }
+
+    @Test
+    void blankReply_shouldFallBackToRulesAndNotBeCached() {
+        TestProvider provider = use(ctx -> " ");
+
+        assertEquals("规则回复", service.generateReply(context("s1", "回答")));
+        assertEquals("规则回复", service.generateReply(context("s1", "回答")));
+        assertEquals(2, provider.calls.get());
+    }
+
+    @Test
+    void concurrencyLimitReached_shouldFallBackImmediately() throws Exception {
+        properties.setMaxConcurrent(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TestProvider provider = use(ctx -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "模型回复";
+        });
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> service.generateReply(context("s1", "第一条")));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+
+        assertEquals("规则回复", service.generateReply(context("s1", "第二条")));
+        assertEquals(1, provider.calls.get());
+
+        release.countDown();
+        assertEquals("模型回复", first.get(2, TimeUnit.SECONDS));
+        // 许可已归还，后续调用恢复使用提供者
+        assertEquals("模型回复", service.generateReply(context("s1", "第三条")));
+    }
+
+    @Test
+    void normalize_shouldIgnoreWidthCaseWhitespaceAndTrailingPunctuation() {
+        assertEquals("ok 我明白", InterviewResponseServiceImpl.normalize("  ＯＫ   我明白！！ "));
+        assertEquals("先私聊,再警告", InterviewResponseServiceImpl.normalize("先私聊，再警告。"));
+        assertEquals("", InterviewResponseServiceImpl.normalize(null));
+    }
+
+    @Test
+    void replyCache_shouldEvictLeastRecentlyUsedAndExpiredEntries() throws Exception {
+        InterviewResponseServiceImpl.ReplyCache cache = new InterviewResponseServiceImpl.ReplyCache(2, 60_000);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(2, cache.size());
+
+        InterviewResponseServiceImpl.ReplyCache expiring = new InterviewResponseServiceImpl.ReplyCache(2, 1);
+        expiring.put("a", "1");
+        Thread.sleep(5);
+        assertNull(expiring.get("a"));
+    }
+}
@@ -5,7 +5,12 @@ import com.pollen.management.dto.InterviewScenario;
 import com.pollen.management.util.BusinessException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -124,6 +129,96 @@ class InterviewScenarioServiceImplTest {
         assertEquals(scenarios.size(), ids.size(), "All scenario IDs should be unique");
     }
 
+    @Test
+    void getKeywordMatcher_shouldUseCategoryRulesLoadedFromJson() {
+        InterviewKeywordMatcher complaint = service.getKeywordMatcher("complaint-handling-2");
+        assertEquals("光说抱歉有什么用？我要看到实际的改进措施。你们打算怎么解决我的问题？",
+                complaint.selectResponse(complaint.analyze("我们会改进")));
+
+        // 同一分类的场景共享同一个编译后的匹配器
+        assertSame(complaint, service.getKeywordMatcher("complaint-handling-1"));
+        assertNotSame(complaint, service.getKeywordMatcher("conflict-resolution-1"));
+    }
+
+    @Test
+    void getKeywordMatcher_unknownScenario_shouldFallBackToDefaultMatcher() {
+        InterviewKeywordMatcher matcher = service.getKeywordMatcher("unknown-scenario");
+
+        InterviewKeywordMatcher.Hits hits = matcher.analyze("按群规处理违规，我理解你的感受，请冷静");
+        assertEquals(2, hits.getRuleFamiliarityHits());
+        assertEquals(1, hits.getCommunicationHits());
+        assertEquals(2, hits.getPressureHits());
+        assertEquals("好的，我理解你的回答。请继续说明你的处理方案。", matcher.selectResponse(hits));
+        assertSame(matcher, service.getKeywordMatcher(null));
+    }
+
+    @Test
+    void findScenario_shouldLookUpByIdIncludingStudentOnly() {
+        assertEquals("群内成员争执调解", service.findScenario("conflict-resolution-1").orElseThrow().getName());
+        assertTrue(service.findScenario("study-work-balance-1").orElseThrow().isStudentOnly());
+        assertTrue(service.findScenario("nonexistent").isEmpty());
+        assertTrue(service.findScenario(null).isEmpty());
+    }
+
+    @Test
+    void getScenarios_shouldReturnSameReadOnlySnapshotWithoutCopying() {
+        List<InterviewScenario> first = service.getScenarios(true);
+        assertSame(first, service.getScenarios(true));
+        assertSame(service.getScenariosByDifficulty(2, false), service.getScenariosByDifficulty(2, false));
+        assertThrows(UnsupportedOperationException.class, () -> first.remove(0));
+    }
+
+    @Test
+    void reloadIfChanged_externalDirectory_addsAndOverridesScenarios(@TempDir Path dir) throws Exception {
+        ReflectionTestUtils.setField(service, "externalDirectory", dir.toString());
+        int before = service.getScenarios(true).size();
+        Path file = dir.resolve("extra.json");
+        Files.writeString(file, """
+                {"categories": {"新分类": {"rules": [{"keywords": ["公告"], "response": "公告已读"}],
+                                          "defaultResponse": "请说明"}},
+                 "scenarios": [
+                   {"id": "announcement-1", "name": "公告争议", "description": "d", "difficulty": 2,
+                    "category": "新分类", "isStudentOnly": false, "aiRole": "r", "initialPrompt": "p"},
+                   {"id": "conflict-resolution-1", "name": "改名后的场景", "description": "d", "difficulty": 1,
+                    "category": "冲突处理", "isStudentOnly": false, "aiRole": "r", "initialPrompt": "p"}]}
+                """);
+
+        service.reloadIfChanged();
+
+        assertEquals(before + 1, service.getScenarios(true).size());
+        assertEquals("改名后的场景", service.findScenario("conflict-resolution-1").orElseThrow().getName());
+        assertTrue(service.getScenariosByDifficulty(2, false).stream()
+                .anyMatch(s -> s.getId().equals("announcement-1")));
+        InterviewKeywordMatcher matcher = service.getKeywordMatcher("announcement-1");
+        assertEquals("公告已读", matcher.selectResponse(matcher.analyze("看公告")));
+
+        // 删除外部文件后恢复为内置场景
+        Files.delete(file);
+        service.reloadIfChanged();
+        assertEquals(before, service.getScenarios(true).size());
+        assertEquals("群内成员争执调解", service.findScenario("conflict-resolution-1").orElseThrow().getName());
+    }
+
+    @Test
+    void reloadIfChanged_invalidFile_keepsPreviousIndex(@TempDir Path dir) throws Exception {
+        ReflectionTestUtils.setField(service, "externalDirectory", dir.toString());
+        List<InterviewScenario> before = service.getScenarios(true);
+        Path file = dir.resolve("broken.json");
+        Files.writeString(file, "{\"scenarios\": [");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000L));
+
+        service.reloadIfChanged();
+
+        assertSame(before, service.getScenarios(true));
+    }
+
+    @Test
+    void reloadIfChanged_unchangedFiles_keepsSameIndex() {
+        List<InterviewScenario> before = service.getScenarios(true);
+        service.reloadIfChanged();
+        assertSame(before, service.getScenarios(true));
+    }
+
     @Test
     void loadScenarios_missingFile_shouldThrowBusinessException() {
         InterviewScenarioServiceImpl badService = new InterviewScenarioServiceImpl(new ObjectMapper()) {
@@ -131,7 +226,7 @@ class InterviewScenarioServiceImplTest {
             void loadScenarios() {
                 // Simulate missing file by using a non-existent path
                 try {
-                    var field = InterviewScenarioServiceImpl.class.getDeclaredField("allScenarios");
+                    var field = InterviewScenarioServiceImpl.class.getDeclaredField("index");
                     field.setAccessible(true);
                     field.set(this, null);
                 } catch (Exception e) {
@@ -0,0 +1,355 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.InterviewStreamProperties;
+import com.pollen.management.dto.InterviewStreamEvent;
+import com.pollen.management.entity.Interview;
+import com.pollen.management.entity.InterviewMessage;
+import com.pollen.management.entity.enums.InterviewStatus;
+import com.pollen.management.util.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InterviewStreamServiceImplTest {
+
+    @Mock
+    private InterviewService interviewService;
+
+    private final InterviewStreamProperties properties = new InterviewStreamProperties();
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private InterviewStreamServiceImpl streamService;
+
+    @BeforeEach
+    void setUp() {
+        properties.setChunkSize(3);
+        properties.setChunkIntervalMs(1);
+        streamService = new InterviewStreamServiceImpl(interviewService, properties) {
+            @Override
+            SseEmitter createEmitter(long timeoutMs) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    private InterviewSessionCache.InterviewSession inProgress(Long id) {
+        InterviewSessionCache.InterviewSession session = new InterviewSessionCache.InterviewSession(
+                Interview.builder().id(id).status(InterviewStatus.IN_PROGRESS).build(), 20);
+        when(interviewService.getActiveSession(id)).thenReturn(session);
+        return session;
+    }
+
+    private static InterviewMessage aiMessage(String content, int timeLimitSeconds) {
+        return InterviewMessage.builder().interviewId(1L).role("AI").content(content)
+                .timeLimitSeconds(timeLimitSeconds).build();
+    }
+
+    private static void await(Predicate<Void> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.test(null) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.test(null), "等待超时");
+    }
+
+    @Test
+    void chunk_shouldSplitByCodePoints() {
+        assertEquals(List.of("你好，", "请回答", "😀x"), InterviewStreamServiceImpl.chunk("你好，请回答😀x", 3));
+        assertEquals(List.of(), InterviewStreamServiceImpl.chunk("", 3));
+    }
+
+    @Test
+    void connect_shouldSendConnectedEventWithDeadline() {
+        inProgress(1L);
+
+        streamService.connect(1L);
+
+        RecordingEmitter emitter = emitters.get(0);
+        assertEquals(List.of(InterviewStreamServiceImpl.EVENT_CONNECTED), emitter.names());
+        InterviewStreamEvent event = emitter.events.get(0).data;
+        assertEquals(1L, event.getTurn());
+        assertEquals(60, event.getTimeLimitSeconds());
+        assertTrue(event.getDeadline() > System.currentTimeMillis());
+        assertEquals(1, streamService.channelCount());
+    }
+
+    @Test
+    void connect_interviewNotInProgress_shouldThrow() {
+        when(interviewService.getActiveSession(1L)).thenThrow(new BusinessException(400, "面试不在进行中状态"));
+
+        assertThrows(BusinessException.class, () -> streamService.connect(1L));
+        assertTrue(emitters.isEmpty());
+    }
+
+    @Test
+    void submitAnswer_shouldStreamReplyInChunksThenDone() throws Exception {
+        inProgress(1L);
+        InterviewMessage ai = aiMessage("请说明你的处理方式", 60);
+        when(interviewService.processStreamMessage(1L, "我会先私聊")).thenReturn(ai);
+        streamService.connect(1L);
+
+        InterviewMessage returned = streamService.submitAnswer(1L, "我会先私聊", 1L);
+
+        assertSame(ai, returned);
+        RecordingEmitter emitter = emitters.get(0);
+        await(v -> emitter.names().contains(InterviewStreamServiceImpl.EVENT_DONE));
+        String streamed = emitter.events.stream()
+                .filter(e -> e.name.equals(InterviewStreamServiceImpl.EVENT_TOKEN))
+                .map(e -> e.data.getText())
+                .collect(Collectors.joining());
+        assertEquals("请说明你的处理方式", streamed);
+        RecordedEvent done = emitter.events.get(emitter.events.size() - 1);
+        assertEquals(InterviewStreamServiceImpl.EVENT_DONE, done.name);
+        assertEquals(2L, done.data.getTurn());
+        assertSame(ai, done.data.getMessage());
+        assertTrue(done.data.getDeadline() > System.currentTimeMillis());
+    }
+
+    @Test
+    void submitAnswer_staleTurn_shouldBeRejectedAsTimedOut() {
+        inProgress(1L);
+        streamService.connect(1L);
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> streamService.submitAnswer(1L, "迟到的回答", 0L));
+        assertEquals("本轮回答已超时", ex.getMessage());
+        verify(interviewService, never()).processStreamMessage(anyLong(), anyString());
+    }
+
+    @Test
+    void submitAnswer_withoutChannel_shouldThrow() {
+        assertThrows(BusinessException.class, () -> streamService.submitAnswer(1L, "回答", null));
+    }
+
+    @Test
+    void turnTimeout_shouldRecordTimeoutAnswerAndAdvance() throws Exception {
+        inProgress(1L);
+        when(interviewService.processStreamMessage(1L, "第一条回答")).thenReturn(aiMessage("下一个问题", 1));
+        when(interviewService.processStreamMessage(1L, properties.getTimeoutAnswer())).thenReturn(aiMessage("超时后的问题", 60));
+        streamService.connect(1L);
+        streamService.submitAnswer(1L, "第一条回答", null);
+
+        RecordingEmitter emitter = emitters.get(0);
+        await(v -> emitter.names().stream().filter(InterviewStreamServiceImpl.EVENT_DONE::equals).count() == 2);
+
+        verify(interviewService).processStreamMessage(1L, properties.getTimeoutAnswer());
+        List<String> names = emitter.names();
+        int timeoutIndex = names.indexOf(InterviewStreamServiceImpl.EVENT_TIMEOUT);
+        assertTrue(timeoutIndex > names.indexOf(InterviewStreamServiceImpl.EVENT_DONE));
+        assertEquals(2L, emitter.events.get(timeoutIndex).data.getTurn());
+        assertEquals(3L, emitter.events.get(names.size() - 1).data.getTurn());
+    }
+
+    @Test
+    void turnTimeout_shouldAnswerOffSchedulerThread() throws Exception {
+        inProgress(1L);
+        when(interviewService.processStreamMessage(1L, "回答")).thenReturn(aiMessage("问题", 1));
+        List<String> answerThreads = new CopyOnWriteArrayList<>();
+        when(interviewService.processStreamMessage(1L, properties.getTimeoutAnswer())).thenAnswer(inv -> {
+            answerThreads.add(Thread.currentThread().getName());
+            return aiMessage("下一题", 60);
+        });
+        streamService.connect(1L);
+        streamService.submitAnswer(1L, "回答", null);
+
+        RecordingEmitter emitter = emitters.get(0);
+        await(v -> emitter.names().stream().filter(InterviewStreamServiceImpl.EVENT_DONE::equals).count() == 2);
+
+        assertEquals(1, answerThreads.size());
+        assertTrue(answerThreads.get(0).startsWith("interview-timeout-"));
+        // 代答完成后回到调度线程推送下一轮
+        assertEquals(3L, emitter.events.get(emitter.events.size() - 1).data.getTurn());
+    }
+
+    @Test
+    void turnTimeout_interviewEnded_shouldCloseChannel() throws Exception {
+        inProgress(1L);
+        when(interviewService.processStreamMessage(1L, "回答")).thenReturn(aiMessage("问题", 1));
+        when(interviewService.processStreamMessage(eq(1L), eq(properties.getTimeoutAnswer())))
+                .thenThrow(new BusinessException(400, "面试不在进行中状态"));
+        streamService.connect(1L);
+        streamService.submitAnswer(1L, "回答", null);
+
+        RecordingEmitter emitter = emitters.get(0);
+        await(v -> emitter.completed);
+        assertTrue(emitter.names().contains(InterviewStreamServiceImpl.EVENT_CLOSED));
+        assertEquals(0, streamService.channelCount());
+    }
+
+    @Test
+    void reconnect_shouldReplaceOldChannelAndKeepDeadline() {
+        inProgress(1L);
+        streamService.connect(1L);
+        long deadline = emitters.get(0).events.get(0).data.getDeadline();
+
+        streamService.connect(1L);
+
+        assertTrue(emitters.get(0).completed);
+        assertEquals(deadline, emitters.get(1).events.get(0).data.getDeadline());
+        assertEquals(1, streamService.channelCount());
+    }
+
+    @Test
+    void disconnectThenReconnect_shouldKeepTurnAndDeadline() {
+        InterviewSessionCache.InterviewSession session = inProgress(1L);
+        streamService.connect(1L);
+        InterviewStreamEvent connected = emitters.get(0).events.get(0).data;
+
+        emitters.get(0).disconnect();
+        assertEquals(0, streamService.channelCount());
+        streamService.connect(1L);
+
+        InterviewStreamEvent reconnected = emitters.get(1).events.get(0).data;
+        assertEquals(connected.getTurn(), reconnected.getTurn());
+        assertEquals(connected.getDeadline(), reconnected.getDeadline());
+        assertTrue(session.isStreamTimed());
+    }
+
+    @Test
+    void reconnectAfterDeadline_shouldTimeOutImmediately() throws Exception {
+        inProgress(1L);
+        when(interviewService.processStreamMessage(1L, "回答")).thenReturn(aiMessage("问题", 1));
+        when(interviewService.processStreamMessage(1L, properties.getTimeoutAnswer()))
+                .thenReturn(aiMessage("超时后的问题", 60));
+        streamService.connect(1L);
+        streamService.submitAnswer(1L, "回答", 1L);
+        await(v -> emitters.get(0).names().contains(InterviewStreamServiceImpl.EVENT_DONE));
+        emitters.get(0).disconnect();
+
+        Thread.sleep(1_100);
+        streamService.connect(1L);
+
+        RecordingEmitter emitter = emitters.get(1);
+        await(v -> emitter.names().contains(InterviewStreamServiceImpl.EVENT_TIMEOUT));
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> streamService.submitAnswer(1L, "迟到的回答", 2L));
+        assertEquals(400, ex.getCode());
+        verify(interviewService, never()).processStreamMessage(1L, "迟到的回答");
+    }
+
+    @Test
+    void timeoutAnswerWhileDisconnected_shouldAdvanceTurnForNextConnection() throws Exception {
+        InterviewSessionCache.StreamTurn state = inProgress(1L).streamTurn(60);
+        when(interviewService.processStreamMessage(1L, "回答")).thenReturn(aiMessage("问题", 1));
+        when(interviewService.processStreamMessage(1L, properties.getTimeoutAnswer())).thenAnswer(inv -> {
+            emitters.get(0).disconnect();
+            return aiMessage("超时后的问题", 30);
+        });
+        streamService.connect(1L);
+        streamService.submitAnswer(1L, "回答", 1L);
+        await(v -> emitters.get(0).names().contains(InterviewStreamServiceImpl.EVENT_TIMEOUT));
+        await(v -> {
+            synchronized (state) {
+                return state.turn == 3 && !state.answeringTimeout;
+            }
+        });
+
+        streamService.connect(1L);
+
+        InterviewStreamEvent connected = emitters.get(1).events.get(0).data;
+        assertEquals(3L, connected.getTurn());
+        assertEquals(30, connected.getTimeLimitSeconds());
+        assertTrue(connected.getDeadline() > System.currentTimeMillis());
+    }
+
+    @Test
+    void close_shouldSendClosedAndCompleteEmitter() {
+        inProgress(1L);
+        streamService.connect(1L);
+
+        streamService.close(1L);
+
+        RecordingEmitter emitter = emitters.get(0);
+        assertEquals(InterviewStreamServiceImpl.EVENT_CLOSED, emitter.names().get(emitter.names().size() - 1));
+        assertTrue(emitter.completed);
+        assertEquals(0, streamService.channelCount());
+        assertDoesNotThrow(() -> streamService.close(1L));
+    }
+
+    @Test
+    void disconnectedClient_shouldReleaseChannelOnSend() throws Exception {
+        inProgress(1L);
+        when(interviewService.processStreamMessage(1L, "回答")).thenReturn(aiMessage("问题", 60));
+        streamService.connect(1L);
+        emitters.get(0).broken = true;
+
+        streamService.submitAnswer(1L, "回答", null);
+
+        await(v -> streamService.channelCount() == 0);
+    }
+
+    private record RecordedEvent(String name, InterviewStreamEvent data) {
+    }
+
+    /**
+     * 记录发送事件的 SseEmitter，不依赖 Servlet 容器
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        final List<RecordedEvent> events = new CopyOnWriteArrayList<>();
+        volatile boolean completed;
+        volatile boolean broken;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            String name = null;
+            InterviewStreamEvent data = null;
+            for (var part : builder.build()) {
+                if (part.getData() instanceof InterviewStreamEvent event) {
+                    data = event;
+                } else if (part.getData() instanceof String text && text.startsWith("event:")) {
+                    name = text.substring("event:".length(), text.indexOf('\n'));
+                }
+            }
+            events.add(new RecordedEvent(name, data));
+        }
+
+        private final List<Runnable> completionCallbacks = new CopyOnWriteArrayList<>();
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            completionCallbacks.add(callback);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        /**
+         * 模拟客户端断开：容器结束异步请求并回调 onCompletion
+         */
+        void disconnect() {
+            completed = true;
+            completionCallbacks.forEach(Runnable::run);
+        }
+
+        List<String> names() {
+            return events.stream().map(RecordedEvent::name).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.pollen.management.service;
+
+import com.pollen.management.config.InterviewTranscriptArchiveProperties;
+import com.pollen.management.entity.Interview;
+import com.pollen.management.entity.InterviewMessage;
+import com.pollen.management.entity.InterviewTranscriptArchive;
+import com.pollen.management.entity.enums.InterviewStatus;
+import com.pollen.management.repository.InterviewMessageRepository;
+import com.pollen.management.repository.InterviewRepository;
+import com.pollen.management.repository.InterviewTranscriptArchiveRepository;
+import com.pollen.management.util.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 在 H2 上验证面试对话的冷归档与透明读取
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class InterviewTranscriptServiceImplTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @Autowired
+    private InterviewTranscriptServiceImpl transcriptService;
+    @Autowired
+    private InterviewTranscriptArchiveProperties properties;
+    @Autowired
+    private InterviewRepository interviewRepository;
+    @Autowired
+    private InterviewMessageRepository messageRepository;
+    @Autowired
+    private InterviewTranscriptArchiveRepository archiveRepository;
+    @Autowired
+    private InterviewService interviewService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DELETE FROM interview_transcript_archives");
+        jdbcTemplate.execute("DELETE FROM interview_messages");
+        jdbcTemplate.execute("DELETE FROM interviews");
+        properties.setEnabled(true);
+    }
+
+    private Interview interview(InterviewStatus status, LocalDateTime completedAt, int messages) {
+        Interview interview = interviewRepository.save(Interview.builder()
+                .applicationId(1L).userId(1L).status(status).completedAt(completedAt).build());
+        List<InterviewMessage> rows = new ArrayList<>();
+        for (int i = 0; i < messages; i++) {
+            rows.add(InterviewMessage.builder()
+                    .interviewId(interview.getId())
+                    .role(i % 2 == 0 ? "AI" : "USER")
+                    .content("第 " + i + " 条：我会先了解双方的情况，再按群规处理。")
+                    .timestamp(BASE.plusSeconds(i))
+                    .clientMessageId(interview.getId() + "-" + i)
+                    .build());
+        }
+        messageRepository.saveAll(rows);
+        return interview;
+    }
+
+    private long hotRows(Long interviewId) {
+        return messageRepository.findByInterviewIdOrderByTimestamp(interviewId).size();
+    }
+
+    @Test
+    void archiveTranscript_shouldCompressIntoOneRowAndReadBackIdentically() {
+        Interview interview = interview(InterviewStatus.REVIEWED, LocalDateTime.now().minusDays(60), 40);
+        List<InterviewMessage> before = transcriptService.getTranscript(interview.getId());
+
+        assertEquals(40, transcriptService.archiveTranscript(interview.getId()));
+
+        assertEquals(0, hotRows(interview.getId()));
+        InterviewTranscriptArchive archive = archiveRepository.findByInterviewId(interview.getId()).orElseThrow();
+        assertEquals(InterviewTranscriptServiceImpl.FORMAT_JSON_DEFLATE, archive.getFormat());
+        assertEquals(40, archive.getMessageCount());
+        assertTrue(archive.getContent().length < archive.getRawSize() / 3,
+                "压缩后 " + archive.getContent().length + " 字节，原始 " + archive.getRawSize());
+
+        List<InterviewMessage> after = transcriptService.getTranscript(interview.getId());
+        assertEquals(before.size(), after.size());
+        for (int i = 0; i < before.size(); i++) {
+            assertEquals(before.get(i).getId(), after.get(i).getId());
+            assertEquals(before.get(i).getRole(), after.get(i).getRole());
+            assertEquals(before.get(i).getContent(), after.get(i).getContent());
+            assertEquals(before.get(i).getTimestamp().truncatedTo(ChronoUnit.MILLIS),
+                    after.get(i).getTimestamp().truncatedTo(ChronoUnit.MILLIS));
+            assertEquals(before.get(i).getClientMessageId(), after.get(i).getClientMessageId());
+        }
+    }
+
+    @Test
+    void archiveCompletedInterviews_shouldOnlyArchiveEndedInterviewsPastRetention() {
+        Interview old = interview(InterviewStatus.REVIEWED, LocalDateTime.now().minusDays(60), 6);
+        Interview oldPending = interview(InterviewStatus.PENDING_REVIEW, LocalDateTime.now().minusDays(45), 4);
+        Interview recent = interview(InterviewStatus.COMPLETED, LocalDateTime.now().minusDays(1), 4);
+        Interview running = interview(InterviewStatus.IN_PROGRESS, null, 4);
+        Interview empty = interview(InterviewStatus.REVIEWED, LocalDateTime.now().minusDays(90), 0);
+
+        assertEquals(2, transcriptService.archiveCompletedInterviews());
+
+        assertEquals(0, hotRows(old.getId()));
+        assertEquals(0, hotRows(oldPending.getId()));
+        assertEquals(4, hotRows(recent.getId()));
+        assertEquals(4, hotRows(running.getId()));
+        assertTrue(archiveRepository.findByInterviewId(empty.getId()).isEmpty());
+        assertEquals(6, transcriptService.getTranscript(old.getId()).size());
+
+        // 再次运行没有可归档的消息
+        assertEquals(0, transcriptService.archiveCompletedInterviews());
+        assertEquals(2, archiveRepository.count());
+    }
+
+    @Test
+    void archiveCompletedInterviews_shouldPageThroughCandidates() {
+        properties.setBatchSize(2);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(interview(InterviewStatus.REVIEWED, LocalDateTime.now().minusDays(40), 2).getId());
+        }
+        try {
+            assertEquals(5, transcriptService.archiveCompletedInterviews());
+        } finally {
+            properties.setBatchSize(200);
+        }
+        assertEquals(ids.stream().sorted().collect(Collectors.toList()),
+                archiveRepository.findAll().stream().map(InterviewTranscriptArchive::getInterviewId).sorted()
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    void archiveCompletedInterviews_disabled_shouldDoNothing() {
+        Interview old = interview(InterviewStatus.REVIEWED, LocalDateTime.now().minusDays(60), 2);
+        properties.setEnabled(false);
+
+        assertEquals(0, transcriptService.archiveCompletedInterviews());
+        assertEquals(2, hotRows(old.getId()));
+    }
+
+    @Test
+    void archiveTranscript_inProgress_shouldBeRejected() {
+        Interview running = interview(InterviewStatus.IN_PROGRESS, null, 2);
+
+        assertThrows(BusinessException.class, () -> transcriptService.archiveTranscript(running.getId()));
+        assertEquals(2, hotRows(running.getId()));
+    }
+
+    @Test
+    void archiveTranscript_lateRows_shouldBeMergedIntoExistingArchive() {
+        Interview interview = interview(InterviewStatus.REVIEWED, LocalDateTime.now().minusDays(60), 4);
+        transcriptService.archiveTranscript(interview.getId());
+        messageRepository.save(InterviewMessage.builder()
+                .interviewId(interview.getId()).role("AI").content("补写的消息")
+                .timestamp(BASE.plusMinutes(5)).build());
+
+        // 读取时合并两种形式
+        List<InterviewMessage> merged = transcriptService.getTranscript(interview.getId());
+        assertEquals(5, merged.size());
+        assertEquals("补写的消息", merged.get(4).getContent());
+
+        assertEquals(1, transcriptService.archiveTranscript(interview.getId()));
+        assertEquals(0, hotRows(interview.getId()));
+        assertEquals(5, archiveRepository.findByInterviewId(interview.getId()).orElseThrow().getMessageCount());
+        assertEquals(5, transcriptService.getTranscript(interview.getId()).size());
+    }
+
+    @Test
+    void interviewService_shouldReadArchivedTranscriptTransparently() {
+        Interview interview = interview(InterviewStatus.REVIEWED, LocalDateTime.now().minusDays(60), 6);
+        transcriptService.archiveTranscript(interview.getId());
+
+        assertEquals(6, interviewService.getMessages(interview.getId()).size());
+        assertEquals(6, interviewService.getFullArchivedRecord(interview.getId()).getMessages().size());
+    }
+}
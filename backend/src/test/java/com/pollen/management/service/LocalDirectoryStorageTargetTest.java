@@ -0,0 +1,80 @@
+package com.pollen.management.service;
+
+import com.pollen.management.util.AwsSignatureV4;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalDirectoryStorageTargetTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LocalDirectoryStorageTarget target;
+
+    @BeforeEach
+    void setUp() {
+        target = new LocalDirectoryStorageTarget(tempDir);
+    }
+
+    @Test
+    void completeUpload_assemblesPartsAndWritesChecksumSidecar() throws Exception {
+        byte[] first = "hello ".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "备份".getBytes(StandardCharsets.UTF_8);
+        byte[] whole = "hello 备份".getBytes(StandardCharsets.UTF_8);
+        String sha256 = AwsSignatureV4.sha256Hex(whole);
+
+        String uploadId = target.initiateUpload("backups/a.json.gz", sha256);
+        TreeMap<Integer, String> md5s = new TreeMap<>();
+        md5s.put(2, target.uploadPart("backups/a.json.gz", uploadId, 2, second));
+        md5s.put(1, target.uploadPart("backups/a.json.gz", uploadId, 1, first));
+        assertEquals(md5s, new TreeMap<>(target.listParts("backups/a.json.gz", uploadId)));
+
+        target.completeUpload("backups/a.json.gz", uploadId, md5s, sha256);
+
+        assertArrayEquals(whole, Files.readAllBytes(tempDir.resolve("backups/a.json.gz")));
+        assertTrue(target.exists("backups/a.json.gz", sha256));
+        assertFalse(target.exists("backups/a.json.gz", AwsSignatureV4.EMPTY_PAYLOAD_SHA256));
+        assertNull(target.listParts("backups/a.json.gz", uploadId));
+    }
+
+    @Test
+    void completeUpload_checksumMismatch_leavesNoObject() throws Exception {
+        String uploadId = target.initiateUpload("a.json.gz", "x");
+        TreeMap<Integer, String> md5s = new TreeMap<>(Map.of(1,
+                target.uploadPart("a.json.gz", uploadId, 1, new byte[]{1, 2, 3})));
+
+        assertThrows(IOException.class,
+                () -> target.completeUpload("a.json.gz", uploadId, md5s, AwsSignatureV4.EMPTY_PAYLOAD_SHA256));
+
+        assertFalse(Files.exists(tempDir.resolve("a.json.gz")));
+        assertEquals(1, target.listParts("a.json.gz", uploadId).size());
+    }
+
+    @Test
+    void abortUpload_discardsParts() throws Exception {
+        String uploadId = target.initiateUpload("a.json.gz", "x");
+        target.uploadPart("a.json.gz", uploadId, 1, new byte[]{1});
+
+        target.abortUpload("a.json.gz", uploadId);
+
+        assertNull(target.listParts("a.json.gz", uploadId));
+        assertThrows(IOException.class, () -> target.uploadPart("a.json.gz", uploadId, 2, new byte[]{2}));
+    }
+
+    @Test
+    void keysAndUploadIdsOutsideRoot_areRejected() {
+        assertThrows(IOException.class, () -> target.initiateUpload("../escape.json.gz", "x"));
+        assertThrows(IOException.class, () -> target.initiateUpload(".uploads/x", "x"));
+        assertThrows(IOException.class, () -> target.listParts("a", "../../etc"));
+    }
+}
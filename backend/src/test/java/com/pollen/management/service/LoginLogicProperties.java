@@ -41,7 +41,8 @@ class LoginLogicProperties {
         when(passwordEncoder.matches(eq("correctPassword"), eq("$2a$10$encodedHash"))).thenReturn(true);
         when(passwordEncoder.matches(argThat(arg -> !"correctPassword".equals(arg)), eq("$2a$10$encodedHash"))).thenReturn(false);
 
-        return new AuthServiceImpl(userRepository, applicationRepository, passwordEncoder, jwtUtil);
+        return new AuthServiceImpl(userRepository, applicationRepository, passwordEncoder, jwtUtil,
+                mock(TokenRevocationService.class));
     }
 
     private User buildUser(String username, Role role, boolean enabled) {
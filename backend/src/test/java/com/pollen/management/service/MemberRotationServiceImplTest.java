@@ -47,6 +47,9 @@ class MemberRotationServiceImplTest {
     @Mock
     private SalaryConfigService salaryConfigService;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     private MemberRotationServiceImpl memberRotationService;
 
@@ -394,6 +397,9 @@ class MemberRotationServiceImplTest {
         verify(userRepository, times(2)).save(any(User.class));
         // Verify role change history recorded for both users
         verify(roleChangeHistoryRepository, times(2)).save(any(RoleChangeHistory.class));
+        // Both users' existing tokens carry a stale role and must be revoked
+        verify(tokenRevocationService).revokeUserTokens(1L);
+        verify(tokenRevocationService).revokeUserTokens(2L);
     }
 
     @Test
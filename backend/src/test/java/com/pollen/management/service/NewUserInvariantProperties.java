@@ -49,7 +49,8 @@ class NewUserInvariantProperties {
         });
         when(applicationRepository.save(any(Application.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        AuthServiceImpl authService = new AuthServiceImpl(userRepository, applicationRepository, passwordEncoder, jwtUtil);
+        AuthServiceImpl authService = new AuthServiceImpl(userRepository, applicationRepository, passwordEncoder, jwtUtil,
+                mock(TokenRevocationService.class));
         RegisterRequest request = new RegisterRequest(username, password, Map.of("q1", "a1"));
 
         // Act
@@ -84,7 +85,8 @@ class NewUserInvariantProperties {
         });
         when(applicationRepository.save(any(Application.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        AuthServiceImpl authService = new AuthServiceImpl(userRepository, applicationRepository, passwordEncoder, jwtUtil);
+        AuthServiceImpl authService = new AuthServiceImpl(userRepository, applicationRepository, passwordEncoder, jwtUtil,
+                mock(TokenRevocationService.class));
         RegisterRequest request = new RegisterRequest(username, password, Map.of("q1", "a1"));
 
         // Act
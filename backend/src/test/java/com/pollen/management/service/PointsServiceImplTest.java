@@ -11,12 +11,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +31,9 @@ class PointsServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private PointsServiceImpl pointsService;
 
@@ -78,6 +84,43 @@ class PointsServiceImplTest {
         assertEquals("用户不存在", ex.getMessage());
     }
 
+    // --- addPointsBatch tests ---
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void addPointsBatch_shouldInsertAllRecordsInOneBatch() {
+        when(userRepository.findExistingIds(List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 2L, 3L));
+
+        int inserted = pointsService.addPointsBatch(List.of(1L, 2L, 3L), PointsType.CHECKIN, 5, "活动签到奖励");
+
+        assertEquals(3, inserted);
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture());
+        assertEquals(3, captor.getValue().size());
+        assertEquals(2L, captor.getValue().get(1)[0]);
+        assertEquals("CHECKIN", captor.getValue().get(1)[1]);
+        assertEquals(5, captor.getValue().get(1)[2]);
+        verify(pointsRecordRepository, never()).save(any());
+    }
+
+    @Test
+    void addPointsBatch_shouldRejectWholeBatchWhenUserMissing() {
+        when(userRepository.findExistingIds(List.of(1L, 2L))).thenReturn(List.of(1L));
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> pointsService.addPointsBatch(List.of(1L, 2L), PointsType.CHECKIN, 5, "活动签到奖励"));
+        assertEquals(404, ex.getCode());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void addPointsBatch_shouldValidateAmountRange() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> pointsService.addPointsBatch(List.of(1L), PointsType.CHECKIN, 60, "活动签到奖励"));
+        assertEquals(400, ex.getCode());
+        verifyNoInteractions(userRepository, jdbcTemplate);
+    }
+
     // --- deductPoints tests ---
 
     @Test
@@ -13,7 +13,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 class PointsToMiniCoinsProperties {
 
-    private final PointsServiceImpl service = new PointsServiceImpl(null, null);
+    private final PointsServiceImpl service = new PointsServiceImpl(null, null, null);
 
     // ========== Property 20a: miniCoins = points * 2 ==========
 
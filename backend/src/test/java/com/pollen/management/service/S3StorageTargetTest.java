@@ -0,0 +1,135 @@
+package com.pollen.management.service;
+
+import com.pollen.management.util.AwsSignatureV4;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S3StorageTargetTest {
+
+    private FakeS3Server server;
+    private S3StorageTarget target;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeS3Server();
+        target = server.target();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void multipartUpload_partsOutOfOrder_assemblesObjectInPartOrder() throws Exception {
+        byte[][] parts = {bytes("第一块", 3000), bytes("second", 3000), bytes("third", 100)};
+        byte[] whole = concat(parts);
+        String sha256 = AwsSignatureV4.sha256Hex(whole);
+        String key = "backups/备份 2024+01.json.gz";
+
+        String uploadId = target.initiateUpload(key, sha256);
+        TreeMap<Integer, String> md5s = new TreeMap<>();
+        for (int partNumber : new int[]{3, 1, 2}) {
+            md5s.put(partNumber, target.uploadPart(key, uploadId, partNumber, parts[partNumber - 1]));
+        }
+        assertEquals(md5s, new TreeMap<>(target.listParts(key, uploadId)));
+        target.completeUpload(key, uploadId, md5s, sha256);
+
+        assertArrayEquals(whole, server.object(key));
+        assertTrue(target.exists(key, sha256));
+        assertFalse(target.exists(key, AwsSignatureV4.EMPTY_PAYLOAD_SHA256));
+        assertFalse(target.exists("backups/missing.json.gz", sha256));
+        assertNull(target.listParts(key, uploadId));
+    }
+
+    @Test
+    void listParts_followsPagination() throws Exception {
+        server.setListPageSize(2);
+        String uploadId = target.initiateUpload("k", "x");
+        for (int i = 1; i <= 5; i++) {
+            target.uploadPart("k", uploadId, i, bytes("p" + i, 10));
+        }
+
+        Map<Integer, String> parts = target.listParts("k", uploadId);
+
+        assertEquals(5, parts.size());
+        assertEquals(md5Hex(bytes("p4", 10)), parts.get(4));
+    }
+
+    @Test
+    void listParts_unknownOrAbortedUpload_returnsNull() throws Exception {
+        String uploadId = target.initiateUpload("k", "x");
+        target.uploadPart("k", uploadId, 1, bytes("a", 10));
+
+        target.abortUpload("k", uploadId);
+
+        assertNull(target.listParts("k", uploadId));
+        assertNull(target.listParts("k", "no-such-upload"));
+        assertDoesNotThrow(() -> target.abortUpload("k", uploadId));
+    }
+
+    @Test
+    void completeUpload_compositeEtagMismatch_throws() throws Exception {
+        server.setCorruptCompleteEtag(true);
+        byte[] data = bytes("a", 100);
+        String uploadId = target.initiateUpload("k", AwsSignatureV4.sha256Hex(data));
+        TreeMap<Integer, String> md5s = new TreeMap<>(Map.of(1, target.uploadPart("k", uploadId, 1, data)));
+
+        IOException ex = assertThrows(IOException.class,
+                () -> target.completeUpload("k", uploadId, md5s, AwsSignatureV4.sha256Hex(data)));
+        assertTrue(ex.getMessage().contains("ETag"));
+    }
+
+    @Test
+    void completeUpload_errorInSuccessfulResponse_throws() throws Exception {
+        String uploadId = target.initiateUpload("k", "x");
+        target.uploadPart("k", uploadId, 1, bytes("a", 100));
+        TreeMap<Integer, String> md5s = new TreeMap<>(Map.of(1, md5Hex(bytes("b", 100))));
+
+        IOException ex = assertThrows(IOException.class, () -> target.completeUpload("k", uploadId, md5s, "x"));
+        assertTrue(ex.getMessage().contains("InvalidPart"));
+    }
+
+    @Test
+    void uploadPart_serverError_throwsWithStatus() throws Exception {
+        server.failPart(1, 1);
+        String uploadId = target.initiateUpload("k", "x");
+
+        IOException ex = assertThrows(IOException.class,
+                () -> target.uploadPart("k", uploadId, 1, bytes("a", 10)));
+        assertTrue(ex.getMessage().contains("500"));
+        assertEquals(md5Hex(bytes("a", 10)), target.uploadPart("k", uploadId, 1, bytes("a", 10)));
+    }
+
+    private static byte[] bytes(String seed, int length) {
+        byte[] pattern = seed.getBytes(StandardCharsets.UTF_8);
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (pattern[i % pattern.length] + i / pattern.length);
+        }
+        return data;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static String md5Hex(byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(data));
+    }
+}
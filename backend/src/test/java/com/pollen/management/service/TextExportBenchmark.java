@@ -0,0 +1,108 @@
+package com.pollen.management.service;
+
+import com.pollen.management.entity.enums.ExportFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 导出格式吞吐基准：同一份积分记录分别导出为 XLSX、CSV、NDJSON。
+ * <p>
+ * 不在常规测试中运行（类名不匹配 surefire includes），手动执行：
+ * <pre>
+ * mvn test -Dtest=TextExportBenchmark -Dexport.benchmark.rows=1000000 -DargLine=-Xmx2g
+ * </pre>
+ * 行数默认 200000；每种格式先小规模预热一次，再计时全量导出。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TextExportBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private TextExportService textExportService;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE points_records");
+    }
+
+    @Test
+    void fullExport_throughputPerFormat() {
+        int rows = Integer.getInteger("export.benchmark.rows", 200_000);
+        populate(1_000);
+        for (ExportFormat format : ExportFormat.values()) {
+            export(format);
+        }
+        jdbcTemplate.execute("TRUNCATE TABLE points_records");
+        populate(rows);
+
+        System.out.printf("[format-benchmark] rows=%d%n", rows);
+        for (ExportFormat format : ExportFormat.values()) {
+            long start = System.nanoTime();
+            long bytes = export(format);
+            long ms = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            System.out.printf("[format-benchmark] %-6s %6d ms, %,d rows/s, %,d bytes%n",
+                    format, ms, rows * 1000L / ms, bytes);
+            assertTrue(bytes > 0);
+        }
+    }
+
+    private long export(ExportFormat format) {
+        CountingOutputStream out = new CountingOutputStream();
+        if (format == ExportFormat.XLSX) {
+            exportService.exportPoints(out);
+        } else {
+            textExportService.exportReport("points", null, null, format, out);
+        }
+        return out.count;
+    }
+
+    private void populate(int rows) {
+        String sql = "INSERT INTO points_records (user_id, points_type, amount, description, created_at) "
+                + "VALUES (?, 'CHECKIN', ?, ?, ?)";
+        int batchSize = 10_000;
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{(long) (i % 500) + 1, i % 50, "签到奖励 #" + i,
+                    Timestamp.valueOf(BASE.plusMinutes(i))});
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
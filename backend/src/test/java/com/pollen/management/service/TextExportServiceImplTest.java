@@ -0,0 +1,147 @@
+package com.pollen.management.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pollen.management.entity.Application;
+import com.pollen.management.entity.PointsRecord;
+import com.pollen.management.entity.enums.ApplicationStatus;
+import com.pollen.management.entity.enums.EntryType;
+import com.pollen.management.entity.enums.ExportFormat;
+import com.pollen.management.entity.enums.PointsType;
+import com.pollen.management.repository.ApplicationRepository;
+import com.pollen.management.repository.PointsRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TextExportServiceImplTest {
+
+    @Autowired
+    private TextExportService textExportService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PointsRecordRepository pointsRecordRepository;
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DELETE FROM points_records");
+        jdbcTemplate.execute("DELETE FROM applications");
+    }
+
+    private String export(String dataType, LocalDate start, LocalDate end, ExportFormat format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        textExportService.exportReport(dataType, start, end, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private PointsRecord savePoints(String description, LocalDateTime createdAt) {
+        PointsRecord record = pointsRecordRepository.save(PointsRecord.builder()
+                .userId(7L).pointsType(PointsType.CHECKIN).amount(5).description(description).build());
+        jdbcTemplate.update("UPDATE points_records SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(createdAt), record.getId());
+        return record;
+    }
+
+    @Test
+    void points_csv_matchesExcelHeadersAndOrdersById() {
+        PointsRecord first = savePoints("签到, 周一", LocalDateTime.of(2024, 1, 2, 8, 0));
+        PointsRecord second = savePoints(null, LocalDateTime.of(2024, 1, 1, 8, 0));
+
+        String[] lines = export("points", null, null, ExportFormat.CSV).split("\n");
+
+        assertEquals("\uFEFFID,用户ID,积分类型,数额,描述,创建时间", lines[0]);
+        assertEquals(first.getId() + ",7,CHECKIN,5,\"签到, 周一\",2024-01-02T08:00", lines[1]);
+        assertEquals(second.getId() + ",7,CHECKIN,5,,2024-01-01T08:00", lines[2]);
+        assertEquals(3, lines.length);
+    }
+
+    @Test
+    void points_ndjson_dateRangeIncludesWholeEndDay() throws Exception {
+        savePoints("before", LocalDateTime.of(2023, 12, 31, 23, 59, 59));
+        savePoints("late", LocalDateTime.of(2024, 1, 31, 23, 59, 59));
+        savePoints("early", LocalDateTime.of(2024, 1, 1, 0, 0));
+        savePoints("after", LocalDateTime.of(2024, 2, 1, 0, 0));
+
+        String[] lines = export("points", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), ExportFormat.NDJSON)
+                .split("\n");
+
+        assertEquals(2, lines.length);
+        JsonNode early = objectMapper.readTree(lines[0]);
+        assertEquals("early", early.get("description").asText());
+        assertEquals(7, early.get("userId").asLong());
+        assertEquals(5, early.get("amount").asInt());
+        assertEquals("2024-01-01T00:00", early.get("createdAt").asText());
+        assertEquals("late", objectMapper.readTree(lines[1]).get("description").asText());
+    }
+
+    @Test
+    void everyDataType_selectsExistingColumns() {
+        // 加密列需要 ENCRYPTION_KEY 才能写入，这里只验证各数据集的 SQL 与表头
+        assertEquals("\uFEFFID,用户名,角色,状态,在线状态,创建时间",
+                export("members", null, null, ExportFormat.CSV).split("\n")[0]);
+        assertEquals("\uFEFFID,用户ID,基础积分,奖励积分,扣减,总积分,迷你币,薪资金额,备注,创建时间\n",
+                export("salary", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), ExportFormat.CSV));
+        assertEquals("", export("activities", null, null, ExportFormat.NDJSON));
+    }
+
+    @Test
+    void applications_filterByStatusAndNewestFirst() throws Exception {
+        Application older = applicationRepository.save(Application.builder()
+                .userId(1L).status(ApplicationStatus.PENDING_INITIAL_REVIEW).entryType(EntryType.REGISTRATION)
+                .pollenUid("10001").birthDate(LocalDate.of(2005, 3, 1)).examFlag(true)
+                .dailyAvailableHours(new BigDecimal("2.5")).build());
+        Application newer = applicationRepository.save(Application.builder()
+                .userId(2L).status(ApplicationStatus.PENDING_INITIAL_REVIEW).entryType(EntryType.PUBLIC_LINK)
+                .build());
+        applicationRepository.save(Application.builder()
+                .userId(3L).status(ApplicationStatus.REJECTED).entryType(EntryType.PUBLIC_LINK).build());
+        jdbcTemplate.update("UPDATE applications SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0)), older.getId());
+        jdbcTemplate.update("UPDATE applications SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.of(2024, 2, 1, 0, 0)), newer.getId());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        textExportService.exportApplications(ApplicationStatus.PENDING_INITIAL_REVIEW, ExportFormat.NDJSON, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals(newer.getId().longValue(), objectMapper.readTree(lines[0]).get("id").asLong());
+        JsonNode node = objectMapper.readTree(lines[1]);
+        assertEquals("REGISTRATION", node.get("entryType").asText());
+        assertEquals("2005-03-01", node.get("birthDate").asText());
+        assertTrue(node.get("examFlag").asBoolean());
+        assertEquals(2.5, node.get("dailyAvailableHours").asDouble());
+        assertTrue(node.get("examDate").isNull());
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        textExportService.exportApplications(null, ExportFormat.CSV, csv);
+        String header = csv.toString(StandardCharsets.UTF_8).split("\n")[0];
+        assertEquals(17, header.split(",").length);
+        assertTrue(header.endsWith("筛选通过,筛选拒绝原因,需要重点审核,创建时间"));
+    }
+
+    @Test
+    void unsupportedDataType_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> export("unknown", null, null, ExportFormat.CSV));
+    }
+}
@@ -0,0 +1,184 @@
+package com.pollen.management.service;
+
+import com.pollen.management.security.JwtClaims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceImplTest {
+
+    private static final long LIFETIME = 3_600_000L;
+
+    private TokenRevocationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TokenRevocationServiceImpl(LIFETIME);
+        service.init();
+    }
+
+    private static JwtClaims claims(String tokenId, Long userId, long issuedAt) {
+        return JwtClaims.builder()
+                .tokenId(tokenId)
+                .userId(userId)
+                .username("user" + userId)
+                .role("MEMBER")
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt + LIFETIME)
+                .build();
+    }
+
+    @Test
+    void isRevoked_freshToken_returnsFalse() {
+        assertFalse(service.isRevoked(claims("jti-1", 1L, System.currentTimeMillis())));
+    }
+
+    @Test
+    void revokeToken_onlyThatTokenIsRevoked() {
+        long now = System.currentTimeMillis();
+        service.revokeToken("jti-1", now + LIFETIME);
+
+        assertTrue(service.isRevoked(claims("jti-1", 1L, now)));
+        assertFalse(service.isRevoked(claims("jti-2", 1L, now)));
+    }
+
+    @Test
+    void revokeToken_alreadyExpired_isIgnored() {
+        service.revokeToken("jti-1", System.currentTimeMillis() - 1);
+
+        assertFalse(service.isRevoked(claims("jti-1", 1L, 0L)));
+    }
+
+    @Test
+    void revokeUserTokens_revokesTokensIssuedBeforeWatermark() {
+        long issuedBefore = System.currentTimeMillis() - 10_000;
+        service.revokeUserTokens(1L);
+
+        assertTrue(service.isRevoked(claims("jti-1", 1L, issuedBefore)));
+        assertFalse(service.isRevoked(claims("jti-2", 2L, issuedBefore)));
+    }
+
+    @Test
+    void revokeUserTokens_tokensIssuedAfterWatermarkRemainValid() {
+        service.revokeUserTokens(1L);
+        long issuedAfter = System.currentTimeMillis() + 1_000;
+
+        assertFalse(service.isRevoked(claims("jti-1", 1L, issuedAfter)));
+    }
+
+    @Test
+    void revokeUserTokens_reloginInSameSecond_remainsValid() {
+        service.revokeUserTokens(1L);
+        // 毫秒精度：紧随吊销签发的 Token 即使与水位线同一秒也有效
+        long reissued = System.currentTimeMillis() + 1;
+
+        assertFalse(service.isRevoked(claims("jti-1", 1L, reissued)));
+    }
+
+    @Test
+    void revokeUserTokens_insideTransaction_appliesOnlyAfterCommit() {
+        long issuedBefore = System.currentTimeMillis() - 10_000;
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.revokeUserTokens(1L);
+            service.revokeUserTokens(2L);
+            assertFalse(service.isRevoked(claims("jti-1", 1L, issuedBefore)));
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(service.isRevoked(claims("jti-1", 1L, issuedBefore)));
+        assertTrue(service.isRevoked(claims("jti-2", 2L, issuedBefore)));
+    }
+
+    @Test
+    void revokeUserTokens_rolledBackTransaction_isNotApplied() {
+        long issuedBefore = System.currentTimeMillis() - 10_000;
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.revokeUserTokens(1L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(service.isRevoked(claims("jti-1", 1L, issuedBefore)));
+    }
+
+    @Test
+    void onMessage_appliesRevocationsFromOtherNodes() {
+        long now = System.currentTimeMillis();
+        service.onMessage("T|jti-remote|" + (now + LIFETIME));
+        service.onMessage("U|5|" + now);
+
+        assertTrue(service.isRevoked(claims("jti-remote", 9L, now)));
+        assertTrue(service.isRevoked(claims("jti-x", 5L, now - 1_000)));
+    }
+
+    @Test
+    void onMessage_malformedMessage_isIgnored() {
+        service.onMessage("garbage");
+        service.onMessage("T|jti|not-a-number");
+
+        assertFalse(service.isRevoked(claims("jti", 1L, System.currentTimeMillis())));
+    }
+
+    @Test
+    void refresh_keepsLiveRevocationsAfterBloomRebuild() {
+        long now = System.currentTimeMillis();
+        service.revokeToken("jti-1", now + LIFETIME);
+
+        service.refresh();
+
+        assertTrue(service.isRevoked(claims("jti-1", 1L, now)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refresh_redisRecoveredAfterStartup_shouldPublishLocalRevocationsAndSwitchMode() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        RedisConnectionFactory factory = mock(RedisConnectionFactory.class);
+        RedisConnection connection = mock(RedisConnection.class);
+        ZSetOperations<String, String> zSet = mock(ZSetOperations.class);
+        HashOperations<String, Object, Object> hash = mock(HashOperations.class);
+        when(redisTemplate.getConnectionFactory()).thenReturn(factory);
+        when(factory.getConnection()).thenReturn(connection);
+        when(connection.ping()).thenThrow(new RedisConnectionFailureException("down")).thenReturn("PONG");
+        when(redisTemplate.opsForZSet()).thenReturn(zSet);
+        doReturn(hash).when(redisTemplate).opsForHash();
+        when(hash.entries(TokenRevocationServiceImpl.REDIS_USERS_KEY)).thenReturn(Map.of());
+
+        TokenRevocationServiceImpl redisService = spy(new TokenRevocationServiceImpl(redisTemplate, LIFETIME));
+        doNothing().when(redisService).subscribe();
+        redisService.init();
+        long expiresAt = System.currentTimeMillis() + LIFETIME;
+        redisService.revokeToken("jti-1", expiresAt);
+        redisService.revokeUserTokens(1L);
+        verify(zSet, never()).add(anyString(), anyString(), anyDouble());
+
+        redisService.refresh();
+
+        verify(zSet).add(TokenRevocationServiceImpl.REDIS_TOKENS_KEY, "jti-1", expiresAt);
+        verify(hash).put(eq(TokenRevocationServiceImpl.REDIS_USERS_KEY), eq("1"), anyString());
+        verify(redisService).subscribe();
+
+        redisService.revokeToken("jti-2", expiresAt);
+        verify(redisTemplate).convertAndSend(TokenRevocationServiceImpl.CHANNEL, "T|jti-2|" + expiresAt);
+    }
+}
@@ -0,0 +1,53 @@
+package com.pollen.management.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AhoCorasickMatcherTest {
+
+    @Test
+    void match_returnsMaskOfAllHitGroups() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.builder()
+                .add("群规", 0).add("规则", 0)
+                .add("违规", 1)
+                .add("沟通", 5)
+                .build();
+
+        assertEquals(0b11L, matcher.match("请遵守群规，违规会被处理"));
+        assertEquals(1L << 5, matcher.match("多沟通"));
+        assertEquals(0L, matcher.match("没有关键词"));
+        assertEquals(0L, matcher.match(null));
+    }
+
+    @Test
+    void match_findsOverlappingAndNestedKeywordsViaFailureLinks() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.builder()
+                .add("he", 0).add("she", 1).add("his", 2).add("hers", 3)
+                .build();
+
+        assertEquals(0b1011L, matcher.match("ushers"));
+        assertEquals(0b0100L, matcher.match("ahishe") & 0b0100L);
+        assertEquals(0b0111L, matcher.match("ahishe"));
+    }
+
+    @Test
+    void match_ignoresCase() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.builder().add("SOP", 2).build();
+
+        assertEquals(1L << 2, matcher.match("按照 sop 执行"));
+        assertEquals(1L << 2, matcher.match("按照 Sop 执行"));
+    }
+
+    @Test
+    void add_groupOutOfRange_throws() {
+        AhoCorasickMatcher.Builder builder = AhoCorasickMatcher.builder();
+        assertThrows(IllegalArgumentException.class, () -> builder.add("x", 64));
+        assertThrows(IllegalArgumentException.class, () -> builder.add("x", -1));
+    }
+
+    @Test
+    void build_withoutKeywords_matchesNothing() {
+        assertEquals(0L, AhoCorasickMatcher.builder().add(" ", 0).build().match("anything"));
+    }
+}
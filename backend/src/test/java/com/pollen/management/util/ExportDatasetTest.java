@@ -0,0 +1,129 @@
+package com.pollen.management.util;
+
+import com.pollen.management.entity.enums.ExportFormat;
+import com.pollen.management.entity.enums.PointsType;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExportDatasetTest {
+
+    static class Item {
+        Long id;
+        String name;
+        PointsType type;
+        Boolean active;
+        BigDecimal amount;
+        LocalDate day;
+        LocalDateTime createdAt;
+        Integer secret;
+    }
+
+    private static final ExportDataset<Item> DATASET = new ExportDataset<>("items", "条目", "items", List.of(
+            ExportColumn.ofLong("ID", "id", "id", (Item i) -> i.id),
+            ExportColumn.ofString("名称", "name", "name", (Item i) -> i.name),
+            ExportColumn.ofEnum("类型", "type", "type", (Item i) -> i.type),
+            ExportColumn.ofBoolean("启用", "active", "active", (Item i) -> i.active, "是", "否"),
+            ExportColumn.ofDecimal("金额", "amount", "amount", (Item i) -> i.amount),
+            ExportColumn.ofDate("日期", "day", "day", (Item i) -> i.day),
+            ExportColumn.ofDateTime("创建时间", "createdAt", "created_at", (Item i) -> i.createdAt),
+            ExportColumn.<Item>ofLong("密文", "secret", "secret", i -> i.secret)
+                    .decodedBy(value -> value != null ? Integer.valueOf(value.substring(4)) : null)));
+
+    private static Item fullItem() {
+        Item item = new Item();
+        item.id = 7L;
+        item.name = "a,b";
+        item.type = PointsType.CHECKIN;
+        item.active = true;
+        item.amount = new BigDecimal("12.50");
+        item.day = LocalDate.of(2024, 3, 1);
+        item.createdAt = LocalDateTime.of(2024, 3, 1, 8, 30);
+        item.secret = 42;
+        return item;
+    }
+
+    private static String text(ExportFormat format, Item item) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (StreamingTextWriter writer = new StreamingTextWriter(out, format, DATASET.getHeaders(), DATASET.getKeys())) {
+            DATASET.writeRow(item, writer);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void describesHeadersKeysAndSelect() {
+        assertArrayEquals(new String[]{"ID", "名称", "类型", "启用", "金额", "日期", "创建时间", "密文"},
+                DATASET.getHeaders());
+        assertEquals("createdAt", DATASET.getKeys()[6]);
+        assertEquals("SELECT id, name, type, active, amount, day, created_at, secret FROM items",
+                DATASET.getSelectSql());
+        assertEquals("条目", DATASET.getSheetName());
+    }
+
+    @Test
+    void excelRow_usesNumericCellsAndLegacyNullDefaults() throws Exception {
+        try (XSSFWorkbook wb = new XSSFWorkbook()) {
+            Row full = wb.createSheet().createRow(0);
+            DATASET.writeRow(fullItem(), full);
+            assertEquals(CellType.NUMERIC, full.getCell(0).getCellType());
+            assertEquals(7.0, full.getCell(0).getNumericCellValue());
+            assertEquals("CHECKIN", full.getCell(2).getStringCellValue());
+            assertEquals("是", full.getCell(3).getStringCellValue());
+            assertEquals(12.5, full.getCell(4).getNumericCellValue());
+            assertEquals("2024-03-01T08:30", full.getCell(6).getStringCellValue());
+
+            Row empty = wb.getSheetAt(0).createRow(1);
+            DATASET.writeRow(new Item(), empty);
+            assertEquals(0.0, empty.getCell(0).getNumericCellValue());
+            assertEquals("", empty.getCell(1).getStringCellValue());
+            assertEquals("", empty.getCell(2).getStringCellValue());
+            assertEquals("否", empty.getCell(3).getStringCellValue());
+            assertEquals(0.0, empty.getCell(4).getNumericCellValue());
+            assertEquals("", empty.getCell(5).getStringCellValue());
+        }
+    }
+
+    @Test
+    void textRow_fromEntity() throws Exception {
+        assertTrue(text(ExportFormat.CSV, fullItem())
+                .endsWith("\n7,\"a,b\",CHECKIN,是,12.50,2024-03-01,2024-03-01T08:30,42\n"));
+        assertEquals("{\"id\":null,\"name\":null,\"type\":null,\"active\":false,\"amount\":null,"
+                + "\"day\":null,\"createdAt\":null,\"secret\":null}\n", text(ExportFormat.NDJSON, new Item()));
+    }
+
+    @Test
+    void textRow_fromResultSet_matchesEntityOutput() throws Exception {
+        Item item = fullItem();
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(7L);
+        when(rs.getString(2)).thenReturn("a,b");
+        when(rs.getString(3)).thenReturn("CHECKIN");
+        when(rs.getBoolean(4)).thenReturn(true);
+        when(rs.getBigDecimal(5)).thenReturn(new BigDecimal("12.50"));
+        when(rs.getObject(6, LocalDate.class)).thenReturn(item.day);
+        when(rs.getObject(7, LocalDateTime.class)).thenReturn(item.createdAt);
+        when(rs.getString(8)).thenReturn("enc:42");
+
+        for (ExportFormat format : List.of(ExportFormat.CSV, ExportFormat.NDJSON)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (StreamingTextWriter writer =
+                         new StreamingTextWriter(out, format, DATASET.getHeaders(), DATASET.getKeys())) {
+                DATASET.writeRow(rs, writer);
+            }
+            assertEquals(text(format, item), out.toString(StandardCharsets.UTF_8), format.name());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.pollen.management.util;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingExcelWriterTest {
+
+    @Test
+    void writeTo_rowsBeyondWindow_areAllPresent() throws Exception {
+        int rows = StreamingExcelWriter.ROW_ACCESS_WINDOW * 30;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (StreamingExcelWriter writer = new StreamingExcelWriter()) {
+            StreamingExcelWriter.SheetWriter sheet = writer.createSheet("数据", new String[]{"ID", "名称"});
+            for (int i = 1; i <= rows; i++) {
+                Row row = sheet.nextRow();
+                row.createCell(0).setCellValue(i);
+                row.createCell(1).setCellValue("name-" + i);
+            }
+            assertEquals(rows, sheet.getRowCount());
+            writer.writeTo(out);
+        }
+
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = wb.getSheetAt(0);
+            assertEquals("数据", sheet.getSheetName());
+            assertEquals("名称", sheet.getRow(0).getCell(1).getStringCellValue());
+            assertEquals(rows, sheet.getLastRowNum());
+            assertEquals(1.0, sheet.getRow(1).getCell(0).getNumericCellValue());
+            assertEquals("name-" + rows, sheet.getRow(rows).getCell(1).getStringCellValue());
+        }
+    }
+
+    @Test
+    void columnWidths_followHeaderAndSampledRows() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (StreamingExcelWriter writer = new StreamingExcelWriter()) {
+            StreamingExcelWriter.SheetWriter sheet = writer.createSheet("数据", new String[]{"ID", "描述"});
+            sheet.nextRow().createCell(1).setCellValue("x".repeat(30));
+            sheet.nextRow().createCell(1).setCellValue("y".repeat(500));
+            sheet.nextRow();
+            writer.writeTo(out);
+        }
+
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = wb.getSheetAt(0);
+            assertEquals(StreamingExcelWriter.MIN_COLUMN_CHARS * 256, sheet.getColumnWidth(0));
+            assertEquals(StreamingExcelWriter.MAX_COLUMN_CHARS * 256, sheet.getColumnWidth(1));
+        }
+    }
+
+    @Test
+    void columnWidths_includeLastRow() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (StreamingExcelWriter writer = new StreamingExcelWriter()) {
+            StreamingExcelWriter.SheetWriter sheet = writer.createSheet("数据", new String[]{"ID", "描述"});
+            sheet.nextRow().createCell(1).setCellValue("x".repeat(20));
+            writer.writeTo(out);
+        }
+
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(22 * 256, wb.getSheetAt(0).getColumnWidth(1));
+        }
+    }
+
+    @Test
+    void displayWidth_countsNonAsciiAsDouble() {
+        assertEquals(0, StreamingExcelWriter.SheetWriter.displayWidth(null));
+        assertEquals(3, StreamingExcelWriter.SheetWriter.displayWidth("abc"));
+        assertEquals(4, StreamingExcelWriter.SheetWriter.displayWidth("用户"));
+    }
+}
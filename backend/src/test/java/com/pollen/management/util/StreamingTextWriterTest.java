@@ -0,0 +1,95 @@
+package com.pollen.management.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pollen.management.entity.enums.ExportFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingTextWriterTest {
+
+    private static final String[] HEADERS = {"ID", "描述", "启用"};
+    private static final String[] KEYS = {"id", "description", "enabled"};
+
+    private String write(ExportFormat format, int rows, String description) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (StreamingTextWriter writer = new StreamingTextWriter(out, format, HEADERS, KEYS)) {
+            for (int i = 1; i <= rows; i++) {
+                writer.beginRow();
+                writer.writeLong(-i);
+                writer.writeString(description);
+                writer.writeBoolean(i % 2 == 0, i % 2 == 0 ? "是" : "否");
+                writer.endRow();
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void csv_writesBomHeaderAndQuotesSpecialCharacters() throws Exception {
+        String csv = write(ExportFormat.CSV, 2, "a,\"b\"\nc");
+
+        assertTrue(csv.startsWith("\uFEFFID,描述,启用\n"));
+        String[] lines = csv.substring(1).split("\n", -1);
+        assertEquals("-1,\"a,\"\"b\"\"", lines[1]);
+        assertEquals("c\",否", lines[2]);
+        assertTrue(csv.endsWith("-2,\"a,\"\"b\"\"\nc\",是\n"));
+    }
+
+    @Test
+    void csv_nullIsEmptyField() throws Exception {
+        String csv = write(ExportFormat.CSV, 1, null);
+
+        assertTrue(csv.endsWith("\n-1,,否\n"));
+    }
+
+    @Test
+    void ndjson_eachLineIsValidJson() throws Exception {
+        String description = "引号\" 反斜杠\\ 换行\n 控制\u0001";
+        String ndjson = write(ExportFormat.NDJSON, 3, description);
+
+        String[] lines = ndjson.split("\n");
+        assertEquals(3, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode node = mapper.readTree(lines[i]);
+            assertEquals(-(i + 1), node.get("id").asLong());
+            assertEquals(description, node.get("description").asText());
+            assertEquals((i + 1) % 2 == 0, node.get("enabled").asBoolean());
+        }
+    }
+
+    @Test
+    void ndjson_nullAndNumberValues() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (StreamingTextWriter writer = new StreamingTextWriter(out, ExportFormat.NDJSON, HEADERS, KEYS)) {
+            writer.beginRow();
+            writer.writeLong(Long.MIN_VALUE);
+            writer.writeNull();
+            writer.writeNumber("12.50");
+            writer.endRow();
+        }
+
+        assertEquals("{\"id\":" + Long.MIN_VALUE + ",\"description\":null,\"enabled\":12.50}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void output_largerThanBuffer_isComplete() throws Exception {
+        int rows = StreamingTextWriter.BUFFER_SIZE / 4;
+        String csv = write(ExportFormat.CSV, rows, "0123456789");
+
+        assertEquals(rows + 1, csv.split("\n").length);
+        assertTrue(csv.endsWith("-" + rows + ",0123456789," + (rows % 2 == 0 ? "是" : "否") + "\n"));
+    }
+
+    @Test
+    void xlsx_isRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new StreamingTextWriter(new ByteArrayOutputStream(), ExportFormat.XLSX, HEADERS, KEYS));
+    }
+}